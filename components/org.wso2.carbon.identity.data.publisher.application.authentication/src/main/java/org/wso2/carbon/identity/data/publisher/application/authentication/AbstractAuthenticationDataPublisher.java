@@ -31,14 +31,12 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.core.bean.context.MessageContext;
 import org.wso2.carbon.identity.core.handler.AbstractIdentityMessageHandler;
-import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.EventListenerConfigCache;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationData;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.SessionData;
 
-import java.util.Iterator;
 import java.util.Map;
-import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 
 /**
@@ -98,7 +96,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
             }
         }
         authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         authenticationData.setEventType(AuthPublisherConstants.STEP_EVENT);
         authenticationData.setAuthnSuccess(false);
         if (request != null) {
@@ -174,7 +172,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
             }
         }
         authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         authenticationData.setEventType(AuthPublisherConstants.STEP_EVENT);
         authenticationData.setAuthnSuccess(false);
         if (request != null) {
@@ -260,7 +258,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         authenticationData.setEventType(AuthPublisherConstants.OVERALL_EVENT);
         authenticationData.setSuccess(true);
         authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         authenticationData.setAuthnSuccess(true);
         if (request != null) {
             authenticationData.setRemoteIp(IdentityUtil.getClientIpAddress(request));
@@ -308,7 +306,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         }
 
         authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         authenticationData.setEventType(AuthPublisherConstants.OVERALL_EVENT);
         authenticationData.setAuthnSuccess(false);
         if (request != null) {
@@ -380,10 +378,10 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         sessionData.setCreatedTimestamp(createdTime);
         sessionData.setUpdatedTimestamp(createdTime);
         sessionData.setTerminationTimestamp(terminationTime);
-        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionContext));
+        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionId, sessionContext));
         sessionData.setServiceProvider(context.getServiceProviderName());
-        sessionData.setRemoteIP(IdentityUtil.getClientIpAddress(request));
-        sessionData.setUserAgent(request.getHeader(AuthPublisherConstants.USER_AGENT));
+        sessionData.setRemoteIP(getRemoteIp(request, params));
+        sessionData.setUserAgent(getUserAgent(request, params));
         if (context.getSequenceConfig().getApplicationConfig().isSaaSApp()) {
             sessionData.addParameter(AuthPublisherConstants.TENANT_ID, AuthnDataPublisherUtils
                     .getTenantDomains(context.getTenantDomain(), sessionData.getTenantDomain()));
@@ -438,7 +436,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         }
 
         sessionData.setUser(userName);
-        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionContext));
+        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionId, sessionContext));
         sessionData.setServiceProvider(context.getServiceProviderName());
         sessionData.setUserStoreDomain(userStoreDomain);
         sessionData.setTenantDomain(tenantDomain);
@@ -446,7 +444,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         sessionData.setCreatedTimestamp(createdTime);
         sessionData.setUpdatedTimestamp(currentTime);
         sessionData.setTerminationTimestamp(terminationTime);
-        sessionData.setRemoteIP(IdentityUtil.getClientIpAddress(request));
+        sessionData.setRemoteIP(getRemoteIp(request, params));
         if (context.getSequenceConfig().getApplicationConfig().isSaaSApp()) {
             sessionData.addParameter(AuthPublisherConstants.TENANT_ID, AuthnDataPublisherUtils
                     .getTenantDomains(context.getTenantDomain(), sessionData.getTenantDomain()));
@@ -501,7 +499,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         sessionData.setSessionId(sessionId);
         sessionData.setCreatedTimestamp(createdTime);
         sessionData.setUpdatedTimestamp(currentTime);
-        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionContext));
+        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionId, sessionContext));
         sessionData.setTerminationTimestamp(currentTime);
         if (context != null) {
             sessionData.setServiceProvider(context.getServiceProviderName());
@@ -510,9 +508,7 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         } else {
             sessionData.addParameter(AuthPublisherConstants.TENANT_ID, new String[]{sessionData.getTenantDomain()});
         }
-        if (request != null) {
-            sessionData.setRemoteIP(IdentityUtil.getClientIpAddress(request));
-        }
+        sessionData.setRemoteIP(getRemoteIp(request, params));
         if (params.containsKey(FrameworkConstants.AnalyticsAttributes.ACTIVE_SESSION_COUNT)){
             int activeSessionCount = (int) params.get(FrameworkConstants.AnalyticsAttributes.ACTIVE_SESSION_COUNT);
             sessionData.setActiveSessionCount(activeSessionCount);
@@ -520,29 +516,64 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
         doPublishSessionTermination(sessionData);
     }
 
+    /**
+     * Resolve the client IP address. When the event is published asynchronously the request is not available and
+     * the address captured at dispatch time is used instead.
+     *
+     * @param request Incoming request, may be null
+     * @param params  Other relevant parameters
+     * @return Client IP address
+     */
+    protected String getRemoteIp(HttpServletRequest request, Map<String, Object> params) {
+
+        if (request != null) {
+            return IdentityUtil.getClientIpAddress(request);
+        }
+        return (String) params.get(AuthPublisherConstants.REMOTE_IP_ADDRESS);
+    }
+
+    /**
+     * Resolve the user agent of the client, falling back to the value captured at dispatch time.
+     *
+     * @param request Incoming request, may be null
+     * @param params  Other relevant parameters
+     * @return User agent of the client
+     */
+    protected String getUserAgent(HttpServletRequest request, Map<String, Object> params) {
+
+        if (request != null) {
+            return request.getHeader(AuthPublisherConstants.USER_AGENT);
+        }
+        return (String) params.get(AuthPublisherConstants.USER_AGENT);
+    }
+
     protected String getCommaSeparatedIDPs(SessionContext sessionContext) {
 
+        return getCommaSeparatedIDPs(null, sessionContext);
+    }
+
+    /**
+     * Get the comma separated identity providers of a session, reusing the list joined for a previous event of the
+     * session when its identity providers have not changed.
+     *
+     * @param sessionId      Session id, the list is not cached if it is null.
+     * @param sessionContext Session context, may be null.
+     * @return Comma separated identity provider names.
+     */
+    protected String getCommaSeparatedIDPs(String sessionId, SessionContext sessionContext) {
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving current IDPw for user ");
         }
-        if (sessionContext == null || sessionContext.getAuthenticatedIdPs() == null || sessionContext
-                .getAuthenticatedIdPs().isEmpty()) {
+        if (sessionContext == null) {
             return StringUtils.EMPTY;
         }
-
-        Iterator iterator = sessionContext.getAuthenticatedIdPs().entrySet().iterator();
-        StringBuilder sb = new StringBuilder();
-        while (iterator.hasNext()) {
-            Map.Entry pair = (Map.Entry) iterator.next();
-            sb.append(",").append(pair.getKey());
-        }
-        if (sb.length() > 0) {
-            if (log.isDebugEnabled()) {
-                log.debug("Returning roles, " + sb.substring(1));
-            }
-            return sb.substring(1); //remove the first comma
+        String identityProviders = AuthnDataPublisherUtils.getCommaSeparatedIdPs(sessionId,
+                sessionContext.getAuthenticatedIdPs());
+        if (log.isDebugEnabled() && !identityProviders.isEmpty()) {
+            log.debug("Returning roles, " + identityProviders);
         }
-        return StringUtils.EMPTY;
+        return identityProviders;
     }
 
     protected AuthenticationData fillLocalEvent(AuthenticationData authenticationData, AuthenticationContext context) {
@@ -648,13 +679,6 @@ public abstract class AbstractAuthenticationDataPublisher extends AbstractIdenti
     @Override
     public boolean isEnabled(MessageContext messageContext) {
 
-        IdentityEventListenerConfig identityEventListenerConfig = IdentityUtil.readEventListenerProperty
-                (AbstractIdentityMessageHandler.class.getName(), this.getClass().getName());
-
-        if (identityEventListenerConfig == null) {
-            return false;
-        }
-
-        return Boolean.parseBoolean(identityEventListenerConfig.getEnable());
+        return EventListenerConfigCache.getInstance().isMessageHandlerEnabled(this.getClass());
     }
 }
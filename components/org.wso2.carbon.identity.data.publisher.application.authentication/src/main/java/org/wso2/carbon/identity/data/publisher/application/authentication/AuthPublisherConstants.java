@@ -49,11 +49,102 @@ public class AuthPublisherConstants {
     public static final String USER_AGENT = "User-Agent";
     public static final String AUTHENTICATOR_NAME = "authenticatorName";
     public static final String USERNAME_USER_INPUT = "usernameUserInput";
+    // Context property flagging a step of an invalid username, which is only meant for the step it was raised in
+    public static final String IS_INVALID_USERNAME = "isInvalidUsername";
+    // Event property holding the immutable snapshot of the event values
+    public static final String EVENT_SNAPSHOT = "authenticationEventSnapshot";
     // Session status codes
     public static final int SESSION_CREATION_STATUS = 1;
     public static final int SESSION_TERMINATION_STATUS = 0;
     public static final int SESSION_UPDATE_STATUS = 2;
 
+    // Asynchronous dispatching configurations in identity.xml
+    public static final String ASYNC_DISPATCH_ENABLED = "ISAnalytics.AsyncDispatch.Enable";
+    public static final String ASYNC_DISPATCH_QUEUE_SIZE = "ISAnalytics.AsyncDispatch.QueueSize";
+    public static final String ASYNC_DISPATCH_WORKER_COUNT = "ISAnalytics.AsyncDispatch.WorkerThreads";
+    public static final String ASYNC_DISPATCH_OVERFLOW_POLICY = "ISAnalytics.AsyncDispatch.OverflowPolicy";
+    public static final String ASYNC_DISPATCH_SHUTDOWN_TIMEOUT = "ISAnalytics.AsyncDispatch.ShutdownTimeout";
+    public static final int DEFAULT_ASYNC_DISPATCH_QUEUE_SIZE = 4096;
+    public static final int DEFAULT_ASYNC_DISPATCH_WORKER_COUNT = 2;
+    public static final long DEFAULT_ASYNC_DISPATCH_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    // User role cache configurations in identity.xml
+    public static final String ROLE_CACHE_ENABLED = "ISAnalytics.RoleCache.Enable";
+    public static final String ROLE_CACHE_TIME_TO_LIVE = "ISAnalytics.RoleCache.TimeToLive";
+    public static final String ROLE_CACHE_MAX_ENTRIES_PER_TENANT = "ISAnalytics.RoleCache.MaxEntriesPerTenant";
+    public static final long DEFAULT_ROLE_CACHE_TIME_TO_LIVE_SECONDS = 300;
+    public static final int DEFAULT_ROLE_CACHE_MAX_ENTRIES_PER_TENANT = 1000;
+
+    // Session timeout cache configurations
+    public static final String SESSION_TIMEOUT_CACHE_ENABLED = "ISAnalytics.SessionTimeoutCache.Enable";
+    public static final String SESSION_TIMEOUT_CACHE_TIME_TO_LIVE = "ISAnalytics.SessionTimeoutCache.TimeToLive";
+    public static final long DEFAULT_SESSION_TIMEOUT_CACHE_TIME_TO_LIVE_SECONDS = 300;
+
+    // Session identity provider list cache configurations
+    public static final String SESSION_IDP_LIST_CACHE_ENABLED = "ISAnalytics.SessionIdPListCache.Enable";
+    public static final String SESSION_IDP_LIST_CACHE_MAX_ENTRIES = "ISAnalytics.SessionIdPListCache.MaxEntries";
+    public static final int DEFAULT_SESSION_IDP_LIST_CACHE_MAX_ENTRIES = 10000;
+
+    // Interning configurations of the low cardinality strings of the events
+    public static final String STRING_INTERNING_ENABLED = "ISAnalytics.StringInterning.Enable";
+    public static final String STRING_INTERNING_MAX_ENTRIES = "ISAnalytics.StringInterning.MaxEntries";
+    public static final String STRING_INTERNING_MAX_LENGTH = "ISAnalytics.StringInterning.MaxLength";
+    public static final int DEFAULT_STRING_INTERNING_MAX_ENTRIES = 4096;
+    public static final int DEFAULT_STRING_INTERNING_MAX_LENGTH = 256;
+
+    // Active session counter configurations
+    public static final String ACTIVE_SESSION_COUNTER_ENABLED = "ISAnalytics.ActiveSessionCounter.Enable";
+    public static final String ACTIVE_SESSION_COUNTER_BUCKET_RESOLUTION =
+            "ISAnalytics.ActiveSessionCounter.BucketResolution";
+    public static final String ACTIVE_SESSION_COUNTER_MAX_TRACKED_SESSIONS =
+            "ISAnalytics.ActiveSessionCounter.MaxTrackedSessions";
+    public static final long DEFAULT_ACTIVE_SESSION_COUNTER_BUCKET_RESOLUTION_SECONDS = 60;
+    public static final int DEFAULT_ACTIVE_SESSION_COUNTER_MAX_TRACKED_SESSIONS = 100000;
+
+    // Event batching configurations in identity.xml
+    public static final String BATCHING_ENABLED = "ISAnalytics.Batching.Enable";
+    public static final String BATCHING_BATCH_SIZE = "ISAnalytics.Batching.BatchSize";
+    public static final String BATCHING_LINGER_TIME = "ISAnalytics.Batching.LingerTime";
+    public static final int DEFAULT_BATCHING_BATCH_SIZE = 100;
+    public static final long DEFAULT_BATCHING_LINGER_TIME_MILLIS = 1000;
+
+    // Spill queue configurations in identity.xml, the sizes are in bytes and the replay rate in events per second
+    public static final String SPILL_QUEUE_ENABLED = "ISAnalytics.SpillQueue.Enable";
+    public static final String SPILL_QUEUE_DIRECTORY = "ISAnalytics.SpillQueue.Directory";
+    public static final String SPILL_QUEUE_SEGMENT_SIZE = "ISAnalytics.SpillQueue.SegmentSize";
+    public static final String SPILL_QUEUE_MAX_SIZE = "ISAnalytics.SpillQueue.MaxSize";
+    public static final String SPILL_QUEUE_REPLAY_RATE = "ISAnalytics.SpillQueue.ReplayRate";
+    public static final String SPILL_QUEUE_RETRY_INTERVAL = "ISAnalytics.SpillQueue.RetryInterval";
+    public static final String DEFAULT_SPILL_QUEUE_DIRECTORY = "repository/data/identity-analytics-spill";
+    public static final int DEFAULT_SPILL_QUEUE_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final long DEFAULT_SPILL_QUEUE_MAX_SIZE = 512L * 1024 * 1024;
+    public static final int DEFAULT_SPILL_QUEUE_REPLAY_RATE = 500;
+    public static final long DEFAULT_SPILL_QUEUE_RETRY_INTERVAL_MILLIS = 5000;
+
+    // Asynchronous audit appender configurations, relative to the properties of the audit handler
+    public static final String ASYNC_AUDIT_APPENDER_ENABLED = "async.enable";
+    public static final String ASYNC_AUDIT_APPENDER_QUEUE_SIZE = "async.queueSize";
+    public static final String ASYNC_AUDIT_APPENDER_BATCH_SIZE = "async.batchSize";
+    public static final String ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT = "async.shutdownTimeout";
+    public static final int DEFAULT_ASYNC_AUDIT_APPENDER_QUEUE_SIZE = 8192;
+    public static final int DEFAULT_ASYNC_AUDIT_APPENDER_BATCH_SIZE = 256;
+    public static final long DEFAULT_ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    // Event sampling configurations, relative to the properties of the handler the events are sampled for. The rate
+    // limits are in events per second and the burst duration in seconds.
+    public static final String SAMPLING_ENABLED = "sampling.enable";
+    public static final String SAMPLING_RULES = "sampling.rules";
+    public static final String SAMPLING_TENANT_RATE_LIMIT = "sampling.tenantRateLimit";
+    public static final String SAMPLING_TENANT_RATE_LIMITS = "sampling.tenantRateLimits";
+    public static final String SAMPLING_TENANT_BURST_DURATION = "sampling.tenantBurstDuration";
+    public static final long DEFAULT_SAMPLING_TENANT_BURST_DURATION_SECONDS = 1;
+
+    // Metrics of the handlers and publishers, disabled by default
+    public static final String METRICS_ENABLED = "ISAnalytics.Metrics.Enable";
+
+    // Event id generator configuration, either the name of a bundled generator or a generator class name
+    public static final String EVENT_ID_GENERATOR = "ISAnalytics.EventIdGenerator";
+
     private AuthPublisherConstants() {
 
     }
@@ -27,13 +27,14 @@ import org.wso2.carbon.identity.application.authentication.framework.context.Ses
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.core.handler.AbstractIdentityMessageHandler;
 import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherRegistry;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
 import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
 import org.wso2.carbon.identity.event.IdentityEventConstants.EventProperty;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 
@@ -48,8 +49,8 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
         AuthenticationDataPublisher {
 
     private static final Log log = LogFactory.getLog(AuthnDataPublisherProxy.class);
-    private List<AuthenticationDataPublisher> dataPublishers = AuthenticationDataPublisherDataHolder.getInstance()
-            .getDataPublishers();
+    private final AuthenticationDataPublisherRegistry publisherRegistry = AuthenticationDataPublisherDataHolder
+            .getInstance().getPublisherRegistry();
 
     /**
      * Publish authentication success after managing handler operations
@@ -61,17 +62,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishAuthenticationStepSuccess(HttpServletRequest request, AuthenticationContext context,
                                                  Map<String, Object> params) {
 
-        Event event = createEvent(request, context, null, params, EventName.AUTHENTICATION_STEP_SUCCESS);
-        event.addEventProperty(EventProperty.AUTHENTICATION_STATUS, AuthenticatorStatus.PASS);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishAuthenticationStepSuccess(request, context, params);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.AUTHENTICATION_STEP_SUCCESS, AuthenticatorStatus.PASS, request, context, null, params);
     }
 
     protected boolean isPublisherEnabledAndCanHandle(AuthenticationContext context, AuthenticationDataPublisher
@@ -90,17 +81,8 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishAuthenticationStepFailure(HttpServletRequest request, AuthenticationContext context,
                                                  Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, null, unmodifiableMap, EventName.AUTHENTICATION_STEP_FAILURE);
-        event.addEventProperty(EventProperty.AUTHENTICATION_STATUS, AuthenticatorStatus.FAIL);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishAuthenticationStepFailure(request, context, unmodifiableMap);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.AUTHENTICATION_STEP_FAILURE, AuthenticatorStatus.FAIL, request, context, null,
+                unmodifiableMap);
     }
 
     /**
@@ -113,17 +95,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishAuthenticationSuccess(HttpServletRequest request, AuthenticationContext context,
                                              Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, null, unmodifiableMap, EventName.AUTHENTICATION_SUCCESS);
-        event.addEventProperty(EventProperty.AUTHENTICATION_STATUS, AuthenticatorStatus.PASS);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishAuthenticationSuccess(request, context, unmodifiableMap);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS, request, context, null, unmodifiableMap);
     }
 
     /**
@@ -136,17 +108,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishAuthenticationFailure(HttpServletRequest request, AuthenticationContext context,
                                              Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, null, unmodifiableMap, EventName.AUTHENTICATION_FAILURE);
-        event.addEventProperty(EventProperty.AUTHENTICATION_STATUS, AuthenticatorStatus.FAIL);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishAuthenticationFailure(request, context, unmodifiableMap);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.AUTHENTICATION_FAILURE, AuthenticatorStatus.FAIL, request, context, null, unmodifiableMap);
     }
 
     /**
@@ -160,16 +122,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishSessionCreation(HttpServletRequest request, AuthenticationContext context, SessionContext
             sessionContext, Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, sessionContext, unmodifiableMap, EventName.SESSION_CREATE);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishSessionCreation(request, context, sessionContext, unmodifiableMap);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.SESSION_CREATE, null, request, context, sessionContext, unmodifiableMap);
     }
 
     /**
@@ -183,16 +136,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishSessionUpdate(HttpServletRequest request, AuthenticationContext context, SessionContext
             sessionContext, Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, sessionContext, unmodifiableMap, EventName.SESSION_UPDATE);
-        doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishSessionUpdate(request, context, sessionContext, unmodifiableMap);
-                if (log.isDebugEnabled()) {
-                    log.debug(publisher.getName() + " is invoked.");
-                }
-            }
-        }
+        publish(EventName.SESSION_UPDATE, null, request, context, sessionContext, unmodifiableMap);
     }
 
     /**
@@ -207,11 +151,42 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
     public void publishSessionTermination(HttpServletRequest request, AuthenticationContext context,
                                           SessionContext sessionContext, Map<String, Object> unmodifiableMap) {
 
-        Event event = createEvent(request, context, sessionContext, unmodifiableMap, EventName.SESSION_TERMINATE);
+        publish(EventName.SESSION_TERMINATE, null, request, context, sessionContext, unmodifiableMap);
+    }
+
+    /**
+     * Publish the event to the event handlers and then invoke the legacy data publishers, both on the calling thread
+     * with the live request and contexts, so that every subscriber of the event sees the same values as before. When
+     * asynchronous dispatching is enabled, the handlers and publishers of this component capture what they need from
+     * the event and hand only their own build and publish stages to the dispatcher.
+     */
+    private void publish(EventName eventName, AuthenticatorStatus status, HttpServletRequest request,
+                         AuthenticationContext context, SessionContext sessionContext, Map<String, Object> params) {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        long startTime = metrics.startTimer();
+        Event event = createEvent(request, context, sessionContext, params, eventName);
+        if (status != null) {
+            event.addEventProperty(EventProperty.AUTHENTICATION_STATUS, status);
+        }
+        long publishStartTime = metrics.recordBuild(getName(), eventName.name(), startTime);
         doPublishEvent(event);
-        for (AuthenticationDataPublisher publisher : dataPublishers) {
-            if (isPublisherEnabledAndCanHandle(context, publisher)) {
-                publisher.publishSessionTermination(request, context, sessionContext, unmodifiableMap);
+        invokePublishers(eventName, request, context, sessionContext, params);
+        if (eventName == EventName.SESSION_TERMINATE && params != null) {
+            AuthnDataPublisherUtils.invalidateSessionIdPs((String) params.get(FrameworkConstants.AnalyticsAttributes
+                    .SESSION_ID));
+        }
+        metrics.recordPublish(getName(), eventName.name(), publishStartTime);
+    }
+
+    private void invokePublishers(EventName eventName, HttpServletRequest request, AuthenticationContext context,
+                                  SessionContext sessionContext, Map<String, Object> params) {
+
+        AuthenticationDataPublisherRegistry.Publishers publishers = publisherRegistry.getPublishers();
+        for (int i = 0; i < publishers.size(); i++) {
+            AuthenticationDataPublisher publisher = publishers.get(i);
+            if (publishers.isResolved(i) || isPublisherEnabledAndCanHandle(context, publisher)) {
+                invokePublisher(publisher, eventName, request, context, sessionContext, params);
                 if (log.isDebugEnabled()) {
                     log.debug(publisher.getName() + " is invoked.");
                 }
@@ -219,6 +194,37 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
         }
     }
 
+    private void invokePublisher(AuthenticationDataPublisher publisher, EventName eventName,
+                                 HttpServletRequest request, AuthenticationContext context,
+                                 SessionContext sessionContext, Map<String, Object> params) {
+
+        switch (eventName) {
+            case AUTHENTICATION_STEP_SUCCESS:
+                publisher.publishAuthenticationStepSuccess(request, context, params);
+                break;
+            case AUTHENTICATION_STEP_FAILURE:
+                publisher.publishAuthenticationStepFailure(request, context, params);
+                break;
+            case AUTHENTICATION_SUCCESS:
+                publisher.publishAuthenticationSuccess(request, context, params);
+                break;
+            case AUTHENTICATION_FAILURE:
+                publisher.publishAuthenticationFailure(request, context, params);
+                break;
+            case SESSION_CREATE:
+                publisher.publishSessionCreation(request, context, sessionContext, params);
+                break;
+            case SESSION_UPDATE:
+                publisher.publishSessionUpdate(request, context, sessionContext, params);
+                break;
+            case SESSION_TERMINATE:
+                publisher.publishSessionTermination(request, context, sessionContext, params);
+                break;
+            default:
+                log.error("Event " + eventName + " cannot be handled");
+        }
+    }
+
     @Override
     public String getName() {
 
@@ -244,6 +250,7 @@ public class AuthnDataPublisherProxy extends AbstractIdentityMessageHandler impl
         try {
             AuthenticationDataPublisherDataHolder.getInstance().getIdentityEventService().handleEvent(event);
         } catch (IdentityEventException e) {
+            PublisherMetrics.getInstance().recordError(getName(), event.getEventName());
             log.error("Error while publishing the event: " + event.getEventName() + ".", e);
         }
     }
@@ -22,15 +22,35 @@ import org.apache.axiom.om.util.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionIdPListCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.StringInterner;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionTimeoutCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.TenantIdCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.UserRoleCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AuthnDataDispatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventBatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventSpillQueue;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.ActiveSessionCounter;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserRealm;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.security.MessageDigest;
@@ -38,6 +58,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
 public class AuthnDataPublisherUtils {
@@ -46,6 +67,7 @@ public class AuthnDataPublisherUtils {
     private static final String APPLICATION_DOMAIN = "Application";
     private static final String WORKFLOW_DOMAIN = "Workflow";
     private static final String INTERNAL_EVERYONE_ROLE = "Internal/everyone";
+    private static final Object[] SUPER_TENANT_META_DATA = new Object[]{MultitenantConstants.SUPER_TENANT_ID};
 
     /**
      * Add default values if the values coming in are null or empty
@@ -55,16 +77,126 @@ public class AuthnDataPublisherUtils {
      * @return
      */
     public static String replaceIfNotAvailable(String name, String value) {
-        if (StringUtils.isNotEmpty(name) && StringUtils.isEmpty(value)) {
-            String defaultValue = IdentityUtil.getProperty(name);
+
+        if (StringUtils.isNotEmpty(value)) {
+            return value;
+        }
+        if (StringUtils.isEmpty(name)) {
+            return AuthPublisherConstants.NOT_AVAILABLE;
+        }
+        PayloadDefaultValues payloadDefaultValues = AuthenticationDataPublisherDataHolder.getInstance()
+                .getPayloadDefaultValues();
+        if (payloadDefaultValues != null) {
+            String defaultValue = payloadDefaultValues.get(name);
             if (defaultValue != null) {
                 return defaultValue;
             }
         }
-        if (StringUtils.isEmpty(value)) {
-            return AuthPublisherConstants.NOT_AVAILABLE;
+        String defaultValue = IdentityUtil.getProperty(name);
+        if (defaultValue != null) {
+            return defaultValue;
         }
-        return value;
+        return AuthPublisherConstants.NOT_AVAILABLE;
+    }
+
+    /**
+     * Generate the id of a published event.
+     *
+     * @return New event id in the UUID string format
+     */
+    public static String generateEventId() {
+
+        return AuthenticationDataPublisherDataHolder.getInstance().getEventIdGenerator().nextId();
+    }
+
+    /**
+     * Read a positive integer property from identity.xml.
+     *
+     * @param name         Name of the property configured in identity.xml
+     * @param defaultValue Value to return when the property is not configured or invalid
+     * @return Configured value or the default value
+     */
+    public static int getPositiveIntProperty(String name, int defaultValue) {
+
+        return parsePositiveInt(name, IdentityUtil.getProperty(name), defaultValue);
+    }
+
+    /**
+     * Read a positive integer property from the given properties, such as the module properties of a handler.
+     *
+     * @param properties   Properties to read from, may be null
+     * @param name         Name of the property
+     * @param defaultValue Value to return when the property is not configured or invalid
+     * @return Configured value or the default value
+     */
+    public static int getPositiveIntProperty(Properties properties, String name, int defaultValue) {
+
+        if (properties == null) {
+            return defaultValue;
+        }
+        return parsePositiveInt(name, properties.getProperty(name), defaultValue);
+    }
+
+    private static int parsePositiveInt(String name, String value, int defaultValue) {
+
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the warning below.
+            }
+            LOG.warn("Invalid value: " + value + " configured for " + name + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Read a positive long property from identity.xml.
+     *
+     * @param name         Name of the property configured in identity.xml
+     * @param defaultValue Value to return when the property is not configured or invalid
+     * @return Configured value or the default value
+     */
+    public static long getPositiveLongProperty(String name, long defaultValue) {
+
+        return parsePositiveLong(name, IdentityUtil.getProperty(name), defaultValue);
+    }
+
+    /**
+     * Read a positive long property from the given properties, such as the module properties of a handler.
+     *
+     * @param properties   Properties to read from, may be null
+     * @param name         Name of the property
+     * @param defaultValue Value to return when the property is not configured or invalid
+     * @return Configured value or the default value
+     */
+    public static long getPositiveLongProperty(Properties properties, String name, long defaultValue) {
+
+        if (properties == null) {
+            return defaultValue;
+        }
+        return parsePositiveLong(name, properties.getProperty(name), defaultValue);
+    }
+
+    private static long parsePositiveLong(String name, String value, long defaultValue) {
+
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                long longValue = Long.parseLong(value.trim());
+                if (longValue > 0) {
+                    return longValue;
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the warning below.
+            }
+            LOG.warn("Invalid value: " + value + " configured for " + name + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
     }
 
     /**
@@ -78,15 +210,122 @@ public class AuthnDataPublisherUtils {
      */
     public static long getSessionExpirationTime(long createdTime, long updatedTime, String tenantDomain,
                                                 boolean isRememberMe) {
+        SessionTimeoutCache sessionTimeoutCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionTimeoutCache();
         // If remember me is enabled, Session termination time will be fixed
         if (isRememberMe) {
-            long rememberMeTimeout = TimeUnit.SECONDS.toMillis(IdPManagementUtil.getRememberMeTimeout(tenantDomain));
+            long rememberMeTimeout = sessionTimeoutCache != null ? sessionTimeoutCache.getRememberMeTimeout(
+                    tenantDomain) : TimeUnit.SECONDS.toMillis(IdPManagementUtil.getRememberMeTimeout(tenantDomain));
             return createdTime + rememberMeTimeout;
         }
-        long idleSessionTimeOut = TimeUnit.SECONDS.toMillis(IdPManagementUtil.getIdleSessionTimeOut(tenantDomain));
+        long idleSessionTimeOut = sessionTimeoutCache != null ? sessionTimeoutCache.getIdleSessionTimeout(
+                tenantDomain) : TimeUnit.SECONDS.toMillis(IdPManagementUtil.getIdleSessionTimeOut(tenantDomain));
         return idleSessionTimeOut + updatedTime;
     }
 
+    /**
+     * Get the comma separated names of the identity providers a session is authenticated with, reusing the list
+     * joined for a previous event of the session if the identity providers have not changed.
+     *
+     * @param sessionId         Session id, may be null
+     * @param authenticatedIdPs Authenticated identity providers of the session keyed by their names, may be null
+     * @return Comma separated identity provider names, or an empty string if there are none
+     */
+    public static String getCommaSeparatedIdPs(String sessionId, Map<String, ?> authenticatedIdPs) {
+
+        SessionIdPListCache sessionIdPListCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionIdPListCache();
+        if (sessionIdPListCache != null) {
+            return sessionIdPListCache.getCommaSeparatedIdPs(sessionId, authenticatedIdPs);
+        }
+        return SessionIdPListCache.join(authenticatedIdPs);
+    }
+
+    /**
+     * Run the build and publish stage of a handler or a publisher. When asynchronous dispatching is enabled the stage
+     * is handed to the dispatcher and runs on a worker thread, within the logging MDC and the tenant flow of the
+     * calling thread. Otherwise it runs on the calling thread. The stage should only read values captured before it
+     * is dispatched, since the servlet request and the authentication context keep changing afterwards.
+     *
+     * @param name      Name of the handler or publisher the stage belongs to
+     * @param eventName Name of the published event
+     * @param stage     Build and publish stage
+     */
+    public static void dispatch(String name, String eventName, final Runnable stage) {
+
+        AuthnDataDispatcher dispatcher = AuthenticationDataPublisherDataHolder.getInstance().getDispatcher();
+        if (dispatcher == null) {
+            stage.run();
+            return;
+        }
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        String currentTenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        final String tenantDomain = StringUtils.isNotBlank(currentTenantDomain) ? currentTenantDomain :
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+        boolean dispatched = dispatcher.dispatch(new Runnable() {
+            @Override
+            public void run() {
+
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    FrameworkUtils.startTenantFlow(tenantDomain);
+                    stage.run();
+                } finally {
+                    FrameworkUtils.endTenantFlow();
+                    MDC.clear();
+                }
+            }
+        });
+        if (!dispatched) {
+            PublisherMetrics.getInstance().recordDrop(name, eventName);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Event: " + eventName + " of: " + name + " was dropped by the dispatcher.");
+            }
+        }
+    }
+
+    /**
+     * Drop the identity providers cached for a session once it is terminated.
+     *
+     * @param sessionId Session id, may be null
+     */
+    public static void invalidateSessionIdPs(String sessionId) {
+
+        SessionIdPListCache sessionIdPListCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionIdPListCache();
+        if (sessionIdPListCache != null) {
+            sessionIdPListCache.invalidate(sessionId);
+        }
+    }
+
+    /**
+     * Canonicalize a low cardinality field of an event, such as a tenant domain, service provider, inbound protocol,
+     * authenticator or identity provider name, so that the events held in memory share the same instance.
+     *
+     * @param value Field value, may be null
+     * @return Interned value, or the given value if interning is disabled
+     */
+    public static String intern(String value) {
+
+        StringInterner stringInterner = AuthenticationDataPublisherDataHolder.getInstance().getStringInterner();
+        if (stringInterner != null) {
+            return stringInterner.intern(value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the counter of the active sessions kept from the session events seen by this node.
+     *
+     * @return Active session counter, or null if the sessions are not counted locally
+     */
+    public static ActiveSessionCounter getActiveSessionCounter() {
+
+        return AuthenticationDataPublisherDataHolder.getInstance().getActiveSessionCounter();
+    }
+
     /**
      * Hash given string using sha-256
      *
@@ -102,18 +341,22 @@ public class AuthnDataPublisherUtils {
     }
 
     /**
-     * Get metadata array for different tenants with tenant domain
-     * @param tenantDomain
-     * @return
+     * Get the event metadata array of a tenant. The returned array can be shared between events and hence should not
+     * be modified.
+     *
+     * @param tenantDomain Tenant domain the event is published to
+     * @return Metadata array holding the tenant id
      */
     public static Object[] getMetaDataArray(String tenantDomain) {
-        Object[] metaData = new Object[1];
+
         if (StringUtils.isBlank(tenantDomain)) {
-            metaData[0] = MultitenantConstants.SUPER_TENANT_ID;
-        } else {
-            metaData[0] = IdentityTenantUtil.getTenantId(tenantDomain);
+            return SUPER_TENANT_META_DATA;
+        }
+        TenantIdCache tenantIdCache = AuthenticationDataPublisherDataHolder.getInstance().getTenantIdCache();
+        if (tenantIdCache != null) {
+            return tenantIdCache.getMetaDataArray(tenantDomain);
         }
-        return metaData;
+        return new Object[]{IdentityTenantUtil.getTenantId(tenantDomain)};
     }
 
     public static String[] getTenantDomains(String spTenantDomain, String userTenantDomain) {
@@ -163,6 +406,126 @@ public class AuthnDataPublisherUtils {
         return externalRoles;
     }
 
+    /**
+     * Returns the comma separated external roles of a user. The roles are served from the user role cache when it is
+     * enabled, so the user store is queried at most once per user within the configured time to live.
+     *
+     * @param realmService Realm service
+     * @param userName     Domain qualified username
+     * @param tenantDomain Tenant domain of the user
+     * @return Comma separated roles, or an empty string if the user has no roles or they cannot be retrieved.
+     */
+    public static String getCommaSeparatedUserRoles(RealmService realmService, String userName,
+                                                    String tenantDomain) {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Retrieving roles for user " + userName + ", tenant domain " + tenantDomain);
+        }
+        if (tenantDomain == null || userName == null) {
+            return StringUtils.EMPTY;
+        }
+
+        UserRoleCache userRoleCache = AuthenticationDataPublisherDataHolder.getInstance().getUserRoleCache();
+        if (userRoleCache != null) {
+            String cachedRoles = userRoleCache.get(tenantDomain, userName);
+            if (cachedRoles != null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Returning cached roles, " + cachedRoles);
+                }
+                return cachedRoles;
+            }
+        }
+
+        try {
+            String roles = getUserRolesFromUserStore(realmService, userName, tenantDomain);
+            if (userRoleCache != null) {
+                userRoleCache.put(tenantDomain, userName, roles);
+            }
+            return roles;
+        } catch (UserStoreException e) {
+            // Failures are not cached so that the next event retries the user store.
+            LOG.error("Error when getting user store for " + userName + "@" + tenantDomain, e);
+        }
+        return StringUtils.EMPTY;
+    }
+
+    private static String getUserRolesFromUserStore(RealmService realmService, String userName, String tenantDomain)
+            throws UserStoreException {
+
+        int tenantId = realmService.getTenantManager().getTenantId(tenantDomain);
+        UserRealm realm = (UserRealm) realmService.getTenantUserRealm(tenantId);
+        if (realm != null) {
+            UserStoreManager userstore = realm.getUserStoreManager();
+            if (userstore.isExistingUser(userName)) {
+                String[] newRoles = userstore.getRoleListOfUser(userName);
+                StringBuilder sb = new StringBuilder();
+                List<String> externalRoles = filterRoles(newRoles);
+                for (String role : externalRoles) {
+                    sb.append(",").append(role);
+                }
+                if (sb.length() > 0) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Returning roles, " + sb.substring(1));
+                    }
+                    return sb.substring(1); //remove the first comma
+                }
+            }
+        } else {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("No realm found. for tenant domain : " + tenantDomain + ". Hence no roles added");
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("No roles found. Returning empty string");
+        }
+        return StringUtils.EMPTY;
+    }
+
+    /**
+     * Publish databridge events. When batching is enabled the events are handed over to the batcher, otherwise they
+     * are published right away within a single tenant flow. When the spill queue is enabled, the events which cannot
+     * be published are appended to the spill queue.
+     *
+     * @param publisherService Event stream service to publish with when batching is disabled
+     * @param events           Events to publish, which should not be modified afterwards
+     */
+    public static void publishEvents(EventStreamService publisherService, List<Event> events) {
+
+        EventBatcher eventBatcher = AuthenticationDataPublisherDataHolder.getInstance().getEventBatcher();
+        if (eventBatcher != null) {
+            for (Event event : events) {
+                eventBatcher.add(event);
+            }
+            return;
+        }
+        EventSpillQueue spillQueue = AuthenticationDataPublisherDataHolder.getInstance().getEventSpillQueue();
+        if (spillQueue != null && (publisherService == null || spillQueue.hasBacklog())) {
+            // Events are queued behind the spilled events until they are replayed, to keep them in order.
+            spillQueue.offerAll(events);
+            return;
+        }
+        try {
+            FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    publisherService.publish(events.get(i));
+                } catch (RuntimeException e) {
+                    if (spillQueue == null) {
+                        throw e;
+                    }
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Spilling the events which failed to publish to stream: " + events.get(i)
+                                .getStreamId(), e);
+                    }
+                    spillQueue.offerAll(events.subList(i, events.size()));
+                    return;
+                }
+            }
+        } finally {
+            FrameworkUtils.endTenantFlow();
+        }
+    }
+
     /**
      * Returns the IDP name of IDP which is used to get the subject identifier.
      *
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication;
+
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table of the default values of the payload fields which are configured under {@code ISAnalytics.DefaultValues} in
+ * identity.xml. The values are resolved once when the table is loaded, so that defaulting an empty payload field does
+ * not need a configuration lookup per event. The table is loaded when the bundle is activated, and again through the
+ * reload operation of the publisher management MBean, as identity.xml does not notify its readers of a reload.
+ */
+public class PayloadDefaultValues {
+
+    private static final String[] FIELDS = {
+            AuthPublisherConstants.USERNAME,
+            AuthPublisherConstants.USER_STORE_DOMAIN,
+            AuthPublisherConstants.SERVICE_PROVIDER,
+            AuthPublisherConstants.IDENTITY_PROVIDER,
+            AuthPublisherConstants.ROLES,
+            AuthPublisherConstants.USERNAME_USER_INPUT,
+            AuthPublisherConstants.SESSION_ID,
+            AuthPublisherConstants.AUTHENTICATOR_NAME
+    };
+
+    private volatile Map<String, String> defaultValues = Collections.emptyMap();
+
+    /**
+     * Resolve the default values of all the known payload fields from identity.xml, replacing the current ones.
+     */
+    public void reload() {
+
+        Map<String, String> resolvedValues = new HashMap<>();
+        for (String field : FIELDS) {
+            String name = AuthPublisherConstants.CONFIG_PREFIX + field;
+            String defaultValue = IdentityUtil.getProperty(name);
+            resolvedValues.put(name, defaultValue != null ? defaultValue : AuthPublisherConstants.NOT_AVAILABLE);
+        }
+        defaultValues = Collections.unmodifiableMap(resolvedValues);
+    }
+
+    /**
+     * @param name Name of the default value property, including the {@link AuthPublisherConstants#CONFIG_PREFIX}.
+     * @return Default value of the field, {@link AuthPublisherConstants#NOT_AVAILABLE} if no default value is
+     * configured, or null if the field is not known to this table.
+     */
+    public String get(String name) {
+
+        return defaultValues.get(name);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.wso2.carbon.identity.core.handler.AbstractIdentityMessageHandler;
+import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.StripedCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the event listener configuration of the message handlers, which is otherwise looked up in identity.xml by
+ * the handler class name on every event by every publisher. Shared by the publishers and handlers of all the
+ * authentication data publisher bundles. The configurations are keyed by the handler class name rather than the
+ * class, so that the cache does not keep the class loader of an updated or uninstalled bundle reachable. The cache has
+ * to be invalidated once identity.xml is reloaded.
+ */
+public final class EventListenerConfigCache {
+
+    private static final EventListenerConfigCache INSTANCE = new EventListenerConfigCache();
+
+    private final ConcurrentMap<String, ListenerConfig> listenerConfigs = new ConcurrentHashMap<>();
+
+    // Counted on every event by every publisher, hence striped to keep the threads from contending on it.
+    private final StripedCounter avoidedLookupCount = new StripedCounter();
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    private EventListenerConfigCache() {
+
+    }
+
+    public static EventListenerConfigCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the event listener configuration of a message handler.
+     *
+     * @param handlerClass Class of the handler.
+     * @return Event listener configuration, or null if the handler is not configured in identity.xml.
+     */
+    public IdentityEventListenerConfig getMessageHandlerConfig(Class<?> handlerClass) {
+
+        return getListenerConfig(handlerClass).config;
+    }
+
+    /**
+     * @param handlerClass Class of the handler.
+     * @return True if the handler is configured and enabled in identity.xml.
+     */
+    public boolean isMessageHandlerEnabled(Class<?> handlerClass) {
+
+        return getListenerConfig(handlerClass).enabled;
+    }
+
+    /**
+     * Remove all the cached configurations, so that they are read from identity.xml again.
+     */
+    public void invalidate() {
+
+        listenerConfigs.clear();
+    }
+
+    public int size() {
+
+        return listenerConfigs.size();
+    }
+
+    /**
+     * @return Human readable summary of the cache counters.
+     */
+    public String getStatistics() {
+
+        return "Cached handlers: " + listenerConfigs.size() + ", avoided lookups: " + avoidedLookupCount.sum() +
+                ", lookups: " + lookupCount.get();
+    }
+
+    private ListenerConfig getListenerConfig(Class<?> handlerClass) {
+
+        String handlerClassName = handlerClass.getName();
+        ListenerConfig listenerConfig = listenerConfigs.get(handlerClassName);
+        if (listenerConfig != null) {
+            avoidedLookupCount.increment();
+            return listenerConfig;
+        }
+        lookupCount.incrementAndGet();
+        IdentityEventListenerConfig config = IdentityUtil.readEventListenerProperty(AbstractIdentityMessageHandler
+                .class.getName(), handlerClassName);
+        listenerConfig = new ListenerConfig(config);
+        ListenerConfig existing = listenerConfigs.putIfAbsent(handlerClassName, listenerConfig);
+        return existing != null ? existing : listenerConfig;
+    }
+
+    /**
+     * Resolved configuration of a handler. Handlers which are not configured are cached as well.
+     */
+    private static final class ListenerConfig {
+
+        private final IdentityEventListenerConfig config;
+        private final boolean enabled;
+
+        private ListenerConfig(IdentityEventListenerConfig config) {
+
+            this.config = config;
+            this.enabled = config != null && Boolean.parseBoolean(config.getEnable());
+        }
+    }
+}
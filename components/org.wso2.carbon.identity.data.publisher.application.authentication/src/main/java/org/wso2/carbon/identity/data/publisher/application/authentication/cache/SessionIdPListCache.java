@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the comma separated list of the identity providers a session is authenticated with. Most of the events of a
+ * session repeat the same identity providers, so the joined list is kept per session id along with the names it was
+ * joined from, and joined again only when the authenticated identity providers of the session change. The cache
+ * holds at most the configured number of sessions, an arbitrary session is evicted to make room for a new one.
+ */
+public class SessionIdPListCache {
+
+    private final int maxEntries;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxEntries Maximum number of sessions cached.
+     */
+    public SessionIdPListCache(int maxEntries) {
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries should be a positive value: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the comma separated identity providers of a session.
+     *
+     * @param sessionId         Session id, the list is joined without caching if it is null.
+     * @param authenticatedIdPs Authenticated identity providers of the session keyed by their names, may be null.
+     * @return Comma separated identity provider names, or an empty string if there are none.
+     */
+    public String getCommaSeparatedIdPs(String sessionId, Map<String, ?> authenticatedIdPs) {
+
+        if (authenticatedIdPs == null || authenticatedIdPs.isEmpty()) {
+            return StringUtils.EMPTY;
+        }
+        if (sessionId == null) {
+            missCount.incrementAndGet();
+            return join(authenticatedIdPs);
+        }
+        Entry entry = entries.get(sessionId);
+        if (entry != null && entry.matches(authenticatedIdPs)) {
+            hitCount.incrementAndGet();
+            return entry.joined;
+        }
+        missCount.incrementAndGet();
+        String[] names = authenticatedIdPs.keySet().toArray(new String[0]);
+        Entry newEntry = new Entry(names, join(names));
+        if (entry == null && entries.size() >= maxEntries) {
+            evictOne();
+        }
+        entries.put(sessionId, newEntry);
+        return newEntry.joined;
+    }
+
+    /**
+     * Remove the cached identity providers of a session, such as once it is terminated.
+     *
+     * @param sessionId Session id.
+     */
+    public void invalidate(String sessionId) {
+
+        if (sessionId != null) {
+            entries.remove(sessionId);
+        }
+    }
+
+    public void clear() {
+
+        entries.clear();
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    public String getStatistics() {
+
+        return "hits: " + hitCount.get() + ", misses: " + missCount.get() + ", evictions: " + evictionCount.get() +
+                ", size: " + entries.size();
+    }
+
+    /**
+     * Join the names of the identity providers with commas.
+     *
+     * @param authenticatedIdPs Authenticated identity providers keyed by their names, may be null.
+     * @return Comma separated identity provider names, or an empty string if there are none.
+     */
+    public static String join(Map<String, ?> authenticatedIdPs) {
+
+        if (authenticatedIdPs == null || authenticatedIdPs.isEmpty()) {
+            return StringUtils.EMPTY;
+        }
+        return join(authenticatedIdPs.keySet().toArray(new String[0]));
+    }
+
+    private static String join(String[] names) {
+
+        if (names.length == 1) {
+            return String.valueOf(names[0]);
+        }
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                joined.append(',');
+            }
+            joined.append(names[i]);
+        }
+        return joined.toString();
+    }
+
+    private void evictOne() {
+
+        Iterator<String> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Joined identity providers of a session, along with the names they were joined from in iteration order.
+     */
+    private static final class Entry {
+
+        private final String[] names;
+        private final String joined;
+
+        private Entry(String[] names, String joined) {
+
+            this.names = names;
+            this.joined = joined;
+        }
+
+        /**
+         * Compare the names as they are iterated. The identity providers are joined again if they are iterated in a
+         * different order even though they are the same.
+         */
+        private boolean matches(Map<String, ?> authenticatedIdPs) {
+
+            if (authenticatedIdPs.size() != names.length) {
+                return false;
+            }
+            int i = 0;
+            for (String name : authenticatedIdPs.keySet()) {
+                if (i >= names.length || !StringUtils.equals(names[i++], name)) {
+                    return false;
+                }
+            }
+            return i == names.length;
+        }
+    }
+}
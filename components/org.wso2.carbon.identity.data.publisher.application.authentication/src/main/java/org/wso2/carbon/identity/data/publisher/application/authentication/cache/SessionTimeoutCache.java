@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the idle session timeout and the remember me timeout of the tenants, which are read from the resident
+ * identity provider configuration when the expiry time of a session is calculated. Entries are invalidated when the
+ * resident identity provider of a tenant is updated on this node, and expire after the configured time to live to pick
+ * up the changes made on the other nodes of a cluster. Each invalidation advances the generation of the cache, and
+ * timeouts loaded across a generation change are not kept, so that an invalidation which happens while the timeouts
+ * are being loaded is not overwritten by the timeouts read before the change.
+ */
+public class SessionTimeoutCache {
+
+    private final long timeToLiveNanos;
+    private final ConcurrentMap<String, SessionTimeouts> timeouts = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * @param timeToLive Time an entry is valid after it is added.
+     * @param unit       Unit of the time to live.
+     */
+    public SessionTimeoutCache(long timeToLive, TimeUnit unit) {
+
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Time to live should be a positive value: " + timeToLive);
+        }
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+    }
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Idle session timeout of the tenant in milliseconds.
+     */
+    public long getIdleSessionTimeout(String tenantDomain) {
+
+        return getTimeouts(tenantDomain).idleSessionTimeoutMillis;
+    }
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Remember me timeout of the tenant in milliseconds.
+     */
+    public long getRememberMeTimeout(String tenantDomain) {
+
+        return getTimeouts(tenantDomain).rememberMeTimeoutMillis;
+    }
+
+    private SessionTimeouts getTimeouts(String tenantDomain) {
+
+        if (tenantDomain == null) {
+            missCount.incrementAndGet();
+            return loadTimeouts(null, 0);
+        }
+        long now = System.nanoTime();
+        SessionTimeouts cached = timeouts.get(tenantDomain);
+        if (cached != null && now - cached.expiryTime < 0) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+        missCount.incrementAndGet();
+        long loadGeneration = generation.get();
+        SessionTimeouts loaded = loadTimeouts(tenantDomain, now + timeToLiveNanos);
+        // Does not overwrite the timeouts stored by a concurrent load, nor restore an entry removed while loading.
+        boolean stored = cached != null ? timeouts.replace(tenantDomain, cached, loaded) :
+                timeouts.putIfAbsent(tenantDomain, loaded) == null;
+        // The generation is advanced before an entry is removed, so an invalidation which started while loading is
+        // either seen here or removes the stored timeouts itself.
+        if (stored && generation.get() != loadGeneration) {
+            timeouts.remove(tenantDomain, loaded);
+        }
+        return loaded;
+    }
+
+    private static SessionTimeouts loadTimeouts(String tenantDomain, long expiryTime) {
+
+        return new SessionTimeouts(TimeUnit.SECONDS.toMillis(IdPManagementUtil.getIdleSessionTimeOut(tenantDomain)),
+                TimeUnit.SECONDS.toMillis(IdPManagementUtil.getRememberMeTimeout(tenantDomain)), expiryTime);
+    }
+
+    /**
+     * Remove the cached timeouts of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        generation.incrementAndGet();
+        if (tenantDomain != null && timeouts.remove(tenantDomain) != null) {
+            invalidationCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        generation.incrementAndGet();
+        timeouts.clear();
+    }
+
+    public int size() {
+
+        return timeouts.size();
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * @return Ratio of the lookups served from the cache, between 0 and 1.
+     */
+    public double getHitRate() {
+
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return Human readable summary of the cache counters.
+     */
+    public String getStatistics() {
+
+        return "Hits: " + hitCount.get() + ", misses: " + missCount.get() + ", hit rate: " +
+                String.format("%.3f", getHitRate()) + ", invalidations: " + invalidationCount.get() + ", tenants: " +
+                timeouts.size();
+    }
+
+    private static final class SessionTimeouts {
+
+        private final long idleSessionTimeoutMillis;
+        private final long rememberMeTimeoutMillis;
+        private final long expiryTime;
+
+        private SessionTimeouts(long idleSessionTimeoutMillis, long rememberMeTimeoutMillis, long expiryTime) {
+
+            this.idleSessionTimeoutMillis = idleSessionTimeoutMillis;
+            this.rememberMeTimeoutMillis = rememberMeTimeoutMillis;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
+
+/**
+ * Keeps the {@link SessionTimeoutCache} consistent with the session timeouts configured in the resident identity
+ * provider of the tenants.
+ */
+public class SessionTimeoutCacheInvalidationListener extends AbstractIdentityProviderMgtListener {
+
+    private static final Log LOG = LogFactory.getLog(SessionTimeoutCacheInvalidationListener.class);
+    private static final int DEFAULT_ORDER_ID = 250;
+
+    private final SessionTimeoutCache sessionTimeoutCache;
+
+    public SessionTimeoutCacheInvalidationListener(SessionTimeoutCache sessionTimeoutCache) {
+
+        this.sessionTimeoutCache = sessionTimeoutCache;
+    }
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return DEFAULT_ORDER_ID;
+    }
+
+    @Override
+    public boolean doPostUpdateResidentIdP(IdentityProvider identityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        sessionTimeoutCache.invalidate(tenantDomain);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached session timeouts of tenant: " + tenantDomain);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canonicalizes the low cardinality strings of the published events, such as tenant domains, service providers,
+ * inbound protocols, authenticators and identity provider names, so that the events held in memory share a single
+ * instance of each value instead of the copies taken from each authentication context.
+ * <p>
+ * The interner holds at most the configured number of strings, split over segments which each evict their least
+ * recently used string. Strings longer than the maximum length are returned as is, since they are unlikely to repeat.
+ */
+public class StringInterner {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final int maxLength;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxEntries Maximum number of strings held.
+     * @param maxLength  Maximum length of the strings interned.
+     */
+    public StringInterner(int maxEntries, int maxLength) {
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries should be a positive value: " + maxEntries);
+        }
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("Maximum length should be a positive value: " + maxLength);
+        }
+        this.maxLength = maxLength;
+        int maxSegmentEntries = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(maxSegmentEntries);
+        }
+    }
+
+    /**
+     * @param value String to canonicalize, may be null.
+     * @return Interned instance of an equal string, or the given string if it is null, too long, or seen for the
+     * first time.
+     */
+    public String intern(String value) {
+
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        Segment segment = segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+        synchronized (segment) {
+            String interned = segment.get(value);
+            if (interned != null) {
+                hitCount.incrementAndGet();
+                return interned;
+            }
+            segment.put(value, value);
+        }
+        missCount.incrementAndGet();
+        return value;
+    }
+
+    public void clear() {
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    public String getStatistics() {
+
+        return "hits: " + hitCount.get() + ", misses: " + missCount.get() + ", evictions: " + evictionCount.get() +
+                ", size: " + size();
+    }
+
+    /**
+     * Strings of a segment in access order, guarded by the segment itself.
+     */
+    private final class Segment extends LinkedHashMap<String, String> {
+
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        private Segment(int maxEntries) {
+
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+
+            if (size() > maxEntries) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
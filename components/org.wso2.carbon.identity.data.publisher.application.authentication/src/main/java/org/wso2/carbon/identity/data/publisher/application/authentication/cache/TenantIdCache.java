@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the tenant id of the tenant domains events are published to, along with the metadata array of the events
+ * published to each tenant. The metadata arrays are shared between events and hence should never be modified.
+ */
+public class TenantIdCache {
+
+    private final ConcurrentMap<String, Object[]> metaDataArrays = new ConcurrentHashMap<>();
+
+    private final AtomicLong avoidedLookupCount = new AtomicLong();
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    /**
+     * Get the event metadata array of a tenant, resolving the tenant id if it is not cached.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Metadata array holding the tenant id, which should not be modified.
+     */
+    public Object[] getMetaDataArray(String tenantDomain) {
+
+        Object[] metaData = metaDataArrays.get(tenantDomain);
+        if (metaData != null) {
+            avoidedLookupCount.incrementAndGet();
+            return metaData;
+        }
+        lookupCount.incrementAndGet();
+        // Resolution fails with a runtime exception for unknown tenants, so only valid tenant ids are cached.
+        metaData = new Object[]{IdentityTenantUtil.getTenantId(tenantDomain)};
+        Object[] existing = metaDataArrays.putIfAbsent(tenantDomain, metaData);
+        return existing != null ? existing : metaData;
+    }
+
+    /**
+     * Remove the cached tenant id of a tenant domain.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        if (tenantDomain != null) {
+            metaDataArrays.remove(tenantDomain);
+        }
+    }
+
+    /**
+     * Remove the cached entries of a tenant id.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void invalidate(int tenantId) {
+
+        Iterator<Map.Entry<String, Object[]>> iterator = metaDataArrays.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (Integer.valueOf(tenantId).equals(iterator.next().getValue()[0])) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        metaDataArrays.clear();
+    }
+
+    public int size() {
+
+        return metaDataArrays.size();
+    }
+
+    /**
+     * @return Number of tenant id lookups served from the cache.
+     */
+    public long getAvoidedLookupCount() {
+
+        return avoidedLookupCount.get();
+    }
+
+    /**
+     * @return Number of tenant id lookups delegated to the tenant manager.
+     */
+    public long getLookupCount() {
+
+        return lookupCount.get();
+    }
+
+    /**
+     * @return Human readable summary of the cache counters.
+     */
+    public String getStatistics() {
+
+        return "Lookups avoided: " + avoidedLookupCount.get() + ", lookups: " + lookupCount.get() + ", tenants: " +
+                metaDataArrays.size();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.AbstractIdentityTenantMgtListener;
+import org.wso2.carbon.stratos.common.beans.TenantInfoBean;
+import org.wso2.carbon.stratos.common.exception.StratosException;
+
+/**
+ * Keeps the {@link TenantIdCache} consistent with the tenants created, deleted and renamed through the tenant
+ * manager.
+ */
+public class TenantIdCacheInvalidationListener extends AbstractIdentityTenantMgtListener {
+
+    private static final Log LOG = LogFactory.getLog(TenantIdCacheInvalidationListener.class);
+
+    private final TenantIdCache tenantIdCache;
+
+    public TenantIdCacheInvalidationListener(TenantIdCache tenantIdCache) {
+
+        this.tenantIdCache = tenantIdCache;
+    }
+
+    @Override
+    public void onTenantCreate(TenantInfoBean tenantInfo) throws StratosException {
+
+        // A domain can be created again after it is deleted on another node, with a different tenant id.
+        tenantIdCache.invalidate(tenantInfo.getTenantDomain());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached tenant id of created tenant: " + tenantInfo.getTenantDomain());
+        }
+    }
+
+    @Override
+    public void onTenantDelete(int tenantId) {
+
+        tenantIdCache.invalidate(tenantId);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached tenant id of deleted tenant: " + tenantId);
+        }
+    }
+
+    @Override
+    public void onTenantRename(int tenantId, String oldDomainName, String newDomainName) throws StratosException {
+
+        tenantIdCache.invalidate(oldDomainName);
+        tenantIdCache.invalidate(newDomainName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached tenant id of renamed tenant: " + oldDomainName);
+        }
+    }
+}
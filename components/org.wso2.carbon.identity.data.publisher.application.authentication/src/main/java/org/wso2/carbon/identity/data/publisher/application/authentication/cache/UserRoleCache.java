@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.user.core.UserCoreConstants;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the comma separated role list of users published with the login events. Entries are partitioned by tenant
+ * domain, each partition holds at most the configured number of entries in least recently used order, and every
+ * entry expires after the configured time to live.
+ */
+public class UserRoleCache {
+
+    private final long timeToLiveNanos;
+    private final int maxEntriesPerTenant;
+    private final ConcurrentMap<String, TenantPartition> partitions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * @param timeToLive          Time an entry is valid after it is added.
+     * @param unit                Unit of the time to live.
+     * @param maxEntriesPerTenant Maximum number of users cached for a tenant.
+     */
+    public UserRoleCache(long timeToLive, TimeUnit unit, int maxEntriesPerTenant) {
+
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Time to live should be a positive value: " + timeToLive);
+        }
+        if (maxEntriesPerTenant <= 0) {
+            throw new IllegalArgumentException("Maximum entries per tenant should be a positive value: " +
+                    maxEntriesPerTenant);
+        }
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.maxEntriesPerTenant = maxEntriesPerTenant;
+    }
+
+    /**
+     * Get the cached roles of a user.
+     *
+     * @param tenantDomain Tenant domain of the user.
+     * @param userName     Username, see {@link #toKey(String)}.
+     * @return Comma separated roles, or null if there is no valid entry.
+     */
+    public String get(String tenantDomain, String userName) {
+
+        TenantPartition partition = partitions.get(tenantDomain);
+        if (partition == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        String key = toKey(userName);
+        synchronized (partition) {
+            CacheEntry entry = partition.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.createdTime < timeToLiveNanos) {
+                    hitCount.incrementAndGet();
+                    return entry.roles;
+                }
+                partition.remove(key);
+                expirationCount.incrementAndGet();
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Cache the roles of a user.
+     *
+     * @param tenantDomain Tenant domain of the user.
+     * @param userName     Username, see {@link #toKey(String)}.
+     * @param roles        Comma separated roles.
+     */
+    public void put(String tenantDomain, String userName, String roles) {
+
+        TenantPartition partition = partitions.get(tenantDomain);
+        if (partition == null) {
+            TenantPartition newPartition = new TenantPartition();
+            partition = partitions.putIfAbsent(tenantDomain, newPartition);
+            if (partition == null) {
+                partition = newPartition;
+            }
+        }
+        synchronized (partition) {
+            partition.put(toKey(userName), new CacheEntry(roles, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Remove the cached roles of a user.
+     *
+     * @param tenantDomain Tenant domain of the user.
+     * @param userName     Username, see {@link #toKey(String)}.
+     */
+    public void invalidate(String tenantDomain, String userName) {
+
+        TenantPartition partition = partitions.get(tenantDomain);
+        if (partition == null) {
+            return;
+        }
+        synchronized (partition) {
+            if (partition.remove(toKey(userName)) != null) {
+                invalidationCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove the cached roles of all users of a tenant. Used when a role itself changes, since that can affect any
+     * number of users.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidateTenant(String tenantDomain) {
+
+        TenantPartition partition = partitions.remove(tenantDomain);
+        if (partition != null) {
+            synchronized (partition) {
+                invalidationCount.addAndGet(partition.size());
+            }
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        for (String tenantDomain : partitions.keySet()) {
+            invalidateTenant(tenantDomain);
+        }
+    }
+
+    /**
+     * @return Number of entries in the cache, including the expired ones which are not removed yet.
+     */
+    public int size() {
+
+        int size = 0;
+        for (TenantPartition partition : partitions.values()) {
+            synchronized (partition) {
+                size += partition.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    public long getExpirationCount() {
+
+        return expirationCount.get();
+    }
+
+    public long getInvalidationCount() {
+
+        return invalidationCount.get();
+    }
+
+    /**
+     * @return Human readable summary of the cache counters.
+     */
+    public String getStatistics() {
+
+        return "Hits: " + hitCount.get() + ", misses: " + missCount.get() + ", evictions: " + evictionCount.get() +
+                ", expirations: " + expirationCount.get() + ", invalidations: " + invalidationCount.get() +
+                ", tenants: " + partitions.size() + ", size: " + size();
+    }
+
+    /**
+     * Normalize a username to the key of its entry, so that the names the roles are cached with and the names the
+     * user core notifies changes with map to the same entry. The user core does not qualify the names of the primary
+     * user store, hence a name without a domain is qualified with the primary domain. User store domain names are
+     * case insensitive, hence the domain is normalized to upper case.
+     *
+     * @param userName Username, qualified with its user store domain or not.
+     * @return Key of the entry of the user.
+     */
+    public static String toKey(String userName) {
+
+        int index = userName.indexOf(CarbonConstants.DOMAIN_SEPARATOR);
+        if (index > 0) {
+            return userName.substring(0, index).toUpperCase(Locale.ENGLISH) + userName.substring(index);
+        }
+        return UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME + CarbonConstants.DOMAIN_SEPARATOR + userName;
+    }
+
+    private static final class CacheEntry {
+
+        private final String roles;
+        private final long createdTime;
+
+        private CacheEntry(String roles, long createdTime) {
+
+            this.roles = roles;
+            this.createdTime = createdTime;
+        }
+    }
+
+    private final class TenantPartition extends LinkedHashMap<String, CacheEntry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private TenantPartition() {
+
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+
+            if (size() > maxEntriesPerTenant) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
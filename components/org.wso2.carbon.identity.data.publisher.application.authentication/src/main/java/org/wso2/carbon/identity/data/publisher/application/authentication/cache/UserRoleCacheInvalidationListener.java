@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.common.AbstractUserOperationEventListener;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+
+/**
+ * Keeps the {@link UserRoleCache} consistent with the role changes done through the user core of this node. Changes
+ * done on other nodes of a cluster are picked up once the cached entries expire.
+ */
+public class UserRoleCacheInvalidationListener extends AbstractUserOperationEventListener {
+
+    private static final Log LOG = LogFactory.getLog(UserRoleCacheInvalidationListener.class);
+    private static final int EXECUTION_ORDER_ID = 95;
+
+    private final UserRoleCache userRoleCache;
+
+    public UserRoleCacheInvalidationListener(UserRoleCache userRoleCache) {
+
+        this.userRoleCache = userRoleCache;
+    }
+
+    @Override
+    public int getExecutionOrderId() {
+
+        return EXECUTION_ORDER_ID;
+    }
+
+    @Override
+    public boolean doPostDeleteUser(String userName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        invalidateUser(userName, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateRoleListOfUser(String userName, String[] deletedRoles, String[] newRoles,
+                                              UserStoreManager userStoreManager) throws UserStoreException {
+
+        invalidateUser(userName, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateUserListOfRole(String roleName, String[] deletedUsers, String[] newUsers,
+                                              UserStoreManager userStoreManager) throws UserStoreException {
+
+        invalidateTenant(userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateRoleName(String roleName, String newRoleName, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        invalidateTenant(userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteRole(String roleName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        invalidateTenant(userStoreManager);
+        return true;
+    }
+
+    private void invalidateUser(String userName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        // The names of the primary user store are not qualified, the cache qualifies them the same way it does when
+        // the roles are cached.
+        String domainQualifiedName = UserCoreUtil.addDomainToName(userName, UserCoreUtil.getDomainName(
+                userStoreManager.getRealmConfiguration()));
+        userRoleCache.invalidate(tenantDomain, domainQualifiedName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached roles of user: " + UserRoleCache.toKey(domainQualifiedName) +
+                    " of tenant: " + tenantDomain);
+        }
+    }
+
+    private void invalidateTenant(UserStoreManager userStoreManager) throws UserStoreException {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        userRoleCache.invalidateTenant(tenantDomain);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached roles of tenant: " + tenantDomain);
+        }
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.codec;
+
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the databridge events of the authentication and session streams, for holding events
+ * outside the heap or on the disk.
+ * <p>
+ * An attribute array is encoded as its length, the types of the attributes packed two per byte, a bitset of the
+ * boolean attributes and the rest of the attribute values. Ints and longs are encoded as zigzag varints. Strings are
+ * encoded as references to a dictionary of the strings repeated across the events, such as the stream ids and
+ * {@link AuthPublisherConstants#NOT_AVAILABLE}, followed by the strings already written to the same record, such as
+ * the tenant domain which is repeated in the meta data and the payload. Records do not depend on each other, so a
+ * record can be decoded even if other records are lost.
+ */
+public final class CompactEventCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_INT = 2;
+    private static final int TYPE_LONG = 3;
+    private static final int TYPE_BOOLEAN = 4;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_FLOAT = 6;
+
+    /**
+     * Strings shared by the events. The entries are referred to by their index, so new entries should only be added
+     * to the end of the list.
+     */
+    private static final List<String> DICTIONARY = Collections.unmodifiableList(Arrays.asList(
+            AuthPublisherConstants.AUTHN_DATA_STREAM_NAME,
+            AuthPublisherConstants.SESSION_DATA_STREAM_NAME,
+            AuthPublisherConstants.SESSION_DATA_STREAM_WITH_SESSION_COUNT_NAME,
+            "org.wso2.is.analytics.stream.OverallAuthentication:1.1.0",
+            AuthPublisherConstants.NOT_AVAILABLE,
+            AuthPublisherConstants.STEP_EVENT,
+            AuthPublisherConstants.OVERALL_EVENT,
+            MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+            "LOCAL",
+            "FEDERATED",
+            "PRIMARY",
+            ""));
+    private static final Map<String, Integer> DICTIONARY_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            DICTIONARY_INDEXES.put(DICTIONARY.get(i), i);
+        }
+    }
+
+    private CompactEventCodec() {
+
+    }
+
+    /**
+     * @param event Databridge event.
+     * @return Encoded event.
+     */
+    public static byte[] encode(Event event) {
+
+        Output out = new Output();
+        out.writeByte(FORMAT_VERSION);
+        out.writeString(event.getStreamId());
+        out.writeVarLong(event.getTimeStamp());
+        out.writeArray(event.getMetaData());
+        out.writeArray(event.getCorrelationData());
+        out.writeArray(event.getPayloadData());
+        Map<String, String> arbitraryDataMap = event.getArbitraryDataMap();
+        if (arbitraryDataMap == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(arbitraryDataMap.size() + 1);
+            for (Map.Entry<String, String> entry : arbitraryDataMap.entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeString(entry.getValue());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param record Encoded event.
+     * @return Decoded event.
+     * @throws IOException If the record is not a valid encoded event.
+     */
+    public static Event decode(byte[] record) throws IOException {
+
+        Input in = new Input(record);
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported event encoding version: " + version);
+        }
+        String streamId = in.readString();
+        long timestamp = in.readVarLong();
+        Object[] metaData = in.readArray();
+        Object[] correlationData = in.readArray();
+        Object[] payloadData = in.readArray();
+        Map<String, String> arbitraryDataMap = null;
+        int size = in.readVarInt() - 1;
+        if (size >= 0) {
+            arbitraryDataMap = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                arbitraryDataMap.put(in.readString(), in.readString());
+            }
+        }
+        if (in.position != record.length) {
+            throw new IOException("Unexpected " + (record.length - in.position) + " bytes after the encoded event");
+        }
+        return new Event(streamId, timestamp, metaData, correlationData, payloadData, arbitraryDataMap);
+    }
+
+    private static int typeOf(Object value) {
+
+        if (value == null) {
+            return TYPE_NULL;
+        } else if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        } else if (value instanceof Integer) {
+            return TYPE_INT;
+        } else if (value instanceof Long) {
+            return TYPE_LONG;
+        } else if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        } else if (value instanceof Float) {
+            return TYPE_FLOAT;
+        }
+        // Values of other types are not used by the analytics streams, and are published as strings.
+        return TYPE_STRING;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+        // Strings written to the record, which are referred to after the dictionary entries.
+        private Map<String, Integer> strings;
+
+        private void writeByte(int value) {
+
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarInt(int value) {
+
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+
+            ensureCapacity(10);
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        private void writeString(String value) {
+
+            // 0 is a null, 1 a string written as is, and the rest refer to the dictionary and the written strings.
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = DICTIONARY_INDEXES.get(value);
+            if (index == null && strings != null) {
+                index = strings.get(value);
+            }
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            if (strings == null) {
+                strings = new HashMap<>();
+            }
+            strings.put(value, DICTIONARY.size() + strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeArray(Object[] values) {
+
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.length + 1);
+            int booleanCount = 0;
+            for (int i = 0; i < values.length; i += 2) {
+                int type = typeOf(values[i]);
+                booleanCount += type == TYPE_BOOLEAN ? 1 : 0;
+                if (i + 1 < values.length) {
+                    int nextType = typeOf(values[i + 1]);
+                    booleanCount += nextType == TYPE_BOOLEAN ? 1 : 0;
+                    type |= nextType << 4;
+                }
+                writeByte(type);
+            }
+            if (booleanCount > 0) {
+                int bits = 0;
+                int bitCount = 0;
+                for (Object value : values) {
+                    if (value instanceof Boolean) {
+                        if ((Boolean) value) {
+                            bits |= 1 << bitCount;
+                        }
+                        if (++bitCount == 8) {
+                            writeByte(bits);
+                            bits = 0;
+                            bitCount = 0;
+                        }
+                    }
+                }
+                if (bitCount > 0) {
+                    writeByte(bits);
+                }
+            }
+            for (Object value : values) {
+                switch (typeOf(value)) {
+                    case TYPE_STRING:
+                        writeString(value.toString());
+                        break;
+                    case TYPE_INT:
+                        int intValue = (Integer) value;
+                        writeVarInt((intValue << 1) ^ (intValue >> 31));
+                        break;
+                    case TYPE_LONG:
+                        writeVarLong((Long) value);
+                        break;
+                    case TYPE_DOUBLE:
+                        writeFixed(Double.doubleToLongBits((Double) value), 8);
+                        break;
+                    case TYPE_FLOAT:
+                        writeFixed(Float.floatToIntBits((Float) value), 4);
+                        break;
+                    default:
+                        // Nulls are encoded by their type, and booleans by the bitset.
+                        break;
+                }
+            }
+        }
+
+        private void writeFixed(long value, int length) {
+
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        private void ensureCapacity(int length) {
+
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        private byte[] toByteArray() {
+
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+        private List<String> strings;
+
+        private Input(byte[] buffer) {
+
+            this.buffer = buffer;
+        }
+
+        private byte readByte() throws IOException {
+
+            if (position >= buffer.length) {
+                throw new EOFException("Unexpected end of the encoded event");
+            }
+            return buffer[position++];
+        }
+
+        private int readVarInt() throws IOException {
+
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in the encoded event");
+        }
+
+        private long readVarLong() throws IOException {
+
+            long zigzag = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IOException("Malformed varint in the encoded event");
+        }
+
+        private long readFixed(int length) throws IOException {
+
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                value |= (long) (readByte() & 0xFF) << (i * 8);
+            }
+            return value;
+        }
+
+        private String readString() throws IOException {
+
+            int reference = readVarInt();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference == 1) {
+                int length = readVarInt();
+                if (length < 0 || length > buffer.length - position) {
+                    throw new IOException("Invalid string length in the encoded event: " + length);
+                }
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                if (strings == null) {
+                    strings = new ArrayList<>();
+                }
+                strings.add(value);
+                return value;
+            }
+            int index = reference - 2;
+            if (index >= 0 && index < DICTIONARY.size()) {
+                return DICTIONARY.get(index);
+            }
+            index -= DICTIONARY.size();
+            if (strings == null || index < 0 || index >= strings.size()) {
+                throw new IOException("Invalid string reference in the encoded event: " + reference);
+            }
+            return strings.get(index);
+        }
+
+        private Object[] readArray() throws IOException {
+
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            // Two value types are packed in each byte, which bounds the length before allocating for it.
+            if ((length + 1) / 2 > buffer.length - position) {
+                throw new IOException("Invalid array length in the encoded event: " + length);
+            }
+            int[] types = new int[length];
+            int booleanCount = 0;
+            for (int i = 0; i < length; i += 2) {
+                int packed = readByte() & 0xFF;
+                types[i] = packed & 0x0F;
+                booleanCount += types[i] == TYPE_BOOLEAN ? 1 : 0;
+                if (i + 1 < length) {
+                    types[i + 1] = packed >>> 4;
+                    booleanCount += types[i + 1] == TYPE_BOOLEAN ? 1 : 0;
+                }
+            }
+            int bitsetStart = position;
+            position += (booleanCount + 7) / 8;
+            if (position > buffer.length) {
+                throw new EOFException("Unexpected end of the encoded event");
+            }
+            Object[] values = new Object[length];
+            int booleanIndex = 0;
+            for (int i = 0; i < length; i++) {
+                switch (types[i]) {
+                    case TYPE_NULL:
+                        break;
+                    case TYPE_STRING:
+                        values[i] = readString();
+                        break;
+                    case TYPE_INT:
+                        int zigzag = readVarInt();
+                        values[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+                        break;
+                    case TYPE_LONG:
+                        values[i] = readVarLong();
+                        break;
+                    case TYPE_BOOLEAN:
+                        values[i] = (buffer[bitsetStart + booleanIndex / 8] & (1 << (booleanIndex % 8))) != 0;
+                        booleanIndex++;
+                        break;
+                    case TYPE_DOUBLE:
+                        values[i] = Double.longBitsToDouble(readFixed(8));
+                        break;
+                    case TYPE_FLOAT:
+                        values[i] = Float.intBitsToFloat((int) readFixed(4));
+                        break;
+                    default:
+                        throw new IOException("Unknown attribute type in the encoded event: " + types[i]);
+                }
+            }
+            return values;
+        }
+    }
+}
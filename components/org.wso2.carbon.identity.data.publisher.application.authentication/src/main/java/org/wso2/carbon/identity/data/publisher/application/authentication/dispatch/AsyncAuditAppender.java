@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit records to an audit log from a dedicated writer thread, so that a slow audit log does not block the
+ * authentication threads. Records are handed over through a bounded queue and written in batches. A record which
+ * does not fit into the queue is dropped and counted, and the drops are reported as warnings by the writer thread.
+ * A record is written within the logging MDC of the thread which appended it, so that the correlation id and the
+ * other MDC values of the request are kept in the audit log.
+ * Drops and write failures are also recorded in the {@link PublisherMetrics} of the handler owning the appender.
+ * <p>
+ * Once the appender is shut down, the pending records are written and the records appended afterwards are written
+ * synchronously by the calling thread, and counted as late.
+ */
+public class AsyncAuditAppender {
+
+    private static final Log LOG = LogFactory.getLog(AsyncAuditAppender.class);
+    private static final String WRITER_THREAD_NAME = "AuthnAuditLogWriter";
+    private static final String AUDIT_RECORD_EVENT = "auditRecord";
+
+    private final String name;
+    private final Log target;
+    private final BlockingQueue<QueuedRecord> queue;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong lateCount = new AtomicLong();
+    private long reportedDroppedCount;
+
+    /**
+     * Create and start an appender.
+     *
+     * @param name      Name of the handler owning the appender, which its metrics are recorded for.
+     * @param target    Audit log the records are written to.
+     * @param queueSize Maximum number of pending records.
+     * @param batchSize Maximum number of records written per queue hand over.
+     */
+    public AsyncAuditAppender(String name, Log target, int queueSize, int batchSize) {
+
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Queue size should be a positive value: " + queueSize);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be a positive value: " + batchSize);
+        }
+        this.name = name;
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.writer = new Thread(new Writer(), WRITER_THREAD_NAME);
+        writer.setDaemon(true);
+        writer.start();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Asynchronous audit appender started with queue size: " + queueSize + ", batch size: " +
+                    batchSize);
+        }
+    }
+
+    /**
+     * Create an appender from the properties of an audit handler.
+     *
+     * @param name       Name of the handler owning the appender.
+     * @param target     Audit log the records are written to.
+     * @param properties Properties of the handler, may be null.
+     * @param prefix     Prefix of the appender properties within the handler properties.
+     * @return Started appender, or null if asynchronous writing is not enabled for the handler.
+     */
+    public static AsyncAuditAppender create(String name, Log target, Properties properties, String prefix) {
+
+        if (properties == null || !Boolean.parseBoolean(properties.getProperty(prefix + AuthPublisherConstants
+                .ASYNC_AUDIT_APPENDER_ENABLED))) {
+            return null;
+        }
+        int queueSize = AuthnDataPublisherUtils.getPositiveIntProperty(properties, prefix + AuthPublisherConstants
+                .ASYNC_AUDIT_APPENDER_QUEUE_SIZE, AuthPublisherConstants.DEFAULT_ASYNC_AUDIT_APPENDER_QUEUE_SIZE);
+        int batchSize = AuthnDataPublisherUtils.getPositiveIntProperty(properties, prefix + AuthPublisherConstants
+                .ASYNC_AUDIT_APPENDER_BATCH_SIZE, AuthPublisherConstants.DEFAULT_ASYNC_AUDIT_APPENDER_BATCH_SIZE);
+        return new AsyncAuditAppender(name, target, queueSize, batchSize);
+    }
+
+    /**
+     * Queue a record to be written to the audit log.
+     *
+     * @param record Audit record.
+     * @return True if the record was queued or written, false if it was dropped.
+     */
+    public boolean append(String record) {
+
+        if (!running) {
+            return appendLate(record);
+        }
+        QueuedRecord queuedRecord = new QueuedRecord(record, MDC.getCopyOfContextMap());
+        if (!queue.offer(queuedRecord)) {
+            droppedCount.incrementAndGet();
+            PublisherMetrics.getInstance().recordDrop(name, AUDIT_RECORD_EVENT);
+            return false;
+        }
+        // The appender may have been shut down after the check above. The record is then taken back and written by
+        // the caller, unless the writer thread or the shutdown has already taken it.
+        if (!running && queue.remove(queuedRecord)) {
+            return appendLate(record);
+        }
+        appendedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stop the writer thread and write the pending records.
+     *
+     * @param timeout Maximum time to wait for the writer thread to write the pending records.
+     * @param unit    Unit of the timeout.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+
+        running = false;
+        try {
+            writer.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.interrupt();
+        // Records the writer thread could not get to are written by the caller rather than lost.
+        List<QueuedRecord> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        for (QueuedRecord record : pending) {
+            write(record);
+        }
+        reportDrops();
+        LOG.info("Asynchronous audit appender stopped. " + getStatistics());
+    }
+
+    public int getQueueSize() {
+
+        return queue.size();
+    }
+
+    public long getAppendedCount() {
+
+        return appendedCount.get();
+    }
+
+    public long getWrittenCount() {
+
+        return writtenCount.get();
+    }
+
+    /**
+     * @return Number of records which were not written since the queue was full.
+     */
+    public long getDroppedCount() {
+
+        return droppedCount.get();
+    }
+
+    /**
+     * @return Number of records which were not written since the audit log failed.
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * @return Number of records which were appended after the appender was shut down, and hence were written by the
+     * calling thread.
+     */
+    public long getLateCount() {
+
+        return lateCount.get();
+    }
+
+    /**
+     * @return Human readable summary of the appender counters.
+     */
+    public String getStatistics() {
+
+        return "Appended: " + appendedCount.get() + ", written: " + writtenCount.get() + ", dropped: " +
+                droppedCount.get() + ", failed: " + failedCount.get() + ", late: " + lateCount.get() + ", pending: " +
+                queue.size();
+    }
+
+    private boolean appendLate(String record) {
+
+        lateCount.incrementAndGet();
+        write(record);
+        return true;
+    }
+
+    /**
+     * Write a queued record within the MDC it was appended with, restoring the MDC of the writing thread afterwards.
+     */
+    private void write(QueuedRecord queuedRecord) {
+
+        Map<String, String> previousContext = MDC.getCopyOfContextMap();
+        if (queuedRecord.mdcContext != null) {
+            MDC.setContextMap(queuedRecord.mdcContext);
+        } else {
+            MDC.clear();
+        }
+        try {
+            write(queuedRecord.record);
+        } finally {
+            if (previousContext != null) {
+                MDC.setContextMap(previousContext);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void write(String record) {
+
+        try {
+            target.info(record);
+            writtenCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            PublisherMetrics.getInstance().recordError(name, AUDIT_RECORD_EVENT);
+            LOG.error("Error while writing the audit record: " + record, e);
+        }
+    }
+
+    private synchronized void reportDrops() {
+
+        long dropped = droppedCount.get();
+        if (dropped > reportedDroppedCount) {
+            LOG.warn((dropped - reportedDroppedCount) + " audit records were dropped since the audit log queue was " +
+                    "full. Total dropped audit records: " + dropped);
+            reportedDroppedCount = dropped;
+        }
+    }
+
+    private class Writer implements Runnable {
+
+        @Override
+        public void run() {
+
+            List<QueuedRecord> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                QueuedRecord record;
+                try {
+                    record = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (record != null) {
+                    batch.add(record);
+                    queue.drainTo(batch, batchSize - 1);
+                    for (QueuedRecord queuedRecord : batch) {
+                        write(queuedRecord);
+                    }
+                    batch.clear();
+                }
+                reportDrops();
+            }
+        }
+    }
+
+    /**
+     * Audit record together with the logging MDC of the thread which appended it.
+     */
+    private static final class QueuedRecord {
+
+        private final String record;
+        private final Map<String, String> mdcContext;
+
+        private QueuedRecord(String record, Map<String, String> mdcContext) {
+
+            this.record = record;
+            this.mdcContext = mdcContext;
+        }
+    }
+}
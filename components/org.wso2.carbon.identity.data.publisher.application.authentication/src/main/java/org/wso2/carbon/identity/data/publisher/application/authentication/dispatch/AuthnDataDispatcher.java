@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands publishing work off the authentication thread to a fixed set of worker threads through a bounded
+ * array-backed queue. What happens when the queue is full is decided by the configured {@link OverflowPolicy},
+ * and every outcome is counted so that lost events are never silent.
+ */
+public class AuthnDataDispatcher {
+
+    private static final Log LOG = LogFactory.getLog(AuthnDataDispatcher.class);
+    private static final String WORKER_THREAD_NAME_PREFIX = "AuthnDataPublisher-";
+
+    /**
+     * Behaviour of {@link #dispatch(Runnable)} when the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the caller until a slot frees up.
+         */
+        BLOCK,
+
+        /**
+         * Discard the oldest queued task to make room for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the new task.
+         */
+        DROP_NEWEST;
+
+        /**
+         * Resolve a policy from its configured name, falling back to the given default.
+         *
+         * @param name          Configured policy name.
+         * @param defaultPolicy Policy to use when the name is blank or unknown.
+         * @return Resolved overflow policy.
+         */
+        public static OverflowPolicy fromString(String name, OverflowPolicy defaultPolicy) {
+
+            if (StringUtils.isNotBlank(name)) {
+                for (OverflowPolicy policy : values()) {
+                    if (policy.name().equalsIgnoreCase(name.trim().replace('-', '_'))) {
+                        return policy;
+                    }
+                }
+                LOG.warn("Unknown overflow policy: " + name + ". Using " + defaultPolicy + ".");
+            }
+            return defaultPolicy;
+        }
+    }
+
+    private final BlockingQueue<Runnable> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread[] workers;
+    private volatile boolean running = true;
+
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong droppedOldestCount = new AtomicLong();
+    private final AtomicLong droppedNewestCount = new AtomicLong();
+    private final AtomicLong abandonedCount = new AtomicLong();
+
+    /**
+     * Create and start a dispatcher.
+     *
+     * @param queueSize      Maximum number of pending tasks.
+     * @param workerCount    Number of worker threads.
+     * @param overflowPolicy Behaviour when the queue is full.
+     */
+    public AuthnDataDispatcher(int queueSize, int workerCount, OverflowPolicy overflowPolicy) {
+
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Queue size should be a positive value: " + queueSize);
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count should be a positive value: " + workerCount);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(new Worker(), WORKER_THREAD_NAME_PREFIX + (i + 1));
+            worker.setDaemon(true);
+            workers[i] = worker;
+            worker.start();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Authentication data dispatcher started with queue size: " + queueSize + ", workers: " +
+                    workerCount + ", overflow policy: " + overflowPolicy);
+        }
+    }
+
+    /**
+     * Queue a task for asynchronous execution.
+     *
+     * @param task Publishing task.
+     * @return True if the task was queued, false if it was discarded.
+     */
+    public boolean dispatch(Runnable task) {
+
+        if (!running) {
+            abandonedCount.incrementAndGet();
+            return false;
+        }
+        if (queue.offer(task)) {
+            return queued(task);
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                blockedCount.incrementAndGet();
+                try {
+                    while (!queue.offer(task, 1, TimeUnit.SECONDS)) {
+                        if (!running) {
+                            abandonedCount.incrementAndGet();
+                            return false;
+                        }
+                    }
+                    return queued(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedNewestCount.incrementAndGet();
+                    return false;
+                }
+            case DROP_OLDEST:
+                while (!queue.offer(task)) {
+                    if (queue.poll() != null) {
+                        droppedOldestCount.incrementAndGet();
+                    }
+                }
+                return queued(task);
+            case DROP_NEWEST:
+            default:
+                droppedNewestCount.incrementAndGet();
+                return false;
+        }
+    }
+
+    /**
+     * Count a queued task, taking it back if the dispatcher was shut down meanwhile, since the workers may have
+     * stopped polling the queue already.
+     */
+    private boolean queued(Runnable task) {
+
+        if (!running && queue.remove(task)) {
+            abandonedCount.incrementAndGet();
+            return false;
+        }
+        dispatchedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stop accepting new tasks and wait for the queued ones to be processed. The tasks which are still queued when
+     * the timeout elapses, and the tasks dispatched after the shutdown started, are counted as abandoned.
+     *
+     * @param timeout Maximum time to wait for the queue to drain.
+     * @param unit    Unit of the timeout.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+
+        running = false;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining > 0) {
+                try {
+                    worker.join(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        // Drained rather than cleared, so that each task is either taken back by dispatch or counted here.
+        List<Runnable> abandonedTasks = new ArrayList<>();
+        queue.drainTo(abandonedTasks);
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        int abandoned = abandonedTasks.size();
+        if (abandoned > 0) {
+            abandonedCount.addAndGet(abandoned);
+            LOG.warn(abandoned + " authentication data publishing tasks were discarded while shutting down.");
+        }
+        LOG.info("Authentication data dispatcher stopped. " + getStatistics());
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+
+        return overflowPolicy;
+    }
+
+    public int getQueueSize() {
+
+        return queue.size();
+    }
+
+    public long getDispatchedCount() {
+
+        return dispatchedCount.get();
+    }
+
+    public long getProcessedCount() {
+
+        return processedCount.get();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    public long getBlockedCount() {
+
+        return blockedCount.get();
+    }
+
+    public long getDroppedOldestCount() {
+
+        return droppedOldestCount.get();
+    }
+
+    public long getDroppedNewestCount() {
+
+        return droppedNewestCount.get();
+    }
+
+    /**
+     * @return Number of tasks discarded because the dispatcher was shut down.
+     */
+    public long getAbandonedCount() {
+
+        return abandonedCount.get();
+    }
+
+    /**
+     * @return Human readable summary of the dispatcher counters.
+     */
+    public String getStatistics() {
+
+        return "Dispatched: " + dispatchedCount.get() + ", processed: " + processedCount.get() + ", failed: " +
+                failedCount.get() + ", blocked: " + blockedCount.get() + ", dropped oldest: " +
+                droppedOldestCount.get() + ", dropped newest: " + droppedNewestCount.get() + ", abandoned: " +
+                abandonedCount.get() + ", pending: " + queue.size();
+    }
+
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+
+            while (running || !queue.isEmpty()) {
+                Runnable task;
+                try {
+                    task = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (task == null) {
+                    continue;
+                }
+                try {
+                    task.run();
+                    processedCount.incrementAndGet();
+                } catch (Throwable e) {
+                    failedCount.incrementAndGet();
+                    LOG.error("Error while publishing authentication data asynchronously.", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.event.stream.core.EventStreamService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects databridge events per stream and publishes them to the {@link EventStreamService} in batches, within a
+ * single tenant flow per batch. A batch is flushed by the thread which fills it up to the batch size, or by the
+ * flusher thread once it has waited for the linger time.
+ */
+public class EventBatcher {
+
+    private static final Log LOG = LogFactory.getLog(EventBatcher.class);
+    private static final String FLUSHER_THREAD_NAME = "AuthnDataBatchFlusher";
+
+    private final EventStreamServiceProvider serviceProvider;
+    private final int batchSize;
+    private final ConcurrentMap<String, StreamBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile EventSpillQueue spillQueue;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final Histogram batchSizeHistogram;
+    private final Histogram flushLatencyHistogram = Histogram.exponential("flushLatencyMicros",
+            TimeUnit.SECONDS.toMicros(10));
+
+    /**
+     * Source of the event stream service, resolved on every flush since the service reference is dynamic.
+     */
+    public interface EventStreamServiceProvider {
+
+        EventStreamService getEventStreamService();
+    }
+
+    /**
+     * Create and start a batcher.
+     *
+     * @param serviceProvider Source of the event stream service.
+     * @param batchSize       Number of events of a stream which triggers a flush.
+     * @param lingerTime      Maximum time an event waits for its batch to fill up.
+     * @param unit            Unit of the linger time.
+     */
+    public EventBatcher(EventStreamServiceProvider serviceProvider, int batchSize, long lingerTime, TimeUnit unit) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be a positive value: " + batchSize);
+        }
+        if (lingerTime <= 0) {
+            throw new IllegalArgumentException("Linger time should be a positive value: " + lingerTime);
+        }
+        this.serviceProvider = serviceProvider;
+        this.batchSize = batchSize;
+        this.batchSizeHistogram = Histogram.exponential("batchSize", batchSize);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+
+                Thread thread = new Thread(runnable, FLUSHER_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+
+                try {
+                    flushAll();
+                } catch (Throwable e) {
+                    LOG.error("Error while flushing the batched authentication events.", e);
+                }
+            }
+        }, lingerTime, lingerTime, unit);
+    }
+
+    /**
+     * Add an event to the batch of its stream. The event should not be modified afterwards.
+     *
+     * @param event Databridge event.
+     */
+    public void add(Event event) {
+
+        StreamBuffer buffer = buffers.get(event.getStreamId());
+        if (buffer == null) {
+            StreamBuffer newBuffer = new StreamBuffer();
+            buffer = buffers.putIfAbsent(event.getStreamId(), newBuffer);
+            if (buffer == null) {
+                buffer = newBuffer;
+            }
+        }
+        List<Event> batch = buffer.add(event);
+        if (batch != null) {
+            publish(batch);
+        }
+    }
+
+    /**
+     * Spill the events which cannot be published to a queue on the local disk, instead of dropping them.
+     *
+     * @param spillQueue Spill queue, or null to drop the events.
+     */
+    public void setSpillQueue(EventSpillQueue spillQueue) {
+
+        this.spillQueue = spillQueue;
+    }
+
+    /**
+     * Publish all the pending events.
+     */
+    public void flushAll() {
+
+        for (StreamBuffer buffer : buffers.values()) {
+            List<Event> batch = buffer.drain();
+            if (batch != null) {
+                publish(batch);
+            }
+        }
+    }
+
+    /**
+     * Stop the flusher thread and publish the pending events.
+     */
+    public void shutdown() {
+
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+        LOG.info("Authentication event batcher stopped. " + getStatistics());
+    }
+
+    public long getPublishedCount() {
+
+        return publishedCount.get();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    public Histogram getBatchSizeHistogram() {
+
+        return batchSizeHistogram;
+    }
+
+    public Histogram getFlushLatencyHistogram() {
+
+        return flushLatencyHistogram;
+    }
+
+    /**
+     * @return Human readable summary of the batcher counters.
+     */
+    public String getStatistics() {
+
+        return "Published: " + publishedCount.get() + ", failed: " + failedCount.get() + ", " + batchSizeHistogram +
+                ", " + flushLatencyHistogram;
+    }
+
+    private void publish(List<Event> batch) {
+
+        EventStreamService eventStreamService = serviceProvider.getEventStreamService();
+        EventSpillQueue spillQueue = this.spillQueue;
+        if (spillQueue != null && (eventStreamService == null || spillQueue.hasBacklog())) {
+            // Events are queued behind the spilled events until they are replayed, to keep them in order.
+            failedCount.addAndGet(spillQueue.offerAll(batch));
+            return;
+        }
+        if (eventStreamService == null) {
+            failedCount.addAndGet(batch.size());
+            LOG.error("Event stream service is not available. Dropping " + batch.size() + " authentication events.");
+            return;
+        }
+        long startTime = System.nanoTime();
+        try {
+            FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            for (int i = 0; i < batch.size(); i++) {
+                Event event = batch.get(i);
+                try {
+                    eventStreamService.publish(event);
+                    publishedCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (spillQueue != null) {
+                        // The rest of the batch is spilled behind the failed event, to keep the events in order.
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Spilling the events which failed to publish to stream: " + event
+                                    .getStreamId(), e);
+                        }
+                        failedCount.addAndGet(spillQueue.offerAll(batch.subList(i, batch.size())));
+                        return;
+                    }
+                    failedCount.incrementAndGet();
+                    LOG.error("Error while publishing the event to stream: " + event.getStreamId(), e);
+                }
+            }
+        } finally {
+            FrameworkUtils.endTenantFlow();
+        }
+        flushLatencyHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        batchSizeHistogram.record(batch.size());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Published a batch of " + batch.size() + " events to stream: " + batch.get(0).getStreamId());
+        }
+    }
+
+    private final class StreamBuffer {
+
+        private List<Event> events = new ArrayList<>();
+
+        private synchronized List<Event> add(Event event) {
+
+            events.add(event);
+            if (events.size() >= batchSize) {
+                return swap();
+            }
+            return null;
+        }
+
+        private synchronized List<Event> drain() {
+
+            if (events.isEmpty()) {
+                return null;
+            }
+            return swap();
+        }
+
+        private List<Event> swap() {
+
+            List<Event> batch = Collections.unmodifiableList(events);
+            events = new ArrayList<>(batchSize);
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.codec.CompactEventCodec;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead queue on the local disk for the databridge events which cannot be published, since the event stream
+ * service is not available or fails to publish them. The events are appended to memory mapped segment files and a
+ * replayer thread publishes them again in order, at a limited rate, once publishing succeeds.
+ * <p>
+ * A record of a segment is laid out as {@code [length][crc32][event]}. The length is negated once the event is
+ * replayed, so that replayed events are skipped when the segments are recovered after a restart. The records are
+ * verified against their checksum before they are replayed, and the corrupted ones are skipped. A segment is
+ * deleted once all its events are replayed, and the oldest segment is dropped when a new segment would exceed the
+ * maximum size of the queue.
+ */
+public class EventSpillQueue {
+
+    private static final Log LOG = LogFactory.getLog(EventSpillQueue.class);
+    private static final String REPLAYER_THREAD_NAME = "AuthnDataSpillReplayer";
+    private static final String SEGMENT_FILE_PREFIX = "spill-";
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final long FORCE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final File directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final int replayRate;
+    private final long retryIntervalMillis;
+    private final EventPublisher publisher;
+    private final Thread replayer;
+
+    // Segments in the order they are written, guarded by the lock. The last segment is the one being written.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private long nextSegmentId;
+    private long totalSize;
+    private long lastForceTime = System.nanoTime();
+    private volatile boolean running = true;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong corruptedCount = new AtomicLong();
+    private final AtomicLong replayFailureCount = new AtomicLong();
+
+    /**
+     * Publishes the replayed events.
+     */
+    public interface EventPublisher {
+
+        /**
+         * @param event Replayed event.
+         * @return False if the event could not be published since the event stream service is not available. The
+         * event is replayed again after the retry interval. A runtime exception is handled in the same way.
+         */
+        boolean publish(Event event);
+    }
+
+    /**
+     * Create the queue, recover the events which were not replayed before the last shutdown and start the replayer.
+     *
+     * @param directory     Directory of the segment files.
+     * @param segmentSize   Size of a segment file in bytes.
+     * @param maxSize       Maximum total size of the segment files in bytes.
+     * @param replayRate    Maximum number of events replayed per second.
+     * @param retryInterval Time to wait before replaying again when the events cannot be published.
+     * @param unit          Unit of the retry interval.
+     * @param publisher     Publisher of the replayed events.
+     * @throws IOException If the directory or the existing segment files cannot be accessed.
+     */
+    public EventSpillQueue(File directory, int segmentSize, long maxSize, int replayRate, long retryInterval,
+                           TimeUnit unit, EventPublisher publisher) throws IOException {
+
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size should be larger than " + RECORD_HEADER_SIZE + ": " +
+                    segmentSize);
+        }
+        if (maxSize < segmentSize) {
+            throw new IllegalArgumentException("Maximum size should not be less than the segment size: " + maxSize);
+        }
+        if (replayRate <= 0) {
+            throw new IllegalArgumentException("Replay rate should be a positive value: " + replayRate);
+        }
+        if (retryInterval <= 0) {
+            throw new IllegalArgumentException("Retry interval should be a positive value: " + retryInterval);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create the spill queue directory: " + directory.getAbsolutePath());
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        this.replayRate = replayRate;
+        this.retryIntervalMillis = unit.toMillis(retryInterval);
+        this.publisher = publisher;
+        recover();
+        this.replayer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                replay();
+            }
+        }, REPLAYER_THREAD_NAME);
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    /**
+     * Append an event to the queue. The event should not be modified afterwards.
+     *
+     * @param event Databridge event.
+     * @return False if the event was dropped, since it does not fit in a segment or the queue is stopped.
+     */
+    public boolean offer(Event event) {
+
+        byte[] record = CompactEventCodec.encode(event);
+        int recordSize = RECORD_HEADER_SIZE + record.length;
+        if (recordSize > segmentSize) {
+            droppedCount.incrementAndGet();
+            LOG.error("Event of stream: " + event.getStreamId() + " of " + recordSize + " bytes does not fit in a " +
+                    "spill queue segment. Dropping the event.");
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+        synchronized (lock) {
+            if (!running) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            Segment segment = segments.peekLast();
+            if (segment == null || segment.writePosition + recordSize > segment.capacity) {
+                try {
+                    segment = rotate();
+                } catch (IOException e) {
+                    droppedCount.incrementAndGet();
+                    LOG.error("Error while creating a spill queue segment. Dropping the event of stream: " +
+                            event.getStreamId(), e);
+                    return false;
+                }
+            }
+            segment.append(record, (int) crc.getValue());
+            if (pendingCount.getAndIncrement() == 0) {
+                // The replayer waits for events only when the queue is empty.
+                lock.notifyAll();
+            }
+        }
+        spilledCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Append events to the queue, in order.
+     *
+     * @param events Databridge events.
+     * @return Number of the events which were dropped.
+     */
+    public int offerAll(List<Event> events) {
+
+        int dropped = 0;
+        for (Event event : events) {
+            if (!offer(event)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * @return True if there are events waiting to be replayed. New events should be appended to the queue instead of
+     * being published while there is a backlog, so that the events are published in order.
+     */
+    public boolean hasBacklog() {
+
+        return pendingCount.get() > 0;
+    }
+
+    /**
+     * Stop the replayer and write the segments back to the disk. The events which were not replayed are replayed
+     * when the queue is created again on the same directory.
+     */
+    public void shutdown() {
+
+        running = false;
+        replayer.interrupt();
+        try {
+            replayer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+            }
+            segments.clear();
+            totalSize = 0;
+        }
+        LOG.info("Authentication event spill queue stopped. " + getStatistics());
+    }
+
+    public long getPendingCount() {
+
+        return pendingCount.get();
+    }
+
+    public long getSpilledCount() {
+
+        return spilledCount.get();
+    }
+
+    public long getReplayedCount() {
+
+        return replayedCount.get();
+    }
+
+    public long getDroppedCount() {
+
+        return droppedCount.get();
+    }
+
+    public long getCorruptedCount() {
+
+        return corruptedCount.get();
+    }
+
+    /**
+     * @return Human readable summary of the queue counters.
+     */
+    public String getStatistics() {
+
+        int segmentCount;
+        long size;
+        synchronized (lock) {
+            segmentCount = segments.size();
+            size = totalSize;
+        }
+        return "Pending: " + pendingCount.get() + ", spilled: " + spilledCount.get() + ", replayed: " +
+                replayedCount.get() + ", dropped: " + droppedCount.get() + ", corrupted: " + corruptedCount.get() +
+                ", replay failures: " + replayFailureCount.get() + ", segments: " + segmentCount + ", size: " + size +
+                " bytes";
+    }
+
+    private void replay() {
+
+        long windowStartTime = System.nanoTime();
+        int replayedInWindow = 0;
+        while (running) {
+            Record record;
+            synchronized (lock) {
+                record = readNext();
+                if (record == null) {
+                    forceIfDirty();
+                    try {
+                        lock.wait(retryIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            Event event;
+            try {
+                event = CompactEventCodec.decode(record.data);
+            } catch (IOException | RuntimeException e) {
+                corruptedCount.incrementAndGet();
+                LOG.error("Skipping a spilled event which cannot be read from segment: " + record.segment.file
+                        .getName(), e);
+                commit(record);
+                continue;
+            }
+            boolean published;
+            try {
+                published = publisher.publish(event);
+            } catch (RuntimeException e) {
+                published = false;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error while replaying the spilled event of stream: " + event.getStreamId(), e);
+                }
+            }
+            if (!published) {
+                replayFailureCount.incrementAndGet();
+                synchronized (lock) {
+                    forceIfDirty();
+                }
+                try {
+                    Thread.sleep(retryIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+            commit(record);
+            replayedCount.incrementAndGet();
+            if (++replayedInWindow >= replayRate) {
+                long elapsed = System.nanoTime() - windowStartTime;
+                if (elapsed < TimeUnit.SECONDS.toNanos(1)) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(TimeUnit.SECONDS.toNanos(1) - elapsed);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                windowStartTime = System.nanoTime();
+                replayedInWindow = 0;
+            }
+        }
+    }
+
+    /**
+     * Read the oldest event which is not replayed yet, deleting the segments which are fully replayed. Should be
+     * called holding the lock.
+     */
+    private Record readNext() {
+
+        while (true) {
+            Segment segment = segments.peekFirst();
+            if (segment == null) {
+                return null;
+            }
+            Record record = readNext(segment);
+            if (record != null) {
+                return record;
+            }
+            if (segment == segments.peekLast() && segment.writePosition < segment.capacity) {
+                // The segment being written has no more events yet.
+                return null;
+            }
+            segments.pollFirst();
+            delete(segment);
+        }
+    }
+
+    private Record readNext(Segment segment) {
+
+        ByteBuffer buffer = segment.buffer;
+        while (segment.readPosition + RECORD_HEADER_SIZE <= segment.capacity) {
+            int position = segment.readPosition;
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                // No more events are written to the segment.
+                return null;
+            }
+            int recordLength = Math.abs(length);
+            if (length == Integer.MIN_VALUE || recordLength > segment.capacity - position - RECORD_HEADER_SIZE) {
+                // The rest of the segment cannot be read without a valid length.
+                corruptedCount.addAndGet(segment.pendingRecords);
+                pendingCount.addAndGet(-segment.pendingRecords);
+                segment.pendingRecords = 0;
+                segment.readPosition = segment.capacity;
+                segment.writePosition = segment.capacity;
+                LOG.error("Skipping the rest of the corrupted spill queue segment: " + segment.file.getName());
+                return null;
+            }
+            if (length < 0) {
+                segment.readPosition = position + RECORD_HEADER_SIZE + recordLength;
+                continue;
+            }
+            byte[] data = new byte[recordLength];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(position + RECORD_HEADER_SIZE);
+            slice.get(data);
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                corruptedCount.incrementAndGet();
+                LOG.error("Skipping a spilled event with an invalid checksum in segment: " + segment.file.getName());
+                markReplayed(segment, position, recordLength);
+                continue;
+            }
+            return new Record(segment, position, data);
+        }
+        return null;
+    }
+
+    private void commit(Record record) {
+
+        synchronized (lock) {
+            // The segment is deleted if it was dropped to make room for new events while the event was replayed.
+            if (!record.segment.deleted) {
+                markReplayed(record.segment, record.position, record.data.length);
+            }
+        }
+    }
+
+    private void markReplayed(Segment segment, int position, int recordLength) {
+
+        segment.buffer.putInt(position, -recordLength);
+        segment.readPosition = position + RECORD_HEADER_SIZE + recordLength;
+        segment.pendingRecords--;
+        segment.dirty = true;
+        pendingCount.decrementAndGet();
+    }
+
+    /**
+     * Start writing to a new segment, dropping the oldest segments if the new segment would exceed the maximum size.
+     * Should be called holding the lock.
+     */
+    private Segment rotate() throws IOException {
+
+        Segment current = segments.peekLast();
+        if (current != null) {
+            current.buffer.force();
+            current.dirty = false;
+            // The segment is not written again, even if the next event is smaller than the space left.
+            current.writePosition = current.capacity;
+        }
+        while (!segments.isEmpty() && totalSize + segmentSize > maxSize) {
+            Segment oldest = segments.pollFirst();
+            if (oldest.pendingRecords > 0) {
+                droppedCount.addAndGet(oldest.pendingRecords);
+                pendingCount.addAndGet(-oldest.pendingRecords);
+                LOG.warn("Spill queue reached its maximum size of " + maxSize + " bytes. Dropping " +
+                        oldest.pendingRecords + " events of segment: " + oldest.file.getName());
+            }
+            delete(oldest);
+        }
+        File file = new File(directory, SEGMENT_FILE_PREFIX + String.format("%020d", nextSegmentId++) +
+                SEGMENT_FILE_SUFFIX);
+        Segment segment = new Segment(file, map(file, segmentSize));
+        segments.addLast(segment);
+        totalSize += segment.capacity;
+        return segment;
+    }
+
+    private void delete(Segment segment) {
+
+        segment.deleted = true;
+        totalSize -= segment.capacity;
+        // A mapped file cannot be deleted on some platforms until the mapping is garbage collected. A fully replayed
+        // segment left behind is deleted when the segments are recovered again.
+        if (!segment.file.delete() && LOG.isDebugEnabled()) {
+            LOG.debug("Cannot delete the spill queue segment: " + segment.file.getAbsolutePath());
+        }
+    }
+
+    private void forceIfDirty() {
+
+        long now = System.nanoTime();
+        if (now - lastForceTime < FORCE_INTERVAL_NANOS) {
+            return;
+        }
+        lastForceTime = now;
+        for (Segment segment : segments) {
+            if (segment.dirty) {
+                segment.buffer.force();
+                segment.dirty = false;
+            }
+        }
+    }
+
+    /**
+     * Load the segments left by the last shutdown. The recovered segments are only read, new events are written to a
+     * new segment.
+     */
+    private void recover() throws IOException {
+
+        File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+
+                return file.isFile() && file.getName().startsWith(SEGMENT_FILE_PREFIX) && file.getName().endsWith(
+                        SEGMENT_FILE_SUFFIX);
+            }
+        });
+        if (files == null) {
+            throw new IOException("Cannot list the spill queue directory: " + directory.getAbsolutePath());
+        }
+        List<File> segmentFiles = new ArrayList<>(Arrays.asList(files));
+        Collections.sort(segmentFiles, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+
+                return file1.getName().compareTo(file2.getName());
+            }
+        });
+        for (File file : segmentFiles) {
+            String name = file.getName();
+            try {
+                long segmentId = Long.parseLong(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() -
+                        SEGMENT_FILE_SUFFIX.length()));
+                nextSegmentId = Math.max(nextSegmentId, segmentId + 1);
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring an unknown file in the spill queue directory: " + name);
+                continue;
+            }
+            if (file.length() <= RECORD_HEADER_SIZE || file.length() > Integer.MAX_VALUE) {
+                if (!file.delete()) {
+                    LOG.warn("Cannot delete the invalid spill queue segment: " + file.getAbsolutePath());
+                }
+                continue;
+            }
+            Segment segment = new Segment(file, map(file, file.length()));
+            segment.writePosition = segment.capacity;
+            countPendingRecords(segment);
+            if (segment.pendingRecords == 0) {
+                if (!file.delete() && LOG.isDebugEnabled()) {
+                    LOG.debug("Cannot delete the replayed spill queue segment: " + file.getAbsolutePath());
+                }
+                continue;
+            }
+            segments.addLast(segment);
+            totalSize += segment.capacity;
+            pendingCount.addAndGet(segment.pendingRecords);
+        }
+        if (!segments.isEmpty()) {
+            LOG.info("Recovered " + pendingCount.get() + " spilled authentication events from " + segments.size() +
+                    " segments in: " + directory.getAbsolutePath());
+        }
+    }
+
+    private void countPendingRecords(Segment segment) {
+
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        int firstPendingPosition = -1;
+        while (position + RECORD_HEADER_SIZE <= segment.capacity) {
+            int length = buffer.getInt(position);
+            int recordLength = Math.abs(length);
+            if (length == 0 || length == Integer.MIN_VALUE || recordLength > segment.capacity - position -
+                    RECORD_HEADER_SIZE) {
+                break;
+            }
+            if (length > 0) {
+                segment.pendingRecords++;
+                if (firstPendingPosition < 0) {
+                    firstPendingPosition = position;
+                }
+            }
+            position += RECORD_HEADER_SIZE + recordLength;
+        }
+        segment.readPosition = firstPendingPosition >= 0 ? firstPendingPosition : position;
+    }
+
+    private static MappedByteBuffer map(File file, long size) throws IOException {
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // The mapping stays valid after the channel is closed.
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Segment {
+
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int writePosition;
+        private int readPosition;
+        private int pendingRecords;
+        private boolean dirty;
+        private boolean deleted;
+
+        private Segment(File file, MappedByteBuffer buffer) {
+
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        private void append(byte[] record, int crc) {
+
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(writePosition + RECORD_HEADER_SIZE);
+            slice.put(record);
+            buffer.putInt(writePosition + 4, crc);
+            // The length is written last, since a zero length marks the end of the written records.
+            buffer.putInt(writePosition, record.length);
+            writePosition += RECORD_HEADER_SIZE + record.length;
+            pendingRecords++;
+            dirty = true;
+        }
+    }
+
+    private static final class Record {
+
+        private final Segment segment;
+        private final int position;
+        private final byte[] data;
+
+        private Record(Segment segment, int position, byte[] data) {
+
+            this.segment = segment;
+            this.position = position;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.id;
+
+/**
+ * Generates the ids of the published authentication and session events. Implementations are called concurrently by
+ * the threads publishing the events and must return ids in the UUID string format, since the ids are stored in the
+ * event id fields of the analytics streams.
+ */
+public interface EventIdGenerator {
+
+    /**
+     * @return A new event id in the UUID string format.
+     */
+    String nextId();
+}
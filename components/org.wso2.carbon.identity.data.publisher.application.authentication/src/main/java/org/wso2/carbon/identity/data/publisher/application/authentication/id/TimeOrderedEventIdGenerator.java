@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates time ordered (version 7) UUIDs as event ids without any shared state on the publishing path.
+ * <p>
+ * The 128 bits of an id are laid out as:
+ * <pre>
+ * | 48 bits epoch millis | 4 bits version | 12 bits sequence (low) |
+ * | 2 bits variant | 22 bits thread index | 8 bits sequence (high) | 32 bits node id |
+ * </pre>
+ * The node id is drawn once from a {@link SecureRandom} so that ids generated by the nodes of a cluster do not
+ * collide, and each thread gets its own index and a 20 bit sequence, so two ids of the same node can only collide if
+ * a thread generates more than a million ids in a millisecond.
+ */
+public class TimeOrderedEventIdGenerator implements EventIdGenerator {
+
+    public static final String NAME = "TimeOrdered";
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final int THREAD_INDEX_BITS = 22;
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    private final long nodeId;
+    private final ThreadLocal<Sequence> sequence = new ThreadLocal<Sequence>() {
+        @Override
+        protected Sequence initialValue() {
+
+            return new Sequence(THREAD_INDEX.getAndIncrement() & ((1 << THREAD_INDEX_BITS) - 1));
+        }
+    };
+
+    public TimeOrderedEventIdGenerator() {
+
+        this(new SecureRandom().nextInt());
+    }
+
+    /**
+     * @param nodeId Id of this node, included in the low 32 bits of the generated ids.
+     */
+    public TimeOrderedEventIdGenerator(int nodeId) {
+
+        this.nodeId = nodeId & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public String nextId() {
+
+        Sequence threadSequence = sequence.get();
+        int next = threadSequence.next();
+        long mostSigBits = (System.currentTimeMillis() << 16) | VERSION | (next & 0xFFF);
+        long leastSigBits = VARIANT | ((long) threadSequence.threadIndex << 40) | ((long) (next >>> 12 & 0xFF) << 32)
+                | nodeId;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private static final class Sequence {
+
+        private final int threadIndex;
+        private int value;
+
+        private Sequence(int threadIndex) {
+
+            this.threadIndex = threadIndex;
+        }
+
+        private int next() {
+
+            return value++;
+        }
+    }
+}
@@ -11,16 +11,20 @@ import org.wso2.carbon.identity.application.authentication.framework.model.Authe
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticationResult;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.core.bean.context.MessageContext;
-import org.wso2.carbon.identity.core.handler.AbstractIdentityMessageHandler;
 import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AbstractAuthenticationDataPublisher;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.EventListenerConfigCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AsyncAuditAppender;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationData;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.SessionData;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * AuthenticationAuditLogger is changed to act as an event handler for its' subscribed event in
@@ -37,6 +41,9 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
     private static final Log AUDIT_LOG = CarbonConstants.AUDIT_LOG;
     public static final Log LOG = LogFactory.getLog(AuthenticationAuditLogger.class);
 
+    private volatile AsyncAuditAppender asyncAuditAppender;
+    private volatile boolean asyncAuditAppenderResolved;
+
     @Override
     public String getName() {
         return "AuditDataPublisher";
@@ -60,7 +67,7 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
                 + "\",\"" + "AuthenticatedIdP" + "\" : \"" + authenticationData.getIdentityProvider()
                 + "\"";
 
-        AUDIT_LOG.info(String.format(
+        writeAuditLog(String.format(
                 FrameworkConstants.AUDIT_MESSAGE,
                 authenticationData.getUsername(),
                 "LoginStepSuccess",
@@ -80,7 +87,7 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
                 + "\",\"" + "StepNo" + "\" : \"" + authenticationData.getStepNo()
                 + "\"";
 
-        AUDIT_LOG.info(String.format(
+        writeAuditLog(String.format(
                 FrameworkConstants.AUDIT_MESSAGE,
                 authenticationData.getUsername(),
                 "Login",
@@ -104,7 +111,7 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
                 .AUTHENTICATED_IDPS)
                 + "\"";
 
-        AUDIT_LOG.info(String.format(
+        writeAuditLog(String.format(
                 FrameworkConstants.AUDIT_MESSAGE,
                 authenticationData.getParameter(AuthPublisherConstants.SUBJECT_IDENTIFIER),
                 "Login",
@@ -121,7 +128,7 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
                 + "\",\"" + "StepNo" + "\" : \"" + authenticationData.getStepNo()
                 + "\"";
 
-        AUDIT_LOG.info(String.format(
+        writeAuditLog(String.format(
                 FrameworkConstants.AUDIT_MESSAGE,
                 authenticationData.getUsername(),
                 "Login",
@@ -184,22 +191,70 @@ public class AuthenticationAuditLogger extends AbstractAuthenticationDataPublish
         if (externalIdPConfig != null) {
             idpName = externalIdPConfig.getName();
         }
-        AUDIT_LOG.info(String.format(
+        writeAuditLog(String.format(
                 FrameworkConstants.AUDIT_MESSAGE,
                 username,
                 "Logout", idpName, auditData, FrameworkConstants.AUDIT_SUCCESS));
     }
 
-    @Override
-    public boolean isEnabled(MessageContext messageContext) {
-        IdentityEventListenerConfig identityEventListenerConfig = IdentityUtil.readEventListenerProperty
-                (AbstractIdentityMessageHandler.class.getName(), this.getClass().getName());
+    /**
+     * @return Appender writing the audit log asynchronously, or null if the audit log is written synchronously.
+     */
+    public AsyncAuditAppender getAsyncAuditAppender() {
+
+        if (!asyncAuditAppenderResolved) {
+            synchronized (this) {
+                if (!asyncAuditAppenderResolved) {
+                    asyncAuditAppender = AsyncAuditAppender.create(getName(), AUDIT_LOG, getListenerProperties(),
+                            "");
+                    PublisherManagement.getInstance().setAuditAppender(getName(), asyncAuditAppender);
+                    asyncAuditAppenderResolved = true;
+                }
+            }
+        }
+        return asyncAuditAppender;
+    }
+
+    /**
+     * Write the pending audit records and continue writing the audit log synchronously.
+     */
+    public synchronized void stopAsyncAuditAppender() {
+
+        AsyncAuditAppender appender = asyncAuditAppender;
+        asyncAuditAppender = null;
+        asyncAuditAppenderResolved = true;
+        if (appender != null) {
+            PublisherManagement.getInstance().setAuditAppender(getName(), null);
+            long timeout = AuthnDataPublisherUtils.getPositiveLongProperty(getListenerProperties(),
+                    AuthPublisherConstants.ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT,
+                    AuthPublisherConstants.DEFAULT_ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT_MILLIS);
+            appender.shutdown(timeout, TimeUnit.MILLISECONDS);
+        }
+    }
 
+    private void writeAuditLog(String record) {
+
+        AsyncAuditAppender appender = getAsyncAuditAppender();
+        if (appender != null) {
+            appender.append(record);
+        } else {
+            AUDIT_LOG.info(record);
+        }
+    }
+
+    private Properties getListenerProperties() {
+
+        IdentityEventListenerConfig identityEventListenerConfig = EventListenerConfigCache.getInstance()
+                .getMessageHandlerConfig(this.getClass());
         if (identityEventListenerConfig == null) {
-            return false;
+            return null;
         }
+        return identityEventListenerConfig.getProperties();
+    }
 
-        return Boolean.parseBoolean(identityEventListenerConfig.getEnable());
+    @Override
+    public boolean isEnabled(MessageContext messageContext) {
+        return EventListenerConfigCache.getInstance().isMessageHandlerEnabled(this.getClass());
     }
 
     @Override
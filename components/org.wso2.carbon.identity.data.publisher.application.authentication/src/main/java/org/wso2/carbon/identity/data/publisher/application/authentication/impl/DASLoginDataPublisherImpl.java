@@ -21,12 +21,10 @@ package org.wso2.carbon.identity.data.publisher.application.authentication.impl;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AbstractAuthenticationDataPublisher;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
@@ -34,15 +32,14 @@ import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnD
 import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationData;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.SessionData;
-import org.wso2.carbon.user.api.UserStoreException;
-import org.wso2.carbon.user.core.UserRealm;
-import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFanOut;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
 import org.wso2.carbon.user.core.service.RealmService;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * DASLoginDataPublisherImpl is changed to act as an event handler for its' subscribed event in
@@ -57,6 +54,9 @@ import java.util.UUID;
 public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublisher {
 
     public static final Log LOG = LogFactory.getLog(DASLoginDataPublisherImpl.class);
+    // Only the event id is laid over the payload, the tenant domain field is published as is to all the domains.
+    private static final PayloadFanOut AUTHN_DATA_FAN_OUT = new PayloadFanOut(AuthPublisherConstants
+            .AUTHN_DATA_STREAM_NAME, -1, 1);
 
     @Override
     public void publishSessionCreation(HttpServletRequest request, AuthenticationContext context, SessionContext
@@ -81,7 +81,7 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing authentication step success results");
         }
-        publishAuthenticationData(authenticationData);
+        dispatchAuthenticationData(authenticationData, EventName.AUTHENTICATION_STEP_SUCCESS);
     }
 
     @Override
@@ -89,7 +89,7 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing authentication step failure results");
         }
-        publishAuthenticationData(authenticationData);
+        dispatchAuthenticationData(authenticationData, EventName.AUTHENTICATION_STEP_FAILURE);
     }
 
     @Override
@@ -97,7 +97,7 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing authentication success results");
         }
-        publishAuthenticationData(authenticationData);
+        dispatchAuthenticationData(authenticationData, EventName.AUTHENTICATION_SUCCESS);
     }
 
     @Override
@@ -105,7 +105,7 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing authentication failure results");
         }
-        publishAuthenticationData(authenticationData);
+        dispatchAuthenticationData(authenticationData, EventName.AUTHENTICATION_FAILURE);
     }
 
     @Override
@@ -123,6 +123,21 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
         // This method is not implemented since there is no usage of it in login publishing
     }
 
+    /**
+     * Publish the authentication data built on the calling thread, on a dispatcher worker thread if asynchronous
+     * dispatching is enabled.
+     */
+    private void dispatchAuthenticationData(final AuthenticationData authenticationData, EventName eventName) {
+
+        AuthnDataPublisherUtils.dispatch(getName(), eventName.name(), new Runnable() {
+            @Override
+            public void run() {
+
+                publishAuthenticationData(authenticationData);
+            }
+        });
+    }
+
     protected void publishAuthenticationData(AuthenticationData authenticationData) {
 
         try {
@@ -171,36 +186,14 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
             payloadData[21] = authenticationData.getIdentityProviderType();
             payloadData[22] = System.currentTimeMillis();
 
-            if (LOG.isDebugEnabled()) {
-                for (int i = 0; i < 23; i++) {
-                    if (payloadData[i] != null) {
-                        LOG.debug("Payload data for entry " + i + " " + payloadData[i].toString());
-                    } else {
-                        LOG.debug("Payload data for entry " + i + " is null");
-                    }
-
-                }
-            }
             String[] publishingDomains = (String[]) authenticationData.getParameter(AuthPublisherConstants.TENANT_ID);
             if (publishingDomains != null && publishingDomains.length > 0) {
 
-                try {
-                    FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-                    for (String publishingDomain : publishingDomains) {
-                        Object[] metadataArray = AuthnDataPublisherUtils.getMetaDataArray(publishingDomain);
-
-                        Event event = new Event(AuthPublisherConstants.AUTHN_DATA_STREAM_NAME, System.currentTimeMillis(),
-                                metadataArray, null, payloadData);
-                        AuthenticationDataPublisherDataHolder.getInstance().getPublisherService().publish(event);
-                        if (LOG.isDebugEnabled() && event != null) {
-                            LOG.debug("Sending out event : " + event.toString());
-                        }
-                        payloadData[1] = UUID.randomUUID().toString();
-
-                    }
-                } finally {
-                    FrameworkUtils.endTenantFlow();
-                }
+                List<Event> events = AUTHN_DATA_FAN_OUT.createEvents(payloadData, publishingDomains);
+                PublisherTracer.getInstance().trace(LOG, getName(), authenticationData.getServiceProvider(),
+                        publishingDomains, events, null);
+                AuthnDataPublisherUtils.publishEvents(AuthenticationDataPublisherDataHolder.getInstance()
+                        .getPublisherService(), events);
             }
         } catch (IdentityRuntimeException e) {
             if (LOG.isDebugEnabled()) {
@@ -217,50 +210,8 @@ public class DASLoginDataPublisherImpl extends AbstractAuthenticationDataPublish
 
     private String getCommaSeparatedUserRoles(String userName, String tenantDomain) {
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Retrieving roles for user " + userName + ", tenant domain " + tenantDomain);
-        }
-        if (tenantDomain == null || userName == null) {
-            return StringUtils.EMPTY;
-        }
-
         RealmService realmService = AuthenticationDataPublisherDataHolder.getInstance().getRealmService();
-
-        UserRealm realm = null;
-        UserStoreManager userstore = null;
-
-        try {
-            int tenantId = realmService.getTenantManager().getTenantId(tenantDomain);
-            realm = (UserRealm) realmService.getTenantUserRealm(tenantId);
-            if (realm != null) {
-                userstore = realm.getUserStoreManager();
-                if (userstore.isExistingUser(userName)) {
-                    String[] newRoles = userstore.getRoleListOfUser(userName);
-                    StringBuilder sb = new StringBuilder();
-                    List<String> externalRoles = AuthnDataPublisherUtils.filterRoles(newRoles);
-                    for (String role : externalRoles) {
-                        sb.append(",").append(role);
-                    }
-                    if (sb.length() > 0) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Returning roles, " + sb.substring(1));
-                        }
-                        return sb.substring(1); //remove the first comma
-                    }
-
-                }
-            } else {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("No realm found. for tenant domain : " + tenantDomain + ". Hence no roles added");
-                }
-            }
-        } catch (UserStoreException e) {
-            LOG.error("Error when getting user store for " + userName + "@" + tenantDomain, e);
-        }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("No roles found. Returning empty string");
-        }
-        return StringUtils.EMPTY;
+        return AuthnDataPublisherUtils.getCommaSeparatedUserRoles(realmService, userName, tenantDomain);
     }
 
     /**
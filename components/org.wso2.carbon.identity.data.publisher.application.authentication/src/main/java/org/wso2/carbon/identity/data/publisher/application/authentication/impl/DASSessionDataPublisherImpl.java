@@ -24,7 +24,6 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AbstractAuthenticationDataPublisher;
@@ -33,9 +32,12 @@ import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnD
 import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationData;
 import org.wso2.carbon.identity.data.publisher.application.authentication.model.SessionData;
-import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -101,7 +103,7 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing session creation to DAS");
         }
-        publishSessionData(sessionData, AuthPublisherConstants.SESSION_CREATION_STATUS);
+        dispatchSessionData(sessionData, AuthPublisherConstants.SESSION_CREATION_STATUS, EventName.SESSION_CREATE);
     }
 
     @Override
@@ -109,7 +111,8 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing session termination to DAS");
         }
-        publishSessionData(sessionData, AuthPublisherConstants.SESSION_TERMINATION_STATUS);
+        dispatchSessionData(sessionData, AuthPublisherConstants.SESSION_TERMINATION_STATUS,
+                EventName.SESSION_TERMINATE);
 
     }
 
@@ -118,7 +121,7 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         if (LOG.isDebugEnabled()) {
             LOG.debug("Publishing session update to DAS");
         }
-        publishSessionData(sessionData, AuthPublisherConstants.SESSION_UPDATE_STATUS);
+        dispatchSessionData(sessionData, AuthPublisherConstants.SESSION_UPDATE_STATUS, EventName.SESSION_UPDATE);
     }
 
     @Override
@@ -126,6 +129,21 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         return AuthPublisherConstants.DAS_SESSION_PUBLISHER_NAME;
     }
 
+    /**
+     * Publish the session data built on the calling thread, on a dispatcher worker thread if asynchronous dispatching
+     * is enabled.
+     */
+    private void dispatchSessionData(final SessionData sessionData, final int actionId, EventName eventName) {
+
+        AuthnDataPublisherUtils.dispatch(getName(), eventName.name(), new Runnable() {
+            @Override
+            public void run() {
+
+                publishSessionData(sessionData, actionId);
+            }
+        });
+    }
+
     protected void publishSessionData(SessionData sessionData, int actionId) {
 
         if (sessionData != null) {
@@ -142,20 +160,17 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
             try {
                 String[] publishingDomains = (String[]) sessionData.getParameter(AuthPublisherConstants.TENANT_ID);
                 if (publishingDomains != null && publishingDomains.length > 0) {
-                    try {
-                        FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-                        for (String publishingDomain : publishingDomains) {
-                            Object[] metadataArray = AuthnDataPublisherUtils.getMetaDataArray(publishingDomain);
-                            Event event = new Event(eventStreamName, System.currentTimeMillis(), metadataArray, null,
-                                    payloadData);
-                            AuthenticationDataPublisherDataHolder.getInstance().getPublisherService().publish(event);
-                            if (LOG.isDebugEnabled() && event != null) {
-                                LOG.debug("Sending out event : " + event.toString());
-                            }
-                        }
-                    } finally {
-                        FrameworkUtils.endTenantFlow();
+                    List<Event> events = new ArrayList<>(publishingDomains.length);
+                    for (String publishingDomain : publishingDomains) {
+                        Object[] metadataArray = AuthnDataPublisherUtils.getMetaDataArray(publishingDomain);
+                        Event event = new Event(eventStreamName, System.currentTimeMillis(), metadataArray, null,
+                                payloadData);
+                        events.add(event);
                     }
+                    PublisherTracer.getInstance().trace(LOG, getName(), sessionData.getServiceProvider(),
+                            publishingDomains, events, null);
+                    AuthnDataPublisherUtils.publishEvents(AuthenticationDataPublisherDataHolder.getInstance()
+                            .getPublisherService(), events);
                 }
 
             } catch (IdentityRuntimeException e) {
@@ -195,16 +210,6 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         payloadData[12] = sessionData.isRememberMe();
         payloadData[13] = sessionData.getUserAgent();
         payloadData[14] = System.currentTimeMillis();
-
-        if (LOG.isDebugEnabled()) {
-            for (int i = 0; i < payloadData.length; i++) {
-                if (payloadData[i] != null) {
-                    LOG.debug("Payload data for entry " + i + " " + payloadData[i].toString());
-                } else {
-                    LOG.debug("Payload data for entry " + i + " is null");
-                }
-            }
-        }
         return payloadData;
     }
 
@@ -230,16 +235,6 @@ public class DASSessionDataPublisherImpl extends AbstractAuthenticationDataPubli
         payloadData[13] = sessionData.getUserAgent();
         payloadData[14] = sessionData.getActiveSessionCount();
         payloadData[15] = System.currentTimeMillis();
-
-        if (LOG.isDebugEnabled()) {
-            for (int i = 0; i < payloadData.length; i++) {
-                if (payloadData[i] != null) {
-                    LOG.debug("Payload data for entry " + i + " " + payloadData[i].toString());
-                } else {
-                    LOG.debug("Payload data for entry " + i + " is null");
-                }
-            }
-        }
         return payloadData;
     }
 }
@@ -20,20 +20,42 @@ package org.wso2.carbon.identity.data.publisher.application.authentication.inter
 
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionIdPListCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionTimeoutCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.StringInterner;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.TenantIdCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.UserRoleCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AuthnDataDispatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventBatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventSpillQueue;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.EventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.TimeOrderedEventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.ActiveSessionCounter;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.user.core.service.RealmService;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class AuthenticationDataPublisherDataHolder {
 
     private static AuthenticationDataPublisherDataHolder
             serviceHolder = new AuthenticationDataPublisherDataHolder();
-    private List<AuthenticationDataPublisher> dataPublishers = new ArrayList<>();
+    private final AuthenticationDataPublisherRegistry publisherRegistry = new AuthenticationDataPublisherRegistry();
     private IdentityEventService identityEventService;
     private EventStreamService eventStreamService;
     private RealmService realmService;
+    private volatile AuthnDataDispatcher dispatcher;
+    private volatile UserRoleCache userRoleCache;
+    private volatile EventBatcher eventBatcher;
+    private volatile EventSpillQueue eventSpillQueue;
+    private volatile TenantIdCache tenantIdCache;
+    private volatile PayloadDefaultValues payloadDefaultValues;
+    private volatile SessionTimeoutCache sessionTimeoutCache;
+    private volatile SessionIdPListCache sessionIdPListCache;
+    private volatile StringInterner stringInterner;
+    private volatile ActiveSessionCounter activeSessionCounter;
+    private volatile EventIdGenerator eventIdGenerator = new TimeOrderedEventIdGenerator();
 
     private AuthenticationDataPublisherDataHolder() {
 
@@ -44,9 +66,18 @@ public class AuthenticationDataPublisherDataHolder {
         return serviceHolder;
     }
 
+    /**
+     * @return Registered authentication data publishers in the order they are invoked. The list is read only, use
+     * {@link #getPublisherRegistry()} to change the publishers.
+     */
     public List<AuthenticationDataPublisher> getDataPublishers() {
 
-        return dataPublishers;
+        return publisherRegistry.getRegisteredPublishers();
+    }
+
+    public AuthenticationDataPublisherRegistry getPublisherRegistry() {
+
+        return publisherRegistry;
     }
 
     public IdentityEventService getIdentityEventService() {
@@ -78,4 +109,149 @@ public class AuthenticationDataPublisherDataHolder {
 
         this.realmService = realmService;
     }
+
+    /**
+     * @return Dispatcher used for asynchronous publishing, or null if events should be published synchronously.
+     */
+    public AuthnDataDispatcher getDispatcher() {
+
+        return dispatcher;
+    }
+
+    public void setDispatcher(AuthnDataDispatcher dispatcher) {
+
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @return Cache of the user roles published with login events, or null if role caching is disabled.
+     */
+    public UserRoleCache getUserRoleCache() {
+
+        return userRoleCache;
+    }
+
+    public void setUserRoleCache(UserRoleCache userRoleCache) {
+
+        this.userRoleCache = userRoleCache;
+    }
+
+    /**
+     * @return Batcher of the databridge events, or null if events should be published one by one.
+     */
+    public EventBatcher getEventBatcher() {
+
+        return eventBatcher;
+    }
+
+    public void setEventBatcher(EventBatcher eventBatcher) {
+
+        this.eventBatcher = eventBatcher;
+    }
+
+    /**
+     * @return Queue on the local disk of the events which cannot be published, or null if such events are dropped.
+     */
+    public EventSpillQueue getEventSpillQueue() {
+
+        return eventSpillQueue;
+    }
+
+    public void setEventSpillQueue(EventSpillQueue eventSpillQueue) {
+
+        this.eventSpillQueue = eventSpillQueue;
+    }
+
+    /**
+     * @return Cache of the tenant ids events are published to, or null if tenant ids should be resolved each time.
+     */
+    public TenantIdCache getTenantIdCache() {
+
+        return tenantIdCache;
+    }
+
+    public void setTenantIdCache(TenantIdCache tenantIdCache) {
+
+        this.tenantIdCache = tenantIdCache;
+    }
+
+    /**
+     * @return Default values of the payload fields, or null if they should be read from identity.xml each time.
+     */
+    public PayloadDefaultValues getPayloadDefaultValues() {
+
+        return payloadDefaultValues;
+    }
+
+    public void setPayloadDefaultValues(PayloadDefaultValues payloadDefaultValues) {
+
+        this.payloadDefaultValues = payloadDefaultValues;
+    }
+
+    /**
+     * @return Cache of the session timeouts of the tenants, or null if they should be read from the resident identity
+     * provider each time.
+     */
+    public SessionTimeoutCache getSessionTimeoutCache() {
+
+        return sessionTimeoutCache;
+    }
+
+    public void setSessionTimeoutCache(SessionTimeoutCache sessionTimeoutCache) {
+
+        this.sessionTimeoutCache = sessionTimeoutCache;
+    }
+
+    /**
+     * @return Cache of the comma separated identity providers of the sessions, or null if they should be joined for
+     * each event.
+     */
+    public SessionIdPListCache getSessionIdPListCache() {
+
+        return sessionIdPListCache;
+    }
+
+    public void setSessionIdPListCache(SessionIdPListCache sessionIdPListCache) {
+
+        this.sessionIdPListCache = sessionIdPListCache;
+    }
+
+    /**
+     * @return Interner of the low cardinality strings of the events, or null if the strings are not interned.
+     */
+    public StringInterner getStringInterner() {
+
+        return stringInterner;
+    }
+
+    public void setStringInterner(StringInterner stringInterner) {
+
+        this.stringInterner = stringInterner;
+    }
+
+    /**
+     * @return Counter of the active sessions of the tenants, or null if the sessions are not counted locally.
+     */
+    public ActiveSessionCounter getActiveSessionCounter() {
+
+        return activeSessionCounter;
+    }
+
+    public void setActiveSessionCounter(ActiveSessionCounter activeSessionCounter) {
+
+        this.activeSessionCounter = activeSessionCounter;
+    }
+
+    /**
+     * @return Generator of the ids of the published events.
+     */
+    public EventIdGenerator getEventIdGenerator() {
+
+        return eventIdGenerator;
+    }
+
+    public void setEventIdGenerator(EventIdGenerator eventIdGenerator) {
+
+        this.eventIdGenerator = eventIdGenerator;
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.core.handler.MessageHandlerComparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write registry of the {@link AuthenticationDataPublisher}s invoked by the publisher proxy. Every change
+ * builds a new immutable {@link Publishers} view which is swapped in atomically, so the publishing threads read the
+ * registry without locking and never observe a partially updated list.
+ * <p>
+ * Whether a publisher is enabled is resolved when the view is built for the publishers of this bundle, since they
+ * decide it only from the event listener configuration. Other publishers may decide it per authentication context,
+ * so they are checked on each event as before.
+ */
+public class AuthenticationDataPublisherRegistry {
+
+    private static final Log LOG = LogFactory.getLog(AuthenticationDataPublisherRegistry.class);
+    private static final String BUNDLE_PACKAGE = "org.wso2.carbon.identity.data.publisher.application.authentication";
+
+    private final AtomicReference<Publishers> publishers = new AtomicReference<>(new Publishers(0,
+            Collections.<AuthenticationDataPublisher>emptyList()));
+
+    /**
+     * Immutable view of the registered publishers in the order they should be invoked, leaving out the publishers
+     * known to be disabled.
+     */
+    public static final class Publishers {
+
+        private final long version;
+        private final List<AuthenticationDataPublisher> registered;
+        private final AuthenticationDataPublisher[] active;
+        private final boolean[] resolved;
+
+        private Publishers(long version, List<AuthenticationDataPublisher> registered) {
+
+            this.version = version;
+            this.registered = registered;
+            List<AuthenticationDataPublisher> activeList = new ArrayList<>(registered.size());
+            List<Boolean> resolvedList = new ArrayList<>(registered.size());
+            for (AuthenticationDataPublisher publisher : registered) {
+                if (!isContextIndependent(publisher)) {
+                    activeList.add(publisher);
+                    resolvedList.add(false);
+                } else if (isEnabledAndCanHandle(publisher)) {
+                    activeList.add(publisher);
+                    resolvedList.add(true);
+                }
+            }
+            this.active = activeList.toArray(new AuthenticationDataPublisher[0]);
+            this.resolved = new boolean[active.length];
+            for (int i = 0; i < active.length; i++) {
+                resolved[i] = resolvedList.get(i);
+            }
+        }
+
+        /**
+         * @return Version of the view, incremented on every change of the registry.
+         */
+        public long getVersion() {
+
+            return version;
+        }
+
+        /**
+         * @return Number of publishers which may have to be invoked.
+         */
+        public int size() {
+
+            return active.length;
+        }
+
+        public AuthenticationDataPublisher get(int index) {
+
+            return active[index];
+        }
+
+        /**
+         * @param index Index of the publisher.
+         * @return True if the publisher is known to be enabled and able to handle all events, false if it has to be
+         * checked against the authentication context of the event.
+         */
+        public boolean isResolved(int index) {
+
+            return resolved[index];
+        }
+    }
+
+    /**
+     * @return Current view of the registered publishers.
+     */
+    public Publishers getPublishers() {
+
+        return publishers.get();
+    }
+
+    /**
+     * @return All the registered publishers in the order they are invoked.
+     */
+    public List<AuthenticationDataPublisher> getRegisteredPublishers() {
+
+        return publishers.get().registered;
+    }
+
+    public void register(AuthenticationDataPublisher publisher) {
+
+        Publishers current;
+        Publishers updated;
+        do {
+            current = publishers.get();
+            List<AuthenticationDataPublisher> registered = new ArrayList<>(current.registered);
+            registered.add(publisher);
+            updated = new Publishers(current.version + 1, sort(registered));
+        } while (!publishers.compareAndSet(current, updated));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Registered authentication data publisher: " + publisher.getName() + ". Registry version: " +
+                    updated.version);
+        }
+    }
+
+    public void unregister(AuthenticationDataPublisher publisher) {
+
+        Publishers current;
+        Publishers updated;
+        do {
+            current = publishers.get();
+            List<AuthenticationDataPublisher> registered = new ArrayList<>(current.registered);
+            if (!registered.remove(publisher)) {
+                return;
+            }
+            updated = new Publishers(current.version + 1, Collections.unmodifiableList(registered));
+        } while (!publishers.compareAndSet(current, updated));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Unregistered authentication data publisher: " + publisher.getName() + ". Registry version: " +
+                    updated.version);
+        }
+    }
+
+    /**
+     * Resolve the enabled publishers again, after the configuration of the publishers has changed.
+     */
+    public void refresh() {
+
+        Publishers current;
+        do {
+            current = publishers.get();
+        } while (!publishers.compareAndSet(current, new Publishers(current.version + 1, current.registered)));
+    }
+
+    public void clear() {
+
+        Publishers current;
+        do {
+            current = publishers.get();
+        } while (!publishers.compareAndSet(current, new Publishers(current.version + 1,
+                Collections.<AuthenticationDataPublisher>emptyList())));
+    }
+
+    private static List<AuthenticationDataPublisher> sort(List<AuthenticationDataPublisher> registered) {
+
+        Collections.sort(registered, new MessageHandlerComparator(null));
+        Collections.reverse(registered);
+        return Collections.unmodifiableList(registered);
+    }
+
+    private static boolean isContextIndependent(AuthenticationDataPublisher publisher) {
+
+        try {
+            return isDeclaredInBundle(publisher.getClass().getMethod("isEnabled", MessageContext.class)
+                    .getDeclaringClass()) && isDeclaredInBundle(publisher.getClass().getMethod("canHandle",
+                    MessageContext.class).getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDeclaredInBundle(Class<?> declaringClass) {
+
+        return declaringClass.getName().startsWith(BUNDLE_PACKAGE + ".");
+    }
+
+    private static boolean isEnabledAndCanHandle(AuthenticationDataPublisher publisher) {
+
+        return publisher.isEnabled(null) && publisher.canHandle(null);
+    }
+
+}
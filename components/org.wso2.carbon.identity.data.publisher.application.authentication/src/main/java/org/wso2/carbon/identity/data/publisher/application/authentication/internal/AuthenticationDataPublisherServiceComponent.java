@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.data.publisher.application.authentication.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
@@ -28,18 +29,49 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.wso2.carbon.base.CarbonBaseUtils;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.core.handler.MessageHandlerComparator;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherProxy;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.EventListenerConfigCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionIdPListCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionTimeoutCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionTimeoutCacheInvalidationListener;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.StringInterner;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.TenantIdCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.TenantIdCacheInvalidationListener;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.UserRoleCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.UserRoleCacheInvalidationListener;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AuthnDataDispatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventBatcher;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventSpillQueue;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.EventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.RandomEventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.TimeOrderedEventIdGenerator;
 import org.wso2.carbon.identity.data.publisher.application.authentication.impl.AuthenticationAuditLogger;
 import org.wso2.carbon.identity.data.publisher.application.authentication.impl.DASLoginDataPublisherImpl;
 import org.wso2.carbon.identity.data.publisher.application.authentication.impl.DASSessionDataPublisherImpl;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.ActiveSessionCounter;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
+import org.wso2.carbon.idp.mgt.listener.IdentityProviderMgtListener;
+import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
+import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
 
-import java.util.Collections;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component(
         name = "identity.data.publisher.authn",
@@ -48,6 +80,7 @@ import java.util.Collections;
 public class AuthenticationDataPublisherServiceComponent {
 
     private static final Log log = LogFactory.getLog(AuthenticationDataPublisherServiceComponent.class);
+    private AuthenticationAuditLogger authenticationAuditLogger;
 
     @Activate
     protected void activate(ComponentContext context) {
@@ -60,12 +93,27 @@ public class AuthenticationDataPublisherServiceComponent {
             bundleContext
                     .registerService(AuthenticationDataPublisher.class.getName(), new DASSessionDataPublisherImpl(),
                             null);
+            authenticationAuditLogger = new AuthenticationAuditLogger();
             bundleContext
-                    .registerService(AuthenticationDataPublisher.class.getName(), new AuthenticationAuditLogger(),
+                    .registerService(AuthenticationDataPublisher.class.getName(), authenticationAuditLogger,
                             null);
             bundleContext
                     .registerService(AuthenticationDataPublisher.class.getName(), new AuthnDataPublisherProxy(),
                             null);
+            loadPayloadDefaultValues();
+            loadEventIdGenerator();
+            PublisherMetrics.getInstance().setEnabled(Boolean.parseBoolean(IdentityUtil.getProperty(
+                    AuthPublisherConstants.METRICS_ENABLED)));
+            PublisherManagement.getInstance().registerMBean();
+            startSpillQueue();
+            startEventBatcher();
+            startDispatcher();
+            startUserRoleCache(bundleContext);
+            startTenantIdCache(bundleContext);
+            startSessionTimeoutCache(bundleContext);
+            startSessionIdPListCache();
+            startStringInterner();
+            startActiveSessionCounter();
             if (log.isDebugEnabled()) {
                 log.debug("org.wso2.carbon.identity.data.publisher.application.authentication bundle is activated");
             }
@@ -78,11 +126,322 @@ public class AuthenticationDataPublisherServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (authenticationAuditLogger != null) {
+            authenticationAuditLogger.stopAsyncAuditAppender();
+            authenticationAuditLogger = null;
+        }
+        AuthnDataDispatcher dispatcher = AuthenticationDataPublisherDataHolder.getInstance().getDispatcher();
+        if (dispatcher != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setDispatcher(null);
+            dispatcher.shutdown(AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                            .ASYNC_DISPATCH_SHUTDOWN_TIMEOUT, AuthPublisherConstants
+                            .DEFAULT_ASYNC_DISPATCH_SHUTDOWN_TIMEOUT_MILLIS), TimeUnit.MILLISECONDS);
+        }
+        // The batcher is stopped after the dispatcher since the dispatched events end up in the batcher.
+        EventBatcher eventBatcher = AuthenticationDataPublisherDataHolder.getInstance().getEventBatcher();
+        if (eventBatcher != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setEventBatcher(null);
+            eventBatcher.shutdown();
+        }
+        // The spill queue is stopped after the batcher since the batcher spills the events it fails to publish.
+        EventSpillQueue eventSpillQueue = AuthenticationDataPublisherDataHolder.getInstance().getEventSpillQueue();
+        if (eventSpillQueue != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setEventSpillQueue(null);
+            eventSpillQueue.shutdown();
+        }
+        UserRoleCache userRoleCache = AuthenticationDataPublisherDataHolder.getInstance().getUserRoleCache();
+        if (userRoleCache != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setUserRoleCache(null);
+            if (log.isDebugEnabled()) {
+                log.debug("User role cache statistics. " + userRoleCache.getStatistics());
+            }
+        }
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(null);
+        AuthenticationDataPublisherDataHolder.getInstance().setEventIdGenerator(new TimeOrderedEventIdGenerator());
+        TenantIdCache tenantIdCache = AuthenticationDataPublisherDataHolder.getInstance().getTenantIdCache();
+        if (tenantIdCache != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setTenantIdCache(null);
+            if (log.isDebugEnabled()) {
+                log.debug("Tenant id cache statistics. " + tenantIdCache.getStatistics());
+            }
+        }
+        SessionTimeoutCache sessionTimeoutCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionTimeoutCache();
+        if (sessionTimeoutCache != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setSessionTimeoutCache(null);
+            if (log.isDebugEnabled()) {
+                log.debug("Session timeout cache statistics. " + sessionTimeoutCache.getStatistics());
+            }
+        }
+        SessionIdPListCache sessionIdPListCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionIdPListCache();
+        if (sessionIdPListCache != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setSessionIdPListCache(null);
+            if (log.isDebugEnabled()) {
+                log.debug("Session identity provider list cache statistics. " + sessionIdPListCache
+                        .getStatistics());
+            }
+        }
+        StringInterner stringInterner = AuthenticationDataPublisherDataHolder.getInstance().getStringInterner();
+        if (stringInterner != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setStringInterner(null);
+            if (log.isDebugEnabled()) {
+                log.debug("String interner statistics. " + stringInterner.getStatistics());
+            }
+        }
+        ActiveSessionCounter activeSessionCounter = AuthenticationDataPublisherDataHolder.getInstance()
+                .getActiveSessionCounter();
+        if (activeSessionCounter != null) {
+            AuthenticationDataPublisherDataHolder.getInstance().setActiveSessionCounter(null);
+            if (log.isDebugEnabled()) {
+                log.debug("Active session counter statistics. " + activeSessionCounter.getStatistics());
+            }
+        }
+        PublisherManagement.getInstance().unregisterMBean();
+        PublisherMetrics.getInstance().setEnabled(false);
+        if (log.isDebugEnabled()) {
+            log.debug("Publisher metrics.\n" + PublisherMetrics.getInstance().renderText());
+        }
+        PublisherMetrics.getInstance().reset();
+        PublisherTracer.getInstance().disableAll();
+        if (log.isDebugEnabled()) {
+            log.debug("Event listener config cache statistics. " + EventListenerConfigCache.getInstance()
+                    .getStatistics());
+        }
+        EventListenerConfigCache.getInstance().invalidate();
         if (log.isDebugEnabled()) {
             log.debug("org.wso2.carbon.identity.data.publisher.application.authentication bundle is deactivated");
         }
     }
 
+    private void startDispatcher() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(AuthPublisherConstants.ASYNC_DISPATCH_ENABLED))) {
+            return;
+        }
+        int queueSize = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .ASYNC_DISPATCH_QUEUE_SIZE, AuthPublisherConstants.DEFAULT_ASYNC_DISPATCH_QUEUE_SIZE);
+        int workerCount = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .ASYNC_DISPATCH_WORKER_COUNT, AuthPublisherConstants.DEFAULT_ASYNC_DISPATCH_WORKER_COUNT);
+        AuthnDataDispatcher.OverflowPolicy overflowPolicy = AuthnDataDispatcher.OverflowPolicy.fromString(
+                IdentityUtil.getProperty(AuthPublisherConstants.ASYNC_DISPATCH_OVERFLOW_POLICY),
+                AuthnDataDispatcher.OverflowPolicy.BLOCK);
+        AuthenticationDataPublisherDataHolder.getInstance().setDispatcher(new AuthnDataDispatcher(queueSize,
+                workerCount, overflowPolicy));
+        log.info("Asynchronous authentication data dispatching is enabled with queue size: " + queueSize +
+                ", worker threads: " + workerCount + " and overflow policy: " + overflowPolicy);
+    }
+
+    private void loadPayloadDefaultValues() {
+
+        PayloadDefaultValues payloadDefaultValues = new PayloadDefaultValues();
+        payloadDefaultValues.reload();
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(payloadDefaultValues);
+    }
+
+    private void loadEventIdGenerator() {
+
+        String generatorName = IdentityUtil.getProperty(AuthPublisherConstants.EVENT_ID_GENERATOR);
+        if (StringUtils.isBlank(generatorName) || TimeOrderedEventIdGenerator.NAME.equalsIgnoreCase(
+                generatorName.trim())) {
+            return;
+        }
+        EventIdGenerator eventIdGenerator;
+        if (RandomEventIdGenerator.NAME.equalsIgnoreCase(generatorName.trim())) {
+            eventIdGenerator = new RandomEventIdGenerator();
+        } else {
+            try {
+                eventIdGenerator = (EventIdGenerator) Class.forName(generatorName.trim()).newInstance();
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+                log.error("Error while loading the event id generator: " + generatorName + ". Time ordered event " +
+                        "ids are generated instead.", e);
+                return;
+            }
+        }
+        AuthenticationDataPublisherDataHolder.getInstance().setEventIdGenerator(eventIdGenerator);
+        log.info("Event ids are generated by " + eventIdGenerator.getClass().getName());
+    }
+
+    private void startEventBatcher() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(AuthPublisherConstants.BATCHING_ENABLED))) {
+            return;
+        }
+        int batchSize = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants.BATCHING_BATCH_SIZE,
+                AuthPublisherConstants.DEFAULT_BATCHING_BATCH_SIZE);
+        long lingerTime = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                .BATCHING_LINGER_TIME, AuthPublisherConstants.DEFAULT_BATCHING_LINGER_TIME_MILLIS);
+        EventBatcher eventBatcher = new EventBatcher(new EventBatcher.EventStreamServiceProvider() {
+            @Override
+            public EventStreamService getEventStreamService() {
+
+                return AuthenticationDataPublisherDataHolder.getInstance().getPublisherService();
+            }
+        }, batchSize, lingerTime, TimeUnit.MILLISECONDS);
+        eventBatcher.setSpillQueue(AuthenticationDataPublisherDataHolder.getInstance().getEventSpillQueue());
+        AuthenticationDataPublisherDataHolder.getInstance().setEventBatcher(eventBatcher);
+        log.info("Batch publishing of authentication events is enabled with batch size: " + batchSize +
+                " and linger time: " + lingerTime + "ms");
+    }
+
+    private void startSpillQueue() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(AuthPublisherConstants.SPILL_QUEUE_ENABLED))) {
+            return;
+        }
+        String directoryPath = IdentityUtil.getProperty(AuthPublisherConstants.SPILL_QUEUE_DIRECTORY);
+        File directory = StringUtils.isNotBlank(directoryPath) ? new File(directoryPath.trim()) :
+                new File(CarbonBaseUtils.getCarbonHome(), AuthPublisherConstants.DEFAULT_SPILL_QUEUE_DIRECTORY);
+        int segmentSize = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .SPILL_QUEUE_SEGMENT_SIZE, AuthPublisherConstants.DEFAULT_SPILL_QUEUE_SEGMENT_SIZE);
+        long maxSize = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants.SPILL_QUEUE_MAX_SIZE,
+                AuthPublisherConstants.DEFAULT_SPILL_QUEUE_MAX_SIZE);
+        int replayRate = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .SPILL_QUEUE_REPLAY_RATE, AuthPublisherConstants.DEFAULT_SPILL_QUEUE_REPLAY_RATE);
+        long retryInterval = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                .SPILL_QUEUE_RETRY_INTERVAL, AuthPublisherConstants.DEFAULT_SPILL_QUEUE_RETRY_INTERVAL_MILLIS);
+        try {
+            EventSpillQueue eventSpillQueue = new EventSpillQueue(directory, segmentSize, Math.max(maxSize,
+                    segmentSize), replayRate, retryInterval, TimeUnit.MILLISECONDS,
+                    new EventSpillQueue.EventPublisher() {
+                        @Override
+                        public boolean publish(Event event) {
+
+                            EventStreamService eventStreamService = AuthenticationDataPublisherDataHolder
+                                    .getInstance().getPublisherService();
+                            if (eventStreamService == null) {
+                                return false;
+                            }
+                            try {
+                                FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+                                eventStreamService.publish(event);
+                            } finally {
+                                FrameworkUtils.endTenantFlow();
+                            }
+                            return true;
+                        }
+                    });
+            AuthenticationDataPublisherDataHolder.getInstance().setEventSpillQueue(eventSpillQueue);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error while starting the spill queue of the authentication events in: " + directory
+                    .getAbsolutePath() + ". Events which cannot be published are dropped.", e);
+            return;
+        }
+        log.info("Spill queue of the authentication events is enabled in: " + directory.getAbsolutePath() +
+                " with segment size: " + segmentSize + " bytes, maximum size: " + maxSize + " bytes and replay " +
+                "rate: " + replayRate + " events per second");
+    }
+
+    private void startUserRoleCache(BundleContext bundleContext) {
+
+        String enabled = IdentityUtil.getProperty(AuthPublisherConstants.ROLE_CACHE_ENABLED);
+        if (StringUtils.isNotBlank(enabled) && !Boolean.parseBoolean(enabled)) {
+            return;
+        }
+        long timeToLive = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                .ROLE_CACHE_TIME_TO_LIVE, AuthPublisherConstants.DEFAULT_ROLE_CACHE_TIME_TO_LIVE_SECONDS);
+        int maxEntriesPerTenant = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .ROLE_CACHE_MAX_ENTRIES_PER_TENANT, AuthPublisherConstants.DEFAULT_ROLE_CACHE_MAX_ENTRIES_PER_TENANT);
+        UserRoleCache userRoleCache = new UserRoleCache(timeToLive, TimeUnit.SECONDS, maxEntriesPerTenant);
+        bundleContext.registerService(UserOperationEventListener.class.getName(),
+                new UserRoleCacheInvalidationListener(userRoleCache), null);
+        AuthenticationDataPublisherDataHolder.getInstance().setUserRoleCache(userRoleCache);
+        if (log.isDebugEnabled()) {
+            log.debug("User role cache is enabled with time to live: " + timeToLive + "s and maximum entries per " +
+                    "tenant: " + maxEntriesPerTenant);
+        }
+    }
+
+    private void startTenantIdCache(BundleContext bundleContext) {
+
+        TenantIdCache tenantIdCache = new TenantIdCache();
+        bundleContext.registerService(TenantMgtListener.class.getName(),
+                new TenantIdCacheInvalidationListener(tenantIdCache), null);
+        AuthenticationDataPublisherDataHolder.getInstance().setTenantIdCache(tenantIdCache);
+    }
+
+    private void startSessionTimeoutCache(BundleContext bundleContext) {
+
+        String enabled = IdentityUtil.getProperty(AuthPublisherConstants.SESSION_TIMEOUT_CACHE_ENABLED);
+        if (StringUtils.isNotBlank(enabled) && !Boolean.parseBoolean(enabled)) {
+            return;
+        }
+        long timeToLive = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                .SESSION_TIMEOUT_CACHE_TIME_TO_LIVE, AuthPublisherConstants
+                .DEFAULT_SESSION_TIMEOUT_CACHE_TIME_TO_LIVE_SECONDS);
+        SessionTimeoutCache sessionTimeoutCache = new SessionTimeoutCache(timeToLive, TimeUnit.SECONDS);
+        bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
+                new SessionTimeoutCacheInvalidationListener(sessionTimeoutCache), null);
+        AuthenticationDataPublisherDataHolder.getInstance().setSessionTimeoutCache(sessionTimeoutCache);
+        if (log.isDebugEnabled()) {
+            log.debug("Session timeout cache is enabled with time to live: " + timeToLive + "s");
+        }
+    }
+
+    private void startSessionIdPListCache() {
+
+        String enabled = IdentityUtil.getProperty(AuthPublisherConstants.SESSION_IDP_LIST_CACHE_ENABLED);
+        if (StringUtils.isNotBlank(enabled) && !Boolean.parseBoolean(enabled)) {
+            return;
+        }
+        int maxEntries = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .SESSION_IDP_LIST_CACHE_MAX_ENTRIES, AuthPublisherConstants.DEFAULT_SESSION_IDP_LIST_CACHE_MAX_ENTRIES);
+        AuthenticationDataPublisherDataHolder.getInstance().setSessionIdPListCache(new SessionIdPListCache(
+                maxEntries));
+        if (log.isDebugEnabled()) {
+            log.debug("Session identity provider list cache is enabled with maximum entries: " + maxEntries);
+        }
+    }
+
+    private void startStringInterner() {
+
+        String enabled = IdentityUtil.getProperty(AuthPublisherConstants.STRING_INTERNING_ENABLED);
+        if (StringUtils.isNotBlank(enabled) ? !Boolean.parseBoolean(enabled) : !isEventQueueingEnabled()) {
+            return;
+        }
+        int maxEntries = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .STRING_INTERNING_MAX_ENTRIES, AuthPublisherConstants.DEFAULT_STRING_INTERNING_MAX_ENTRIES);
+        int maxLength = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .STRING_INTERNING_MAX_LENGTH, AuthPublisherConstants.DEFAULT_STRING_INTERNING_MAX_LENGTH);
+        AuthenticationDataPublisherDataHolder.getInstance().setStringInterner(new StringInterner(maxEntries,
+                maxLength));
+        if (log.isDebugEnabled()) {
+            log.debug("String interning is enabled with maximum entries: " + maxEntries + " and maximum length: " +
+                    maxLength);
+        }
+    }
+
+    /**
+     * Interning only pays off when many events are held after they are published, so it is enabled by default only
+     * when the events are queued by the dispatcher, the batcher or the spill queue.
+     */
+    private boolean isEventQueueingEnabled() {
+
+        AuthenticationDataPublisherDataHolder dataHolder = AuthenticationDataPublisherDataHolder.getInstance();
+        return dataHolder.getDispatcher() != null || dataHolder.getEventBatcher() != null ||
+                dataHolder.getEventSpillQueue() != null;
+    }
+
+    private void startActiveSessionCounter() {
+
+        String enabled = IdentityUtil.getProperty(AuthPublisherConstants.ACTIVE_SESSION_COUNTER_ENABLED);
+        if (StringUtils.isNotBlank(enabled) && !Boolean.parseBoolean(enabled)) {
+            return;
+        }
+        long bucketResolution = AuthnDataPublisherUtils.getPositiveLongProperty(AuthPublisherConstants
+                .ACTIVE_SESSION_COUNTER_BUCKET_RESOLUTION, AuthPublisherConstants
+                .DEFAULT_ACTIVE_SESSION_COUNTER_BUCKET_RESOLUTION_SECONDS);
+        int maxTrackedSessions = AuthnDataPublisherUtils.getPositiveIntProperty(AuthPublisherConstants
+                .ACTIVE_SESSION_COUNTER_MAX_TRACKED_SESSIONS, AuthPublisherConstants
+                .DEFAULT_ACTIVE_SESSION_COUNTER_MAX_TRACKED_SESSIONS);
+        AuthenticationDataPublisherDataHolder.getInstance().setActiveSessionCounter(new ActiveSessionCounter(
+                bucketResolution, TimeUnit.SECONDS, maxTrackedSessions));
+        if (log.isDebugEnabled()) {
+            log.debug("Active session counter is enabled with bucket resolution: " + bucketResolution +
+                    "s and maximum tracked sessions: " + maxTrackedSessions);
+        }
+    }
+
     @Reference(
             name = "IdentityEventService",
             service = IdentityEventService.class,
@@ -158,15 +517,12 @@ public class AuthenticationDataPublisherServiceComponent {
 
         if (publisher != null && !FrameworkConstants.AnalyticsAttributes.AUTHN_DATA_PUBLISHER_PROXY.equalsIgnoreCase
                 (publisher.getName())) {
-            AuthenticationDataPublisherDataHolder.getInstance().getDataPublishers().add(publisher);
-            Collections.sort(AuthenticationDataPublisherDataHolder.getInstance().getDataPublishers(),
-                    new MessageHandlerComparator(null));
-            Collections.reverse(AuthenticationDataPublisherDataHolder.getInstance().getDataPublishers());
+            AuthenticationDataPublisherDataHolder.getInstance().getPublisherRegistry().register(publisher);
         }
     }
 
     protected void unsetAuthenticationDataPublisher(AuthenticationDataPublisher publisher) {
 
-        AuthenticationDataPublisherDataHolder.getInstance().getDataPublishers().remove(publisher);
+        AuthenticationDataPublisherDataHolder.getInstance().getPublisherRegistry().unregister(publisher);
     }
 }
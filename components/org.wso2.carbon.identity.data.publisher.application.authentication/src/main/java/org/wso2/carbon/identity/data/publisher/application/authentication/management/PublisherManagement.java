@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.management;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.EventListenerConfigCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionIdPListCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.SessionTimeoutCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.StringInterner;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AsyncAuditAppender;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.EventSpillQueue;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.ActiveSessionCounter;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.sampling.EventSampler;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Management surface shared by the authentication data publisher bundles. The event handlers of the other bundles
+ * register their effective configuration here, and the operations are exposed over JMX while the bundle is active.
+ */
+public class PublisherManagement implements PublisherManagementMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.data.publisher:type=PublisherManagement";
+
+    private static final Log LOG = LogFactory.getLog(PublisherManagement.class);
+    private static final PublisherManagement INSTANCE = new PublisherManagement();
+
+    private final ConcurrentMap<String, Object> handlerConfigurations = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, EventSampler> eventSamplers = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, AsyncAuditAppender> auditAppenders = new ConcurrentSkipListMap<>();
+
+    private PublisherManagement() {
+
+    }
+
+    public static PublisherManagement getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Register the effective configuration of an event handler, replacing the one registered before.
+     *
+     * @param handlerName   Name of the handler.
+     * @param configuration Configuration of the handler, rendered with its toString method.
+     */
+    public void setHandlerConfiguration(String handlerName, Object configuration) {
+
+        handlerConfigurations.put(handlerName, configuration);
+    }
+
+    public void removeHandlerConfiguration(String handlerName) {
+
+        handlerConfigurations.remove(handlerName);
+        eventSamplers.remove(handlerName);
+        auditAppenders.remove(handlerName);
+    }
+
+    /**
+     * Register the event sampler of an event handler, replacing the one registered before.
+     *
+     * @param handlerName  Name of the handler.
+     * @param eventSampler Sampler of the handler, or null if the events of the handler are not sampled.
+     */
+    public void setEventSampler(String handlerName, EventSampler eventSampler) {
+
+        if (eventSampler != null) {
+            eventSamplers.put(handlerName, eventSampler);
+        } else {
+            eventSamplers.remove(handlerName);
+        }
+    }
+
+    /**
+     * Register the asynchronous audit appender of an event handler, replacing the one registered before.
+     *
+     * @param handlerName   Name of the handler.
+     * @param auditAppender Appender of the handler, or null if the handler writes the audit log synchronously.
+     */
+    public void setAuditAppender(String handlerName, AsyncAuditAppender auditAppender) {
+
+        if (auditAppender != null) {
+            auditAppenders.put(handlerName, auditAppender);
+        } else {
+            auditAppenders.remove(handlerName);
+        }
+    }
+
+    @Override
+    public String dumpHandlerConfigurations() {
+
+        StringBuilder dump = new StringBuilder();
+        for (Map.Entry<String, Object> entry : handlerConfigurations.entrySet()) {
+            dump.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return dump.toString();
+    }
+
+    @Override
+    public void reloadListenerConfigurations() {
+
+        EventListenerConfigCache.getInstance().invalidate();
+        // The enabled publishers are resolved from the listener configurations.
+        AuthenticationDataPublisherDataHolder.getInstance().getPublisherRegistry().refresh();
+        PayloadDefaultValues payloadDefaultValues = AuthenticationDataPublisherDataHolder.getInstance()
+                .getPayloadDefaultValues();
+        if (payloadDefaultValues != null) {
+            payloadDefaultValues.reload();
+        }
+        LOG.info("Reloaded the event listener configurations and the payload default values of the authentication " +
+                "data publishers.");
+    }
+
+    @Override
+    public String getSessionTimeoutCacheStatistics() {
+
+        SessionTimeoutCache sessionTimeoutCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionTimeoutCache();
+        return sessionTimeoutCache != null ? sessionTimeoutCache.getStatistics() : null;
+    }
+
+    @Override
+    public void invalidateSessionTimeouts() {
+
+        SessionTimeoutCache sessionTimeoutCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionTimeoutCache();
+        if (sessionTimeoutCache != null) {
+            sessionTimeoutCache.clear();
+        }
+    }
+
+    @Override
+    public String getSessionIdPListCacheStatistics() {
+
+        SessionIdPListCache sessionIdPListCache = AuthenticationDataPublisherDataHolder.getInstance()
+                .getSessionIdPListCache();
+        return sessionIdPListCache != null ? sessionIdPListCache.getStatistics() : null;
+    }
+
+    @Override
+    public String getStringInternerStatistics() {
+
+        StringInterner stringInterner = AuthenticationDataPublisherDataHolder.getInstance().getStringInterner();
+        return stringInterner != null ? stringInterner.getStatistics() : null;
+    }
+
+    @Override
+    public String getSamplingStatistics() {
+
+        StringBuilder statistics = new StringBuilder();
+        for (Map.Entry<String, EventSampler> entry : eventSamplers.entrySet()) {
+            statistics.append(entry.getKey()).append(":\n").append(entry.getValue().getStatistics());
+        }
+        return statistics.toString();
+    }
+
+    @Override
+    public String getAuditAppenderStatistics() {
+
+        StringBuilder statistics = new StringBuilder();
+        for (Map.Entry<String, AsyncAuditAppender> entry : auditAppenders.entrySet()) {
+            statistics.append(entry.getKey()).append(": ").append(entry.getValue().getStatistics()).append('\n');
+        }
+        return statistics.toString();
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+
+        return PublisherMetrics.getInstance().isEnabled();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+
+        PublisherMetrics.getInstance().setEnabled(enabled);
+        LOG.info((enabled ? "Enabled" : "Disabled") + " the metrics of the authentication data publishers.");
+    }
+
+    @Override
+    public String dumpMetrics() {
+
+        return PublisherMetrics.getInstance().renderText();
+    }
+
+    @Override
+    public void resetMetrics() {
+
+        PublisherMetrics.getInstance().reset();
+    }
+
+    @Override
+    public long getActiveSessionCount(String tenantDomain) {
+
+        ActiveSessionCounter activeSessionCounter = AuthenticationDataPublisherDataHolder.getInstance()
+                .getActiveSessionCounter();
+        return activeSessionCounter != null ? activeSessionCounter.getActiveSessionCount(tenantDomain) : -1;
+    }
+
+    @Override
+    public String dumpActiveSessionCounts() {
+
+        ActiveSessionCounter activeSessionCounter = AuthenticationDataPublisherDataHolder.getInstance()
+                .getActiveSessionCounter();
+        if (activeSessionCounter == null) {
+            return null;
+        }
+        StringBuilder dump = new StringBuilder();
+        for (Map.Entry<String, Long> entry : activeSessionCounter.getActiveSessionCounts().entrySet()) {
+            dump.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return dump.toString();
+    }
+
+    @Override
+    public String getActiveSessionCounterStatistics() {
+
+        ActiveSessionCounter activeSessionCounter = AuthenticationDataPublisherDataHolder.getInstance()
+                .getActiveSessionCounter();
+        return activeSessionCounter != null ? activeSessionCounter.getStatistics() : null;
+    }
+
+    @Override
+    public String getSpillQueueStatistics() {
+
+        EventSpillQueue eventSpillQueue = AuthenticationDataPublisherDataHolder.getInstance().getEventSpillQueue();
+        return eventSpillQueue != null ? eventSpillQueue.getStatistics() : null;
+    }
+
+    @Override
+    public void enableTracing(String tenantDomain, String serviceProvider, int samplePercentage) {
+
+        PublisherTracer.getInstance().enable(tenantDomain, serviceProvider, samplePercentage);
+    }
+
+    @Override
+    public void disableTracing(String tenantDomain, String serviceProvider) {
+
+        PublisherTracer.getInstance().disable(tenantDomain, serviceProvider);
+    }
+
+    @Override
+    public void disableAllTracing() {
+
+        PublisherTracer.getInstance().disableAll();
+    }
+
+    @Override
+    public String dumpTracingRules() {
+
+        return PublisherTracer.getInstance().dumpRules();
+    }
+
+    /**
+     * Expose the management operations over JMX.
+     */
+    public void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.error("Error while registering the MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    public void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.error("Error while unregistering the MBean: " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.management;
+
+/**
+ * Management operations of the authentication data publishers, exposed over JMX.
+ */
+public interface PublisherManagementMBean {
+
+    /**
+     * @return Effective configuration of each event handler which has registered its configuration, one handler per
+     * line.
+     */
+    String dumpHandlerConfigurations();
+
+    /**
+     * Read the event listener configurations and the payload default values from identity.xml again, after it has
+     * been reloaded. identity.xml does not notify its readers of a reload, so both are otherwise only read when the
+     * bundle is activated.
+     */
+    void reloadListenerConfigurations();
+
+    /**
+     * @return Hit rate and other counters of the session timeout cache, or null if the cache is disabled.
+     */
+    String getSessionTimeoutCacheStatistics();
+
+    /**
+     * Drop the cached session timeouts of all the tenants, such as after the resident identity provider of a tenant
+     * is updated on another node.
+     */
+    void invalidateSessionTimeouts();
+
+    /**
+     * @return Hit rate and other counters of the cache of the identity providers of the sessions, or null if the cache
+     * is disabled.
+     */
+    String getSessionIdPListCacheStatistics();
+
+    /**
+     * @return Hit rate and other counters of the interner of the low cardinality strings of the events, or null if
+     * the strings are not interned.
+     */
+    String getStringInternerStatistics();
+
+    /**
+     * @return Number of events sampled in, sampled out and rate limited by the samplers of the handlers, per event
+     * name and tenant domain.
+     */
+    String getSamplingStatistics();
+
+    /**
+     * @return Counters of the asynchronous audit appenders of the handlers, per handler.
+     */
+    String getAuditAppenderStatistics();
+
+    /**
+     * @return Whether the handlers and publishers record their metrics.
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * Start or stop recording the metrics of the handlers and publishers, without a restart.
+     *
+     * @param enabled Whether the metrics are recorded.
+     */
+    void setMetricsEnabled(boolean enabled);
+
+    /**
+     * @return Counters and latencies of each handler and event type in the Prometheus text exposition format.
+     */
+    String dumpMetrics();
+
+    /**
+     * Drop the recorded metrics of the handlers and publishers.
+     */
+    void resetMetrics();
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Approximate number of active sessions of the tenant seen by this node, or -1 if the sessions are not
+     * counted.
+     */
+    long getActiveSessionCount(String tenantDomain);
+
+    /**
+     * @return Approximate number of active sessions of each tenant seen by this node, one tenant per line, or null if
+     * the sessions are not counted.
+     */
+    String dumpActiveSessionCounts();
+
+    /**
+     * @return Counters of the active session counter, or null if the sessions are not counted.
+     */
+    String getActiveSessionCounterStatistics();
+
+    /**
+     * @return Counters of the spill queue of the events which cannot be published, or null if the spill queue is
+     * disabled.
+     */
+    String getSpillQueueStatistics();
+
+    /**
+     * Trace the payloads published for a tenant domain, a service provider, or a service provider of a tenant domain,
+     * as a single info log line per payload.
+     *
+     * @param tenantDomain     Tenant domain, or * or an empty value for all the tenant domains.
+     * @param serviceProvider  Service provider, or * or an empty value for all the service providers.
+     * @param samplePercentage Percentage of the payloads traced, between 1 and 100.
+     */
+    void enableTracing(String tenantDomain, String serviceProvider, int samplePercentage);
+
+    /**
+     * Stop tracing the payloads enabled with the same tenant domain and service provider.
+     *
+     * @param tenantDomain    Tenant domain, or * or an empty value for all the tenant domains.
+     * @param serviceProvider Service provider, or * or an empty value for all the service providers.
+     */
+    void disableTracing(String tenantDomain, String serviceProvider);
+
+    void disableAllTracing();
+
+    /**
+     * @return Enabled tracing rules with the number of payloads traced by each, one rule per line.
+     */
+    String dumpTracingRules();
+}
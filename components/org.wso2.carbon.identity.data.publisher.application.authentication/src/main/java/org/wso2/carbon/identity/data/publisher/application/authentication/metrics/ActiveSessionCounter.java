@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate count of the active sessions of each tenant, kept from the session events seen by this node.
+ * <p>
+ * The sessions of a tenant are counted in buckets of their expiry time, so that sessions which expire without a
+ * termination event stop being counted once their bucket expires. The bucket of each session is remembered up to a
+ * bound, so that updates move a session to its new bucket and terminations remove it. Sessions beyond the bound are
+ * counted until they expire, and their updates and terminations are ignored.
+ */
+public class ActiveSessionCounter {
+
+    private final long bucketMillis;
+    private final int maxTrackedSessions;
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, StripedCounter>> tenantBuckets =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TrackedSession> trackedSessions = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurgeTime = new AtomicLong();
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong terminatedCount = new AtomicLong();
+    private final AtomicLong untrackedCount = new AtomicLong();
+
+    /**
+     * @param bucketResolution   Resolution of the expiry time buckets. Sessions are counted until the end of the
+     *                           bucket they expire in.
+     * @param unit               Unit of the resolution.
+     * @param maxTrackedSessions Maximum number of sessions whose bucket is remembered.
+     */
+    public ActiveSessionCounter(long bucketResolution, TimeUnit unit, int maxTrackedSessions) {
+
+        this.bucketMillis = Math.max(1, unit.toMillis(bucketResolution));
+        this.maxTrackedSessions = maxTrackedSessions;
+    }
+
+    /**
+     * Count a new session.
+     *
+     * @param tenantDomain Tenant domain of the session.
+     * @param sessionId    Session id, may be null.
+     * @param expiryTime   Time the session expires at if it is not updated, in milliseconds.
+     */
+    public void sessionCreated(String tenantDomain, String sessionId, long expiryTime) {
+
+        if (tenantDomain == null) {
+            return;
+        }
+        createdCount.incrementAndGet();
+        purgeExpired(System.currentTimeMillis());
+        long bucket = toBucket(expiryTime);
+        getCounter(tenantDomain, bucket).increment();
+        if (sessionId == null || trackedSessions.size() >= maxTrackedSessions) {
+            untrackedCount.incrementAndGet();
+            return;
+        }
+        TrackedSession previous = trackedSessions.put(sessionId, new TrackedSession(tenantDomain, bucket));
+        if (previous != null) {
+            // The session was created again with the same id, it is not counted twice.
+            decrement(previous);
+        }
+    }
+
+    /**
+     * Move a session to the bucket of its new expiry time.
+     *
+     * @param tenantDomain Tenant domain of the session.
+     * @param sessionId    Session id, may be null.
+     * @param expiryTime   Time the session expires at if it is not updated again, in milliseconds.
+     */
+    public void sessionUpdated(String tenantDomain, String sessionId, long expiryTime) {
+
+        if (tenantDomain == null || sessionId == null) {
+            return;
+        }
+        long bucket = toBucket(expiryTime);
+        TrackedSession current = trackedSessions.get(sessionId);
+        if (current == null || current.bucket == bucket) {
+            return;
+        }
+        if (trackedSessions.replace(sessionId, current, new TrackedSession(tenantDomain, bucket))) {
+            getCounter(tenantDomain, bucket).increment();
+            decrement(current);
+        }
+    }
+
+    /**
+     * Stop counting a session.
+     *
+     * @param sessionId Session id, may be null.
+     */
+    public void sessionTerminated(String sessionId) {
+
+        if (sessionId == null) {
+            return;
+        }
+        TrackedSession tracked = trackedSessions.remove(sessionId);
+        if (tracked != null) {
+            terminatedCount.incrementAndGet();
+            decrement(tracked);
+        }
+    }
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Approximate number of active sessions of the tenant.
+     */
+    public long getActiveSessionCount(String tenantDomain) {
+
+        if (tenantDomain == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        purgeExpired(now);
+        ConcurrentNavigableMap<Long, StripedCounter> buckets = tenantBuckets.get(tenantDomain);
+        if (buckets == null) {
+            return 0;
+        }
+        long count = 0;
+        for (StripedCounter counter : buckets.tailMap(now, false).values()) {
+            count += counter.sum();
+        }
+        return Math.max(0, count);
+    }
+
+    /**
+     * @return Approximate number of active sessions of each tenant with sessions, sorted by the tenant domain.
+     */
+    public Map<String, Long> getActiveSessionCounts() {
+
+        Map<String, Long> counts = new TreeMap<>();
+        for (String tenantDomain : tenantBuckets.keySet()) {
+            long count = getActiveSessionCount(tenantDomain);
+            if (count > 0) {
+                counts.put(tenantDomain, count);
+            }
+        }
+        return counts;
+    }
+
+    public void clear() {
+
+        tenantBuckets.clear();
+        trackedSessions.clear();
+    }
+
+    public int getTrackedSessionCount() {
+
+        return trackedSessions.size();
+    }
+
+    public String getStatistics() {
+
+        return "created: " + createdCount.get() + ", terminated: " + terminatedCount.get() + ", untracked: " +
+                untrackedCount.get() + ", tracked: " + trackedSessions.size() + ", tenants: " + tenantBuckets.size();
+    }
+
+    private long toBucket(long expiryTime) {
+
+        // A bucket is keyed by its end, sessions are counted while the end of their bucket is in the future.
+        return (expiryTime / bucketMillis + 1) * bucketMillis;
+    }
+
+    private StripedCounter getCounter(String tenantDomain, long bucket) {
+
+        ConcurrentNavigableMap<Long, StripedCounter> buckets = tenantBuckets.get(tenantDomain);
+        if (buckets == null) {
+            ConcurrentNavigableMap<Long, StripedCounter> newBuckets = new ConcurrentSkipListMap<>();
+            buckets = tenantBuckets.putIfAbsent(tenantDomain, newBuckets);
+            if (buckets == null) {
+                buckets = newBuckets;
+            }
+        }
+        StripedCounter counter = buckets.get(bucket);
+        if (counter == null) {
+            StripedCounter newCounter = new StripedCounter();
+            counter = buckets.putIfAbsent(bucket, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    private void decrement(TrackedSession tracked) {
+
+        ConcurrentNavigableMap<Long, StripedCounter> buckets = tenantBuckets.get(tracked.tenantDomain);
+        if (buckets != null) {
+            // The bucket is gone if it has expired, the session is no longer counted then.
+            StripedCounter counter = buckets.get(tracked.bucket);
+            if (counter != null) {
+                counter.decrement();
+            }
+        }
+    }
+
+    /**
+     * Drop the expired buckets and the tracked sessions in them, at most once per bucket.
+     */
+    private void purgeExpired(long now) {
+
+        long lastPurge = lastPurgeTime.get();
+        if (now - lastPurge < bucketMillis || !lastPurgeTime.compareAndSet(lastPurge, now)) {
+            return;
+        }
+        for (ConcurrentNavigableMap<Long, StripedCounter> buckets : tenantBuckets.values()) {
+            buckets.headMap(now, true).clear();
+        }
+        Iterator<TrackedSession> iterator = trackedSessions.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().bucket <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Bucket a session is counted in.
+     */
+    private static final class TrackedSession {
+
+        private final String tenantDomain;
+        private final long bucket;
+
+        private TrackedSession(String tenantDomain, long bucket) {
+
+            this.tenantDomain = tenantDomain;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters and latencies of one event type handled by one handler. The build phase covers turning the event into the
+ * data to publish, and the publish phase covers handing that data over to the stream, the audit log or the publishers.
+ */
+public class EventMetrics {
+
+    // Latencies are recorded in microseconds, up to about 16 seconds.
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(16);
+
+    private final String handlerName;
+    private final String eventName;
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong dropCount = new AtomicLong();
+    private final AtomicLong skipCount = new AtomicLong();
+    private final Histogram buildLatency = Histogram.exponential("buildLatencyMicros", MAX_LATENCY_MICROS);
+    private final Histogram publishLatency = Histogram.exponential("publishLatencyMicros", MAX_LATENCY_MICROS);
+
+    EventMetrics(String handlerName, String eventName) {
+
+        this.handlerName = handlerName;
+        this.eventName = eventName;
+    }
+
+    void recordBuild(long elapsedNanos) {
+
+        buildLatency.record(Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+    }
+
+    void recordPublish(long elapsedNanos) {
+
+        publishedCount.incrementAndGet();
+        publishLatency.record(Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+    }
+
+    void recordError() {
+
+        errorCount.incrementAndGet();
+    }
+
+    void recordDrop() {
+
+        dropCount.incrementAndGet();
+    }
+
+    void recordSkip() {
+
+        skipCount.incrementAndGet();
+    }
+
+    public String getHandlerName() {
+
+        return handlerName;
+    }
+
+    public String getEventName() {
+
+        return eventName;
+    }
+
+    /**
+     * @return Number of events which completed the publish phase.
+     */
+    public long getPublishedCount() {
+
+        return publishedCount.get();
+    }
+
+    /**
+     * @return Number of events which failed to be built or published.
+     */
+    public long getErrorCount() {
+
+        return errorCount.get();
+    }
+
+    /**
+     * @return Number of events which were discarded, such as by a full dispatch queue.
+     */
+    public long getDropCount() {
+
+        return dropCount.get();
+    }
+
+    /**
+     * @return Number of events which were not published since the handler is disabled or they are not applicable.
+     */
+    public long getSkipCount() {
+
+        return skipCount.get();
+    }
+
+    public Histogram getBuildLatency() {
+
+        return buildLatency;
+    }
+
+    public Histogram getPublishLatency() {
+
+        return publishLatency;
+    }
+
+    @Override
+    public String toString() {
+
+        return handlerName + " " + eventName + " [published: " + publishedCount.get() + ", errors: " +
+                errorCount.get() + ", drops: " + dropCount.get() + ", skips: " + skipCount.get() + "] " +
+                buildLatency + " " + publishLatency;
+    }
+}
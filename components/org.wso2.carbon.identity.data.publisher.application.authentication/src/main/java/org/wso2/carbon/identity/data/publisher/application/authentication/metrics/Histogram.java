@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram with fixed bucket boundaries. Percentiles are reported as the upper boundary of the bucket the
+ * percentile falls into, which is accurate enough for operational monitoring and keeps recording allocation free.
+ */
+public class Histogram {
+
+    private final String name;
+    private final long[] upperBounds;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param name        Name of the measured value, used when reporting.
+     * @param upperBounds Inclusive upper boundaries of the buckets in ascending order. Values larger than the last
+     *                    boundary are counted in an overflow bucket.
+     */
+    public Histogram(String name, long... upperBounds) {
+
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one bucket boundary is required for histogram: " + name);
+        }
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket boundaries should be in ascending order for histogram: " +
+                        name);
+            }
+        }
+        this.name = name;
+        this.upperBounds = upperBounds.clone();
+        this.buckets = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    /**
+     * Create a histogram with boundaries growing by powers of two from 1 to the given maximum.
+     *
+     * @param name     Name of the measured value.
+     * @param maxValue Largest boundary.
+     * @return Histogram instance.
+     */
+    public static Histogram exponential(String name, long maxValue) {
+
+        int size = 1;
+        while ((1L << (size - 1)) < maxValue) {
+            size++;
+        }
+        long[] bounds = new long[size];
+        for (int i = 0; i < size; i++) {
+            bounds[i] = 1L << i;
+        }
+        return new Histogram(name, bounds);
+    }
+
+    public void record(long value) {
+
+        int index = Arrays.binarySearch(upperBounds, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public long getCount() {
+
+        return count.get();
+    }
+
+    public long getSum() {
+
+        return sum.get();
+    }
+
+    /**
+     * @return Largest recorded value, or 0 if nothing is recorded.
+     */
+    public long getMax() {
+
+        return count.get() == 0 ? 0 : max.get();
+    }
+
+    public double getMean() {
+
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) sum.get() / currentCount;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper boundary of the bucket the percentile falls into, or the maximum for the overflow bucket.
+     */
+    public long getPercentile(double percentile) {
+
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= threshold) {
+                return upperBounds[i];
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+
+        return name + " [count: " + getCount() + ", mean: " + String.format("%.2f", getMean()) + ", p50: " +
+                getPercentile(50) + ", p99: " + getPercentile(99) + ", max: " + getMax() + "]";
+    }
+}
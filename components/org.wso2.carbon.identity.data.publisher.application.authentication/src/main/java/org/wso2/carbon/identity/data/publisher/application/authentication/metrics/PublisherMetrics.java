@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the {@link EventMetrics} of the event handlers and publishers, keyed by the handler name and the event
+ * name. Recording is a single volatile read while the metrics are disabled, hence the handlers record unconditionally.
+ * <p>
+ * A handler times the build phase from {@link #startTimer()} and the publish phase from the time returned by
+ * {@link #recordBuild(String, String, long)}. Both return 0 while the metrics are disabled, and recording from a 0
+ * start time does nothing, so a handler does not need to check whether the metrics are enabled.
+ */
+public class PublisherMetrics {
+
+    private static final PublisherMetrics INSTANCE = new PublisherMetrics();
+    private static final String UNKNOWN = "unknown";
+    private static final String METRIC_PREFIX = "identity_data_publisher_";
+
+    private final ConcurrentMap<String, ConcurrentMap<String, EventMetrics>> handlerMetrics =
+            new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private PublisherMetrics() {
+
+    }
+
+    public static PublisherMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Start time of the build phase, or 0 if the metrics are disabled.
+     */
+    public long startTimer() {
+
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the latency of the build phase of an event.
+     *
+     * @param handlerName Name of the handler.
+     * @param eventName   Name of the event.
+     * @param startTime   Time returned by {@link #startTimer()}.
+     * @return Start time of the publish phase, or 0 if the metrics are disabled.
+     */
+    public long recordBuild(String handlerName, String eventName, long startTime) {
+
+        if (startTime == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        getEventMetrics(handlerName, eventName).recordBuild(now - startTime);
+        return now;
+    }
+
+    /**
+     * Record the latency of the publish phase of an event, counting the event as published.
+     *
+     * @param handlerName Name of the handler.
+     * @param eventName   Name of the event.
+     * @param startTime   Time returned by {@link #recordBuild(String, String, long)}.
+     */
+    public void recordPublish(String handlerName, String eventName, long startTime) {
+
+        if (startTime == 0) {
+            return;
+        }
+        getEventMetrics(handlerName, eventName).recordPublish(System.nanoTime() - startTime);
+    }
+
+    public void recordError(String handlerName, String eventName) {
+
+        if (enabled) {
+            getEventMetrics(handlerName, eventName).recordError();
+        }
+    }
+
+    public void recordDrop(String handlerName, String eventName) {
+
+        if (enabled) {
+            getEventMetrics(handlerName, eventName).recordDrop();
+        }
+    }
+
+    public void recordSkip(String handlerName, String eventName) {
+
+        if (enabled) {
+            getEventMetrics(handlerName, eventName).recordSkip();
+        }
+    }
+
+    /**
+     * @param handlerName Name of the handler, may be null.
+     * @param eventName   Name of the event, may be null.
+     * @return Metrics of the event type of the handler, created if they do not exist yet.
+     */
+    public EventMetrics getEventMetrics(String handlerName, String eventName) {
+
+        if (handlerName == null) {
+            handlerName = UNKNOWN;
+        }
+        if (eventName == null) {
+            eventName = UNKNOWN;
+        }
+        ConcurrentMap<String, EventMetrics> eventMetrics = handlerMetrics.get(handlerName);
+        if (eventMetrics == null) {
+            ConcurrentMap<String, EventMetrics> newEventMetrics = new ConcurrentHashMap<>();
+            eventMetrics = handlerMetrics.putIfAbsent(handlerName, newEventMetrics);
+            if (eventMetrics == null) {
+                eventMetrics = newEventMetrics;
+            }
+        }
+        EventMetrics metrics = eventMetrics.get(eventName);
+        if (metrics == null) {
+            EventMetrics newMetrics = new EventMetrics(handlerName, eventName);
+            metrics = eventMetrics.putIfAbsent(eventName, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return Metrics of all the event types of all the handlers, sorted by the handler name and the event name.
+     */
+    public List<EventMetrics> getAllEventMetrics() {
+
+        Map<String, EventMetrics> sorted = new TreeMap<>();
+        for (ConcurrentMap<String, EventMetrics> eventMetrics : handlerMetrics.values()) {
+            for (EventMetrics metrics : eventMetrics.values()) {
+                sorted.put(metrics.getHandlerName() + '\u0000' + metrics.getEventName(), metrics);
+            }
+        }
+        return new ArrayList<>(sorted.values());
+    }
+
+    /**
+     * Drop all the recorded metrics.
+     */
+    public void reset() {
+
+        handlerMetrics.clear();
+    }
+
+    /**
+     * Render the metrics in the Prometheus text exposition format, so that they can be pulled by a scraper.
+     *
+     * @return Metrics as text.
+     */
+    public String renderText() {
+
+        List<EventMetrics> allEventMetrics = getAllEventMetrics();
+        StringBuilder text = new StringBuilder();
+        appendCounter(text, allEventMetrics, "events_published_total", CounterType.PUBLISHED);
+        appendCounter(text, allEventMetrics, "events_failed_total", CounterType.ERROR);
+        appendCounter(text, allEventMetrics, "events_dropped_total", CounterType.DROP);
+        appendCounter(text, allEventMetrics, "events_skipped_total", CounterType.SKIP);
+        appendSummary(text, allEventMetrics, "build_latency_microseconds", true);
+        appendSummary(text, allEventMetrics, "publish_latency_microseconds", false);
+        return text.toString();
+    }
+
+    private static void appendCounter(StringBuilder text, List<EventMetrics> allEventMetrics, String name,
+                                      CounterType type) {
+
+        text.append("# TYPE ").append(METRIC_PREFIX).append(name).append(" counter\n");
+        for (EventMetrics metrics : allEventMetrics) {
+            appendSample(text, name, metrics, null, type.get(metrics));
+        }
+    }
+
+    private static void appendSummary(StringBuilder text, List<EventMetrics> allEventMetrics, String name,
+                                      boolean build) {
+
+        text.append("# TYPE ").append(METRIC_PREFIX).append(name).append(" summary\n");
+        for (EventMetrics metrics : allEventMetrics) {
+            Histogram histogram = build ? metrics.getBuildLatency() : metrics.getPublishLatency();
+            appendSample(text, name, metrics, "0.5", histogram.getPercentile(50));
+            appendSample(text, name, metrics, "0.99", histogram.getPercentile(99));
+            appendSample(text, name + "_sum", metrics, null, histogram.getSum());
+            appendSample(text, name + "_count", metrics, null, histogram.getCount());
+        }
+    }
+
+    private static void appendSample(StringBuilder text, String name, EventMetrics metrics, String quantile,
+                                     long value) {
+
+        text.append(METRIC_PREFIX).append(name).append("{handler=\"");
+        appendLabelValue(text, metrics.getHandlerName());
+        text.append("\",event=\"");
+        appendLabelValue(text, metrics.getEventName());
+        text.append('"');
+        if (quantile != null) {
+            text.append(",quantile=\"").append(quantile).append('"');
+        }
+        text.append("} ").append(value).append('\n');
+    }
+
+    private static void appendLabelValue(StringBuilder text, String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                text.append('\\').append(c);
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    private enum CounterType {
+
+        PUBLISHED, ERROR, DROP, SKIP;
+
+        long get(EventMetrics metrics) {
+
+            switch (this) {
+                case PUBLISHED:
+                    return metrics.getPublishedCount();
+                case ERROR:
+                    return metrics.getErrorCount();
+                case DROP:
+                    return metrics.getDropCount();
+                default:
+                    return metrics.getSkipCount();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter which spreads the updates of different threads over separate cells, so that threads updating it
+ * concurrently do not contend on a single value. Reading the counter sums up the cells, hence the value read while it
+ * is being updated is an approximation.
+ */
+public class StripedCounter {
+
+    // Cells are padded apart so that adjacent cells do not share a cache line.
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripeCount();
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    public void add(long delta) {
+
+        cells.addAndGet(((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING, delta);
+    }
+
+    public void increment() {
+
+        add(1);
+    }
+
+    public void decrement() {
+
+        add(-1);
+    }
+
+    public long sum() {
+
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private static int stripeCount() {
+
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors()) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+}
@@ -0,0 +1,754 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.model;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Immutable view of the values the authentication data handlers need from an authentication or session event.
+ * <p>
+ * The values are extracted from the request, the authentication context, the session context and the event
+ * parameters once per event and shared by every handler. Since no mutable framework object is retained, a snapshot
+ * can safely be handed over to another thread after the authentication flow has moved on.
+ */
+public final class AuthenticationEventSnapshot {
+
+    private static final Log LOG = LogFactory.getLog(AuthenticationEventSnapshot.class);
+
+    private final String eventName;
+    private final AuthenticatorStatus status;
+
+    // Request scoped values.
+    private final String remoteIp;
+    private final String userAgent;
+
+    // Values of the user in the event parameters.
+    private final boolean user;
+    private final boolean authenticatedUser;
+    private final String userName;
+    private final String userStoreDomain;
+    private final String userTenantDomain;
+    private final String userSubjectIdentifier;
+    private final String userId;
+    private final Boolean federated;
+    private final String sessionId;
+    private final Integer activeSessionCount;
+
+    // Values of the authentication context.
+    private final boolean contextAvailable;
+    private final String contextIdentifier;
+    private final String serviceProvider;
+    private final String inboundProtocol;
+    private final String relyingParty;
+    private final String tenantDomain;
+    private final boolean rememberMe;
+    private final boolean forcedAuthn;
+    private final boolean passive;
+    private final int currentStep;
+    private final String currentAuthenticator;
+    private final String externalIdPName;
+    private final boolean sequenceConfigAvailable;
+    private final boolean saasApp;
+    private final boolean invalidUsername;
+    private final String usernameUserInput;
+    private final boolean hasFederatedStep;
+    private final boolean hasLocalStep;
+    private final boolean initialLogin;
+    private final boolean hasPreviousLocalStep;
+    private final int localStepNo;
+    private final String subjectStepIdP;
+    private final boolean sequenceUserAvailable;
+    private final String sequenceUserName;
+    private final String sequenceSubjectIdentifier;
+    private final String sequenceUserTenantDomain;
+    private final String sequenceAuthenticatedIdPs;
+    private final boolean localIdPAvailable;
+    private final String localIdPSubjectIdentifier;
+    private final String localIdPUserStoreDomain;
+    private final String localIdPTenantDomain;
+    private final String localIdPAuthenticator;
+    private final Long authenticatorDuration;
+    private final String authenticatorErrorCode;
+    private final Long authenticationDuration;
+    private final String authenticationErrorCode;
+    private final List<String> customParams;
+
+    // Values of the session context.
+    private final boolean sessionContextAvailable;
+    private final Long sessionCreatedTime;
+    private final boolean sessionRememberMe;
+    private final String sessionIdentityProviders;
+    private final String sessionUserSubjectIdentifier;
+    private final String sessionUserTenantDomain;
+
+    private AuthenticationEventSnapshot(String eventName, AuthenticatorStatus status, HttpServletRequest request,
+                                        AuthenticationContext context, SessionContext sessionContext,
+                                        Map<String, Object> params) {
+
+        boolean stepEvent = IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(eventName) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name().equals(eventName);
+        boolean overallEvent = IdentityEventConstants.EventName.AUTHENTICATION_SUCCESS.name().equals(eventName) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_FAILURE.name().equals(eventName);
+        boolean passed = AuthenticatorStatus.PASS == status;
+
+        this.eventName = eventName;
+        this.status = status;
+
+        if (request != null) {
+            this.remoteIp = IdentityUtil.getClientIpAddress(request);
+            this.userAgent = request.getHeader(AuthPublisherConstants.USER_AGENT);
+        } else if (params != null) {
+            this.remoteIp = (String) params.get(AuthPublisherConstants.REMOTE_IP_ADDRESS);
+            this.userAgent = (String) params.get(AuthPublisherConstants.USER_AGENT);
+        } else {
+            this.remoteIp = null;
+            this.userAgent = null;
+        }
+
+        Object userObj = params != null ? params.get(FrameworkConstants.AnalyticsAttributes.USER) : null;
+        this.user = userObj instanceof User;
+        this.authenticatedUser = userObj instanceof AuthenticatedUser;
+        if (user) {
+            User paramUser = (User) userObj;
+            this.userName = paramUser.getUserName();
+            this.userStoreDomain = paramUser.getUserStoreDomain();
+            this.userTenantDomain = paramUser.getTenantDomain();
+        } else {
+            this.userName = null;
+            this.userStoreDomain = null;
+            this.userTenantDomain = null;
+        }
+        String subjectIdentifier = null;
+        String resolvedUserId = null;
+        if (authenticatedUser) {
+            AuthenticatedUser paramUser = (AuthenticatedUser) userObj;
+            subjectIdentifier = paramUser.getAuthenticatedSubjectIdentifier();
+            if (overallEvent) {
+                try {
+                    resolvedUserId = paramUser.getUserId();
+                } catch (UserIdNotFoundException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Null user id is found in the AuthenticatedUser instance.");
+                    }
+                }
+            }
+        }
+        this.userSubjectIdentifier = subjectIdentifier;
+        this.userId = resolvedUserId;
+
+        Object isFederatedObj = params != null ? params.get(FrameworkConstants.AnalyticsAttributes.IS_FEDERATED) :
+                null;
+        this.federated = isFederatedObj instanceof Boolean ? (Boolean) isFederatedObj : null;
+        this.sessionId = params != null ? (String) params.get(FrameworkConstants.AnalyticsAttributes.SESSION_ID) :
+                null;
+        Object activeSessionCountObj = params != null ?
+                params.get(FrameworkConstants.AnalyticsAttributes.ACTIVE_SESSION_COUNT) : null;
+        this.activeSessionCount = activeSessionCountObj instanceof Integer ? (Integer) activeSessionCountObj : null;
+
+        this.contextAvailable = context != null;
+        SequenceConfig sequenceConfig = context != null ? context.getSequenceConfig() : null;
+        AuthenticatedUser sequenceUser = sequenceConfig != null ? sequenceConfig.getAuthenticatedUser() : null;
+        if (context != null) {
+            this.contextIdentifier = context.getContextIdentifier();
+            this.serviceProvider = context.getServiceProviderName();
+            this.inboundProtocol = context.getRequestType();
+            this.relyingParty = context.getRelyingParty();
+            this.tenantDomain = context.getTenantDomain();
+            this.rememberMe = context.isRememberMe();
+            this.forcedAuthn = context.isForceAuthenticate();
+            this.passive = context.isPassiveAuthenticate();
+            this.currentStep = context.getCurrentStep();
+            this.currentAuthenticator = context.getCurrentAuthenticator();
+            this.externalIdPName = context.getExternalIdP() != null ? context.getExternalIdP().getIdPName() : null;
+            this.sequenceConfigAvailable = sequenceConfig != null;
+            this.saasApp = sequenceConfig != null && sequenceConfig.getApplicationConfig() != null &&
+                    sequenceConfig.getApplicationConfig().isSaaSApp();
+            this.usernameUserInput = (String) context.getProperty(AuthPublisherConstants.USERNAME_USER_INPUT);
+        } else {
+            this.contextIdentifier = null;
+            this.serviceProvider = null;
+            this.inboundProtocol = null;
+            this.relyingParty = null;
+            this.tenantDomain = null;
+            this.rememberMe = false;
+            this.forcedAuthn = false;
+            this.passive = false;
+            this.currentStep = 0;
+            this.currentAuthenticator = null;
+            this.externalIdPName = null;
+            this.sequenceConfigAvailable = false;
+            this.saasApp = false;
+            this.usernameUserInput = null;
+        }
+
+        boolean isInvalidUsername = false;
+        if (stepEvent && context != null) {
+            Object invalidUsernameObj = context.getProperty(AuthPublisherConstants.IS_INVALID_USERNAME);
+            isInvalidUsername = invalidUsernameObj != null && (Boolean) invalidUsernameObj;
+        }
+        this.invalidUsername = isInvalidUsername;
+
+        boolean capturePassedAuthentication = overallEvent && passed && context != null;
+        if (capturePassedAuthentication) {
+            this.hasFederatedStep = toBoolean(context.getProperty(FrameworkConstants.AnalyticsAttributes
+                    .HAS_FEDERATED_STEP));
+            this.hasLocalStep = toBoolean(context.getProperty(FrameworkConstants.AnalyticsAttributes
+                    .HAS_LOCAL_STEP));
+            this.initialLogin = toBoolean(context.getProperty(FrameworkConstants.AnalyticsAttributes
+                    .IS_INITIAL_LOGIN));
+            Map<String, AuthenticatedIdPData> previousAuthenticatedIdPs = context.getPreviousAuthenticatedIdPs();
+            this.hasPreviousLocalStep = previousAuthenticatedIdPs != null &&
+                    previousAuthenticatedIdPs.get(FrameworkConstants.LOCAL_IDP_NAME) != null;
+            this.localStepNo = getLocalStepNo(sequenceConfig);
+            this.subjectStepIdP = sequenceConfig != null ? AuthnDataPublisherUtils.getSubjectStepIDP(context) :
+                    AuthPublisherConstants.NOT_AVAILABLE;
+            AuthenticatedIdPData localIdPData = getLocalIdPData(context);
+            this.localIdPAvailable = localIdPData != null;
+            if (localIdPData != null) {
+                this.localIdPSubjectIdentifier = localIdPData.getUser().getAuthenticatedSubjectIdentifier();
+                this.localIdPUserStoreDomain = localIdPData.getUser().getUserStoreDomain();
+                this.localIdPTenantDomain = localIdPData.getUser().getTenantDomain();
+                this.localIdPAuthenticator = localIdPData.getAuthenticator().getName();
+            } else {
+                this.localIdPSubjectIdentifier = null;
+                this.localIdPUserStoreDomain = null;
+                this.localIdPTenantDomain = null;
+                this.localIdPAuthenticator = null;
+            }
+        } else {
+            this.hasFederatedStep = false;
+            this.hasLocalStep = false;
+            this.initialLogin = false;
+            this.hasPreviousLocalStep = false;
+            this.localStepNo = 0;
+            this.subjectStepIdP = null;
+            this.localIdPAvailable = false;
+            this.localIdPSubjectIdentifier = null;
+            this.localIdPUserStoreDomain = null;
+            this.localIdPTenantDomain = null;
+            this.localIdPAuthenticator = null;
+        }
+
+        this.sequenceUserAvailable = sequenceUser != null;
+        if (sequenceUser != null) {
+            this.sequenceUserName = sequenceUser.getUserName();
+            this.sequenceSubjectIdentifier = sequenceUser.getAuthenticatedSubjectIdentifier();
+            this.sequenceUserTenantDomain = sequenceUser.getTenantDomain();
+            this.sequenceAuthenticatedIdPs = sequenceConfig.getAuthenticatedIdPs();
+        } else {
+            this.sequenceUserName = null;
+            this.sequenceSubjectIdentifier = null;
+            this.sequenceUserTenantDomain = null;
+            this.sequenceAuthenticatedIdPs = null;
+        }
+
+        if (context != null && stepEvent) {
+            this.authenticatorDuration = toLong(context.getAnalyticsData(FrameworkConstants.AnalyticsData
+                    .CURRENT_AUTHENTICATOR_DURATION));
+            this.authenticatorErrorCode = toStringValue(context.getAnalyticsData(FrameworkConstants.AnalyticsData
+                    .CURRENT_AUTHENTICATOR_ERROR_CODE));
+        } else {
+            this.authenticatorDuration = null;
+            this.authenticatorErrorCode = null;
+        }
+        if (context != null && overallEvent) {
+            this.authenticationDuration = toLong(context.getAnalyticsData(FrameworkConstants.AnalyticsData
+                    .AUTHENTICATION_DURATION));
+            this.authenticationErrorCode = toStringValue(context.getAnalyticsData(FrameworkConstants.AnalyticsData
+                    .AUTHENTICATION_ERROR_CODE));
+        } else {
+            this.authenticationDuration = null;
+            this.authenticationErrorCode = null;
+        }
+        if (context != null && (stepEvent || overallEvent)) {
+            List<String> params110 = new ArrayList<>(FrameworkConstants.AnalyticsData.CUSTOM_PARAM_LENGTH);
+            for (int i = 0; i < FrameworkConstants.AnalyticsData.CUSTOM_PARAM_LENGTH; i++) {
+                params110.add(toStringValue(context.getAnalyticsData(FrameworkConstants.AnalyticsData
+                        .CUSTOM_PARAM_PREFIX + i)));
+            }
+            this.customParams = Collections.unmodifiableList(params110);
+        } else {
+            this.customParams = Collections.emptyList();
+        }
+
+        this.sessionContextAvailable = sessionContext != null;
+        if (sessionContext != null) {
+            this.sessionCreatedTime = (Long) sessionContext.getProperty(FrameworkConstants.CREATED_TIMESTAMP);
+            this.sessionRememberMe = sessionContext.isRememberMe();
+            this.sessionIdentityProviders = AuthnDataPublisherUtils.getCommaSeparatedIdPs(sessionId,
+                    sessionContext.getAuthenticatedIdPs());
+            Object sessionUserObj = sessionContext.getProperty(FrameworkConstants.AUTHENTICATED_USER);
+            if (sessionUserObj instanceof AuthenticatedUser) {
+                this.sessionUserSubjectIdentifier = ((AuthenticatedUser) sessionUserObj)
+                        .getAuthenticatedSubjectIdentifier();
+                this.sessionUserTenantDomain = ((AuthenticatedUser) sessionUserObj).getTenantDomain();
+            } else {
+                this.sessionUserSubjectIdentifier = null;
+                this.sessionUserTenantDomain = null;
+            }
+        } else {
+            this.sessionCreatedTime = null;
+            this.sessionRememberMe = false;
+            this.sessionIdentityProviders = StringUtils.EMPTY;
+            this.sessionUserSubjectIdentifier = null;
+            this.sessionUserTenantDomain = null;
+        }
+    }
+
+    /**
+     * Create a snapshot of the given event values.
+     *
+     * @param eventName      Name of the event
+     * @param status         Authentication status, null for session events
+     * @param request        Incoming request, may be null
+     * @param context        Authentication context, may be null
+     * @param sessionContext Session context, may be null
+     * @param params         Other relevant parameters of the event
+     * @return Snapshot of the event
+     */
+    public static AuthenticationEventSnapshot create(String eventName, AuthenticatorStatus status,
+                                                     HttpServletRequest request, AuthenticationContext context,
+                                                     SessionContext sessionContext, Map<String, Object> params) {
+
+        return new AuthenticationEventSnapshot(eventName, status, request, context, sessionContext, params);
+    }
+
+    /**
+     * Return the snapshot attached to the event, creating and attaching it if the event does not carry one yet.
+     * Handlers receiving the same event therefore pay the extraction cost only once.
+     *
+     * @param event Identity event
+     * @return Snapshot of the event
+     */
+    @SuppressWarnings("unchecked")
+    public static AuthenticationEventSnapshot getSnapshot(Event event) {
+
+        Map<String, Object> properties = event.getEventProperties();
+        Object snapshot = properties.get(AuthPublisherConstants.EVENT_SNAPSHOT);
+        if (snapshot instanceof AuthenticationEventSnapshot) {
+            return (AuthenticationEventSnapshot) snapshot;
+        }
+        AuthenticationEventSnapshot newSnapshot = create(event.getEventName(),
+                (AuthenticatorStatus) properties.get(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS),
+                (HttpServletRequest) properties.get(IdentityEventConstants.EventProperty.REQUEST),
+                (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.CONTEXT),
+                (SessionContext) properties.get(IdentityEventConstants.EventProperty.SESSION_CONTEXT),
+                (Map<String, Object>) properties.get(IdentityEventConstants.EventProperty.PARAMS));
+        event.addEventProperty(AuthPublisherConstants.EVENT_SNAPSHOT, newSnapshot);
+        return newSnapshot;
+    }
+
+    /**
+     * Create a copy of the event which only carries its snapshot and authentication status, without the request,
+     * the contexts or the parameters, so that the event can be built and published on another thread. The snapshot
+     * is captured from the given event first.
+     *
+     * @param event Identity event
+     * @return Copy of the event without the live framework objects
+     */
+    public static Event detach(Event event) {
+
+        AuthenticationEventSnapshot snapshot = getSnapshot(event);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AuthPublisherConstants.EVENT_SNAPSHOT, snapshot);
+        Object status = event.getEventProperties().get(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS);
+        if (status != null) {
+            properties.put(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS, status);
+        }
+        return new Event(event.getEventName(), properties);
+    }
+
+    private static AuthenticatedIdPData getLocalIdPData(AuthenticationContext context) {
+
+        AuthenticatedIdPData localIDPData = null;
+        Map<String, AuthenticatedIdPData> previousAuthenticatedIDPs = context.getPreviousAuthenticatedIdPs();
+        Map<String, AuthenticatedIdPData> currentAuthenticatedIDPs = context.getCurrentAuthenticatedIdPs();
+        if (currentAuthenticatedIDPs != null && currentAuthenticatedIDPs.size() > 0) {
+            localIDPData = currentAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
+        }
+        if (localIDPData == null && previousAuthenticatedIDPs != null && previousAuthenticatedIDPs.size() > 0) {
+            localIDPData = previousAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
+        }
+        return localIDPData;
+    }
+
+    private static int getLocalStepNo(SequenceConfig sequenceConfig) {
+
+        if (sequenceConfig == null || sequenceConfig.getStepMap() == null) {
+            return 0;
+        }
+        for (Map.Entry<Integer, StepConfig> entry : sequenceConfig.getStepMap().entrySet()) {
+            StepConfig stepConfig = entry.getValue();
+            if (stepConfig != null && FrameworkConstants.LOCAL_IDP_NAME.equalsIgnoreCase(stepConfig
+                    .getAuthenticatedIdP())) {
+                return entry.getKey();
+            }
+        }
+        return 0;
+    }
+
+    private static boolean toBoolean(Object object) {
+
+        return object != null && (Boolean) object;
+    }
+
+    private static Long toLong(Serializable serializable) {
+
+        return serializable instanceof Long ? (Long) serializable : null;
+    }
+
+    private static String toStringValue(Serializable serializable) {
+
+        return serializable instanceof String ? (String) serializable : null;
+    }
+
+    public String getEventName() {
+
+        return eventName;
+    }
+
+    public AuthenticatorStatus getStatus() {
+
+        return status;
+    }
+
+    public String getRemoteIp() {
+
+        return remoteIp;
+    }
+
+    public String getUserAgent() {
+
+        return userAgent;
+    }
+
+    /**
+     * @return True if the user in the event parameters is a {@link User}.
+     */
+    public boolean isUser() {
+
+        return user;
+    }
+
+    /**
+     * @return True if the user in the event parameters is an {@link AuthenticatedUser}.
+     */
+    public boolean isAuthenticatedUser() {
+
+        return authenticatedUser;
+    }
+
+    public String getUserName() {
+
+        return userName;
+    }
+
+    public String getUserStoreDomain() {
+
+        return userStoreDomain;
+    }
+
+    public String getUserTenantDomain() {
+
+        return userTenantDomain;
+    }
+
+    public String getUserSubjectIdentifier() {
+
+        return userSubjectIdentifier;
+    }
+
+    /**
+     * @return User id of the authenticated user. Only resolved for overall authentication events.
+     */
+    public String getUserId() {
+
+        return userId;
+    }
+
+    /**
+     * @return Whether the step was federated, or null if it is not known.
+     */
+    public Boolean getFederated() {
+
+        return federated;
+    }
+
+    public String getSessionId() {
+
+        return sessionId;
+    }
+
+    /**
+     * @return Active session count computed by the framework, or null if it was not provided.
+     */
+    public Integer getActiveSessionCount() {
+
+        return activeSessionCount;
+    }
+
+    public boolean isContextAvailable() {
+
+        return contextAvailable;
+    }
+
+    public String getContextIdentifier() {
+
+        return contextIdentifier;
+    }
+
+    public String getServiceProvider() {
+
+        return serviceProvider;
+    }
+
+    public String getInboundProtocol() {
+
+        return inboundProtocol;
+    }
+
+    public String getRelyingParty() {
+
+        return relyingParty;
+    }
+
+    /**
+     * @return Tenant domain of the authentication context, which is the tenant domain of the service provider.
+     */
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public boolean isRememberMe() {
+
+        return rememberMe;
+    }
+
+    public boolean isForcedAuthn() {
+
+        return forcedAuthn;
+    }
+
+    public boolean isPassive() {
+
+        return passive;
+    }
+
+    public int getCurrentStep() {
+
+        return currentStep;
+    }
+
+    public String getCurrentAuthenticator() {
+
+        return currentAuthenticator;
+    }
+
+    /**
+     * @return Name of the external IdP of the current step, or null if the step is local.
+     */
+    public String getExternalIdPName() {
+
+        return externalIdPName;
+    }
+
+    public boolean isSequenceConfigAvailable() {
+
+        return sequenceConfigAvailable;
+    }
+
+    public boolean isSaasApp() {
+
+        return saasApp;
+    }
+
+    public boolean isInvalidUsername() {
+
+        return invalidUsername;
+    }
+
+    public String getUsernameUserInput() {
+
+        return usernameUserInput;
+    }
+
+    public boolean hasFederatedStep() {
+
+        return hasFederatedStep;
+    }
+
+    public boolean hasLocalStep() {
+
+        return hasLocalStep;
+    }
+
+    public boolean isInitialLogin() {
+
+        return initialLogin;
+    }
+
+    public boolean hasPreviousLocalStep() {
+
+        return hasPreviousLocalStep;
+    }
+
+    public int getLocalStepNo() {
+
+        return localStepNo;
+    }
+
+    public String getSubjectStepIdP() {
+
+        return subjectStepIdP;
+    }
+
+    public boolean isSequenceUserAvailable() {
+
+        return sequenceUserAvailable;
+    }
+
+    public String getSequenceUserName() {
+
+        return sequenceUserName;
+    }
+
+    public String getSequenceSubjectIdentifier() {
+
+        return sequenceSubjectIdentifier;
+    }
+
+    public String getSequenceUserTenantDomain() {
+
+        return sequenceUserTenantDomain;
+    }
+
+    public String getSequenceAuthenticatedIdPs() {
+
+        return sequenceAuthenticatedIdPs;
+    }
+
+    public boolean isLocalIdPAvailable() {
+
+        return localIdPAvailable;
+    }
+
+    public String getLocalIdPSubjectIdentifier() {
+
+        return localIdPSubjectIdentifier;
+    }
+
+    public String getLocalIdPUserStoreDomain() {
+
+        return localIdPUserStoreDomain;
+    }
+
+    public String getLocalIdPTenantDomain() {
+
+        return localIdPTenantDomain;
+    }
+
+    public String getLocalIdPAuthenticator() {
+
+        return localIdPAuthenticator;
+    }
+
+    public Long getAuthenticatorDuration() {
+
+        return authenticatorDuration;
+    }
+
+    public String getAuthenticatorErrorCode() {
+
+        return authenticatorErrorCode;
+    }
+
+    public Long getAuthenticationDuration() {
+
+        return authenticationDuration;
+    }
+
+    public String getAuthenticationErrorCode() {
+
+        return authenticationErrorCode;
+    }
+
+    /**
+     * @return Unmodifiable list of the custom analytics parameters, with null for the ones which are not set.
+     */
+    public List<String> getCustomParams() {
+
+        return customParams;
+    }
+
+    public boolean isSessionContextAvailable() {
+
+        return sessionContextAvailable;
+    }
+
+    public Long getSessionCreatedTime() {
+
+        return sessionCreatedTime;
+    }
+
+    public boolean isSessionRememberMe() {
+
+        return sessionRememberMe;
+    }
+
+    public String getSessionIdentityProviders() {
+
+        return sessionIdentityProviders;
+    }
+
+    public String getSessionUserSubjectIdentifier() {
+
+        return sessionUserSubjectIdentifier;
+    }
+
+    public String getSessionUserTenantDomain() {
+
+        return sessionUserTenantDomain;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.payload;
+
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fans the payload of an event out to the tenant domains it is published to, such as the user and the service
+ * provider tenants of a SaaS application.
+ * <p>
+ * The base payload is shared by all the events of the fan-out and is never modified while it is being copied. Each
+ * event gets its own payload, so the events are safe to publish asynchronously or in batches. It is made of a
+ * shallow copy of the base payload with the per-domain fields, the tenant domain and the event id, laid over it.
+ * The base payload array itself is handed over to the last event, so an event published to a single domain is not
+ * copied at all. The first event keeps the event id of the base payload and the other events get new ids.
+ */
+public final class PayloadFanOut {
+
+    private final String streamId;
+    private final int tenantDomainIndex;
+    private final int eventIdIndex;
+
+    /**
+     * @param streamId          Id of the stream the events are published to.
+     * @param tenantDomainIndex Position of the tenant domain in the payload, or -1 if it should not be overlaid.
+     * @param eventIdIndex      Position of the event id in the payload, or -1 if the stream has no event id.
+     */
+    public PayloadFanOut(String streamId, int tenantDomainIndex, int eventIdIndex) {
+
+        this.streamId = streamId;
+        this.tenantDomainIndex = tenantDomainIndex;
+        this.eventIdIndex = eventIdIndex;
+    }
+
+    /**
+     * @param schema            Payload schema of the stream.
+     * @param tenantDomainField Name of the tenant domain field.
+     * @param eventIdField      Name of the event id field, or null if the stream has no event id.
+     * @return Fan-out of the payloads of the stream.
+     */
+    public static PayloadFanOut forSchema(PayloadSchema<?> schema, String tenantDomainField, String eventIdField) {
+
+        int tenantDomainIndex = schema.indexOf(tenantDomainField);
+        if (tenantDomainIndex < 0) {
+            throw new IllegalArgumentException("Field " + tenantDomainField + " is not defined in the payload of " +
+                    schema.getStreamId());
+        }
+        int eventIdIndex = eventIdField != null ? schema.indexOf(eventIdField) : -1;
+        return new PayloadFanOut(schema.getStreamId(), tenantDomainIndex, eventIdIndex);
+    }
+
+    /**
+     * Create the events of a payload, one for each publishing domain.
+     *
+     * @param basePayload       Payload of the event, owned by the fan-out from here on.
+     * @param publishingDomains Tenant domains to publish the event to.
+     * @return Events to publish, in the order of the domains.
+     */
+    public List<Event> createEvents(Object[] basePayload, String[] publishingDomains) {
+
+        int domainCount = publishingDomains.length;
+        List<Event> events = new ArrayList<>(domainCount);
+        long timestamp = System.currentTimeMillis();
+        int last = domainCount - 1;
+        for (int i = 0; i < domainCount; i++) {
+            String publishingDomain = publishingDomains[i];
+            // Copies are taken before the base payload is handed over to the last event and overlaid.
+            Object[] payload = i == last ? basePayload : basePayload.clone();
+            if (tenantDomainIndex >= 0) {
+                payload[tenantDomainIndex] = publishingDomain;
+            }
+            if (eventIdIndex >= 0 && i > 0) {
+                payload[eventIdIndex] = AuthnDataPublisherUtils.generateEventId();
+            }
+            events.add(new Event(streamId, timestamp, AuthnDataPublisherUtils.getMetaDataArray(publishingDomain),
+                    null, payload));
+        }
+        return events;
+    }
+
+    public String getStreamId() {
+
+        return streamId;
+    }
+}
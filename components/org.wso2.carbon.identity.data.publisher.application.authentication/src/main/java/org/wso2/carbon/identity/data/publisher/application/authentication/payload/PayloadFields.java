@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.payload;
+
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+
+/**
+ * Common payload fields, and the boxing of primitive field values through cached constants.
+ */
+public final class PayloadFields {
+
+    private static final int CACHED_INT_COUNT = 1024;
+    private static final Integer[] INTEGERS = new Integer[CACHED_INT_COUNT];
+    private static final String[] INT_STRINGS = new String[CACHED_INT_COUNT];
+
+    static {
+        for (int i = 0; i < CACHED_INT_COUNT; i++) {
+            INTEGERS[i] = i;
+            INT_STRINGS[i] = String.valueOf(i).intern();
+        }
+    }
+
+    private static final PayloadField<Object> CURRENT_TIME = new PayloadField<Object>() {
+        @Override
+        public Object getValue(Object data) {
+
+            return System.currentTimeMillis();
+        }
+    };
+
+    private PayloadFields() {
+
+    }
+
+    public static Boolean box(boolean value) {
+
+        return value ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    public static Integer box(int value) {
+
+        return value >= 0 && value < CACHED_INT_COUNT ? INTEGERS[value] : Integer.valueOf(value);
+    }
+
+    public static Long box(long value) {
+
+        return Long.valueOf(value);
+    }
+
+    /**
+     * @param value A number, usually small such as a step number.
+     * @return Decimal string of the number, shared for small positive numbers.
+     */
+    public static String toString(int value) {
+
+        return value >= 0 && value < CACHED_INT_COUNT ? INT_STRINGS[value] : String.valueOf(value);
+    }
+
+    /**
+     * @return Field holding the same value for all the events.
+     */
+    public static <T> PayloadField<T> constant(final Object value) {
+
+        return new PayloadField<T>() {
+            @Override
+            public Object getValue(T data) {
+
+                return value;
+            }
+        };
+    }
+
+    /**
+     * @return Field holding the time the payload is created at.
+     */
+    public static PayloadField<Object> currentTime() {
+
+        return CURRENT_TIME;
+    }
+
+    /**
+     * Replace an empty value of a field with the default value configured in identity.xml.
+     *
+     * @param propertyName Name of the default value property configured in identity.xml.
+     * @param field        Field to read the value from.
+     * @return Field holding the value or the default value.
+     */
+    public static <T> PayloadField<T> withDefault(final String propertyName, final StringField<T> field) {
+
+        return new PayloadField<T>() {
+            @Override
+            public Object getValue(T data) {
+
+                return AuthnDataPublisherUtils.replaceIfNotAvailable(propertyName, field.getString(data));
+            }
+        };
+    }
+
+    /**
+     * Field holding a string value.
+     */
+    public abstract static class StringField<T> implements PayloadField<T> {
+
+        protected abstract String getString(T data);
+
+        @Override
+        public Object getValue(T data) {
+
+            return getString(data);
+        }
+    }
+
+    /**
+     * Field holding a boolean value, boxed to the shared Boolean constants.
+     */
+    public abstract static class BooleanField<T> implements PayloadField<T> {
+
+        protected abstract boolean getBoolean(T data);
+
+        @Override
+        public Object getValue(T data) {
+
+            return box(getBoolean(data));
+        }
+    }
+
+    /**
+     * Field holding an int value, boxed to shared Integer constants for small positive values.
+     */
+    public abstract static class IntField<T> implements PayloadField<T> {
+
+        protected abstract int getInt(T data);
+
+        @Override
+        public Object getValue(T data) {
+
+            return box(getInt(data));
+        }
+    }
+
+    /**
+     * Field holding a long value.
+     */
+    public abstract static class LongField<T> implements PayloadField<T> {
+
+        protected abstract long getLong(T data);
+
+        @Override
+        public Object getValue(T data) {
+
+            return box(getLong(data));
+        }
+    }
+}
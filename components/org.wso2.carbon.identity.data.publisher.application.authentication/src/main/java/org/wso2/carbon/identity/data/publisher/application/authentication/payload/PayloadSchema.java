@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.payload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Payload definition of an analytics stream version, compiled once into an array of field extractors. A payload is
+ * created by running the extractors in order, without any per-event lookup of the field positions.
+ *
+ * @param <T> Type of the event data the payload is created from.
+ */
+public final class PayloadSchema<T> {
+
+    private final String streamId;
+    private final String[] fieldNames;
+    private final PayloadField<? super T>[] fields;
+
+    private PayloadSchema(String streamId, String[] fieldNames, PayloadField<? super T>[] fields) {
+
+        this.streamId = streamId;
+        this.fieldNames = fieldNames;
+        this.fields = fields;
+    }
+
+    /**
+     * @param streamId Id of the stream, in the name:version format.
+     * @param <T>      Type of the event data.
+     * @return Builder of a schema of the stream.
+     */
+    public static <T> Builder<T> builder(String streamId) {
+
+        return new Builder<>(streamId);
+    }
+
+    /**
+     * Create the payload of an event.
+     *
+     * @param data Data of the event.
+     * @return A new payload array owned by the caller.
+     */
+    public Object[] createPayload(T data) {
+
+        Object[] payload = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            payload[i] = fields[i].getValue(data);
+        }
+        return payload;
+    }
+
+    public String getStreamId() {
+
+        return streamId;
+    }
+
+    public int size() {
+
+        return fields.length;
+    }
+
+    public String getFieldName(int index) {
+
+        return fieldNames[index];
+    }
+
+    /**
+     * @param fieldName Name of a field.
+     * @return Position of the field in the payload, or -1 if the stream has no such field.
+     */
+    public int indexOf(String fieldName) {
+
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+
+        return streamId + " " + Arrays.toString(fieldNames);
+    }
+
+    /**
+     * Builder of a payload schema. Fields are added in the order of the stream attributes.
+     *
+     * @param <T> Type of the event data.
+     */
+    public static final class Builder<T> {
+
+        private final String streamId;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<PayloadField<? super T>> fields = new ArrayList<>();
+
+        private Builder(String streamId) {
+
+            this.streamId = streamId;
+        }
+
+        public Builder<T> add(String fieldName, PayloadField<? super T> field) {
+
+            if (fieldNames.contains(fieldName)) {
+                throw new IllegalArgumentException("Field " + fieldName + " is already defined in the payload of " +
+                        streamId);
+            }
+            fieldNames.add(fieldName);
+            fields.add(field);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public PayloadSchema<T> build() {
+
+            return new PayloadSchema<>(streamId, fieldNames.toArray(new String[fieldNames.size()]),
+                    fields.toArray(new PayloadField[fields.size()]));
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.sampling;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which events of a handler are published, by sampling them per event name, tenant domain and service
+ * provider, and by capping the events published for each tenant domain with a token bucket. The events which are
+ * not published are counted per event name and tenant domain, so that the published counts can be scaled back.
+ * <p>
+ * Sampling rules are configured as a comma separated list of {@code eventName:tenantDomain:serviceProvider=percentage}
+ * entries, where each name may be {@link #ANY}. The most specific rule of an event is applied, and an event without a
+ * rule is always sampled in. For example, {@code AUTHENTICATION_STEP_SUCCESS:*:*=10} publishes 10% of the step
+ * successes while keeping all the failures. The sampling decision is derived from the flow id of an event when it is
+ * given, hence the events of a flow which have the same sample percentage are published or dropped together.
+ */
+public class EventSampler {
+
+    /**
+     * Matches any event name, tenant domain or service provider in a sampling rule.
+     */
+    public static final String ANY = "*";
+
+    private static final Log LOG = LogFactory.getLog(EventSampler.class);
+
+    // Rules keyed by the event name, tenant domain and service provider, since the first two do not contain a slash.
+    private final Map<String, Integer> samplePercentages;
+    private final Set<String> ruleEventNames;
+    private final int tenantRateLimit;
+    private final Map<String, Integer> tenantRateLimits;
+    private final long tenantBurstDuration;
+    private final ConcurrentMap<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SamplingCounts> samplingCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Create a sampler.
+     *
+     * @param samplePercentages   Percentages of the events sampled in, between 0 and 100, keyed by the event name,
+     *                            tenant domain and service provider of the rule joined with slashes.
+     * @param tenantRateLimit     Maximum number of events per second sampled in for a tenant domain, or 0 for no limit.
+     * @param tenantRateLimits    Rate limits of specific tenant domains, overriding the default rate limit.
+     * @param tenantBurstDuration Number of seconds of events a tenant domain may burst after being idle.
+     */
+    public EventSampler(Map<String, Integer> samplePercentages, int tenantRateLimit,
+                        Map<String, Integer> tenantRateLimits, long tenantBurstDuration) {
+
+        if (tenantRateLimit < 0) {
+            throw new IllegalArgumentException("Tenant rate limit should not be a negative value: " + tenantRateLimit);
+        }
+        if (tenantBurstDuration <= 0) {
+            throw new IllegalArgumentException("Tenant burst duration should be a positive value: " +
+                    tenantBurstDuration);
+        }
+        this.samplePercentages = Collections.unmodifiableMap(new HashMap<>(samplePercentages));
+        Set<String> eventNames = new HashSet<>();
+        for (String key : samplePercentages.keySet()) {
+            eventNames.add(key.substring(0, key.indexOf('/')));
+        }
+        this.ruleEventNames = Collections.unmodifiableSet(eventNames);
+        this.tenantRateLimit = tenantRateLimit;
+        this.tenantRateLimits = Collections.unmodifiableMap(new HashMap<>(tenantRateLimits));
+        this.tenantBurstDuration = tenantBurstDuration;
+    }
+
+    /**
+     * Create a sampler from the properties of a handler.
+     *
+     * @param properties Properties of the handler, may be null.
+     * @param prefix     Prefix of the sampling properties within the handler properties.
+     * @return Sampler, or null if sampling is not enabled for the handler.
+     */
+    public static EventSampler create(Properties properties, String prefix) {
+
+        if (properties == null || !Boolean.parseBoolean(properties.getProperty(prefix + AuthPublisherConstants
+                .SAMPLING_ENABLED))) {
+            return null;
+        }
+        Map<String, Integer> samplePercentages = new HashMap<>();
+        String rulesProperty = prefix + AuthPublisherConstants.SAMPLING_RULES;
+        for (String rule : StringUtils.split(StringUtils.defaultString(properties.getProperty(rulesProperty)), ',')) {
+            if (StringUtils.isBlank(rule)) {
+                continue;
+            }
+            String[] nameAndValue = StringUtils.split(rule, '=');
+            String[] names = nameAndValue.length == 2 ? nameAndValue[0].split(":", 3) : null;
+            Integer percentage = nameAndValue.length == 2 ? parseInt(nameAndValue[1]) : null;
+            if (names == null || names.length != 3 || percentage == null || percentage > 100) {
+                LOG.warn("Invalid sampling rule: " + rule.trim() + " configured for " + rulesProperty +
+                        ". Ignoring the rule.");
+                continue;
+            }
+            samplePercentages.put(getKey(names[0], names[1], names[2]), percentage);
+        }
+        Map<String, Integer> tenantRateLimits = new HashMap<>();
+        String rateLimitsProperty = prefix + AuthPublisherConstants.SAMPLING_TENANT_RATE_LIMITS;
+        for (String rateLimit : StringUtils.split(StringUtils.defaultString(properties.getProperty(
+                rateLimitsProperty)), ',')) {
+            if (StringUtils.isBlank(rateLimit)) {
+                continue;
+            }
+            String[] nameAndValue = StringUtils.split(rateLimit, '=');
+            Integer limit = nameAndValue.length == 2 ? parseInt(nameAndValue[1]) : null;
+            if (limit == null || limit == 0 || StringUtils.isBlank(nameAndValue[0])) {
+                LOG.warn("Invalid tenant rate limit: " + rateLimit.trim() + " configured for " + rateLimitsProperty +
+                        ". Ignoring the rate limit.");
+                continue;
+            }
+            tenantRateLimits.put(nameAndValue[0].trim(), limit);
+        }
+        int tenantRateLimit = AuthnDataPublisherUtils.getPositiveIntProperty(properties, prefix +
+                AuthPublisherConstants.SAMPLING_TENANT_RATE_LIMIT, 0);
+        long tenantBurstDuration = AuthnDataPublisherUtils.getPositiveLongProperty(properties, prefix +
+                AuthPublisherConstants.SAMPLING_TENANT_BURST_DURATION,
+                AuthPublisherConstants.DEFAULT_SAMPLING_TENANT_BURST_DURATION_SECONDS);
+        return new EventSampler(samplePercentages, tenantRateLimit, tenantRateLimits, tenantBurstDuration);
+    }
+
+    /**
+     * Decide whether an event is published, counting it either way.
+     *
+     * @param eventName       Name of the event.
+     * @param tenantDomain    Tenant domain the event is sampled and rate limited for, may be null.
+     * @param serviceProvider Service provider of the event, may be null.
+     * @param flowId          Id of the flow the event belongs to, or null to sample the event on its own.
+     * @return True if the event should be published, false if it is dropped.
+     */
+    public boolean sample(String eventName, String tenantDomain, String serviceProvider, String flowId) {
+
+        SamplingCounts counts = getSamplingCounts(eventName, tenantDomain);
+        int percentage = getSamplePercentage(eventName, tenantDomain, serviceProvider);
+        if (percentage < 100 && getSampleBucket(flowId) >= percentage) {
+            counts.sampledOut.incrementAndGet();
+            return false;
+        }
+        TokenBucket bucket = getTokenBucket(tenantDomain);
+        if (bucket != null && !bucket.tryAcquire(System.nanoTime())) {
+            counts.rateLimited.incrementAndGet();
+            return false;
+        }
+        counts.sampledIn.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return Percentage of the events sampled in, according to the most specific rule of the event.
+     */
+    public int getSamplePercentage(String eventName, String tenantDomain, String serviceProvider) {
+
+        if (samplePercentages.isEmpty()) {
+            return 100;
+        }
+        Integer percentage = null;
+        if (ruleEventNames.contains(eventName)) {
+            percentage = getSamplePercentageOfEvent(eventName, tenantDomain, serviceProvider);
+        }
+        if (percentage == null && ruleEventNames.contains(ANY)) {
+            percentage = getSamplePercentageOfEvent(ANY, tenantDomain, serviceProvider);
+        }
+        return percentage != null ? percentage : 100;
+    }
+
+    private Integer getSamplePercentageOfEvent(String eventName, String tenantDomain, String serviceProvider) {
+
+        Integer percentage = samplePercentages.get(getKey(eventName, tenantDomain, serviceProvider));
+        if (percentage == null) {
+            percentage = samplePercentages.get(getKey(eventName, tenantDomain, ANY));
+        }
+        if (percentage == null) {
+            percentage = samplePercentages.get(getKey(eventName, ANY, serviceProvider));
+        }
+        if (percentage == null) {
+            percentage = samplePercentages.get(getKey(eventName, ANY, ANY));
+        }
+        return percentage;
+    }
+
+    private static int getSampleBucket(String flowId) {
+
+        if (flowId == null) {
+            return ThreadLocalRandom.current().nextInt(100);
+        }
+        // Spread the hash code so that similar flow ids do not end up in neighbouring buckets.
+        int hash = flowId.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % 100;
+    }
+
+    private TokenBucket getTokenBucket(String tenantDomain) {
+
+        String tenant = StringUtils.defaultString(tenantDomain);
+        TokenBucket bucket = tenantBuckets.get(tenant);
+        if (bucket == null) {
+            Integer rateLimit = tenantRateLimits.get(tenant);
+            if (rateLimit == null) {
+                rateLimit = tenantRateLimit;
+            }
+            if (rateLimit == 0) {
+                return null;
+            }
+            TokenBucket newBucket = new TokenBucket(rateLimit, rateLimit * tenantBurstDuration, System.nanoTime());
+            bucket = tenantBuckets.putIfAbsent(tenant, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+
+    private SamplingCounts getSamplingCounts(String eventName, String tenantDomain) {
+
+        String key = eventName + '/' + StringUtils.defaultString(tenantDomain);
+        SamplingCounts counts = samplingCounts.get(key);
+        if (counts == null) {
+            SamplingCounts newCounts = new SamplingCounts();
+            counts = samplingCounts.putIfAbsent(key, newCounts);
+            if (counts == null) {
+                counts = newCounts;
+            }
+        }
+        return counts;
+    }
+
+    private static String getKey(String eventName, String tenantDomain, String serviceProvider) {
+
+        return (StringUtils.isBlank(eventName) ? ANY : eventName.trim()) + "/" +
+                (StringUtils.isBlank(tenantDomain) ? ANY : tenantDomain.trim()) + "/" +
+                (StringUtils.isBlank(serviceProvider) ? ANY : serviceProvider.trim());
+    }
+
+    private static Integer parseInt(String value) {
+
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            return intValue >= 0 ? intValue : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Number of events sampled in, sampled out and rate limited for each event name and tenant domain, one
+     * event name and tenant domain per line.
+     */
+    public String getStatistics() {
+
+        Map<String, SamplingCounts> sorted = new TreeMap<>(samplingCounts);
+        StringBuilder statistics = new StringBuilder();
+        for (Map.Entry<String, SamplingCounts> entry : sorted.entrySet()) {
+            SamplingCounts counts = entry.getValue();
+            statistics.append(entry.getKey()).append(": sampled in: ").append(counts.sampledIn.get())
+                    .append(", sampled out: ").append(counts.sampledOut.get())
+                    .append(", rate limited: ").append(counts.rateLimited.get()).append('\n');
+        }
+        return statistics.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        return "rules: " + new TreeMap<>(samplePercentages) + ", tenantRateLimit: " + tenantRateLimit +
+                ", tenantRateLimits: " + new TreeMap<>(tenantRateLimits) + ", tenantBurstDuration: " +
+                tenantBurstDuration;
+    }
+
+    private static final class SamplingCounts {
+
+        private final AtomicLong sampledIn = new AtomicLong();
+        private final AtomicLong sampledOut = new AtomicLong();
+        private final AtomicLong rateLimited = new AtomicLong();
+    }
+
+    /**
+     * Token bucket refilled continuously at the rate limit, holding at most the burst size. The time is passed in by
+     * the caller, which lets the refill be tested without waiting.
+     */
+    static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillTime;
+
+        TokenBucket(int rateLimit, long capacity, long now) {
+
+            this.tokensPerNano = rateLimit / (double) TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillTime = now;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+
+            if (now > lastRefillTime) {
+                tokens = Math.min(capacity, tokens + (now - lastRefillTime) * tokensPerNano);
+                lastRefillTime = now;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
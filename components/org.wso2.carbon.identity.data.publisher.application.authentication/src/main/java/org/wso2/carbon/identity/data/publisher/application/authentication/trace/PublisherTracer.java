@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.trace;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadSchema;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traces the payloads published by the data publishers, as a single line per published payload which is only
+ * rendered if it is logged.
+ * <p>
+ * A payload is traced to the log of this class at info level if tracing is enabled for one of its publishing tenant
+ * domains, its service provider, or both, sampled at the configured percentage of the payloads. Tracing is enabled
+ * and disabled at runtime through the management MBean, so that a single tenant or service provider can be
+ * investigated without enabling debug logs for the whole node. Otherwise the payload is traced to the log of the
+ * publisher at debug level.
+ */
+public final class PublisherTracer {
+
+    /**
+     * Matches any tenant domain or service provider in a tracing rule.
+     */
+    public static final String ANY = "*";
+
+    private static final Log TRACE_LOG = LogFactory.getLog(PublisherTracer.class);
+    private static final PublisherTracer INSTANCE = new PublisherTracer();
+
+    // Rules keyed by the tenant domain and service provider, since tenant domains do not contain a slash.
+    private final ConcurrentMap<String, TraceRule> rules = new ConcurrentHashMap<>();
+    private volatile boolean rulesPresent;
+
+    private PublisherTracer() {
+
+    }
+
+    public static PublisherTracer getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Trace the payloads of a tenant domain and service provider.
+     *
+     * @param tenantDomain     Tenant domain, or {@link #ANY} or null for all the tenant domains.
+     * @param serviceProvider  Service provider, or {@link #ANY} or null for all the service providers.
+     * @param samplePercentage Percentage of the payloads traced, between 1 and 100.
+     */
+    public void enable(String tenantDomain, String serviceProvider, int samplePercentage) {
+
+        if (samplePercentage < 1 || samplePercentage > 100) {
+            throw new IllegalArgumentException("Sample percentage should be between 1 and 100: " + samplePercentage);
+        }
+        String key = getKey(tenantDomain, serviceProvider);
+        if (ANY.equals(key.substring(0, key.indexOf('/'))) && ANY.equals(key.substring(key.indexOf('/') + 1))) {
+            throw new IllegalArgumentException("Either a tenant domain or a service provider should be given.");
+        }
+        rules.put(key, new TraceRule(samplePercentage));
+        rulesPresent = true;
+        TRACE_LOG.info("Enabled tracing the published payloads of: " + key + " for " + samplePercentage + "% of " +
+                "the payloads.");
+    }
+
+    /**
+     * Stop tracing the payloads of a tenant domain and service provider, which were enabled with the same values.
+     *
+     * @param tenantDomain    Tenant domain, or {@link #ANY} or null for all the tenant domains.
+     * @param serviceProvider Service provider, or {@link #ANY} or null for all the service providers.
+     */
+    public void disable(String tenantDomain, String serviceProvider) {
+
+        String key = getKey(tenantDomain, serviceProvider);
+        if (rules.remove(key) != null) {
+            TRACE_LOG.info("Disabled tracing the published payloads of: " + key);
+        }
+        rulesPresent = !rules.isEmpty();
+    }
+
+    public void disableAll() {
+
+        rules.clear();
+        rulesPresent = false;
+    }
+
+    /**
+     * @return Tracing rules with the number of payloads traced by each, one rule per line.
+     */
+    public String dumpRules() {
+
+        StringBuilder dump = new StringBuilder();
+        for (Map.Entry<String, TraceRule> entry : rules.entrySet()) {
+            dump.append(entry.getKey()).append(": ").append(entry.getValue().samplePercentage).append("% sampled, ")
+                    .append(entry.getValue().tracedCount.get()).append(" traced\n");
+        }
+        return dump.toString();
+    }
+
+    /**
+     * Trace the events published for a payload. The events are rendered only if they are logged, and should not be
+     * modified afterwards.
+     *
+     * @param log               Log of the publisher, the events are traced at debug level if it is enabled.
+     * @param publisherName     Name of the publisher.
+     * @param serviceProvider   Service provider the payload is published for.
+     * @param publishingDomains Tenant domains the payload is published to.
+     * @param events            Events published for the payload, one for each publishing domain.
+     * @param schema            Schema of the payload to render the field names, or null to render the field indexes.
+     */
+    public void trace(Log log, String publisherName, String serviceProvider, String[] publishingDomains,
+                      List<Event> events, PayloadSchema<?> schema) {
+
+        boolean debugEnabled = log.isDebugEnabled();
+        if ((!debugEnabled && !rulesPresent) || events == null || events.isEmpty()) {
+            return;
+        }
+        TraceRule rule = rulesPresent ? match(serviceProvider, publishingDomains) : null;
+        if (rule != null && rule.sample()) {
+            TRACE_LOG.info(new PayloadTrace(publisherName, serviceProvider, publishingDomains, events, schema));
+        } else if (debugEnabled) {
+            log.debug(new PayloadTrace(publisherName, serviceProvider, publishingDomains, events, schema));
+        }
+    }
+
+    private TraceRule match(String serviceProvider, String[] publishingDomains) {
+
+        if (publishingDomains != null) {
+            for (String publishingDomain : publishingDomains) {
+                TraceRule rule = rules.get(getKey(publishingDomain, serviceProvider));
+                if (rule == null) {
+                    rule = rules.get(getKey(publishingDomain, ANY));
+                }
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+        return rules.get(getKey(ANY, serviceProvider));
+    }
+
+    private static String getKey(String tenantDomain, String serviceProvider) {
+
+        return (StringUtils.isBlank(tenantDomain) ? ANY : tenantDomain.trim()) + "/" +
+                (StringUtils.isBlank(serviceProvider) ? ANY : serviceProvider.trim());
+    }
+
+    private static final class TraceRule {
+
+        private final int samplePercentage;
+        private final AtomicLong tracedCount = new AtomicLong();
+
+        private TraceRule(int samplePercentage) {
+
+            this.samplePercentage = samplePercentage;
+        }
+
+        private boolean sample() {
+
+            if (samplePercentage < 100 && ThreadLocalRandom.current().nextInt(100) >= samplePercentage) {
+                return false;
+            }
+            tracedCount.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Renders the events of a payload on a single line when it is logged. The payload of the first event is
+     * rendered, the events of the other publishing domains only differ by the tenant domain and event id.
+     */
+    private static final class PayloadTrace {
+
+        private final String publisherName;
+        private final String serviceProvider;
+        private final String[] publishingDomains;
+        private final List<Event> events;
+        private final PayloadSchema<?> schema;
+
+        private PayloadTrace(String publisherName, String serviceProvider, String[] publishingDomains,
+                             List<Event> events, PayloadSchema<?> schema) {
+
+            this.publisherName = publisherName;
+            this.serviceProvider = serviceProvider;
+            this.publishingDomains = publishingDomains;
+            this.events = events;
+            this.schema = schema;
+        }
+
+        @Override
+        public String toString() {
+
+            Event event = events.get(0);
+            StringBuilder line = new StringBuilder(512);
+            line.append("publisher=").append(publisherName)
+                    .append(" stream=").append(event.getStreamId())
+                    .append(" serviceProvider=").append(serviceProvider)
+                    .append(" publishingDomains=").append(Arrays.toString(publishingDomains))
+                    .append(" events=").append(events.size())
+                    .append(" payload={");
+            Object[] payloadData = event.getPayloadData();
+            if (payloadData != null) {
+                boolean named = schema != null && schema.size() == payloadData.length;
+                for (int i = 0; i < payloadData.length; i++) {
+                    if (i > 0) {
+                        line.append(", ");
+                    }
+                    line.append(named ? schema.getFieldName(i) : String.valueOf(i)).append('=').append(payloadData[i]);
+                }
+            }
+            return line.append('}').toString();
+        }
+    }
+}
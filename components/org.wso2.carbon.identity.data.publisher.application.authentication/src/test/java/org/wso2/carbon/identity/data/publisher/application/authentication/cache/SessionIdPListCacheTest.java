@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests of {@link SessionIdPListCache}.
+ */
+public class SessionIdPListCacheTest {
+
+    private static final String SESSION_ID = "session-id";
+    private static final String OTHER_SESSION_ID = "other-session-id";
+
+    private SessionIdPListCache sessionIdPListCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        sessionIdPListCache = new SessionIdPListCache(2);
+    }
+
+    @Test
+    public void testJoin() {
+
+        assertEquals(SessionIdPListCache.join(null), "");
+        assertEquals(SessionIdPListCache.join(Collections.<String, Object>emptyMap()), "");
+        assertEquals(SessionIdPListCache.join(createIdPs("LOCAL")), "LOCAL");
+        assertEquals(SessionIdPListCache.join(createIdPs("LOCAL", "Google", "Facebook")), "LOCAL,Google,Facebook");
+    }
+
+    @Test
+    public void testJoinedIdPsAreCached() {
+
+        String joined = sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL", "Google"));
+
+        assertEquals(joined, "LOCAL,Google");
+        assertSame(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL", "Google")), joined);
+        assertEquals(sessionIdPListCache.getMissCount(), 1);
+        assertEquals(sessionIdPListCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testChangedIdPsAreJoinedAgain() {
+
+        sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL"));
+
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL", "Google")),
+                "LOCAL,Google");
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("Google", "LOCAL")),
+                "Google,LOCAL");
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("Google")), "Google");
+        assertEquals(sessionIdPListCache.getMissCount(), 4);
+        assertEquals(sessionIdPListCache.getHitCount(), 0);
+        assertEquals(sessionIdPListCache.size(), 1);
+    }
+
+    @Test
+    public void testEmptyIdPsAndUnknownSessionsAreNotCached() {
+
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, null), "");
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, Collections.<String, Object>emptyMap()),
+                "");
+        assertEquals(sessionIdPListCache.getCommaSeparatedIdPs(null, createIdPs("LOCAL", "Google")), "LOCAL,Google");
+        assertEquals(sessionIdPListCache.size(), 0);
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL"));
+        sessionIdPListCache.getCommaSeparatedIdPs(OTHER_SESSION_ID, createIdPs("Google"));
+
+        sessionIdPListCache.invalidate(SESSION_ID);
+        sessionIdPListCache.invalidate(null);
+
+        assertEquals(sessionIdPListCache.size(), 1);
+        sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL"));
+        assertEquals(sessionIdPListCache.getHitCount(), 0);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+
+        sessionIdPListCache.getCommaSeparatedIdPs(SESSION_ID, createIdPs("LOCAL"));
+        sessionIdPListCache.getCommaSeparatedIdPs(OTHER_SESSION_ID, createIdPs("LOCAL"));
+        sessionIdPListCache.getCommaSeparatedIdPs("third-session-id", createIdPs("LOCAL"));
+        // A cached session whose identity providers change does not evict another session.
+        sessionIdPListCache.getCommaSeparatedIdPs("third-session-id", createIdPs("LOCAL", "Google"));
+
+        assertEquals(sessionIdPListCache.size(), 2);
+        assertEquals(sessionIdPListCache.getEvictionCount(), 1);
+    }
+
+    private static Map<String, Object> createIdPs(String... names) {
+
+        Map<String, Object> authenticatedIdPs = new LinkedHashMap<>();
+        for (String name : names) {
+            authenticatedIdPs.put(name, new Object());
+        }
+        return authenticatedIdPs;
+    }
+}
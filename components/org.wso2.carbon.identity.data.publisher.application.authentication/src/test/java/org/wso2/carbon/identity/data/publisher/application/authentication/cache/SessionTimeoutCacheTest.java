@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests of {@link SessionTimeoutCache}.
+ */
+@PrepareForTest(IdPManagementUtil.class)
+public class SessionTimeoutCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int IDLE_SESSION_TIMEOUT = 900;
+    private static final int UPDATED_IDLE_SESSION_TIMEOUT = 1800;
+    private static final int REMEMBER_ME_TIMEOUT = 1209600;
+
+    private SessionTimeoutCache sessionTimeoutCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdPManagementUtil.class);
+        when(IdPManagementUtil.getRememberMeTimeout(TENANT_DOMAIN)).thenReturn(REMEMBER_ME_TIMEOUT);
+        sessionTimeoutCache = new SessionTimeoutCache(1, TimeUnit.HOURS);
+    }
+
+    @Test
+    public void testTimeoutsAreCached() {
+
+        when(IdPManagementUtil.getIdleSessionTimeOut(TENANT_DOMAIN)).thenReturn(IDLE_SESSION_TIMEOUT);
+
+        assertEquals(sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(IDLE_SESSION_TIMEOUT));
+        assertEquals(sessionTimeoutCache.getRememberMeTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(REMEMBER_ME_TIMEOUT));
+        assertEquals(sessionTimeoutCache.getMissCount(), 1);
+        assertEquals(sessionTimeoutCache.getHitCount(), 1);
+        assertEquals(sessionTimeoutCache.size(), 1);
+    }
+
+    @Test
+    public void testInvalidatedTimeoutsAreLoadedAgain() {
+
+        when(IdPManagementUtil.getIdleSessionTimeOut(TENANT_DOMAIN)).thenReturn(IDLE_SESSION_TIMEOUT);
+        sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN);
+        when(IdPManagementUtil.getIdleSessionTimeOut(TENANT_DOMAIN)).thenReturn(UPDATED_IDLE_SESSION_TIMEOUT);
+
+        sessionTimeoutCache.invalidate(TENANT_DOMAIN);
+
+        assertEquals(sessionTimeoutCache.size(), 0);
+        assertEquals(sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(UPDATED_IDLE_SESSION_TIMEOUT));
+        assertEquals(sessionTimeoutCache.getMissCount(), 2);
+    }
+
+    @Test
+    public void testInvalidationDuringLoadWins() {
+
+        // The resident identity provider is updated and the tenant invalidated after the load read the old timeout.
+        when(IdPManagementUtil.getIdleSessionTimeOut(TENANT_DOMAIN)).thenAnswer(new Answer<Integer>() {
+
+            private int invocationCount;
+
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+
+                if (invocationCount++ > 0) {
+                    return UPDATED_IDLE_SESSION_TIMEOUT;
+                }
+                sessionTimeoutCache.invalidate(TENANT_DOMAIN);
+                return IDLE_SESSION_TIMEOUT;
+            }
+        });
+
+        assertEquals(sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(IDLE_SESSION_TIMEOUT));
+        assertEquals(sessionTimeoutCache.size(), 0);
+        assertEquals(sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(UPDATED_IDLE_SESSION_TIMEOUT));
+        assertEquals(sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN),
+                TimeUnit.SECONDS.toMillis(UPDATED_IDLE_SESSION_TIMEOUT));
+        assertEquals(sessionTimeoutCache.getMissCount(), 2);
+        assertEquals(sessionTimeoutCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testClearDuringLoadWins() {
+
+        when(IdPManagementUtil.getIdleSessionTimeOut(TENANT_DOMAIN)).thenAnswer(new Answer<Integer>() {
+
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+
+                sessionTimeoutCache.clear();
+                return IDLE_SESSION_TIMEOUT;
+            }
+        });
+
+        sessionTimeoutCache.getIdleSessionTimeout(TENANT_DOMAIN);
+
+        assertEquals(sessionTimeoutCache.size(), 0);
+    }
+}
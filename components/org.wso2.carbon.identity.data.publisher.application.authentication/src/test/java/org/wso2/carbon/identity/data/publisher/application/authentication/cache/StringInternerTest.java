@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link StringInterner}.
+ */
+public class StringInternerTest {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    @Test
+    public void testEqualStringsShareAnInstance() {
+
+        StringInterner stringInterner = new StringInterner(64, 16);
+        String tenantDomain = "carbon.super";
+
+        assertSame(stringInterner.intern(tenantDomain), tenantDomain);
+        assertSame(stringInterner.intern(new String(tenantDomain)), tenantDomain);
+        assertEquals(stringInterner.getMissCount(), 1);
+        assertEquals(stringInterner.getHitCount(), 1);
+    }
+
+    @Test
+    public void testNullAndLongStringsAreNotInterned() {
+
+        StringInterner stringInterner = new StringInterner(64, 4);
+        String longValue = "longer than four";
+
+        assertNull(stringInterner.intern(null));
+        stringInterner.intern(longValue);
+        assertNotSame(stringInterner.intern(new String(longValue)), longValue);
+        assertEquals(stringInterner.size(), 0);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+
+        StringInterner stringInterner = new StringInterner(64, 16);
+        for (int i = 0; i < 1000; i++) {
+            stringInterner.intern("value-" + i);
+        }
+
+        assertTrue(stringInterner.size() <= 64, "Size: " + stringInterner.size());
+        assertEquals(stringInterner.getEvictionCount(), 1000 - stringInterner.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStringIsEvicted() {
+
+        // Two strings per segment.
+        StringInterner stringInterner = new StringInterner(2 * SEGMENT_COUNT, 16);
+        List<String> values = valuesOfOneSegment(3);
+        String first = values.get(0);
+        String second = values.get(1);
+
+        stringInterner.intern(first);
+        stringInterner.intern(second);
+        stringInterner.intern(new String(first));
+        stringInterner.intern(values.get(2));
+
+        assertSame(stringInterner.intern(new String(first)), first);
+        assertNotSame(stringInterner.intern(new String(second)), second);
+        assertEquals(stringInterner.getEvictionCount(), 2);
+    }
+
+    /**
+     * @return Distinct strings which are held by the same segment of the interner.
+     */
+    private static List<String> valuesOfOneSegment(int count) {
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; values.size() < count; i++) {
+            String value = "value-" + i;
+            int hash = value.hashCode();
+            if (((hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)) == 0) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests of {@link TenantIdCache}.
+ */
+@PrepareForTest(IdentityTenantUtil.class)
+public class TenantIdCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final String OTHER_TENANT_DOMAIN = "abc.com";
+    private static final String UNKNOWN_TENANT_DOMAIN = "unknown.com";
+
+    private TenantIdCache tenantIdCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(1);
+        when(IdentityTenantUtil.getTenantId(OTHER_TENANT_DOMAIN)).thenReturn(2);
+        when(IdentityTenantUtil.getTenantId(UNKNOWN_TENANT_DOMAIN)).thenThrow(IdentityRuntimeException.error(
+                "Invalid tenant domain " + UNKNOWN_TENANT_DOMAIN));
+        tenantIdCache = new TenantIdCache();
+    }
+
+    @Test
+    public void testMetaDataArrayIsShared() {
+
+        Object[] metaData = tenantIdCache.getMetaDataArray(TENANT_DOMAIN);
+
+        assertEquals(metaData, new Object[]{1});
+        assertSame(tenantIdCache.getMetaDataArray(TENANT_DOMAIN), metaData);
+        assertEquals(tenantIdCache.getMetaDataArray(OTHER_TENANT_DOMAIN), new Object[]{2});
+        assertEquals(tenantIdCache.getLookupCount(), 2);
+        assertEquals(tenantIdCache.getAvoidedLookupCount(), 1);
+        assertEquals(tenantIdCache.size(), 2);
+    }
+
+    @Test
+    public void testUnknownTenantIsNotCached() {
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                tenantIdCache.getMetaDataArray(UNKNOWN_TENANT_DOMAIN);
+                fail("Resolved the tenant id of an unknown tenant domain.");
+            } catch (IdentityRuntimeException e) {
+                // Expected, the tenant id is resolved again on each lookup.
+            }
+        }
+
+        assertEquals(tenantIdCache.getLookupCount(), 2);
+        assertEquals(tenantIdCache.size(), 0);
+    }
+
+    @Test
+    public void testInvalidateTenantDomain() {
+
+        Object[] metaData = tenantIdCache.getMetaDataArray(TENANT_DOMAIN);
+        tenantIdCache.getMetaDataArray(OTHER_TENANT_DOMAIN);
+
+        tenantIdCache.invalidate(TENANT_DOMAIN);
+        tenantIdCache.invalidate(null);
+
+        assertEquals(tenantIdCache.size(), 1);
+        assertNotSame(tenantIdCache.getMetaDataArray(TENANT_DOMAIN), metaData);
+        assertEquals(tenantIdCache.getLookupCount(), 3);
+    }
+
+    @Test
+    public void testInvalidateTenantId() {
+
+        tenantIdCache.getMetaDataArray(TENANT_DOMAIN);
+        tenantIdCache.getMetaDataArray(OTHER_TENANT_DOMAIN);
+
+        tenantIdCache.invalidate(1);
+
+        assertEquals(tenantIdCache.size(), 1);
+        assertEquals(tenantIdCache.getMetaDataArray(OTHER_TENANT_DOMAIN), new Object[]{2});
+        assertEquals(tenantIdCache.getAvoidedLookupCount(), 1);
+    }
+
+    @Test
+    public void testClear() {
+
+        tenantIdCache.getMetaDataArray(TENANT_DOMAIN);
+        tenantIdCache.getMetaDataArray(OTHER_TENANT_DOMAIN);
+
+        tenantIdCache.clear();
+
+        assertEquals(tenantIdCache.size(), 0);
+    }
+}
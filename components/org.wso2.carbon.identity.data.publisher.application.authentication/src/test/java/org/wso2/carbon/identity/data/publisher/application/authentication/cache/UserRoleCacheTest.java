@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.cache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests of {@link UserRoleCache}. The roles are cached with the domain qualified names the publishers build,
+ * while the user store listener invalidates them with the names the user core qualifies, which are not qualified for
+ * the primary user store.
+ */
+public class UserRoleCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+
+    private UserRoleCache userRoleCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        userRoleCache = new UserRoleCache(1, TimeUnit.HOURS, 3);
+    }
+
+    @DataProvider(name = "keyProvider")
+    public Object[][] keyProvider() {
+
+        return new Object[][]{
+                {"alice", "PRIMARY/alice"},
+                {"PRIMARY/alice", "PRIMARY/alice"},
+                {"primary/alice", "PRIMARY/alice"},
+                {"SECONDARY/bob", "SECONDARY/bob"},
+                {"Secondary/bob", "SECONDARY/bob"},
+                {"SECONDARY/Bob", "SECONDARY/Bob"}
+        };
+    }
+
+    @Test(dataProvider = "keyProvider")
+    public void testToKey(String userName, String expectedKey) {
+
+        assertEquals(UserRoleCache.toKey(userName), expectedKey);
+    }
+
+    @Test
+    public void testPutAndGet() {
+
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin,everyone");
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/bob", "everyone");
+
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "PRIMARY/alice"), "admin,everyone");
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "alice"), "admin,everyone");
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "secondary/bob"), "everyone");
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "SECONDARY/alice"));
+        assertNull(userRoleCache.get(OTHER_TENANT_DOMAIN, "PRIMARY/alice"));
+        assertEquals(userRoleCache.getHitCount(), 3);
+        assertEquals(userRoleCache.getMissCount(), 2);
+    }
+
+    @Test
+    public void testInvalidatePrimaryUserWithoutDomain() {
+
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin,everyone");
+        userRoleCache.put(OTHER_TENANT_DOMAIN, "PRIMARY/alice", "everyone");
+
+        userRoleCache.invalidate(TENANT_DOMAIN, "alice");
+
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "PRIMARY/alice"));
+        assertEquals(userRoleCache.get(OTHER_TENANT_DOMAIN, "PRIMARY/alice"), "everyone");
+        assertEquals(userRoleCache.getInvalidationCount(), 1);
+    }
+
+    @Test
+    public void testInvalidatePrimaryUserWithDomain() {
+
+        userRoleCache.put(TENANT_DOMAIN, "alice", "admin,everyone");
+
+        userRoleCache.invalidate(TENANT_DOMAIN, "PRIMARY/alice");
+
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "alice"));
+        assertEquals(userRoleCache.getInvalidationCount(), 1);
+    }
+
+    @Test
+    public void testInvalidateSecondaryUser() {
+
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/bob", "everyone");
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/bob", "admin");
+
+        userRoleCache.invalidate(TENANT_DOMAIN, "secondary/bob");
+
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "SECONDARY/bob"));
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "bob"), "admin");
+        assertEquals(userRoleCache.getInvalidationCount(), 1);
+    }
+
+    @Test
+    public void testInvalidateTenant() {
+
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin");
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/bob", "everyone");
+        userRoleCache.put(OTHER_TENANT_DOMAIN, "PRIMARY/alice", "everyone");
+
+        userRoleCache.invalidateTenant(TENANT_DOMAIN);
+
+        assertEquals(userRoleCache.size(), 1);
+        assertEquals(userRoleCache.getInvalidationCount(), 2);
+        assertEquals(userRoleCache.get(OTHER_TENANT_DOMAIN, "alice"), "everyone");
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedUser() {
+
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin");
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/bob", "everyone");
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/carol", "everyone");
+        // Accessing alice makes bob the least recently used entry.
+        userRoleCache.get(TENANT_DOMAIN, "alice");
+
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/dave", "everyone");
+        userRoleCache.put(OTHER_TENANT_DOMAIN, "PRIMARY/erin", "everyone");
+
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "SECONDARY/bob"));
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "PRIMARY/alice"), "admin");
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "SECONDARY/dave"), "everyone");
+        assertEquals(userRoleCache.getEvictionCount(), 1);
+        assertEquals(userRoleCache.size(), 4);
+    }
+
+    @Test
+    public void testUpdatingUserDoesNotEvict() {
+
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin");
+        userRoleCache.put(TENANT_DOMAIN, "SECONDARY/bob", "everyone");
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/carol", "everyone");
+
+        userRoleCache.put(TENANT_DOMAIN, "alice", "admin,everyone");
+
+        assertEquals(userRoleCache.get(TENANT_DOMAIN, "PRIMARY/alice"), "admin,everyone");
+        assertEquals(userRoleCache.getEvictionCount(), 0);
+        assertEquals(userRoleCache.size(), 3);
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() throws Exception {
+
+        userRoleCache = new UserRoleCache(10, TimeUnit.MILLISECONDS, 3);
+        userRoleCache.put(TENANT_DOMAIN, "PRIMARY/alice", "admin");
+
+        Thread.sleep(50);
+
+        assertNull(userRoleCache.get(TENANT_DOMAIN, "alice"));
+        assertEquals(userRoleCache.getExpirationCount(), 1);
+        assertEquals(userRoleCache.size(), 0);
+    }
+}
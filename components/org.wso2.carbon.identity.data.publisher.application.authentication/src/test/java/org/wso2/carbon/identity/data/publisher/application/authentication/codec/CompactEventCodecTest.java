@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.codec;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link CompactEventCodec}.
+ */
+public class CompactEventCodecTest {
+
+    private static final String STREAM_ID = "org.wso2.is.analytics.stream.OverallAuthentication:1.1.0";
+    private static final int PAYLOAD_FIELD_COUNT = 31;
+
+    @Test
+    public void testRoundTripOfAuthenticationPayload() throws Exception {
+
+        Object[] payloadData = createAuthenticationPayload();
+        assertEquals(payloadData.length, PAYLOAD_FIELD_COUNT);
+        Map<String, String> arbitraryDataMap = new HashMap<>();
+        arbitraryDataMap.put("region", "eu-west");
+        arbitraryDataMap.put("traceId", null);
+        Event event = new Event(STREAM_ID, 1700000000123L, new Object[]{-1234}, null, payloadData, arbitraryDataMap);
+
+        Event decoded = CompactEventCodec.decode(CompactEventCodec.encode(event));
+
+        assertEquals(decoded.getStreamId(), STREAM_ID);
+        assertEquals(decoded.getTimeStamp(), 1700000000123L);
+        assertEquals(decoded.getMetaData(), new Object[]{-1234});
+        assertNull(decoded.getCorrelationData());
+        assertPayloadEquals(decoded.getPayloadData(), payloadData);
+        assertEquals(decoded.getArbitraryDataMap(), arbitraryDataMap);
+    }
+
+    @Test
+    public void testRoundTripOfNullPayload() throws Exception {
+
+        Object[] payloadData = new Object[PAYLOAD_FIELD_COUNT];
+
+        Event decoded = CompactEventCodec.decode(CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null,
+                payloadData)));
+
+        assertNull(decoded.getMetaData());
+        assertNull(decoded.getArbitraryDataMap());
+        assertPayloadEquals(decoded.getPayloadData(), payloadData);
+    }
+
+    @Test
+    public void testRoundTripOfExtremeValues() throws Exception {
+
+        Object[] payloadData = new Object[]{Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, Long.MIN_VALUE,
+                Long.MAX_VALUE, 0L, -1L, Double.NaN, -0.0d, Double.MAX_VALUE, Float.MIN_VALUE, true, false, true,
+                true, false, false, true, true, false, true, null, true, false};
+
+        Event decoded = CompactEventCodec.decode(CompactEventCodec.encode(new Event(STREAM_ID, -1L,
+                new Object[0], new Object[]{null}, payloadData)));
+
+        assertEquals(decoded.getTimeStamp(), -1L);
+        assertEquals(decoded.getMetaData().length, 0);
+        assertEquals(decoded.getCorrelationData(), new Object[]{null});
+        assertPayloadEquals(decoded.getPayloadData(), payloadData);
+    }
+
+    @Test
+    public void testValueOfOtherTypeIsDecodedAsString() throws Exception {
+
+        Event decoded = CompactEventCodec.decode(CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null,
+                new Object[]{new StringBuilder("built"), 'c'})));
+
+        assertEquals(decoded.getPayloadData(), new Object[]{"built", "c"});
+    }
+
+    @Test
+    public void testRepeatedStringsAreReferenced() {
+
+        String value = "a-value-which-is-not-in-the-dictionary";
+        int once = CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null, new Object[]{value, null})).length;
+        int twice = CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null, new Object[]{value, value})).length;
+
+        assertTrue(twice - once <= 1, "Repeated string was not referenced: " + once + ", " + twice);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testTruncatedRecordIsRejected() throws Exception {
+
+        byte[] record = CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null, new Object[]{"value", 1L}));
+
+        CompactEventCodec.decode(Arrays.copyOf(record, record.length - 1));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testTrailingBytesAreRejected() throws Exception {
+
+        byte[] record = CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null, new Object[]{"value"}));
+
+        CompactEventCodec.decode(Arrays.copyOf(record, record.length + 1));
+    }
+
+    @Test
+    public void testRecordIsSmallerThanJavaSerialization() throws Exception {
+
+        Event event = new Event(STREAM_ID, 1700000000123L, new Object[]{-1234}, null, createAuthenticationPayload());
+
+        int encodedSize = CompactEventCodec.encode(event).length;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event.getStreamId());
+            out.writeLong(event.getTimeStamp());
+            out.writeObject(event.getMetaData());
+            out.writeObject(event.getPayloadData());
+        }
+        assertTrue(encodedSize * 2 < bytes.size(), "Encoded record of " + encodedSize + " bytes is not less than " +
+                "half of the " + bytes.size() + " bytes of java serialization.");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testUnknownVersionIsRejected() throws Exception {
+
+        byte[] record = CompactEventCodec.encode(new Event(STREAM_ID, 0, null, null, new Object[]{"value"}));
+        record[0] = Byte.MAX_VALUE;
+
+        CompactEventCodec.decode(record);
+    }
+
+    private static Object[] createAuthenticationPayload() {
+
+        return new Object[]{
+                "4b5c0a8e-7c1f-4f43-9a3e-5b2e1d7f6a90", "bd2e1c7a-0f3b-4b1e-8d54-2a9c6e3f1b07",
+                AuthPublisherConstants.OVERALL_EVENT, true, "alice", "alice", "PRIMARY", "10.100.0.1",
+                AuthPublisherConstants.NOT_AVAILABLE, "samlsso", "travelocity.com", false, false, true, null, 2,
+                "LOCAL", true, "BasicAuthenticator", false, "FEDERATED", 1700000000000L, 1250L, null,
+                "\u00fcn\u00efc\u00f6d\u00e9 \u2713", "", null, null, "carbon.super", 3.5d, 1.25f};
+    }
+
+    /**
+     * Compare the values and their types, since an int decoded as a long would still be published differently.
+     */
+    private static void assertPayloadEquals(Object[] actual, Object[] expected) {
+
+        assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(actual[i], expected[i], "Payload field " + i + " differs.");
+            if (expected[i] != null) {
+                assertEquals(actual[i].getClass(), expected[i].getClass(), "Type of payload field " + i +
+                        " differs.");
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.apache.commons.logging.impl.NoOpLog;
+import org.slf4j.MDC;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.EventMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of the overflow and the shutdown of {@link AsyncAuditAppender}. The writer thread is held while it
+ * writes the first record, so that the following records stay in the queue.
+ */
+public class AsyncAuditAppenderTest {
+
+    private static final String APPENDER_NAME = "testAuditLogger";
+    private static final String AUDIT_RECORD_EVENT = "auditRecord";
+    private static final String FAILING_RECORD = "failing";
+    private static final String CORRELATION_ID_KEY = "Correlation-ID";
+
+    private RecordingLog target;
+
+    @BeforeMethod
+    public void setUp() {
+
+        target = new RecordingLog();
+        PublisherMetrics.getInstance().setEnabled(true);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        target.release.countDown();
+        PublisherMetrics.getInstance().setEnabled(false);
+        PublisherMetrics.getInstance().reset();
+    }
+
+    @Test
+    public void testOverflowDropsRecord() throws Exception {
+
+        AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 2, 10);
+        holdWriter(appender);
+
+        assertTrue(appender.append("r1"));
+        assertTrue(appender.append("r2"));
+        assertFalse(appender.append("r3"));
+
+        assertEquals(appender.getQueueSize(), 2);
+        assertEquals(appender.getAppendedCount(), 3);
+        assertEquals(appender.getDroppedCount(), 1);
+        EventMetrics metrics = PublisherMetrics.getInstance().getEventMetrics(APPENDER_NAME, AUDIT_RECORD_EVENT);
+        assertEquals(metrics.getDropCount(), 1);
+
+        target.release.countDown();
+        appender.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(target.records, Arrays.asList("r0", "r1", "r2"));
+        assertEquals(appender.getWrittenCount(), 3);
+    }
+
+    @Test
+    public void testShutdownWaitsForPendingRecords() throws Exception {
+
+        final AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 10, 2);
+        holdWriter(appender);
+        appender.append("r1");
+        appender.append("r2");
+        appender.append("r3");
+
+        Thread shutdownThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                appender.shutdown(5, TimeUnit.SECONDS);
+            }
+        });
+        shutdownThread.start();
+        target.release.countDown();
+        shutdownThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(shutdownThread.isAlive(), "Shutdown did not complete.");
+        assertEquals(target.records, Arrays.asList("r0", "r1", "r2", "r3"));
+        assertEquals(appender.getWrittenCount(), 4);
+        assertEquals(appender.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testShutdownTimeoutWritesPendingRecords() throws Exception {
+
+        AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 10, 2);
+        holdWriter(appender);
+        appender.append("r1");
+        appender.append("r2");
+
+        // The writer thread is still held when the timeout expires, hence the caller writes the pending records.
+        appender.shutdown(50, TimeUnit.MILLISECONDS);
+
+        assertEquals(appender.getQueueSize(), 0);
+        assertTrue(target.records.containsAll(Arrays.asList("r1", "r2")));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (appender.getWrittenCount() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(appender.getWrittenCount(), 3);
+        assertEquals(target.records.size(), 3);
+    }
+
+    @Test
+    public void testAppendAfterShutdownIsWrittenByCaller() {
+
+        target.release.countDown();
+        AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 10, 2);
+        appender.shutdown(5, TimeUnit.SECONDS);
+
+        assertTrue(appender.append("late"));
+
+        assertEquals(target.records, Arrays.asList("late"));
+        assertEquals(appender.getLateCount(), 1);
+        assertEquals(appender.getAppendedCount(), 0);
+        assertEquals(appender.getWrittenCount(), 1);
+    }
+
+    @Test
+    public void testFailedWriteIsCounted() throws Exception {
+
+        target.release.countDown();
+        AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 10, 2);
+        appender.append("r0");
+        appender.append(FAILING_RECORD);
+        appender.append("r1");
+        appender.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(target.records, Arrays.asList("r0", "r1"));
+        assertEquals(appender.getWrittenCount(), 2);
+        assertEquals(appender.getFailedCount(), 1);
+        EventMetrics metrics = PublisherMetrics.getInstance().getEventMetrics(APPENDER_NAME, AUDIT_RECORD_EVENT);
+        assertEquals(metrics.getErrorCount(), 1);
+    }
+
+    @Test
+    public void testRecordIsWrittenWithAppenderMdc() {
+
+        target.release.countDown();
+        AsyncAuditAppender appender = new AsyncAuditAppender(APPENDER_NAME, target, 10, 2);
+        MDC.put(CORRELATION_ID_KEY, "correlation-1");
+        try {
+            appender.append("r0");
+        } finally {
+            MDC.remove(CORRELATION_ID_KEY);
+        }
+        appender.append("r1");
+        appender.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(target.records, Arrays.asList("r0", "r1"));
+        assertEquals(target.correlationIds, Arrays.asList("correlation-1", null));
+        assertNull(MDC.get(CORRELATION_ID_KEY));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidQueueSize() {
+
+        new AsyncAuditAppender(APPENDER_NAME, target, 0, 2);
+    }
+
+    /**
+     * Append the first record and wait until the writer thread is held writing it.
+     */
+    private void holdWriter(AsyncAuditAppender appender) throws InterruptedException {
+
+        appender.append("r0");
+        assertTrue(target.writing.await(5, TimeUnit.SECONDS), "Writer thread did not start writing.");
+    }
+
+    /**
+     * Audit log which records the written records with their correlation ids, and holds the thread writing the first
+     * record until it is released or interrupted.
+     */
+    private static class RecordingLog extends NoOpLog {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> records = new CopyOnWriteArrayList<>();
+        private final List<String> correlationIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void info(Object message) {
+
+            if (FAILING_RECORD.equals(message)) {
+                throw new IllegalStateException("Failed to write the audit record.");
+            }
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.add((String) message);
+            correlationIds.add(MDC.get(CORRELATION_ID_KEY));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of the overflow policies and the shutdown of {@link AuthnDataDispatcher}. The queue is filled while
+ * the only worker is held by a blocking task, so that the outcome of each dispatch is deterministic.
+ */
+public class AuthnDataDispatcherTest {
+
+    private CountDownLatch release;
+    private List<String> executed;
+
+    @BeforeMethod
+    public void setUp() {
+
+        release = new CountDownLatch(1);
+        executed = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        release.countDown();
+    }
+
+    @Test
+    public void testDropNewestDiscardsNewTask() {
+
+        AuthnDataDispatcher dispatcher = createBlockedDispatcher(2, AuthnDataDispatcher.OverflowPolicy.DROP_NEWEST);
+        assertTrue(dispatcher.dispatch(task("a")));
+        assertTrue(dispatcher.dispatch(task("b")));
+        assertFalse(dispatcher.dispatch(task("c")));
+        assertEquals(dispatcher.getDroppedNewestCount(), 1);
+
+        release.countDown();
+        dispatcher.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(executed, Arrays.asList("a", "b"));
+        assertEquals(dispatcher.getProcessedCount(), 3);
+        assertEquals(dispatcher.getAbandonedCount(), 0);
+    }
+
+    @Test
+    public void testDropOldestDiscardsQueuedTask() {
+
+        AuthnDataDispatcher dispatcher = createBlockedDispatcher(2, AuthnDataDispatcher.OverflowPolicy.DROP_OLDEST);
+        assertTrue(dispatcher.dispatch(task("a")));
+        assertTrue(dispatcher.dispatch(task("b")));
+        assertTrue(dispatcher.dispatch(task("c")));
+        assertEquals(dispatcher.getDroppedOldestCount(), 1);
+        assertEquals(dispatcher.getDroppedNewestCount(), 0);
+
+        release.countDown();
+        dispatcher.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(executed, Arrays.asList("b", "c"));
+    }
+
+    @Test
+    public void testBlockWaitsForFreeSlot() throws Exception {
+
+        final AuthnDataDispatcher dispatcher = createBlockedDispatcher(1, AuthnDataDispatcher.OverflowPolicy.BLOCK);
+        assertTrue(dispatcher.dispatch(task("a")));
+        final AtomicBoolean dispatched = new AtomicBoolean();
+        Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                dispatched.set(dispatcher.dispatch(task("b")));
+            }
+        });
+        caller.start();
+        caller.join(200);
+        assertTrue(caller.isAlive(), "The caller should block while the queue is full.");
+        assertEquals(dispatcher.getBlockedCount(), 1);
+
+        release.countDown();
+        caller.join(5000);
+        assertFalse(caller.isAlive());
+        assertTrue(dispatched.get());
+        dispatcher.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(executed, Arrays.asList("a", "b"));
+        assertEquals(dispatcher.getDroppedNewestCount(), 0);
+    }
+
+    @Test
+    public void testShutdownDrainsQueuedTasks() {
+
+        AuthnDataDispatcher dispatcher = createBlockedDispatcher(10, AuthnDataDispatcher.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(dispatcher.dispatch(task(String.valueOf(i))));
+        }
+        release.countDown();
+        dispatcher.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(executed, Arrays.asList("0", "1", "2", "3", "4"));
+        assertEquals(dispatcher.getQueueSize(), 0);
+        assertEquals(dispatcher.getAbandonedCount(), 0);
+    }
+
+    @Test
+    public void testShutdownCountsAbandonedTasks() {
+
+        AuthnDataDispatcher dispatcher = createBlockedDispatcher(10, AuthnDataDispatcher.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(dispatcher.dispatch(task(String.valueOf(i))));
+        }
+        // The worker is still held, hence the queued tasks cannot be drained before the timeout.
+        dispatcher.shutdown(100, TimeUnit.MILLISECONDS);
+        assertEquals(dispatcher.getAbandonedCount(), 3);
+        assertEquals(dispatcher.getQueueSize(), 0);
+
+        assertFalse(dispatcher.dispatch(task("late")));
+        assertEquals(dispatcher.getAbandonedCount(), 4);
+        assertEquals(dispatcher.getQueueSize(), 0);
+        assertTrue(executed.isEmpty());
+    }
+
+    /**
+     * Create a dispatcher with a single worker, which is held by a task until {@link #release} is counted down.
+     */
+    private AuthnDataDispatcher createBlockedDispatcher(int queueSize, AuthnDataDispatcher.OverflowPolicy policy) {
+
+        AuthnDataDispatcher dispatcher = new AuthnDataDispatcher(queueSize, 1, policy);
+        assertTrue(dispatcher.dispatch(new Runnable() {
+            @Override
+            public void run() {
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getQueueSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(dispatcher.getQueueSize(), 0, "The worker should have taken the blocking task.");
+        return dispatcher;
+    }
+
+    private Runnable task(final String name) {
+
+        return new Runnable() {
+            @Override
+            public void run() {
+
+                executed.add(name);
+            }
+        };
+    }
+}
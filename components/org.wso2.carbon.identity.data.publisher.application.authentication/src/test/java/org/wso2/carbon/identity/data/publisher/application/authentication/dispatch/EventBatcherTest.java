@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.event.stream.core.EventStreamService;
+import org.wso2.carbon.event.stream.core.internal.CarbonEventStreamService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of the size and time triggered flushes of {@link EventBatcher}.
+ */
+@PrepareForTest(FrameworkUtils.class)
+public class EventBatcherTest extends PowerMockTestCase {
+
+    private static final String LOGIN_STREAM = "org.wso2.is.analytics.stream.OverallAuthentication:1.0.0";
+    private static final String SESSION_STREAM = "org.wso2.is.analytics.stream.OverallSession:1.0.0";
+
+    private RecordingEventStreamService eventStreamService;
+    private EventBatcher eventBatcher;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(FrameworkUtils.class);
+        eventStreamService = new RecordingEventStreamService();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (eventBatcher != null) {
+            eventBatcher.shutdown();
+            eventBatcher = null;
+        }
+    }
+
+    @Test
+    public void testFlushOnBatchSize() {
+
+        eventBatcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.add(createEvent(LOGIN_STREAM, 2));
+        assertEquals(eventStreamService.published.size(), 0);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 3));
+        assertEquals(eventStreamService.published.size(), 3);
+        assertEquals(eventStreamService.published.get(0).getTimeStamp(), 1);
+        assertEquals(eventStreamService.published.get(2).getTimeStamp(), 3);
+        assertEquals(eventBatcher.getPublishedCount(), 3);
+        assertEquals(eventBatcher.getBatchSizeHistogram().getCount(), 1);
+        assertEquals(eventBatcher.getBatchSizeHistogram().getMax(), 3);
+    }
+
+    @Test
+    public void testStreamsAreBatchedSeparately() {
+
+        eventBatcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.add(createEvent(SESSION_STREAM, 2));
+        eventBatcher.add(createEvent(LOGIN_STREAM, 3));
+        eventBatcher.add(createEvent(SESSION_STREAM, 4));
+        assertEquals(eventStreamService.published.size(), 0);
+
+        eventBatcher.add(createEvent(SESSION_STREAM, 5));
+        assertEquals(eventStreamService.published.size(), 3);
+        for (Event event : eventStreamService.published) {
+            assertEquals(event.getStreamId(), SESSION_STREAM);
+        }
+
+        eventBatcher.flushAll();
+        assertEquals(eventStreamService.published.size(), 5);
+        assertEquals(eventBatcher.getBatchSizeHistogram().getCount(), 2);
+    }
+
+    @Test
+    public void testFlushOnLingerTime() throws Exception {
+
+        eventStreamService.expect(2);
+        eventBatcher = createBatcher(eventStreamService, 100, 20, TimeUnit.MILLISECONDS);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.add(createEvent(SESSION_STREAM, 2));
+
+        assertTrue(eventStreamService.await(5, TimeUnit.SECONDS), "Pending events were not flushed by the flusher.");
+        assertEquals(eventStreamService.published.size(), 2);
+    }
+
+    @Test
+    public void testFlushAllWithoutPendingEvents() {
+
+        eventBatcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+
+        eventBatcher.flushAll();
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.flushAll();
+        eventBatcher.flushAll();
+
+        assertEquals(eventStreamService.published.size(), 1);
+        assertEquals(eventBatcher.getBatchSizeHistogram().getCount(), 1);
+    }
+
+    @Test
+    public void testShutdownFlushesPendingEvents() {
+
+        EventBatcher batcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+        batcher.add(createEvent(LOGIN_STREAM, 1));
+        batcher.add(createEvent(SESSION_STREAM, 2));
+
+        batcher.shutdown();
+
+        assertEquals(eventStreamService.published.size(), 2);
+        assertEquals(batcher.getPublishedCount(), 2);
+    }
+
+    @Test
+    public void testUnavailableServiceCountsFailures() {
+
+        eventBatcher = createBatcher(null, 2, 1, TimeUnit.HOURS);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.add(createEvent(LOGIN_STREAM, 2));
+
+        assertEquals(eventBatcher.getPublishedCount(), 0);
+        assertEquals(eventBatcher.getFailedCount(), 2);
+    }
+
+    @Test
+    public void testPublishFailureWithoutSpillQueueDoesNotStopBatch() {
+
+        eventStreamService.failingTimeStamp = 2;
+        eventBatcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+
+        eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+        eventBatcher.add(createEvent(LOGIN_STREAM, 2));
+        eventBatcher.add(createEvent(LOGIN_STREAM, 3));
+
+        assertEquals(eventStreamService.published.size(), 2);
+        assertEquals(eventBatcher.getPublishedCount(), 2);
+        assertEquals(eventBatcher.getFailedCount(), 1);
+    }
+
+    @Test
+    public void testPublishFailureSpillsRestOfBatch() throws Exception {
+
+        eventStreamService.failingTimeStamp = 2;
+        eventBatcher = createBatcher(eventStreamService, 3, 1, TimeUnit.HOURS);
+        File directory = Files.createTempDirectory("event-batcher-test").toFile();
+        EventSpillQueue spillQueue = new EventSpillQueue(directory, 4096, 1024 * 1024, 10000, 1, TimeUnit.HOURS,
+                new EventSpillQueue.EventPublisher() {
+                    @Override
+                    public boolean publish(Event event) {
+
+                        return false;
+                    }
+                });
+        try {
+            eventBatcher.setSpillQueue(spillQueue);
+
+            eventBatcher.add(createEvent(LOGIN_STREAM, 1));
+            eventBatcher.add(createEvent(LOGIN_STREAM, 2));
+            eventBatcher.add(createEvent(LOGIN_STREAM, 3));
+
+            // The event after the failed one is spilled with it instead of being published ahead of it.
+            assertEquals(eventStreamService.published.size(), 1);
+            assertEquals(eventStreamService.published.get(0).getTimeStamp(), 1);
+            assertEquals(eventBatcher.getPublishedCount(), 1);
+            assertEquals(eventBatcher.getFailedCount(), 0);
+            assertEquals(spillQueue.getSpilledCount(), 2);
+            assertTrue(spillQueue.hasBacklog());
+        } finally {
+            spillQueue.shutdown();
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+
+        createBatcher(eventStreamService, 0, 1, TimeUnit.HOURS);
+    }
+
+    private static EventBatcher createBatcher(final EventStreamService eventStreamService, int batchSize,
+                                              long lingerTime, TimeUnit unit) {
+
+        return new EventBatcher(new EventBatcher.EventStreamServiceProvider() {
+            @Override
+            public EventStreamService getEventStreamService() {
+
+                return eventStreamService;
+            }
+        }, batchSize, lingerTime, unit);
+    }
+
+    private static Event createEvent(String streamId, long timeStamp) {
+
+        return new Event(streamId, timeStamp, new Object[]{-1234}, null, new Object[]{"payload-" + timeStamp});
+    }
+
+    private static class RecordingEventStreamService extends CarbonEventStreamService {
+
+        private final List<Event> published = new CopyOnWriteArrayList<>();
+        private volatile long failingTimeStamp = -1;
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        @Override
+        public void publish(Event event) {
+
+            if (event.getTimeStamp() == failingTimeStamp) {
+                throw new IllegalStateException("Failed to publish event: " + failingTimeStamp);
+            }
+            published.add(event);
+            latch.countDown();
+        }
+
+        private void expect(int count) {
+
+            latch = new CountDownLatch(count);
+        }
+
+        private boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+
+            return latch.await(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.dispatch;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.codec.CompactEventCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link EventSpillQueue}, on segment files in a temporary directory.
+ */
+public class EventSpillQueueTest {
+
+    private static final String STREAM_ID = "org.wso2.is.analytics.stream.OverallAuthentication:1.0.0";
+    private static final int SEGMENT_SIZE = 4096;
+    private static final long MAX_SIZE = 1024 * 1024;
+    private static final int REPLAY_RATE = 10000;
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private File directory;
+    private List<EventSpillQueue> queues;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("spill-queue-test").toFile();
+        queues = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        for (EventSpillQueue queue : queues) {
+            queue.shutdown();
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testReplayInOrder() throws Exception {
+
+        RecordingPublisher publisher = new RecordingPublisher(Integer.MAX_VALUE);
+        EventSpillQueue queue = createQueue(SEGMENT_SIZE, MAX_SIZE, publisher, 10);
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(queue.offer(createEvent(i)));
+        }
+
+        waitForReplayed(queue, 5);
+        assertEquals(publisher.getTimeStamps(), Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        assertEquals(queue.getSpilledCount(), 5);
+        assertEquals(queue.getPendingCount(), 0);
+        assertFalse(queue.hasBacklog());
+        Event replayed = publisher.published.get(0);
+        assertEquals(replayed.getStreamId(), STREAM_ID);
+        assertEquals(replayed.getPayloadData(), createEvent(1).getPayloadData());
+    }
+
+    @Test
+    public void testReplayAfterRestart() throws Exception {
+
+        // The first queue replays two events, then the event stream service becomes unavailable.
+        RecordingPublisher publisher = new RecordingPublisher(2);
+        EventSpillQueue queue = createQueue(SEGMENT_SIZE, MAX_SIZE, publisher, TimeUnit.HOURS.toMillis(1));
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(createEvent(i));
+        }
+        waitForReplayed(queue, 2);
+        assertTrue(queue.hasBacklog());
+        queue.shutdown();
+        queues.remove(queue);
+        assertFalse(queue.offer(createEvent(5)));
+
+        RecordingPublisher recoveredPublisher = new RecordingPublisher(Integer.MAX_VALUE);
+        EventSpillQueue recoveredQueue = createQueue(SEGMENT_SIZE, MAX_SIZE, recoveredPublisher, 10);
+        waitForReplayed(recoveredQueue, 2);
+
+        assertEquals(publisher.getTimeStamps(), Arrays.asList(1L, 2L));
+        assertEquals(recoveredPublisher.getTimeStamps(), Arrays.asList(3L, 4L));
+        assertEquals(recoveredQueue.getPendingCount(), 0);
+
+        // New events are written to a new segment after the recovered ones.
+        recoveredQueue.offer(createEvent(6));
+        waitForReplayed(recoveredQueue, 3);
+        assertEquals(recoveredPublisher.getTimeStamps(), Arrays.asList(3L, 4L, 6L));
+    }
+
+    @Test
+    public void testRecordWithInvalidChecksumIsSkipped() throws Exception {
+
+        EventSpillQueue queue = createQueue(SEGMENT_SIZE, MAX_SIZE, new RecordingPublisher(0),
+                TimeUnit.HOURS.toMillis(1));
+        for (int i = 1; i <= 3; i++) {
+            queue.offer(createEvent(i));
+        }
+        queue.shutdown();
+        queues.remove(queue);
+
+        // Flip a byte of the event of the second record, leaving its length and checksum as they are.
+        File[] segmentFiles = directory.listFiles();
+        assertNotNull(segmentFiles);
+        assertEquals(segmentFiles.length, 1);
+        try (RandomAccessFile segmentFile = new RandomAccessFile(segmentFiles[0], "rw")) {
+            int secondRecord = 8 + segmentFile.readInt();
+            segmentFile.seek(secondRecord);
+            int length = segmentFile.readInt();
+            long position = secondRecord + 8 + length / 2;
+            segmentFile.seek(position);
+            int value = segmentFile.read();
+            segmentFile.seek(position);
+            segmentFile.write(value ^ 0xFF);
+        }
+
+        RecordingPublisher publisher = new RecordingPublisher(Integer.MAX_VALUE);
+        EventSpillQueue recoveredQueue = createQueue(SEGMENT_SIZE, MAX_SIZE, publisher, 10);
+        waitForReplayed(recoveredQueue, 2);
+
+        assertEquals(publisher.getTimeStamps(), Arrays.asList(1L, 3L));
+        assertEquals(recoveredQueue.getCorruptedCount(), 1);
+        assertEquals(recoveredQueue.getPendingCount(), 0);
+    }
+
+    @Test
+    public void testOldestSegmentIsDroppedWhenFull() throws Exception {
+
+        // Two records fit in a segment, and the queue holds two segments.
+        int recordSize = 8 + CompactEventCodec.encode(createEvent(10)).length;
+        int segmentSize = recordSize * 5 / 2;
+        RecordingPublisher publisher = new RecordingPublisher(0);
+        EventSpillQueue queue = createQueue(segmentSize, segmentSize * 2, publisher, 10);
+
+        for (int i = 10; i < 20; i++) {
+            assertTrue(queue.offer(createEvent(i)));
+        }
+
+        assertEquals(queue.getPendingCount() + queue.getDroppedCount(), 10);
+        assertTrue(queue.getDroppedCount() >= 6, "Oldest segments were not dropped: " + queue.getStatistics());
+        long pending = queue.getPendingCount();
+
+        publisher.allow(Integer.MAX_VALUE);
+        waitForReplayed(queue, pending);
+
+        List<Long> timeStamps = publisher.getTimeStamps();
+        assertEquals(timeStamps.size(), pending);
+        assertEquals(timeStamps.get(timeStamps.size() - 1).longValue(), 19);
+        for (int i = 1; i < timeStamps.size(); i++) {
+            assertEquals(timeStamps.get(i).longValue(), timeStamps.get(i - 1) + 1);
+        }
+        assertEquals(queue.getPendingCount(), 0);
+    }
+
+    @Test
+    public void testEventLargerThanSegmentIsDropped() throws Exception {
+
+        EventSpillQueue queue = createQueue(64, MAX_SIZE, new RecordingPublisher(0), TimeUnit.HOURS.toMillis(1));
+        char[] payload = new char[128];
+        Arrays.fill(payload, 'x');
+
+        assertFalse(queue.offer(new Event(STREAM_ID, 1, null, null, new Object[]{new String(payload)})));
+        assertEquals(queue.getDroppedCount(), 1);
+        assertEquals(queue.getPendingCount(), 0);
+    }
+
+    private EventSpillQueue createQueue(int segmentSize, long maxSize, RecordingPublisher publisher,
+                                        long retryIntervalMillis) throws IOException {
+
+        EventSpillQueue queue = new EventSpillQueue(directory, segmentSize, maxSize, REPLAY_RATE,
+                retryIntervalMillis, TimeUnit.MILLISECONDS, publisher);
+        queues.add(queue);
+        return queue;
+    }
+
+    private static void waitForReplayed(EventSpillQueue queue, long count) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (queue.getReplayedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(queue.getReplayedCount(), count, "Spilled events were not replayed: " + queue.getStatistics());
+    }
+
+    private static Event createEvent(long timeStamp) {
+
+        return new Event(STREAM_ID, timeStamp, new Object[]{-1234}, null, new Object[]{"context-" + timeStamp,
+                "carbon.super", timeStamp * 1000, true});
+    }
+
+    /**
+     * Publishes up to the allowed number of events, as if the event stream service became unavailable afterwards.
+     */
+    private static class RecordingPublisher implements EventSpillQueue.EventPublisher {
+
+        private final List<Event> published = new CopyOnWriteArrayList<>();
+        private volatile int allowed;
+
+        private RecordingPublisher(int allowed) {
+
+            this.allowed = allowed;
+        }
+
+        private void allow(int allowed) {
+
+            this.allowed = allowed;
+        }
+
+        @Override
+        public boolean publish(Event event) {
+
+            if (published.size() >= allowed) {
+                return false;
+            }
+            published.add(event);
+            return true;
+        }
+
+        private List<Long> getTimeStamps() {
+
+            List<Long> timeStamps = new ArrayList<>();
+            for (Event event : published) {
+                timeStamps.add(event.getTimeStamp());
+            }
+            return timeStamps;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.id;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link TimeOrderedEventIdGenerator}.
+ */
+public class TimeOrderedEventIdGeneratorTest {
+
+    private static final int NODE_ID = 0x12345678;
+
+    @Test
+    public void testIdIsVersion7Uuid() {
+
+        long startTime = System.currentTimeMillis();
+        String id = new TimeOrderedEventIdGenerator(NODE_ID).nextId();
+        long endTime = System.currentTimeMillis();
+
+        UUID uuid = UUID.fromString(id);
+        assertEquals(uuid.toString(), id);
+        assertEquals(uuid.version(), 7);
+        assertEquals(uuid.variant(), 2);
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= startTime && timestamp <= endTime, "Timestamp: " + timestamp);
+        assertEquals(uuid.getLeastSignificantBits() & 0xFFFFFFFFL, NODE_ID & 0xFFFFFFFFL);
+    }
+
+    @Test
+    public void testIdsAreUnique() {
+
+        EventIdGenerator eventIdGenerator = new TimeOrderedEventIdGenerator(NODE_ID);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(ids.add(eventIdGenerator.nextId()));
+        }
+    }
+
+    @Test
+    public void testIdsOfThreadsAreUnique() throws Exception {
+
+        final EventIdGenerator eventIdGenerator = new TimeOrderedEventIdGenerator(NODE_ID);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+
+                        List<String> ids = new ArrayList<>();
+                        for (int j = 0; j < 10000; j++) {
+                            ids.add(eventIdGenerator.nextId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                ids.addAll(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(ids.size(), 40000);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIdsOfThreadAreTimeOrdered() {
+
+        EventIdGenerator eventIdGenerator = new TimeOrderedEventIdGenerator(NODE_ID);
+        long previousTimestamp = 0;
+        for (int i = 0; i < 1000; i++) {
+            long timestamp = UUID.fromString(eventIdGenerator.nextId()).getMostSignificantBits() >>> 16;
+            assertTrue(timestamp >= previousTimestamp);
+            previousTimestamp = timestamp;
+        }
+    }
+
+    @Test
+    public void testRandomIdIsUuid() {
+
+        String id = new RandomEventIdGenerator().nextId();
+
+        assertEquals(UUID.fromString(id).toString(), id);
+        assertEquals(UUID.fromString(id).version(), 4);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.internal;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link AuthenticationDataPublisherRegistry}, including concurrent registrations and
+ * unregistrations while the registry is read.
+ */
+public class AuthenticationDataPublisherRegistryTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final int PUBLISHERS_PER_THREAD = 25;
+
+    private AuthenticationDataPublisherRegistry registry;
+
+    @BeforeMethod
+    public void setUp() {
+
+        registry = new AuthenticationDataPublisherRegistry();
+    }
+
+    @Test
+    public void testRegisterOrdersByPriority() {
+
+        AuthenticationDataPublisher low = createPublisher("low", 10);
+        AuthenticationDataPublisher high = createPublisher("high", 30);
+        AuthenticationDataPublisher medium = createPublisher("medium", 20);
+
+        registry.register(low);
+        registry.register(high);
+        registry.register(medium);
+
+        AuthenticationDataPublisherRegistry.Publishers publishers = registry.getPublishers();
+        assertEquals(publishers.getVersion(), 3);
+        assertEquals(publishers.size(), 3);
+        assertSame(publishers.get(0), high);
+        assertSame(publishers.get(1), medium);
+        assertSame(publishers.get(2), low);
+        // The publishers of other bundles are checked against the authentication context of each event.
+        assertFalse(publishers.isResolved(0));
+    }
+
+    @Test
+    public void testUnregister() {
+
+        AuthenticationDataPublisher first = createPublisher("first", 10);
+        AuthenticationDataPublisher second = createPublisher("second", 20);
+        registry.register(first);
+        registry.register(second);
+
+        registry.unregister(first);
+        registry.unregister(createPublisher("unknown", 30));
+
+        assertEquals(registry.getRegisteredPublishers().size(), 1);
+        assertSame(registry.getRegisteredPublishers().get(0), second);
+        assertEquals(registry.getPublishers().getVersion(), 3);
+    }
+
+    @Test
+    public void testRefreshAndClear() {
+
+        AuthenticationDataPublisher publisher = createPublisher("publisher", 10);
+        registry.register(publisher);
+        AuthenticationDataPublisherRegistry.Publishers registered = registry.getPublishers();
+
+        registry.refresh();
+        assertEquals(registry.getPublishers().getVersion(), 2);
+        assertSame(registry.getPublishers().get(0), publisher);
+
+        registry.clear();
+        assertEquals(registry.getPublishers().getVersion(), 3);
+        assertEquals(registry.getPublishers().size(), 0);
+        // Views handed out before a change are not affected by it.
+        assertEquals(registered.size(), 1);
+        assertSame(registered.get(0), publisher);
+    }
+
+    @Test
+    public void testConcurrentRegisterAndUnregister() throws Exception {
+
+        final List<List<AuthenticationDataPublisher>> threadPublishers = new ArrayList<>();
+        final Set<AuthenticationDataPublisher> kept = new HashSet<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            List<AuthenticationDataPublisher> publishers = new ArrayList<>();
+            for (int j = 0; j < PUBLISHERS_PER_THREAD; j++) {
+                AuthenticationDataPublisher publisher = createPublisher("publisher-" + i + "-" + j,
+                        i * PUBLISHERS_PER_THREAD + j);
+                publishers.add(publisher);
+                if (j % 2 == 0) {
+                    kept.add(publisher);
+                }
+            }
+            threadPublishers.add(publishers);
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        for (final List<AuthenticationDataPublisher> publishers : threadPublishers) {
+            writers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+
+                    try {
+                        start.await();
+                        for (AuthenticationDataPublisher publisher : publishers) {
+                            registry.register(publisher);
+                        }
+                        for (int j = 1; j < publishers.size(); j += 2) {
+                            registry.unregister(publishers.get(j));
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                long lastVersion = -1;
+                try {
+                    start.await();
+                    while (writing.get()) {
+                        AuthenticationDataPublisherRegistry.Publishers publishers = registry.getPublishers();
+                        assertTrue(publishers.getVersion() >= lastVersion, "Registry version went back.");
+                        lastVersion = publishers.getVersion();
+                        for (int i = 1; i < publishers.size(); i++) {
+                            assertTrue(publishers.get(i - 1).getPriority(null) >= publishers.get(i)
+                                    .getPriority(null), "Publishers are not ordered by priority.");
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }
+        });
+
+        reader.start();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        writing.set(false);
+        reader.join(TimeUnit.SECONDS.toMillis(30));
+
+        assertTrue(errors.isEmpty(), "Errors while updating the registry: " + errors);
+        List<AuthenticationDataPublisher> registered = registry.getRegisteredPublishers();
+        assertEquals(registered.size(), kept.size());
+        assertEquals(new HashSet<>(registered), kept);
+        // Every registration and unregistration is applied exactly once.
+        assertEquals(registry.getPublishers().getVersion(), THREAD_COUNT * (PUBLISHERS_PER_THREAD +
+                PUBLISHERS_PER_THREAD / 2));
+    }
+
+    private static AuthenticationDataPublisher createPublisher(String name, int priority) {
+
+        AuthenticationDataPublisher publisher = mock(AuthenticationDataPublisher.class);
+        when(publisher.getName()).thenReturn(name);
+        when(publisher.getPriority(any(MessageContext.class))).thenReturn(priority);
+        return publisher;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link ActiveSessionCounter}.
+ */
+public class ActiveSessionCounterTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+
+    private ActiveSessionCounter activeSessionCounter;
+    private long expiryTime;
+
+    @BeforeMethod
+    public void setUp() {
+
+        activeSessionCounter = new ActiveSessionCounter(1, TimeUnit.MINUTES, 100);
+        expiryTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+    }
+
+    @Test
+    public void testCreateAndTerminate() {
+
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", expiryTime);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s2", expiryTime);
+        activeSessionCounter.sessionCreated(OTHER_TENANT_DOMAIN, "s3", expiryTime);
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 2);
+        assertEquals(activeSessionCounter.getActiveSessionCount(OTHER_TENANT_DOMAIN), 1);
+
+        activeSessionCounter.sessionTerminated("s1");
+        activeSessionCounter.sessionTerminated("s1");
+        activeSessionCounter.sessionTerminated("unknown");
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 1);
+        Map<String, Long> counts = activeSessionCounter.getActiveSessionCounts();
+        assertEquals(counts.size(), 2);
+        assertEquals(counts.get(TENANT_DOMAIN).longValue(), 1);
+        assertEquals(counts.get(OTHER_TENANT_DOMAIN).longValue(), 1);
+    }
+
+    @Test
+    public void testUpdateMovesSession() {
+
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", expiryTime);
+        activeSessionCounter.sessionUpdated(TENANT_DOMAIN, "s1", expiryTime + TimeUnit.HOURS.toMillis(1));
+        activeSessionCounter.sessionUpdated(TENANT_DOMAIN, "unknown", expiryTime);
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 1);
+
+        activeSessionCounter.sessionTerminated("s1");
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 0);
+    }
+
+    @Test
+    public void testRecreatedSessionIsCountedOnce() {
+
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", expiryTime);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", expiryTime + TimeUnit.HOURS.toMillis(1));
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 1);
+        assertEquals(activeSessionCounter.getTrackedSessionCount(), 1);
+    }
+
+    @Test
+    public void testUntrackedSessionsAreCountedUntilExpiry() {
+
+        activeSessionCounter = new ActiveSessionCounter(1, TimeUnit.MINUTES, 1);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", expiryTime);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s2", expiryTime);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, null, expiryTime);
+
+        activeSessionCounter.sessionTerminated("s2");
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 3);
+        assertEquals(activeSessionCounter.getTrackedSessionCount(), 1);
+    }
+
+    @Test
+    public void testExpiredSessionsAreNotCounted() throws Exception {
+
+        activeSessionCounter = new ActiveSessionCounter(10, TimeUnit.MILLISECONDS, 100);
+        long now = System.currentTimeMillis();
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s1", now + 20);
+        activeSessionCounter.sessionCreated(TENANT_DOMAIN, "s2", now + TimeUnit.HOURS.toMillis(1));
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 2);
+
+        Thread.sleep(100);
+
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 1);
+        assertEquals(activeSessionCounter.getTrackedSessionCount(), 1);
+        // Terminating an expired session does not affect the other sessions.
+        activeSessionCounter.sessionTerminated("s1");
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), 1);
+    }
+
+    @Test
+    public void testCountUnderContention() throws Exception {
+
+        final int threadCount = 8;
+        final int sessionsPerThread = 1000;
+        activeSessionCounter = new ActiveSessionCounter(1, TimeUnit.MINUTES, threadCount * sessionsPerThread);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final String prefix = "thread-" + i + "-session-";
+            final String tenantDomain = i % 2 == 0 ? TENANT_DOMAIN : OTHER_TENANT_DOMAIN;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+
+                    try {
+                        start.await();
+                        for (int j = 0; j < sessionsPerThread; j++) {
+                            activeSessionCounter.sessionCreated(tenantDomain, prefix + j, expiryTime);
+                        }
+                        for (int j = 0; j < sessionsPerThread; j++) {
+                            activeSessionCounter.sessionUpdated(tenantDomain, prefix + j, expiryTime +
+                                    TimeUnit.MINUTES.toMillis(j % 5));
+                        }
+                        for (int j = 0; j < sessionsPerThread; j += 2) {
+                            activeSessionCounter.sessionTerminated(prefix + j);
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertTrue(errors.isEmpty(), "Errors while counting the sessions: " + errors);
+        long expectedPerTenant = (long) threadCount / 2 * sessionsPerThread / 2;
+        assertEquals(activeSessionCounter.getActiveSessionCount(TENANT_DOMAIN), expectedPerTenant);
+        assertEquals(activeSessionCounter.getActiveSessionCount(OTHER_TENANT_DOMAIN), expectedPerTenant);
+        assertEquals(activeSessionCounter.getTrackedSessionCount(), threadCount * sessionsPerThread / 2);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests of {@link Histogram}.
+ */
+public class HistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+
+        Histogram histogram = new Histogram("latency", 10, 100);
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getMean(), 0.0);
+        assertEquals(histogram.getPercentile(99), 0);
+    }
+
+    @Test
+    public void testRecord() {
+
+        Histogram histogram = new Histogram("latency", 10, 100, 1000);
+        for (int i = 0; i < 90; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(50);
+        }
+        histogram.record(500);
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getSum(), 90 * 5 + 9 * 50 + 500);
+        assertEquals(histogram.getMean(), 14.0);
+        assertEquals(histogram.getMax(), 500);
+        assertEquals(histogram.getPercentile(50), 10);
+        assertEquals(histogram.getPercentile(90), 10);
+        assertEquals(histogram.getPercentile(99), 100);
+        assertEquals(histogram.getPercentile(100), 1000);
+    }
+
+    @Test
+    public void testBoundariesAreInclusive() {
+
+        Histogram histogram = new Histogram("latency", 10, 100);
+        histogram.record(10);
+
+        assertEquals(histogram.getPercentile(100), 10);
+    }
+
+    @Test
+    public void testOverflowPercentileIsMax() {
+
+        Histogram histogram = new Histogram("latency", 10, 100);
+        histogram.record(5);
+        histogram.record(12345);
+
+        assertEquals(histogram.getPercentile(50), 10);
+        assertEquals(histogram.getPercentile(99), 12345);
+    }
+
+    @Test
+    public void testExponentialBoundaries() {
+
+        Histogram histogram = Histogram.exponential("latency", 1000);
+        histogram.record(3);
+        histogram.record(1000);
+
+        assertEquals(histogram.getPercentile(50), 4);
+        assertEquals(histogram.getPercentile(100), 1024);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBoundariesShouldAscend() {
+
+        new Histogram("latency", 10, 10);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBoundaryIsRequired() {
+
+        new Histogram("latency");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link PublisherMetrics}.
+ */
+public class PublisherMetricsTest {
+
+    private static final String HANDLER_NAME = "analyticsLoginDataPublisher";
+    private static final String EVENT_NAME = "AUTHENTICATION_SUCCESS";
+
+    private final PublisherMetrics publisherMetrics = PublisherMetrics.getInstance();
+
+    @AfterMethod
+    public void tearDown() {
+
+        publisherMetrics.setEnabled(false);
+        publisherMetrics.reset();
+    }
+
+    @Test
+    public void testNothingIsRecordedWhileDisabled() {
+
+        long buildStartTime = publisherMetrics.startTimer();
+        long publishStartTime = publisherMetrics.recordBuild(HANDLER_NAME, EVENT_NAME, buildStartTime);
+        publisherMetrics.recordPublish(HANDLER_NAME, EVENT_NAME, publishStartTime);
+        publisherMetrics.recordError(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.recordDrop(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.recordSkip(HANDLER_NAME, EVENT_NAME);
+
+        assertEquals(buildStartTime, 0);
+        assertEquals(publishStartTime, 0);
+        assertTrue(publisherMetrics.getAllEventMetrics().isEmpty());
+    }
+
+    @Test
+    public void testRecord() {
+
+        publisherMetrics.setEnabled(true);
+
+        long publishStartTime = publisherMetrics.recordBuild(HANDLER_NAME, EVENT_NAME,
+                publisherMetrics.startTimer());
+        publisherMetrics.recordPublish(HANDLER_NAME, EVENT_NAME, publishStartTime);
+        publisherMetrics.recordError(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.recordDrop(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.recordSkip(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.recordSkip(HANDLER_NAME, EVENT_NAME);
+
+        EventMetrics eventMetrics = publisherMetrics.getEventMetrics(HANDLER_NAME, EVENT_NAME);
+        assertTrue(publishStartTime != 0);
+        assertEquals(eventMetrics.getBuildLatency().getCount(), 1);
+        assertEquals(eventMetrics.getPublishLatency().getCount(), 1);
+        assertEquals(eventMetrics.getPublishedCount(), 1);
+        assertEquals(eventMetrics.getErrorCount(), 1);
+        assertEquals(eventMetrics.getDropCount(), 1);
+        assertEquals(eventMetrics.getSkipCount(), 2);
+    }
+
+    @Test
+    public void testEventMetricsAreSharedAndSorted() {
+
+        EventMetrics eventMetrics = publisherMetrics.getEventMetrics(HANDLER_NAME, EVENT_NAME);
+        publisherMetrics.getEventMetrics(HANDLER_NAME, "AUTHENTICATION_FAILURE");
+        publisherMetrics.getEventMetrics("analyticsSessionDataPublisher", "SESSION_CREATE");
+        publisherMetrics.getEventMetrics(null, null);
+
+        List<EventMetrics> allEventMetrics = publisherMetrics.getAllEventMetrics();
+        assertSame(publisherMetrics.getEventMetrics(HANDLER_NAME, EVENT_NAME), eventMetrics);
+        assertEquals(allEventMetrics.size(), 4);
+        assertEquals(allEventMetrics.get(0).getEventName(), "AUTHENTICATION_FAILURE");
+        assertSame(allEventMetrics.get(1), eventMetrics);
+        assertEquals(allEventMetrics.get(2).getHandlerName(), "analyticsSessionDataPublisher");
+        assertEquals(allEventMetrics.get(3).getHandlerName(), "unknown");
+        assertEquals(allEventMetrics.get(3).getEventName(), "unknown");
+    }
+
+    @Test
+    public void testRenderText() {
+
+        publisherMetrics.setEnabled(true);
+        publisherMetrics.recordPublish(HANDLER_NAME, EVENT_NAME, publisherMetrics.recordBuild(HANDLER_NAME,
+                EVENT_NAME, publisherMetrics.startTimer()));
+        publisherMetrics.recordError("handler \"quoted\"", EVENT_NAME);
+
+        String text = publisherMetrics.renderText();
+
+        assertTrue(text.contains("# TYPE identity_data_publisher_events_published_total counter\n"), text);
+        assertTrue(text.contains("identity_data_publisher_events_published_total{handler=\"" + HANDLER_NAME +
+                "\",event=\"" + EVENT_NAME + "\"} 1\n"), text);
+        assertTrue(text.contains("identity_data_publisher_events_failed_total{handler=\"handler \\\"quoted\\\"\"," +
+                "event=\"" + EVENT_NAME + "\"} 1\n"), text);
+        assertTrue(text.contains("# TYPE identity_data_publisher_build_latency_microseconds summary\n"), text);
+        assertTrue(text.contains("identity_data_publisher_publish_latency_microseconds_count{handler=\"" +
+                HANDLER_NAME + "\",event=\"" + EVENT_NAME + "\"} 1\n"), text);
+        assertTrue(text.contains("identity_data_publisher_build_latency_microseconds{handler=\"" + HANDLER_NAME +
+                "\",event=\"" + EVENT_NAME + "\",quantile=\"0.99\"} "), text);
+    }
+}
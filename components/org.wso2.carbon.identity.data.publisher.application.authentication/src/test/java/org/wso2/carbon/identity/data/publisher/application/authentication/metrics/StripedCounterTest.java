@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.metrics;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests of {@link StripedCounter}.
+ */
+public class StripedCounterTest {
+
+    @Test
+    public void testSum() {
+
+        StripedCounter counter = new StripedCounter();
+        assertEquals(counter.sum(), 0);
+
+        counter.increment();
+        counter.increment();
+        counter.decrement();
+        counter.add(10);
+        counter.add(-4);
+
+        assertEquals(counter.sum(), 7);
+    }
+
+    @Test
+    public void testSumUnderContention() throws Exception {
+
+        final StripedCounter counter = new StripedCounter();
+        final int incrementingThreads = 8;
+        final int decrementingThreads = 4;
+        final int updatesPerThread = 100000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < incrementingThreads + decrementingThreads; i++) {
+            final boolean incrementing = i < incrementingThreads;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < updatesPerThread; j++) {
+                        if (incrementing) {
+                            counter.increment();
+                        } else {
+                            counter.decrement();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertEquals(counter.sum(), (long) (incrementingThreads - decrementingThreads) * updatesPerThread);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.model;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link AuthenticationEventSnapshot}. A snapshot should keep the values of the event as they were when
+ * it was captured, without holding or changing the framework objects of the event.
+ */
+public class AuthenticationEventSnapshotTest {
+
+    private static final String STEP_SUCCESS = IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name();
+    private static final String SESSION_CREATE = IdentityEventConstants.EventName.SESSION_CREATE.name();
+
+    @Test
+    public void testContextValuesAreCaptured() {
+
+        AuthenticationContext context = createContext();
+
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.create(STEP_SUCCESS,
+                AuthenticatorStatus.PASS, null, context, null, createParams());
+        // The authentication flow moves on after the event is published.
+        when(context.getContextIdentifier()).thenReturn("other-context-id");
+        when(context.getServiceProviderName()).thenReturn("other");
+        when(context.getCurrentStep()).thenReturn(2);
+        when(context.getProperty(AuthPublisherConstants.IS_INVALID_USERNAME)).thenReturn(null);
+
+        assertEquals(snapshot.getEventName(), STEP_SUCCESS);
+        assertEquals(snapshot.getStatus(), AuthenticatorStatus.PASS);
+        assertTrue(snapshot.isContextAvailable());
+        assertEquals(snapshot.getContextIdentifier(), "context-id");
+        assertEquals(snapshot.getServiceProvider(), "travelocity");
+        assertEquals(snapshot.getInboundProtocol(), "samlsso");
+        assertEquals(snapshot.getTenantDomain(), "wso2.com");
+        assertTrue(snapshot.isRememberMe());
+        assertEquals(snapshot.getCurrentStep(), 1);
+        assertEquals(snapshot.getCurrentAuthenticator(), "BasicAuthenticator");
+        assertTrue(snapshot.isInvalidUsername());
+        assertEquals(snapshot.getUsernameUserInput(), "alice@wso2.com");
+        assertEquals(snapshot.getCustomParams().size(), FrameworkConstants.AnalyticsData.CUSTOM_PARAM_LENGTH);
+        assertNull(snapshot.getCustomParams().get(0));
+    }
+
+    @Test
+    public void testContextIsNotChanged() {
+
+        AuthenticationContext context = createContext();
+
+        AuthenticationEventSnapshot.create(STEP_SUCCESS, AuthenticatorStatus.PASS, null, context, null,
+                createParams());
+
+        verify(context, never()).setProperty(anyString(), any());
+    }
+
+    @Test
+    public void testParamValuesAreCaptured() {
+
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.create(STEP_SUCCESS,
+                AuthenticatorStatus.FAIL, null, null, null, createParams());
+
+        assertFalse(snapshot.isContextAvailable());
+        assertEquals(snapshot.getRemoteIp(), "10.0.0.1");
+        assertEquals(snapshot.getUserAgent(), "Mozilla/5.0");
+        assertTrue(snapshot.isUser());
+        assertFalse(snapshot.isAuthenticatedUser());
+        assertEquals(snapshot.getUserName(), "alice");
+        assertEquals(snapshot.getUserStoreDomain(), "PRIMARY");
+        assertEquals(snapshot.getUserTenantDomain(), "wso2.com");
+        assertEquals(snapshot.getFederated(), Boolean.FALSE);
+        assertEquals(snapshot.getSessionId(), "session-id");
+        assertNull(snapshot.getContextIdentifier());
+        assertTrue(snapshot.getCustomParams().isEmpty());
+    }
+
+    @Test
+    public void testSessionValuesAreCaptured() {
+
+        SessionContext sessionContext = mock(SessionContext.class);
+        Map<String, AuthenticatedIdPData> authenticatedIdPs = new LinkedHashMap<>();
+        authenticatedIdPs.put("LOCAL", new AuthenticatedIdPData());
+        authenticatedIdPs.put("Google", new AuthenticatedIdPData());
+        when(sessionContext.getProperty(FrameworkConstants.CREATED_TIMESTAMP)).thenReturn(1000L);
+        when(sessionContext.isRememberMe()).thenReturn(true);
+        when(sessionContext.getAuthenticatedIdPs()).thenReturn(authenticatedIdPs);
+
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.create(SESSION_CREATE, null, null, null,
+                sessionContext, createParams());
+        authenticatedIdPs.clear();
+
+        assertTrue(snapshot.isSessionContextAvailable());
+        assertEquals(snapshot.getSessionCreatedTime(), Long.valueOf(1000L));
+        assertTrue(snapshot.isSessionRememberMe());
+        assertEquals(snapshot.getSessionIdentityProviders(), "LOCAL,Google");
+    }
+
+    @Test
+    public void testSnapshotIsSharedByTheHandlersOfAnEvent() {
+
+        Event event = createEvent();
+
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
+
+        assertSame(AuthenticationEventSnapshot.getSnapshot(event), snapshot);
+        assertSame(event.getEventProperties().get(AuthPublisherConstants.EVENT_SNAPSHOT), snapshot);
+    }
+
+    @Test
+    public void testDetachedEventOnlyCarriesSnapshotAndStatus() {
+
+        Event event = createEvent();
+
+        Event detached = AuthenticationEventSnapshot.detach(event);
+
+        assertEquals(detached.getEventName(), STEP_SUCCESS);
+        assertEquals(detached.getEventProperties().size(), 2);
+        assertEquals(detached.getEventProperties().get(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS),
+                AuthenticatorStatus.PASS);
+        assertSame(AuthenticationEventSnapshot.getSnapshot(detached),
+                AuthenticationEventSnapshot.getSnapshot(event));
+        assertEquals(AuthenticationEventSnapshot.getSnapshot(detached).getContextIdentifier(), "context-id");
+    }
+
+    private static AuthenticationContext createContext() {
+
+        AuthenticationContext context = mock(AuthenticationContext.class);
+        when(context.getContextIdentifier()).thenReturn("context-id");
+        when(context.getServiceProviderName()).thenReturn("travelocity");
+        when(context.getRequestType()).thenReturn("samlsso");
+        when(context.getTenantDomain()).thenReturn("wso2.com");
+        when(context.isRememberMe()).thenReturn(true);
+        when(context.getCurrentStep()).thenReturn(1);
+        when(context.getCurrentAuthenticator()).thenReturn("BasicAuthenticator");
+        when(context.getProperty(AuthPublisherConstants.IS_INVALID_USERNAME)).thenReturn(Boolean.TRUE);
+        when(context.getProperty(AuthPublisherConstants.USERNAME_USER_INPUT)).thenReturn("alice@wso2.com");
+        return context;
+    }
+
+    private static Map<String, Object> createParams() {
+
+        User user = new User();
+        user.setUserName("alice");
+        user.setUserStoreDomain("PRIMARY");
+        user.setTenantDomain("wso2.com");
+        Map<String, Object> params = new HashMap<>();
+        params.put(FrameworkConstants.AnalyticsAttributes.USER, user);
+        params.put(FrameworkConstants.AnalyticsAttributes.IS_FEDERATED, false);
+        params.put(FrameworkConstants.AnalyticsAttributes.SESSION_ID, "session-id");
+        params.put(AuthPublisherConstants.REMOTE_IP_ADDRESS, "10.0.0.1");
+        params.put(AuthPublisherConstants.USER_AGENT, "Mozilla/5.0");
+        return params;
+    }
+
+    private static Event createEvent() {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS, AuthenticatorStatus.PASS);
+        properties.put(IdentityEventConstants.EventProperty.CONTEXT, createContext());
+        properties.put(IdentityEventConstants.EventProperty.PARAMS, createParams());
+        return new Event(STEP_SUCCESS, properties);
+    }
+}
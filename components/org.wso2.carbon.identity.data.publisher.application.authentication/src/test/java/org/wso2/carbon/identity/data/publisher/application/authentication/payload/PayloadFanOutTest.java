@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.payload;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests of {@link PayloadFanOut}.
+ */
+@PrepareForTest(IdentityTenantUtil.class)
+public class PayloadFanOutTest extends PowerMockTestCase {
+
+    private static final String STREAM_ID = "org.wso2.is.analytics.stream.OverallAuthentication:1.0.0";
+    private static final String EVENT_ID = "event-id";
+    private static final String USER_TENANT_DOMAIN = "wso2.com";
+    private static final String SP_TENANT_DOMAIN = "abc.com";
+    private static final String OTHER_TENANT_DOMAIN = "xyz.com";
+    private static final int EVENT_ID_INDEX = 0;
+    private static final int TENANT_DOMAIN_INDEX = 2;
+
+    private final PayloadFanOut payloadFanOut = new PayloadFanOut(STREAM_ID, TENANT_DOMAIN_INDEX, EVENT_ID_INDEX);
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(USER_TENANT_DOMAIN)).thenReturn(1);
+        when(IdentityTenantUtil.getTenantId(SP_TENANT_DOMAIN)).thenReturn(2);
+        when(IdentityTenantUtil.getTenantId(OTHER_TENANT_DOMAIN)).thenReturn(3);
+    }
+
+    @Test
+    public void testEventPerDomain() {
+
+        List<Event> events = payloadFanOut.createEvents(createBasePayload(), new String[]{USER_TENANT_DOMAIN,
+                SP_TENANT_DOMAIN});
+
+        assertEquals(events.size(), 2);
+        assertEvent(events.get(0), USER_TENANT_DOMAIN, 1);
+        assertEvent(events.get(1), SP_TENANT_DOMAIN, 2);
+        assertEquals(events.get(0).getPayloadData()[EVENT_ID_INDEX], EVENT_ID);
+        assertEquals(((String) events.get(1).getPayloadData()[EVENT_ID_INDEX]).length(), 36);
+        assertNotEquals(events.get(1).getPayloadData()[EVENT_ID_INDEX], EVENT_ID);
+        assertEquals(events.get(0).getTimeStamp(), events.get(1).getTimeStamp());
+    }
+
+    @Test
+    public void testEarlierEventsAreNotChangedByLaterEvents() {
+
+        Object[] basePayload = createBasePayload();
+
+        List<Event> events = payloadFanOut.createEvents(basePayload, new String[]{USER_TENANT_DOMAIN,
+                SP_TENANT_DOMAIN, OTHER_TENANT_DOMAIN});
+
+        assertNotSame(events.get(0).getPayloadData(), basePayload);
+        assertNotSame(events.get(1).getPayloadData(), basePayload);
+        assertNotSame(events.get(0).getPayloadData(), events.get(1).getPayloadData());
+        assertEvent(events.get(0), USER_TENANT_DOMAIN, 1);
+        assertEvent(events.get(1), SP_TENANT_DOMAIN, 2);
+        assertEvent(events.get(2), OTHER_TENANT_DOMAIN, 3);
+        assertEquals(events.get(0).getPayloadData()[EVENT_ID_INDEX], EVENT_ID);
+        assertNotEquals(events.get(1).getPayloadData()[EVENT_ID_INDEX], events.get(2).getPayloadData()[
+                EVENT_ID_INDEX]);
+    }
+
+    @Test
+    public void testSingleDomainEventIsNotCopied() {
+
+        Object[] basePayload = createBasePayload();
+
+        List<Event> events = payloadFanOut.createEvents(basePayload, new String[]{USER_TENANT_DOMAIN});
+
+        assertEquals(events.size(), 1);
+        assertSame(events.get(0).getPayloadData(), basePayload);
+        assertEvent(events.get(0), USER_TENANT_DOMAIN, 1);
+        assertEquals(basePayload[EVENT_ID_INDEX], EVENT_ID);
+    }
+
+    @Test
+    public void testSingleDomainEventsAreIdentical() {
+
+        Event event = payloadFanOut.createEvents(createBasePayload(), new String[]{USER_TENANT_DOMAIN}).get(0);
+        Event otherEvent = payloadFanOut.createEvents(createBasePayload(), new String[]{USER_TENANT_DOMAIN}).get(0);
+
+        assertEquals(otherEvent.getStreamId(), event.getStreamId());
+        assertEquals(otherEvent.getMetaData(), event.getMetaData());
+        assertEquals(otherEvent.getPayloadData(), event.getPayloadData());
+    }
+
+    @Test
+    public void testFanOutWithoutEventId() {
+
+        PayloadFanOut fanOutWithoutEventId = new PayloadFanOut(STREAM_ID, TENANT_DOMAIN_INDEX, -1);
+
+        List<Event> events = fanOutWithoutEventId.createEvents(createBasePayload(), new String[]{USER_TENANT_DOMAIN,
+                SP_TENANT_DOMAIN});
+
+        assertEquals(events.get(0).getPayloadData()[EVENT_ID_INDEX], EVENT_ID);
+        assertEquals(events.get(1).getPayloadData()[EVENT_ID_INDEX], EVENT_ID);
+    }
+
+    @Test
+    public void testForSchema() {
+
+        PayloadSchema<Object> schema = PayloadSchema.builder(STREAM_ID)
+                .add("eventId", PayloadFields.constant(EVENT_ID))
+                .add("value", PayloadFields.constant("value"))
+                .add("tenantDomain", PayloadFields.constant(null))
+                .build();
+
+        List<Event> events = PayloadFanOut.forSchema(schema, "tenantDomain", "eventId").createEvents(
+                schema.createPayload(null), new String[]{USER_TENANT_DOMAIN, SP_TENANT_DOMAIN});
+
+        assertEvent(events.get(0), USER_TENANT_DOMAIN, 1);
+        assertEvent(events.get(1), SP_TENANT_DOMAIN, 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testForSchemaWithoutTenantDomain() {
+
+        PayloadFanOut.forSchema(PayloadSchema.builder(STREAM_ID).add("eventId", PayloadFields.constant(EVENT_ID))
+                .build(), "tenantDomain", "eventId");
+    }
+
+    private static Object[] createBasePayload() {
+
+        return new Object[]{EVENT_ID, "value", null};
+    }
+
+    private static void assertEvent(Event event, String tenantDomain, int tenantId) {
+
+        assertEquals(event.getStreamId(), STREAM_ID);
+        assertEquals(event.getMetaData(), new Object[]{tenantId});
+        assertEquals(event.getPayloadData()[1], "value");
+        assertEquals(event.getPayloadData()[TENANT_DOMAIN_INDEX], tenantDomain);
+    }
+}
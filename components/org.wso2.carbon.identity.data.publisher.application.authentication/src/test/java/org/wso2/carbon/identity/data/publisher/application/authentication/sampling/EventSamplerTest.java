@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.sampling;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link EventSampler}.
+ */
+public class EventSamplerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String EVENT_NAME = "AUTHENTICATION_SUCCESS";
+
+    @Test
+    public void testBucketAllowsBurstUpToCapacity() {
+
+        EventSampler.TokenBucket bucket = new EventSampler.TokenBucket(10, 30, 0);
+
+        for (int i = 0; i < 30; i++) {
+            assertTrue(bucket.tryAcquire(0), "Event " + i + " of the burst was rate limited.");
+        }
+        assertFalse(bucket.tryAcquire(0));
+    }
+
+    @Test
+    public void testBucketRefillsAtRateLimit() {
+
+        EventSampler.TokenBucket bucket = new EventSampler.TokenBucket(10, 10, 0);
+        drain(bucket, 0);
+
+        assertFalse(bucket.tryAcquire(SECOND / 20));
+        assertTrue(bucket.tryAcquire(SECOND / 10));
+        assertFalse(bucket.tryAcquire(SECOND / 10));
+        // Half a second later five more events are allowed.
+        assertEquals(drain(bucket, SECOND / 10 + SECOND / 2), 5);
+    }
+
+    @Test
+    public void testBucketRefillIsCappedAtCapacity() {
+
+        EventSampler.TokenBucket bucket = new EventSampler.TokenBucket(10, 20, 0);
+        drain(bucket, 0);
+
+        assertEquals(drain(bucket, 60 * SECOND), 20);
+    }
+
+    @Test
+    public void testBucketDoesNotRefillWhenTimeGoesBack() {
+
+        EventSampler.TokenBucket bucket = new EventSampler.TokenBucket(10, 10, SECOND);
+        drain(bucket, SECOND);
+
+        assertFalse(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(SECOND));
+        assertTrue(bucket.tryAcquire(SECOND + SECOND / 10));
+    }
+
+    @Test
+    public void testTenantBurstIsRateLimited() {
+
+        // One event per second with a burst of five seconds, so that no token is refilled during the test.
+        EventSampler sampler = new EventSampler(Collections.<String, Integer>emptyMap(), 1,
+                Collections.<String, Integer>emptyMap(), 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.sample(EVENT_NAME, "carbon.super", "sp", null));
+        }
+        assertFalse(sampler.sample(EVENT_NAME, "carbon.super", "sp", null));
+        // Each tenant domain has its own bucket.
+        assertTrue(sampler.sample(EVENT_NAME, "wso2.com", "sp", null));
+        assertEquals(sampler.getStatistics(), EVENT_NAME + "/carbon.super: sampled in: 5, sampled out: 0, " +
+                "rate limited: 1\n" + EVENT_NAME + "/wso2.com: sampled in: 1, sampled out: 0, rate limited: 0\n");
+    }
+
+    @Test
+    public void testTenantRateLimitOverridesDefault() {
+
+        Map<String, Integer> tenantRateLimits = new HashMap<>();
+        tenantRateLimits.put("wso2.com", 2);
+        EventSampler sampler = new EventSampler(Collections.<String, Integer>emptyMap(), 0, tenantRateLimits, 1);
+
+        assertTrue(sampler.sample(EVENT_NAME, "wso2.com", null, null));
+        assertTrue(sampler.sample(EVENT_NAME, "wso2.com", null, null));
+        assertFalse(sampler.sample(EVENT_NAME, "wso2.com", null, null));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.sample(EVENT_NAME, "carbon.super", null, null));
+        }
+    }
+
+    @Test
+    public void testSampledOutEventsDoNotUseTokens() {
+
+        Map<String, Integer> samplePercentages = new HashMap<>();
+        samplePercentages.put(EVENT_NAME + "/*/*", 0);
+        EventSampler sampler = new EventSampler(samplePercentages, 1, Collections.<String, Integer>emptyMap(), 1);
+
+        assertFalse(sampler.sample(EVENT_NAME, "carbon.super", null, null));
+        assertTrue(sampler.sample("AUTHENTICATION_FAILURE", "carbon.super", null, null));
+        assertFalse(sampler.sample("AUTHENTICATION_FAILURE", "carbon.super", null, null));
+    }
+
+    @Test
+    public void testMostSpecificRuleIsApplied() {
+
+        Map<String, Integer> samplePercentages = new HashMap<>();
+        samplePercentages.put("*/*/*", 50);
+        samplePercentages.put(EVENT_NAME + "/*/*", 10);
+        samplePercentages.put(EVENT_NAME + "/carbon.super/*", 20);
+        samplePercentages.put(EVENT_NAME + "/carbon.super/sp", 30);
+        EventSampler sampler = new EventSampler(samplePercentages, 0, Collections.<String, Integer>emptyMap(), 1);
+
+        assertEquals(sampler.getSamplePercentage(EVENT_NAME, "carbon.super", "sp"), 30);
+        assertEquals(sampler.getSamplePercentage(EVENT_NAME, "carbon.super", "other"), 20);
+        assertEquals(sampler.getSamplePercentage(EVENT_NAME, "wso2.com", "sp"), 10);
+        assertEquals(sampler.getSamplePercentage("SESSION_CREATE", "carbon.super", "sp"), 50);
+    }
+
+    @Test
+    public void testEventsOfFlowAreSampledTogether() {
+
+        Map<String, Integer> samplePercentages = new HashMap<>();
+        samplePercentages.put("*/*/*", 50);
+        EventSampler sampler = new EventSampler(samplePercentages, 0, Collections.<String, Integer>emptyMap(), 1);
+
+        for (int i = 0; i < 20; i++) {
+            String flowId = "flow-" + i;
+            boolean sampled = sampler.sample(EVENT_NAME, "carbon.super", null, flowId);
+            assertEquals(sampler.sample("AUTHENTICATION_STEP_SUCCESS", "carbon.super", null, flowId), sampled);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBurstDurationShouldBePositive() {
+
+        new EventSampler(Collections.<String, Integer>emptyMap(), 1, Collections.<String, Integer>emptyMap(), 0);
+    }
+
+    private static int drain(EventSampler.TokenBucket bucket, long now) {
+
+        int acquired = 0;
+        while (bucket.tryAcquire(now)) {
+            acquired++;
+        }
+        return acquired;
+    }
+}
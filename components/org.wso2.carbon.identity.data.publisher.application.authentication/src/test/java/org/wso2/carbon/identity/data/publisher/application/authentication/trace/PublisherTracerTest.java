@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.application.authentication.trace;
+
+import org.apache.commons.logging.impl.NoOpLog;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFields;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadSchema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of the rule matching and sampling of {@link PublisherTracer}.
+ */
+public class PublisherTracerTest {
+
+    private static final String PUBLISHER_NAME = "analyticsLoginDataPublisher";
+    private static final String STREAM_ID = "org.wso2.is.analytics.stream.OverallAuthentication:1.0.0";
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final String OTHER_TENANT_DOMAIN = "abc.com";
+    private static final String SERVICE_PROVIDER = "travelocity";
+
+    private static final PayloadSchema<Object> SCHEMA = PayloadSchema.builder(STREAM_ID)
+            .add("eventId", PayloadFields.constant(null))
+            .add("tenantDomain", PayloadFields.constant(null))
+            .build();
+
+    private final PublisherTracer publisherTracer = PublisherTracer.getInstance();
+
+    @AfterMethod
+    public void tearDown() {
+
+        publisherTracer.disableAll();
+    }
+
+    @Test
+    public void testNothingIsRenderedWithoutRulesOrDebugLogs() {
+
+        RecordingLog log = new RecordingLog(false);
+
+        trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+
+        assertTrue(log.messages.isEmpty());
+    }
+
+    @Test
+    public void testPayloadIsTracedToDebugLog() {
+
+        RecordingLog log = new RecordingLog(true);
+
+        trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+        publisherTracer.trace(log, PUBLISHER_NAME, SERVICE_PROVIDER, new String[]{TENANT_DOMAIN},
+                Collections.singletonList(createEvent(TENANT_DOMAIN)), null);
+
+        assertEquals(log.messages.size(), 2);
+        assertEquals(log.messages.get(0).toString(), "publisher=" + PUBLISHER_NAME + " stream=" + STREAM_ID +
+                " serviceProvider=" + SERVICE_PROVIDER + " publishingDomains=[" + TENANT_DOMAIN + "] events=1 " +
+                "payload={eventId=event-id, tenantDomain=" + TENANT_DOMAIN + "}");
+        assertTrue(log.messages.get(1).toString().endsWith(" payload={0=event-id, 1=" + TENANT_DOMAIN + "}"),
+                log.messages.get(1).toString());
+    }
+
+    @Test
+    public void testMatchingPayloadIsTracedInsteadOfDebugLogged() {
+
+        RecordingLog log = new RecordingLog(true);
+        publisherTracer.enable(TENANT_DOMAIN, null, 100);
+
+        trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+        trace(log, OTHER_TENANT_DOMAIN, SERVICE_PROVIDER);
+
+        assertEquals(publisherTracer.dumpRules(), TENANT_DOMAIN + "/*: 100% sampled, 1 traced\n");
+        assertEquals(log.messages.size(), 1);
+        assertTrue(log.messages.get(0).toString().contains("publishingDomains=[" + OTHER_TENANT_DOMAIN + "]"));
+    }
+
+    @Test
+    public void testRuleMatching() {
+
+        RecordingLog log = new RecordingLog(false);
+        publisherTracer.enable(TENANT_DOMAIN, SERVICE_PROVIDER, 100);
+        publisherTracer.enable(PublisherTracer.ANY, "pickup", 100);
+
+        trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+        trace(log, TENANT_DOMAIN, "other");
+        trace(log, OTHER_TENANT_DOMAIN, SERVICE_PROVIDER);
+        trace(log, OTHER_TENANT_DOMAIN, "pickup");
+        publisherTracer.trace(log, PUBLISHER_NAME, SERVICE_PROVIDER, new String[]{OTHER_TENANT_DOMAIN,
+                TENANT_DOMAIN}, Collections.singletonList(createEvent(OTHER_TENANT_DOMAIN)), SCHEMA);
+
+        String rules = publisherTracer.dumpRules();
+        assertTrue(rules.contains(TENANT_DOMAIN + "/" + SERVICE_PROVIDER + ": 100% sampled, 2 traced\n"), rules);
+        assertTrue(rules.contains("*/pickup: 100% sampled, 1 traced\n"), rules);
+        assertTrue(log.messages.isEmpty());
+    }
+
+    @Test
+    public void testPayloadsAreSampled() {
+
+        RecordingLog log = new RecordingLog(true);
+        publisherTracer.enable(TENANT_DOMAIN, null, 1);
+
+        for (int i = 0; i < 10000; i++) {
+            trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+        }
+
+        // About 100 payloads are traced, the bounds are more than 10 standard deviations away.
+        int traced = 10000 - log.messages.size();
+        assertTrue(traced > 0 && traced < 250, "Traced: " + traced);
+        assertEquals(publisherTracer.dumpRules(), TENANT_DOMAIN + "/*: 1% sampled, " + traced + " traced\n");
+    }
+
+    @Test
+    public void testDisable() {
+
+        RecordingLog log = new RecordingLog(false);
+        publisherTracer.enable(" " + TENANT_DOMAIN + " ", "", 100);
+        publisherTracer.disable(TENANT_DOMAIN, PublisherTracer.ANY);
+
+        trace(log, TENANT_DOMAIN, SERVICE_PROVIDER);
+
+        assertEquals(publisherTracer.dumpRules(), "");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRuleShouldNotMatchAll() {
+
+        publisherTracer.enable(null, PublisherTracer.ANY, 100);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSamplePercentageShouldBePositive() {
+
+        publisherTracer.enable(TENANT_DOMAIN, null, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSamplePercentageShouldNotExceedHundred() {
+
+        publisherTracer.enable(TENANT_DOMAIN, null, 101);
+    }
+
+    private void trace(RecordingLog log, String tenantDomain, String serviceProvider) {
+
+        publisherTracer.trace(log, PUBLISHER_NAME, serviceProvider, new String[]{tenantDomain},
+                Collections.singletonList(createEvent(tenantDomain)), SCHEMA);
+    }
+
+    private static Event createEvent(String tenantDomain) {
+
+        return new Event(STREAM_ID, 0, new Object[]{1}, null, new Object[]{"event-id", tenantDomain});
+    }
+
+    /**
+     * Records the messages logged at debug level, without rendering them.
+     */
+    private static class RecordingLog extends NoOpLog {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean debugEnabled;
+        private final List<Object> messages = new ArrayList<>();
+
+        private RecordingLog(boolean debugEnabled) {
+
+            this.debugEnabled = debugEnabled;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+
+            return debugEnabled;
+        }
+
+        @Override
+        public void debug(Object message) {
+
+            messages.add(message);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.login;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.sampling.EventSampler;
+
+import java.util.Properties;
+
+/**
+ * Immutable view of the module properties of an analytics login data publish handler, parsed once when the handler
+ * is initialized.
+ */
+public final class AnalyticsLoginDataPublishConfig {
+
+    /**
+     * Configuration of a handler which is not initialized yet.
+     */
+    public static final AnalyticsLoginDataPublishConfig DISABLED = new AnalyticsLoginDataPublishConfig(false, true,
+            null);
+
+    private final boolean enabled;
+    private final boolean multipleEventPublishingForSaasAppsEnabled;
+    private final EventSampler eventSampler;
+
+    private AnalyticsLoginDataPublishConfig(boolean enabled, boolean multipleEventPublishingForSaasAppsEnabled,
+                                            EventSampler eventSampler) {
+
+        this.enabled = enabled;
+        this.multipleEventPublishingForSaasAppsEnabled = multipleEventPublishingForSaasAppsEnabled;
+        this.eventSampler = eventSampler;
+    }
+
+    /**
+     * Parse the module properties of a handler.
+     *
+     * @param moduleProperties Module properties of the handler, may be null.
+     * @param enabledProperty  Name of the property which enables the handler.
+     * @param samplingPrefix   Prefix of the event sampling properties of the handler.
+     * @return Handler configuration.
+     */
+    public static AnalyticsLoginDataPublishConfig build(Properties moduleProperties, String enabledProperty,
+                                                        String samplingPrefix) {
+
+        if (moduleProperties == null) {
+            return DISABLED;
+        }
+        boolean enabled = Boolean.parseBoolean(moduleProperties.getProperty(enabledProperty));
+        String multipleEventPublishingForSaasAppsEnabled = moduleProperties.getProperty(
+                AnalyticsLoginDataPublishConstants
+                        .ANALYTICS_LOGIN_DATA_PUBLISHER_ENABLE_MULTIPLE_EVENT_PUBLISHING_FOR_SAAS_APPS);
+        // If Multiple Event Publishing For SaaS Apps property is not defined, it is enabled by default.
+        boolean multipleEventPublishingEnabled = StringUtils.isBlank(multipleEventPublishingForSaasAppsEnabled) ||
+                Boolean.parseBoolean(multipleEventPublishingForSaasAppsEnabled);
+        return new AnalyticsLoginDataPublishConfig(enabled, multipleEventPublishingEnabled,
+                EventSampler.create(moduleProperties, samplingPrefix));
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public boolean isMultipleEventPublishingForSaasAppsEnabled() {
+
+        return multipleEventPublishingForSaasAppsEnabled;
+    }
+
+    /**
+     * @return Sampler of the events of the handler, or null if all the events are published.
+     */
+    public EventSampler getEventSampler() {
+
+        return eventSampler;
+    }
+
+    @Override
+    public String toString() {
+
+        return "enabled: " + enabled + ", multipleEventPublishingForSaasAppsEnabled: " +
+                multipleEventPublishingForSaasAppsEnabled + ", sampling: " + (eventSampler != null ? "{" +
+                eventSampler + "}" : "disabled");
+    }
+}
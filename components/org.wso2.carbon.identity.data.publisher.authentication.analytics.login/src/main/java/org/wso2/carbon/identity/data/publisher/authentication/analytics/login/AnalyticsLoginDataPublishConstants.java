@@ -37,6 +37,9 @@ public class AnalyticsLoginDataPublishConstants {
     public static final String ANALYTICS_LOGIN_DATA_PUBLISHER_ENABLE_MULTIPLE_EVENT_PUBLISHING_FOR_SAAS_APPS =
             "analyticsLoginDataPublisher.enableMultipleEventPublishingForSaasApps";
     public static final String ANALYTICS_LOGIN_DATA_PUBLISHER_V110_ENABLED = "analyticsLoginDataPublisherV110.enable";
+    // Prefixes of the event sampling properties of the handlers
+    public static final String ANALYTICS_LOGIN_DATA_PUBLISHER_PREFIX = "analyticsLoginDataPublisher.";
+    public static final String ANALYTICS_LOGIN_DATA_PUBLISHER_V110_PREFIX = "analyticsLoginDataPublisherV110.";
     public static final long LONG_NOT_AVAILABLE = 0;
     public static final String ANALYTICS_LOGIN_PUBLISHER_V110_NAME = "analyticsLoginDataPublisherV110";
     public static final String IS_INVALID_USERNAME = "isInvalidUsername";
@@ -22,22 +22,19 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.base.MultitenantConstants;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
-import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.core.handler.InitConfig;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFanOut;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.internal.AnalyticsLoginDataPublishDataHolder;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
-import org.wso2.carbon.user.api.UserStoreException;
-import org.wso2.carbon.user.core.UserRealm;
-import org.wso2.carbon.user.core.UserStoreManager;
-import org.wso2.carbon.user.core.service.RealmService;
 
 import java.util.*;
 
@@ -47,6 +44,11 @@ import java.util.*;
 public class AnalyticsLoginDataPublishHandler extends AbstractEventHandler {
 
     private static final Log LOG = LogFactory.getLog(AnalyticsLoginDataPublishHandler.class);
+    private static final PayloadFanOut FAN_OUT = PayloadFanOut.forSchema(
+            AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0, AnalyticsLoginPayloadSchemas.TENANT_DOMAIN,
+            AnalyticsLoginPayloadSchemas.EVENT_ID);
+
+    private volatile AnalyticsLoginDataPublishConfig handlerConfig = AnalyticsLoginDataPublishConfig.DISABLED;
 
     @Override
     public String getName() {
@@ -55,34 +57,99 @@ public class AnalyticsLoginDataPublishHandler extends AbstractEventHandler {
     }
 
     @Override
-    public void handleEvent(Event event) throws IdentityEventException {
+    public void init(InitConfig configuration) throws IdentityRuntimeException {
+
+        super.init(configuration);
+        reloadConfiguration();
+    }
+
+    /**
+     * Parse the module properties of the handler again, after they have changed.
+     */
+    public void reloadConfiguration() {
+
+        Properties moduleProperties = this.configs != null ? this.configs.getModuleProperties() : null;
+        handlerConfig = AnalyticsLoginDataPublishConfig.build(moduleProperties,
+                AnalyticsLoginDataPublishConstants.ANALYTICS_LOGIN_DATA_PUBLISHER_ENABLED,
+                AnalyticsLoginDataPublishConstants.ANALYTICS_LOGIN_DATA_PUBLISHER_PREFIX);
+        PublisherManagement.getInstance().setHandlerConfiguration(getName(), handlerConfig);
+        PublisherManagement.getInstance().setEventSampler(getName(), handlerConfig.getEventSampler());
+    }
 
-        boolean isEnabled = isAnalyticsLoginDataPublishingEnabled(event);
+    public AnalyticsLoginDataPublishConfig getHandlerConfig() {
 
-        if (!isEnabled) {
+        return handlerConfig;
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        if (!handlerConfig.isEnabled()) {
+            metrics.recordSkip(getName(), event.getEventName());
+            return;
+        }
+        if (!AnalyticsLoginDataPublisherUtils.isSampled(handlerConfig.getEventSampler(), event)) {
+            metrics.recordSkip(getName(), event.getEventName());
             return;
         }
 
-        if (IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(event.getEventName()) ||
-                IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name().equals(event.getEventName())) {
-            AuthenticationData authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStep(event);
-            publishAuthenticationData(authenticationData);
-        } else if (IdentityEventConstants.EventName.AUTHENTICATION_SUCCESS.name().equals(event.getEventName()) ||
-                IdentityEventConstants.EventName.AUTHENTICATION_FAILURE.name().equals(event.getEventName())) {
-            AuthenticationData authenticationData = AnalyticsLoginDataPublisherUtils.
-                    buildAuthnDataForAuthentication(event);
-            publishAuthenticationData(authenticationData);
+        if (AnalyticsLoginDataPublisherUtils.isAuthenticationEvent(event.getEventName())) {
+            dispatchPublishing(AnalyticsLoginDataPublisherUtils.captureEvent(event));
         } else {
+            metrics.recordSkip(getName(), event.getEventName());
             LOG.error("Event " + event.getEventName() + " cannot be handled");
         }
     }
 
+    /**
+     * Build and publish a captured event, on a dispatcher worker thread if asynchronous dispatching is enabled.
+     */
+    private void dispatchPublishing(final Event capturedEvent) {
+
+        AuthnDataPublisherUtils.dispatch(getName(), capturedEvent.getEventName(), new Runnable() {
+            @Override
+            public void run() {
+
+                long startTime = PublisherMetrics.getInstance().startTimer();
+                AuthenticationData authenticationData;
+                if (IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(capturedEvent
+                        .getEventName()) || IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name()
+                        .equals(capturedEvent.getEventName())) {
+                    authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStep(capturedEvent);
+                } else {
+                    authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthentication(
+                            capturedEvent);
+                }
+                publishAuthenticationData(authenticationData, capturedEvent.getEventName(), startTime);
+            }
+        });
+    }
+
     protected void publishAuthenticationData(AuthenticationData authenticationData) {
 
+        publishAuthenticationData(authenticationData, null, 0);
+    }
+
+    /**
+     * Publish the authentication data of an event, recording the metrics of the event.
+     *
+     * @param authenticationData Authentication data of the event.
+     * @param eventName          Name of the event.
+     * @param startTime          Time building the event started at, as returned by
+     *                           {@link PublisherMetrics#startTimer()}.
+     */
+    protected void publishAuthenticationData(AuthenticationData authenticationData, String eventName,
+                                             long startTime) {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
         try {
             Object[] payloadData = populatePayloadData(authenticationData);
+            long publishStartTime = metrics.recordBuild(getName(), eventName, startTime);
             publishEvent(payloadData, authenticationData);
+            metrics.recordPublish(getName(), eventName, publishStartTime);
         } catch (IdentityRuntimeException e) {
+            metrics.recordError(getName(), eventName);
             if (LOG.isDebugEnabled()) {
                 LOG.error("Error while publishing authentication data", e);
             }
@@ -91,59 +158,7 @@ public class AnalyticsLoginDataPublishHandler extends AbstractEventHandler {
 
     protected Object[] populatePayloadData(AuthenticationData authenticationData) {
 
-        String roleList = null;
-        if (FrameworkConstants.LOCAL_IDP_NAME.equalsIgnoreCase(authenticationData.getIdentityProviderType())) {
-            roleList = getCommaSeparatedUserRoles(authenticationData.getUserStoreDomain() + "/" +
-                    authenticationData.getUsername(), authenticationData.getTenantDomain());
-        } else if (StringUtils.isNotEmpty(authenticationData.getLocalUsername())) {
-            roleList = getCommaSeparatedUserRoles(authenticationData.getUserStoreDomain() + "/" +
-                    authenticationData.getLocalUsername(), authenticationData.getTenantDomain());
-        }
-
-        Object[] payloadData = new Object[24];
-        payloadData[0] = authenticationData.getContextId();
-        payloadData[1] = authenticationData.getEventId();
-        payloadData[2] = authenticationData.getEventType();
-        payloadData[3] = authenticationData.isAuthnSuccess();
-        payloadData[4] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.USERNAME,
-                authenticationData.getUsername());
-        payloadData[5] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.USERNAME,
-                authenticationData.getLocalUsername());
-        payloadData[6] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.USER_STORE_DOMAIN,
-                authenticationData.getUserStoreDomain());
-        payloadData[7] = authenticationData.getTenantDomain();
-        payloadData[8] = authenticationData.getRemoteIp();
-        payloadData[9] = AuthPublisherConstants.NOT_AVAILABLE;
-        payloadData[10] = authenticationData.getInboundProtocol();
-        payloadData[11] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.SERVICE_PROVIDER,
-                authenticationData.getServiceProvider());
-        payloadData[12] = authenticationData.isRememberMe();
-        payloadData[13] = authenticationData.isForcedAuthn();
-        payloadData[14] = authenticationData.isPassive();
-        payloadData[15] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.ROLES, roleList);
-        payloadData[16] = String.valueOf(authenticationData.getStepNo());
-        payloadData[17] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.IDENTITY_PROVIDER,
-                authenticationData.getIdentityProvider());
-        payloadData[18] = authenticationData.isSuccess();
-        payloadData[19] = authenticationData.getAuthenticator();
-        payloadData[20] = authenticationData.isInitialLogin();
-        payloadData[21] = authenticationData.getIdentityProviderType();
-        payloadData[22] = AuthnDataPublisherUtils.replaceIfNotAvailable(
-                AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.USERNAME_USER_INPUT,
-                authenticationData.getUsernameUserInput());
-        payloadData[23] = System.currentTimeMillis();
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("The created payload: " + Arrays.asList(payloadData));
-        }
-
-        return payloadData;
+        return AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0.createPayload(authenticationData);
     }
 
     protected void publishEvent(Object[] payloadData, AuthenticationData authenticationData) {
@@ -153,98 +168,13 @@ public class AnalyticsLoginDataPublishHandler extends AbstractEventHandler {
         if (publishingDomains != null && publishingDomains.length > 0) {
             publishingDomains = processPublishingDomains(publishingDomains, authenticationData.getTenantDomain());
 
-            try {
-                FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-                for (String publishingDomain : publishingDomains) {
-                    Object[] metadataArray = AuthnDataPublisherUtils.getMetaDataArray(publishingDomain);
-                    payloadData[7] = publishingDomain;
-                    payloadData[1] = UUID.randomUUID().toString();
-
-                    org.wso2.carbon.databridge.commons.Event event = new org.wso2.carbon.databridge.commons
-                            .Event(AnalyticsLoginDataPublishConstants.AUTHN_DATA_STREAM_NAME,
-                            System.currentTimeMillis(), metadataArray, null, payloadData);
-                    AnalyticsLoginDataPublishDataHolder.getInstance().getPublisherService().publish(event);
-                    if (LOG.isDebugEnabled() && event != null) {
-                        LOG.debug("Sending out to publishing domain:" + publishingDomain + " \n event : "
-                                + event.toString());
-                    }
-                }
-            } finally {
-                FrameworkUtils.endTenantFlow();
-            }
-        }
-    }
-
-    private String getCommaSeparatedUserRoles(String userName, String tenantDomain) {
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Retrieving roles for user " + userName + ", tenant domain " + tenantDomain);
-        }
-        if (tenantDomain == null || userName == null) {
-            return StringUtils.EMPTY;
-        }
-
-        RealmService realmService = AnalyticsLoginDataPublishDataHolder.getInstance().getRealmService();
-
-        UserRealm realm = null;
-        UserStoreManager userstore = null;
-
-        try {
-            int tenantId = realmService.getTenantManager().getTenantId(tenantDomain);
-            realm = (UserRealm) realmService.getTenantUserRealm(tenantId);
-            if (realm != null) {
-                userstore = realm.getUserStoreManager();
-                if (userstore.isExistingUser(userName)) {
-                    String[] newRoles = userstore.getRoleListOfUser(userName);
-                    StringBuilder sb = new StringBuilder();
-                    List<String> externalRoles = AuthnDataPublisherUtils.filterRoles(newRoles);
-                    for (String role : externalRoles) {
-                        sb.append(",").append(role);
-                    }
-                    if (sb.length() > 0) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Returning roles, " + sb.substring(1));
-                        }
-                        return sb.substring(1); //remove the first comma
-                    }
-                }
-            } else {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("No realm found. for tenant domain : " + tenantDomain + ". Hence no roles added");
-                }
-            }
-        } catch (UserStoreException e) {
-            LOG.error("Error when getting user store for " + userName + "@" + tenantDomain, e);
-        }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("No roles found. Returning empty string");
-        }
-        return StringUtils.EMPTY;
-    }
-
-    private boolean isAnalyticsLoginDataPublishingEnabled(Event event) throws IdentityEventException {
-
-        if (this.configs.getModuleProperties() != null) {
-            String handlerEnabled = this.configs.getModuleProperties()
-                    .getProperty(AnalyticsLoginDataPublishConstants.ANALYTICS_LOGIN_DATA_PUBLISHER_ENABLED);
-            return Boolean.parseBoolean(handlerEnabled);
-        }
-
-        return false;
-    }
-
-    private boolean isMultipleEventPublishingForSaasAppsEnabled() {
-
-        if (this.configs.getModuleProperties() != null) {
-            String multipleEventPublishingForSaasAppsEnabled = this.configs.getModuleProperties().
-                    getProperty(AnalyticsLoginDataPublishConstants.
-                            ANALYTICS_LOGIN_DATA_PUBLISHER_ENABLE_MULTIPLE_EVENT_PUBLISHING_FOR_SAAS_APPS);
-            if (StringUtils.isNotBlank(multipleEventPublishingForSaasAppsEnabled)) {
-                return Boolean.parseBoolean(multipleEventPublishingForSaasAppsEnabled);
-            }
+            List<org.wso2.carbon.databridge.commons.Event> events = FAN_OUT.createEvents(payloadData,
+                    publishingDomains);
+            PublisherTracer.getInstance().trace(LOG, getName(), authenticationData.getServiceProvider(),
+                    publishingDomains, events, AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0);
+            AuthnDataPublisherUtils.publishEvents(AnalyticsLoginDataPublishDataHolder.getInstance()
+                    .getPublisherService(), events);
         }
-        // If Multiple Event Publishing For SaaS Apps property is not defined, return true as default value.
-        return true;
     }
 
     /**
@@ -257,8 +187,8 @@ public class AnalyticsLoginDataPublishHandler extends AbstractEventHandler {
      */
     private String[] processPublishingDomains(String[] publishingDomains, String userTenantDomain) {
 
-        if (!isMultipleEventPublishingForSaasAppsEnabled() && ArrayUtils.getLength(publishingDomains) == 2 &&
-                StringUtils.isNotBlank(userTenantDomain)) {
+        if (!handlerConfig.isMultipleEventPublishingForSaasAppsEnabled() &&
+                ArrayUtils.getLength(publishingDomains) == 2 && StringUtils.isNotBlank(userTenantDomain)) {
             // If we have two publishing domains one is user tenant domain and other one is sp tenant domain.
             String spTenantDomain;
             if (userTenantDomain.equalsIgnoreCase(publishingDomains[0])) {
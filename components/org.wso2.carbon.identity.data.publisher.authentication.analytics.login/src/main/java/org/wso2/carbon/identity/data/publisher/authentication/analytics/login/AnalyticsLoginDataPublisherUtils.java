@@ -22,16 +22,12 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
-import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
-import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.common.model.User;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
+import org.wso2.carbon.identity.data.publisher.application.authentication.sampling.EventSampler;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.event.Event;
@@ -39,13 +35,6 @@ import org.wso2.carbon.identity.event.event.Event;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-
-import javax.servlet.http.HttpServletRequest;
-
-import static org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishConstants.IS_INVALID_USERNAME;
-import static org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishConstants.USERNAME_USER_INPUT;
 
 /**
  * Utils for Analytics Login data publisher.
@@ -58,6 +47,54 @@ public class AnalyticsLoginDataPublisherUtils {
     private static final String WORKFLOW_DOMAIN = "Workflow";
     private static final String INTERNAL_EVERYONE_ROLE = "Internal/everyone";
 
+    /**
+     * Decide whether an authentication event is published, before its authentication data is built. The event is
+     * sampled and rate limited for the tenant domain of the service provider, as the tenant domain of the user is
+     * not known for the login attempts of invalid users.
+     *
+     * @param eventSampler Sampler of the handler, or null if all the events are published.
+     * @param event        Triggered event.
+     * @return True if the event should be published.
+     */
+    public static boolean isSampled(EventSampler eventSampler, Event event) {
+
+        if (eventSampler == null || !isAuthenticationEvent(event.getEventName())) {
+            return true;
+        }
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
+        return eventSampler.sample(event.getEventName(), snapshot.getTenantDomain(), snapshot.getServiceProvider(),
+                snapshot.getContextIdentifier());
+    }
+
+    /**
+     * @return True if the event is one of the authentication events published by the login data handlers.
+     */
+    public static boolean isAuthenticationEvent(String eventName) {
+
+        return IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(eventName) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name().equals(eventName) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_SUCCESS.name().equals(eventName) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_FAILURE.name().equals(eventName);
+    }
+
+    /**
+     * Capture the values of an authentication event from its live contexts into a copy of the event, which can be
+     * built and published on another thread. The invalid username flag of a step is cleared from the authentication
+     * context once it is captured, as it is only meant for the step it was raised in.
+     *
+     * @param event Triggered event.
+     * @return Copy of the event carrying only its snapshot.
+     */
+    public static Event captureEvent(Event event) {
+
+        Event capturedEvent = AuthenticationEventSnapshot.detach(event);
+        if (IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(event.getEventName()) ||
+                IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name().equals(event.getEventName())) {
+            clearInvalidUsername(event);
+        }
+        return capturedEvent;
+    }
+
     /**
      * Build authentication data object for authentication step from event.
      *
@@ -66,47 +103,32 @@ public class AnalyticsLoginDataPublisherUtils {
      */
     public static AuthenticationData buildAuthnDataForAuthnStep(Event event) {
 
-        Map<String, Object> properties = event.getEventProperties();
-        HttpServletRequest request = (HttpServletRequest) properties.get(IdentityEventConstants.EventProperty.REQUEST);
-        Map<String, Object> params = (Map<String, Object>) properties.get(IdentityEventConstants.EventProperty.PARAMS);
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
-        AuthenticatorStatus status = (AuthenticatorStatus) properties.get(IdentityEventConstants.EventProperty.
-                AUTHENTICATION_STATUS);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
+        clearInvalidUsername(event);
 
         AuthenticationData authenticationData = new AuthenticationData();
-        setIdpForAuthnStep(context, authenticationData);
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        boolean isInvalidUsername =
-                context.getProperty(IS_INVALID_USERNAME) != null && (boolean) context.getProperty(IS_INVALID_USERNAME);
-        context.setProperty(IS_INVALID_USERNAME, null);
-        setUserDataForAuthnStep(authenticationData, userObj, isInvalidUsername);
-
-        Object isFederatedObj = params.get(FrameworkConstants.AnalyticsAttributes.IS_FEDERATED);
-        setIdpTypeForAuthnStep(authenticationData, isFederatedObj);
-
-        authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        setIdpForAuthnStep(snapshot, authenticationData);
+        setUserDataForAuthnStep(authenticationData, snapshot);
+        setIdpTypeForAuthnStep(authenticationData, snapshot.getFederated());
+
+        authenticationData.setContextId(snapshot.getContextIdentifier());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         authenticationData.setEventType(AnalyticsLoginDataPublishConstants.STEP_EVENT);
         authenticationData.setAuthnSuccess(false);
-        if (request != null) {
-            authenticationData.setRemoteIp(IdentityUtil.getClientIpAddress(request));
-        } else {
-            authenticationData.setRemoteIp((String) params.get(AuthPublisherConstants.REMOTE_IP_ADDRESS));
-        }
-        authenticationData.setServiceProvider(context.getServiceProviderName());
-        authenticationData.setInboundProtocol(context.getRequestType());
-        authenticationData.setRememberMe(context.isRememberMe());
-        authenticationData.setForcedAuthn(context.isForceAuthenticate());
-        authenticationData.setPassive(context.isPassiveAuthenticate());
+        authenticationData.setRemoteIp(snapshot.getRemoteIp());
+        authenticationData.setServiceProvider(AuthnDataPublisherUtils.intern(snapshot.getServiceProvider()));
+        authenticationData.setInboundProtocol(AuthnDataPublisherUtils.intern(snapshot.getInboundProtocol()));
+        authenticationData.setRememberMe(snapshot.isRememberMe());
+        authenticationData.setForcedAuthn(snapshot.isForcedAuthn());
+        authenticationData.setPassive(snapshot.isPassive());
         authenticationData.setInitialLogin(false);
-        authenticationData.setAuthenticator(context.getCurrentAuthenticator());
-        authenticationData.setSuccess(AuthenticatorStatus.PASS == status);
-        authenticationData.setStepNo(context.getCurrentStep());
-        authenticationData.setUsernameUserInput((String) context.getProperty(USERNAME_USER_INPUT));
-        setTenantDataForIdpStep(context, status, authenticationData);
+        authenticationData.setAuthenticator(AuthnDataPublisherUtils.intern(snapshot.getCurrentAuthenticator()));
+        authenticationData.setSuccess(AuthenticatorStatus.PASS == snapshot.getStatus());
+        authenticationData.setStepNo(snapshot.getCurrentStep());
+        authenticationData.setUsernameUserInput(snapshot.getUsernameUserInput());
+        setTenantDataForIdpStep(snapshot, authenticationData);
 
-        authenticationData.addParameter(AuthPublisherConstants.RELYING_PARTY, context.getRelyingParty());
+        authenticationData.addParameter(AuthPublisherConstants.RELYING_PARTY, snapshot.getRelyingParty());
         return authenticationData;
     }
 
@@ -120,44 +142,53 @@ public class AnalyticsLoginDataPublisherUtils {
     public static AuthenticationData buildAuthnDataForAuthnStepV110(Event event) {
 
         AuthenticationData authenticationData = buildAuthnDataForAuthnStep(event);
-        Map<String, Object> properties = event.getEventProperties();
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
         authenticationData.setDuration(AnalyticsLoginDataPublisherUtils.replaceIfLongNotAvailable(
-                context.getAnalyticsData(FrameworkConstants.AnalyticsData.CURRENT_AUTHENTICATOR_DURATION)));
+                snapshot.getAuthenticatorDuration()));
         authenticationData.setErrorCode(AnalyticsLoginDataPublisherUtils.replaceIfStringNotAvailable(
-                context.getAnalyticsData(FrameworkConstants.AnalyticsData.CURRENT_AUTHENTICATOR_ERROR_CODE)));
-        authenticationData.setCustomParams(getCustomParam(context));
+                snapshot.getAuthenticatorErrorCode()));
+        authenticationData.setCustomParams(getCustomParam(snapshot));
         return authenticationData;
     }
 
-    private static void setTenantDataForIdpStep(AuthenticationContext context, AuthenticatorStatus status,
+    /**
+     * Clear the invalid username flag of the step from the authentication context, once the snapshot has captured
+     * it, as the flag is only meant for the step it was raised in.
+     */
+    private static void clearInvalidUsername(Event event) {
+
+        Object context = event.getEventProperties().get(IdentityEventConstants.EventProperty.CONTEXT);
+        if (context instanceof AuthenticationContext) {
+            ((AuthenticationContext) context).setProperty(AnalyticsLoginDataPublishConstants.IS_INVALID_USERNAME,
+                    null);
+        }
+    }
+
+    private static void setTenantDataForIdpStep(AuthenticationEventSnapshot snapshot,
                                                 AuthenticationData authenticationData) {
 
-        if (AuthenticatorStatus.PASS == status) {
+        if (AuthenticatorStatus.PASS == snapshot.getStatus()) {
             authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                    AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), authenticationData.
+                    AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), authenticationData.
                             getTenantDomain()));
         } else {
             // Should publish the event to both SP tenant domain and the tenant domain of the user who did the login
             // attempt
-            if (context.getSequenceConfig() != null && context.getSequenceConfig().getApplicationConfig() != null
-                    && context.getSequenceConfig().getApplicationConfig().isSaaSApp()) {
+            if (snapshot.isSaasApp()) {
                 authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                        AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), authenticationData.
+                        AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), authenticationData.
                                 getTenantDomain()));
             } else {
                 authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                        AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), null));
+                        AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), null));
             }
 
         }
     }
 
-    private static void setIdpTypeForAuthnStep(AuthenticationData authenticationData, Object isFederatedObj) {
+    private static void setIdpTypeForAuthnStep(AuthenticationData authenticationData, Boolean isFederated) {
 
-        if (isFederatedObj != null) {
-            boolean isFederated = (Boolean) isFederatedObj;
+        if (isFederated != null) {
             if (isFederated) {
                 authenticationData.setIdentityProviderType(FrameworkConstants.FEDERATED_IDP_NAME);
             } else {
@@ -167,30 +198,30 @@ public class AnalyticsLoginDataPublisherUtils {
         }
     }
 
-    private static void setUserDataForAuthnStep(AuthenticationData authenticationData, Object userObj, boolean isInvalidUsername) {
+    private static void setUserDataForAuthnStep(AuthenticationData authenticationData,
+                                                AuthenticationEventSnapshot snapshot) {
 
-        if (userObj instanceof User) {
-            User user = (User) userObj;
-            authenticationData.setTenantDomain(user.getTenantDomain());
-            authenticationData.setUserStoreDomain(user.getUserStoreDomain());
-            if (!isInvalidUsername) {
-                authenticationData.setUsername(user.getUserName());
+        if (snapshot.isUser()) {
+            authenticationData.setTenantDomain(AuthnDataPublisherUtils.intern(snapshot.getUserTenantDomain()));
+            authenticationData.setUserStoreDomain(AuthnDataPublisherUtils.intern(snapshot.getUserStoreDomain()));
+            if (!snapshot.isInvalidUsername()) {
+                authenticationData.setUsername(snapshot.getUserName());
             }
         }
-        if (userObj instanceof AuthenticatedUser) {
-            AuthenticatedUser user = (AuthenticatedUser) userObj;
-            if (StringUtils.isEmpty(user.getUserName())) {
-                authenticationData.setUsername(user.getAuthenticatedSubjectIdentifier());
+        if (snapshot.isAuthenticatedUser()) {
+            if (StringUtils.isEmpty(snapshot.getUserName())) {
+                authenticationData.setUsername(snapshot.getUserSubjectIdentifier());
             }
         }
     }
 
-    private static void setIdpForAuthnStep(AuthenticationContext context, AuthenticationData authenticationData) {
+    private static void setIdpForAuthnStep(AuthenticationEventSnapshot snapshot,
+                                           AuthenticationData authenticationData) {
 
-        if (context.getExternalIdP() == null) {
+        if (snapshot.getExternalIdPName() == null) {
             authenticationData.setIdentityProvider(FrameworkConstants.LOCAL_IDP_NAME);
         } else {
-            authenticationData.setIdentityProvider(context.getExternalIdP().getIdPName());
+            authenticationData.setIdentityProvider(AuthnDataPublisherUtils.intern(snapshot.getExternalIdPName()));
         }
     }
 
@@ -202,42 +233,32 @@ public class AnalyticsLoginDataPublisherUtils {
      */
     public static AuthenticationData buildAuthnDataForAuthentication(Event event) {
 
-        Map<String, Object> properties = event.getEventProperties();
-        HttpServletRequest request = (HttpServletRequest) properties.get(IdentityEventConstants.EventProperty.REQUEST);
-        Map<String, Object> params = (Map<String, Object>) properties.get(IdentityEventConstants.EventProperty.PARAMS);
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
-        AuthenticatorStatus status = (AuthenticatorStatus) properties.get(IdentityEventConstants.EventProperty.
-                AUTHENTICATION_STATUS);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
+        AuthenticatorStatus status = snapshot.getStatus();
 
         AuthenticationData authenticationData = new AuthenticationData();
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        setUserDataForAuthentication(authenticationData, userObj);
+        setUserDataForAuthentication(authenticationData, snapshot);
 
-        authenticationData = setIdpDataAndStepForAuthentication(context, status, authenticationData);
+        authenticationData = setIdpDataAndStepForAuthentication(snapshot, authenticationData);
 
         authenticationData.setEventType(AnalyticsLoginDataPublishConstants.OVERALL_EVENT);
-        authenticationData.setContextId(context.getContextIdentifier());
-        authenticationData.setEventId(UUID.randomUUID().toString());
+        authenticationData.setContextId(snapshot.getContextIdentifier());
+        authenticationData.setEventId(AuthnDataPublisherUtils.generateEventId());
         if (AuthenticatorStatus.PASS.equals(status)) {
             authenticationData.setAuthnSuccess(true);
         } else if (AuthenticatorStatus.FAIL.equals(status)) {
             authenticationData.setAuthnSuccess(false);
         }
-        if (request != null) {
-            authenticationData.setRemoteIp(IdentityUtil.getClientIpAddress(request));
-        } else {
-            authenticationData.setRemoteIp((String) params.get(AuthPublisherConstants.REMOTE_IP_ADDRESS));
-        }
-        authenticationData.setServiceProvider(context.getServiceProviderName());
-        authenticationData.setInboundProtocol(context.getRequestType());
-        authenticationData.setRememberMe(context.isRememberMe());
-        authenticationData.setForcedAuthn(context.isForceAuthenticate());
-        authenticationData.setPassive(context.isPassiveAuthenticate());
-        authenticationData.setUsernameUserInput((String) context.getProperty(USERNAME_USER_INPUT));
-        setTenantDataForAuthentication(context, status, authenticationData);
+        authenticationData.setRemoteIp(snapshot.getRemoteIp());
+        authenticationData.setServiceProvider(AuthnDataPublisherUtils.intern(snapshot.getServiceProvider()));
+        authenticationData.setInboundProtocol(AuthnDataPublisherUtils.intern(snapshot.getInboundProtocol()));
+        authenticationData.setRememberMe(snapshot.isRememberMe());
+        authenticationData.setForcedAuthn(snapshot.isForcedAuthn());
+        authenticationData.setPassive(snapshot.isPassive());
+        authenticationData.setUsernameUserInput(snapshot.getUsernameUserInput());
+        setTenantDataForAuthentication(snapshot, authenticationData);
 
-        authenticationData.addParameter(AuthPublisherConstants.RELYING_PARTY, context.getRelyingParty());
+        authenticationData.addParameter(AuthPublisherConstants.RELYING_PARTY, snapshot.getRelyingParty());
 
         return authenticationData;
     }
@@ -252,70 +273,63 @@ public class AnalyticsLoginDataPublisherUtils {
     public static AuthenticationData buildAuthnDataForAuthenticationV110(Event event) {
 
         AuthenticationData authenticationData = buildAuthnDataForAuthentication(event);
-        Map<String, Object> properties = event.getEventProperties();
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
         authenticationData.setDuration(AnalyticsLoginDataPublisherUtils.replaceIfLongNotAvailable(
-                context.getAnalyticsData(FrameworkConstants.AnalyticsData.AUTHENTICATION_DURATION)));
+                snapshot.getAuthenticationDuration()));
         authenticationData.setErrorCode(AnalyticsLoginDataPublisherUtils.replaceIfStringNotAvailable(
-                context.getAnalyticsData(FrameworkConstants.AnalyticsData.AUTHENTICATION_ERROR_CODE)));
-        authenticationData.setCustomParams(getCustomParam(context));
+                snapshot.getAuthenticationErrorCode()));
+        authenticationData.setCustomParams(getCustomParam(snapshot));
         return authenticationData;
     }
 
-    private static void setTenantDataForAuthentication(AuthenticationContext context, AuthenticatorStatus status,
+    private static void setTenantDataForAuthentication(AuthenticationEventSnapshot snapshot,
                                                        AuthenticationData authenticationData) {
 
-        if (status == AuthenticatorStatus.PASS) {
+        if (snapshot.getStatus() == AuthenticatorStatus.PASS) {
             authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                    AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), authenticationData.
+                    AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), authenticationData.
                             getTenantDomain()));
             authenticationData.addParameter(AuthPublisherConstants.SUBJECT_IDENTIFIER,
-                    context.getSequenceConfig().getAuthenticatedUser().getAuthenticatedSubjectIdentifier());
+                    snapshot.getSequenceSubjectIdentifier());
             authenticationData.addParameter(AuthPublisherConstants.AUTHENTICATED_IDPS,
-                    context.getSequenceConfig().getAuthenticatedIdPs());
+                    snapshot.getSequenceAuthenticatedIdPs());
         } else {
             // Should publish the event to both SP tenant domain and the tenant domain of the user who did the login
             // attempt
-            if (context.getSequenceConfig() != null && context.getSequenceConfig().getApplicationConfig
-                    () != null && context.getSequenceConfig().getApplicationConfig().isSaaSApp()) {
+            if (snapshot.isSaasApp()) {
                 authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                        AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), authenticationData.
+                        AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), authenticationData.
                                 getTenantDomain()));
             } else {
                 authenticationData.addParameter(AnalyticsLoginDataPublishConstants.TENANT_DOMAIN_NAMES,
-                        AuthnDataPublisherUtils.getTenantDomains(context.getTenantDomain(), null));
+                        AuthnDataPublisherUtils.getTenantDomains(snapshot.getTenantDomain(), null));
             }
         }
     }
 
-    private static AuthenticationData setIdpDataAndStepForAuthentication(AuthenticationContext context,
-                                                                         AuthenticatorStatus status,
+    private static AuthenticationData setIdpDataAndStepForAuthentication(AuthenticationEventSnapshot snapshot,
                                                                          AuthenticationData authenticationData) {
 
         boolean isInitialLogin = false;
-        if (status == AuthenticatorStatus.PASS) {
-            Object hasFederatedStepObj = context.getProperty(FrameworkConstants.AnalyticsAttributes.HAS_FEDERATED_STEP);
-            Object hasLocalStepObj = context.getProperty(FrameworkConstants.AnalyticsAttributes.HAS_LOCAL_STEP);
-            Object isInitialLoginObj = context.getProperty(FrameworkConstants.AnalyticsAttributes.IS_INITIAL_LOGIN);
-            boolean hasPreviousLocalStep = hasPreviousLocalEvent(context);
-            boolean hasFederated = convertToBoolean(hasFederatedStepObj);
-            boolean hasLocal = convertToBoolean(hasLocalStepObj);
-            isInitialLogin = convertToBoolean(isInitialLoginObj);
+        if (snapshot.getStatus() == AuthenticatorStatus.PASS) {
+            boolean hasPreviousLocalStep = snapshot.hasPreviousLocalStep();
+            boolean hasFederated = snapshot.hasFederatedStep();
+            boolean hasLocal = snapshot.hasLocalStep();
+            isInitialLogin = snapshot.isInitialLogin();
 
             if (!hasPreviousLocalStep && hasFederated && hasLocal) {
                 authenticationData.setIdentityProviderType(FrameworkConstants.FEDERATED_IDP_NAME + "," +
                         FrameworkConstants.LOCAL_IDP_NAME);
-                authenticationData.setStepNo(getLocalStepNo(context));
+                authenticationData.setStepNo(snapshot.getLocalStepNo());
             } else if (!hasPreviousLocalStep && hasLocal) {
                 authenticationData.setIdentityProviderType(FrameworkConstants.LOCAL_IDP_NAME);
-                authenticationData.setStepNo(getLocalStepNo(context));
+                authenticationData.setStepNo(snapshot.getLocalStepNo());
             } else if (hasFederated) {
                 authenticationData.setIdentityProviderType(FrameworkConstants.FEDERATED_IDP_NAME);
             }
-            authenticationData.setIdentityProvider(AuthnDataPublisherUtils.getSubjectStepIDP(context));
+            authenticationData.setIdentityProvider(AuthnDataPublisherUtils.intern(snapshot.getSubjectStepIdP()));
             authenticationData.setSuccess(true);
-            authenticationData = fillLocalEvent(authenticationData, context);
+            authenticationData = fillLocalEvent(authenticationData, snapshot);
 
         }
         authenticationData.setInitialLogin(isInitialLogin);
@@ -324,84 +338,34 @@ public class AnalyticsLoginDataPublisherUtils {
     }
 
     private static void setUserDataForAuthentication(AuthenticationData authenticationData,
-            Object userObj) {
-
-        if (userObj instanceof AuthenticatedUser) {
-            AuthenticatedUser user = (AuthenticatedUser) userObj;
-            authenticationData.setUsername(user.getUserName());
-            try {
-                authenticationData.setUserId(user.getUserId());
-            } catch (UserIdNotFoundException e) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Null user id is found in the AuthenticatedUser instance.");
-                }
-            }
-            authenticationData.setTenantDomain(user.getTenantDomain());
-            authenticationData.setUserStoreDomain(user.getUserStoreDomain());
+                                                     AuthenticationEventSnapshot snapshot) {
+
+        if (snapshot.isAuthenticatedUser()) {
+            authenticationData.setUsername(snapshot.getUserName());
+            authenticationData.setUserId(snapshot.getUserId());
+            authenticationData.setTenantDomain(AuthnDataPublisherUtils.intern(snapshot.getUserTenantDomain()));
+            authenticationData.setUserStoreDomain(AuthnDataPublisherUtils.intern(snapshot.getUserStoreDomain()));
         }
     }
 
     private static AuthenticationData fillLocalEvent(AuthenticationData authenticationData,
-                                                     AuthenticationContext context) {
-
-        AuthenticatedIdPData localIDPData = null;
-        Map<String, AuthenticatedIdPData> previousAuthenticatedIDPs = context.getPreviousAuthenticatedIdPs();
-        Map<String, AuthenticatedIdPData> currentAuthenticatedIDPs = context.getCurrentAuthenticatedIdPs();
-        if (currentAuthenticatedIDPs != null && currentAuthenticatedIDPs.size() > 0) {
-            localIDPData = currentAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
-        }
-        if (localIDPData == null && previousAuthenticatedIDPs != null && previousAuthenticatedIDPs.size() > 0) {
-            localIDPData = previousAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
-        }
-
-        if (localIDPData != null) {
-            authenticationData.setLocalUsername(localIDPData.getUser().getAuthenticatedSubjectIdentifier());
-            authenticationData.setUserStoreDomain(localIDPData.getUser().getUserStoreDomain());
-            authenticationData.setTenantDomain(localIDPData.getUser().getTenantDomain());
-            authenticationData.setAuthenticator(localIDPData.getAuthenticator().getName());
+                                                     AuthenticationEventSnapshot snapshot) {
+
+        if (snapshot.isLocalIdPAvailable()) {
+            authenticationData.setLocalUsername(snapshot.getLocalIdPSubjectIdentifier());
+            authenticationData.setUserStoreDomain(AuthnDataPublisherUtils.intern(snapshot
+                    .getLocalIdPUserStoreDomain()));
+            authenticationData.setTenantDomain(AuthnDataPublisherUtils.intern(snapshot.getLocalIdPTenantDomain()));
+            authenticationData.setAuthenticator(AuthnDataPublisherUtils.intern(snapshot.getLocalIdPAuthenticator()));
         }
         return authenticationData;
     }
 
-    private static boolean hasPreviousLocalEvent(AuthenticationContext context) {
-
-        Map<String, AuthenticatedIdPData> previousAuthenticatedIDPs = context.getPreviousAuthenticatedIdPs();
-        if (previousAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME) != null) {
-            return true;
-        }
-        return false;
-    }
-
-    private static boolean convertToBoolean(Object object) {
-
-        if (object != null) {
-            return (Boolean) object;
-        }
-        return false;
-    }
-
-    private static int getLocalStepNo(AuthenticationContext context) {
-
-        int stepNo = 0;
-        Map<Integer, StepConfig> map = context.getSequenceConfig().getStepMap();
-        for (Map.Entry<Integer, StepConfig> entry : map.entrySet()) {
-            StepConfig stepConfig = entry.getValue();
-            if (stepConfig != null && FrameworkConstants.LOCAL_IDP_NAME.equalsIgnoreCase(stepConfig
-                    .getAuthenticatedIdP())) {
-                stepNo = entry.getKey();
-                return stepNo;
-            }
-        }
-        return stepNo;
-    }
-
-    private static List<String> getCustomParam(AuthenticationContext context) {
+    private static List<String> getCustomParam(AuthenticationEventSnapshot snapshot) {
 
         List<String> customParams = new ArrayList<>();
-        for (int i = 0; i < FrameworkConstants.AnalyticsData.CUSTOM_PARAM_LENGTH; i++) {
-            customParams.add(AnalyticsLoginDataPublisherUtils
-                    .replaceIfStringNotAvailable(
-                            context.getAnalyticsData(FrameworkConstants.AnalyticsData.CUSTOM_PARAM_PREFIX + i)));
+        for (String customParam : snapshot.getCustomParams()) {
+            customParams.add(AnalyticsLoginDataPublisherUtils.replaceIfStringNotAvailable(customParam));
         }
         return customParams;
     }
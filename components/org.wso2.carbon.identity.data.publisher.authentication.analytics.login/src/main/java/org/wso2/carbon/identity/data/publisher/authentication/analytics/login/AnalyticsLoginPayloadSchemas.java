@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.login;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadField;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFields;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadSchema;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.internal.AnalyticsLoginDataPublishDataHolder;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+
+import java.util.List;
+
+/**
+ * Payload schemas of the versions of the overall authentication stream.
+ */
+public final class AnalyticsLoginPayloadSchemas {
+
+    public static final String EVENT_ID = "eventId";
+    public static final String TENANT_DOMAIN = "tenantDomain";
+
+    /**
+     * Schema of the org.wso2.is.analytics.stream.OverallAuthentication:1.0.0 stream.
+     */
+    public static final PayloadSchema<AuthenticationData> AUTHENTICATION_1_0_0 =
+            addAuthenticationFields(PayloadSchema.<AuthenticationData>builder(
+                    AnalyticsLoginDataPublishConstants.AUTHN_DATA_STREAM_NAME))
+                    .add("_timestamp", PayloadFields.currentTime())
+                    .build();
+
+    /**
+     * Schema of the org.wso2.is.analytics.stream.OverallAuthentication:1.1.0 stream, which adds the duration, the
+     * error code and the custom parameters of the authentication.
+     */
+    public static final PayloadSchema<AuthenticationData> AUTHENTICATION_1_1_0 = createAuthentication110Schema();
+
+    private AnalyticsLoginPayloadSchemas() {
+
+    }
+
+    private static PayloadSchema.Builder<AuthenticationData> addAuthenticationFields(
+            PayloadSchema.Builder<AuthenticationData> builder) {
+
+        return builder
+                .add("contextId", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getContextId();
+                    }
+                })
+                .add(EVENT_ID, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getEventId();
+                    }
+                })
+                .add("eventType", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getEventType();
+                    }
+                })
+                .add("authnSuccess", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isAuthnSuccess();
+                    }
+                })
+                .add("username", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.USERNAME, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getUsername();
+                    }
+                }))
+                .add("localUsername", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.USERNAME, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getLocalUsername();
+                    }
+                }))
+                .add("userStoreDomain", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.USER_STORE_DOMAIN, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getUserStoreDomain();
+                    }
+                }))
+                .add(TENANT_DOMAIN, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getTenantDomain();
+                    }
+                })
+                .add("remoteIp", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getRemoteIp();
+                    }
+                })
+                .add("region", PayloadFields.constant(AuthPublisherConstants.NOT_AVAILABLE))
+                .add("inboundAuthType", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getInboundProtocol();
+                    }
+                })
+                .add("serviceProvider", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.SERVICE_PROVIDER, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getServiceProvider();
+                    }
+                }))
+                .add("rememberMeEnabled", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isRememberMe();
+                    }
+                })
+                .add("forceAuthEnabled", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isForcedAuthn();
+                    }
+                })
+                .add("passiveAuthEnabled", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isPassive();
+                    }
+                })
+                .add("rolesCommaSeparated", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.ROLES, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return getCommaSeparatedUserRoles(data);
+                    }
+                }))
+                .add("authenticationStep", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return PayloadFields.toString(data.getStepNo());
+                    }
+                })
+                .add("identityProvider", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.IDENTITY_PROVIDER, new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getIdentityProvider();
+                    }
+                }))
+                .add("authStepSuccess", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isSuccess();
+                    }
+                })
+                .add("stepAuthenticator", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getAuthenticator();
+                    }
+                })
+                .add("isFirstLogin", new PayloadFields.BooleanField<AuthenticationData>() {
+                    @Override
+                    protected boolean getBoolean(AuthenticationData data) {
+
+                        return data.isInitialLogin();
+                    }
+                })
+                .add("identityProviderType", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return data.getIdentityProviderType();
+                    }
+                })
+                .add(AnalyticsLoginDataPublishConstants.USERNAME_USER_INPUT, PayloadFields.withDefault(
+                        AuthPublisherConstants.CONFIG_PREFIX + AuthPublisherConstants.USERNAME_USER_INPUT,
+                        new PayloadFields.StringField<AuthenticationData>() {
+                            @Override
+                            protected String getString(AuthenticationData data) {
+
+                                return data.getUsernameUserInput();
+                            }
+                        }));
+    }
+
+    private static PayloadSchema<AuthenticationData> createAuthentication110Schema() {
+
+        PayloadSchema.Builder<AuthenticationData> builder = addAuthenticationFields(PayloadSchema.
+                <AuthenticationData>builder(AnalyticsLoginDataPublishConstants.AUTHN_DATA_STREAM_1_1_0_NAME))
+                .add("_timestamp", PayloadFields.currentTime())
+                .add("duration", new PayloadFields.LongField<AuthenticationData>() {
+                    @Override
+                    protected long getLong(AuthenticationData data) {
+
+                        return AnalyticsLoginDataPublisherUtils.replaceIfLongNotAvailable(data.getDuration());
+                    }
+                })
+                .add("errorCode", new PayloadFields.StringField<AuthenticationData>() {
+                    @Override
+                    protected String getString(AuthenticationData data) {
+
+                        return AnalyticsLoginDataPublisherUtils.replaceIfStringNotAvailable(data.getErrorCode());
+                    }
+                });
+        for (int i = 0; i < FrameworkConstants.AnalyticsData.CUSTOM_PARAM_LENGTH; i++) {
+            builder.add("customParam" + (i + 1), new CustomParamField(i));
+        }
+        return builder.build();
+    }
+
+    private static String getCommaSeparatedUserRoles(AuthenticationData data) {
+
+        String userName;
+        if (FrameworkConstants.LOCAL_IDP_NAME.equalsIgnoreCase(data.getIdentityProviderType())) {
+            userName = data.getUsername();
+        } else if (StringUtils.isNotEmpty(data.getLocalUsername())) {
+            userName = data.getLocalUsername();
+        } else {
+            return null;
+        }
+        return AuthnDataPublisherUtils.getCommaSeparatedUserRoles(AnalyticsLoginDataPublishDataHolder.getInstance()
+                .getRealmService(), data.getUserStoreDomain() + "/" + userName, data.getTenantDomain());
+    }
+
+    /**
+     * Field holding a custom parameter of the authentication, or null if fewer parameters are configured.
+     */
+    private static final class CustomParamField implements PayloadField<AuthenticationData> {
+
+        private final int index;
+
+        private CustomParamField(int index) {
+
+            this.index = index;
+        }
+
+        @Override
+        public Object getValue(AuthenticationData data) {
+
+            List<String> customParams = data.getCustomParams();
+            return customParams != null && index < customParams.size() ? customParams.get(index) : null;
+        }
+    }
+}
@@ -29,6 +29,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.event.stream.core.EventStreamService;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishConstants;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandler;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandlerV110;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
@@ -69,6 +71,10 @@ public class AnalyticsLoginDataPublishServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        PublisherManagement.getInstance().removeHandlerConfiguration(AnalyticsLoginDataPublishConstants
+                .ANALYTICS_LOGIN_PUBLISHER_NAME);
+        PublisherManagement.getInstance().removeHandlerConfiguration(AnalyticsLoginDataPublishConstants
+                .ANALYTICS_LOGIN_PUBLISHER_V110_NAME);
         if (log.isDebugEnabled()) {
             log.debug(" org.wso2.carbon.identity.data.publisher.authentication.analytics.login bundle is deactivated");
         }
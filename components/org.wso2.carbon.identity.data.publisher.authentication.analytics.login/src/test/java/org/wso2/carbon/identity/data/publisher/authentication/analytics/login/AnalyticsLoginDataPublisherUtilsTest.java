@@ -32,6 +32,8 @@ import org.wso2.carbon.identity.application.authentication.framework.context.Aut
 import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.event.Event;
@@ -85,6 +87,18 @@ public class AnalyticsLoginDataPublisherUtilsTest {
         Assert.assertEquals(authenticationData.getTenantDomain(), expectedTenantDomain);
     }
 
+    @Test(dataProvider = "getEvent")
+    public void testSnapshotIsSharedAcrossBuilders(Event event, String expectedTenantDomain) {
+
+        AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStep(event);
+        Object snapshot = event.getEventProperties().get(AuthPublisherConstants.EVENT_SNAPSHOT);
+        Assert.assertTrue(snapshot instanceof AuthenticationEventSnapshot);
+
+        AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStepV110(event);
+        Assert.assertSame(event.getEventProperties().get(AuthPublisherConstants.EVENT_SNAPSHOT), snapshot);
+        Assert.assertEquals(((AuthenticationEventSnapshot) snapshot).getUserTenantDomain(), expectedTenantDomain);
+    }
+
     private Event createEvent(HttpServletRequest request, AuthenticationContext context, SessionContext sessionContext,
             Map<String, Object> params, IdentityEventConstants.EventName eventName) {
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.login;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link AnalyticsLoginPayloadSchemas}. Each payload is compared index by index with the payload the
+ * handlers filled field by field before the schemas were introduced.
+ */
+public class AnalyticsLoginPayloadSchemasTest {
+
+    private static final String DEFAULT_VALUE_PREFIX = "default:";
+
+    @BeforeMethod
+    public void setUp() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(new PayloadDefaultValues() {
+            @Override
+            public String get(String name) {
+
+                return DEFAULT_VALUE_PREFIX + name;
+            }
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(null);
+    }
+
+    @Test
+    public void testAuthentication100Payload() {
+
+        long startTime = System.currentTimeMillis();
+        Object[] payload = AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0.createPayload(createAuthenticationData());
+        long endTime = System.currentTimeMillis();
+
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0.size(), 24);
+        assertEquals(payload.length, 24);
+        assertAuthenticationFields(payload);
+        assertTimestamp(payload[23], startTime, endTime);
+    }
+
+    @Test
+    public void testAuthentication110Payload() {
+
+        long startTime = System.currentTimeMillis();
+        Object[] payload = AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.createPayload(createAuthenticationData());
+        long endTime = System.currentTimeMillis();
+
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.size(), 31);
+        assertEquals(payload.length, 31);
+        assertAuthenticationFields(payload);
+        assertTimestamp(payload[23], startTime, endTime);
+        assertEquals(payload[24], 1500L);
+        assertEquals(payload[25], "17001");
+        assertEquals(payload[26], "param1");
+        assertEquals(payload[27], "param2");
+        assertNull(payload[28]);
+        assertNull(payload[29]);
+        assertNull(payload[30]);
+    }
+
+    @Test
+    public void testFieldPositions() {
+
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0.indexOf(AnalyticsLoginPayloadSchemas.EVENT_ID),
+                1);
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_0_0.indexOf(
+                AnalyticsLoginPayloadSchemas.TENANT_DOMAIN), 7);
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.indexOf(AnalyticsLoginPayloadSchemas.EVENT_ID),
+                1);
+        assertEquals(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.indexOf(
+                AnalyticsLoginPayloadSchemas.TENANT_DOMAIN), 7);
+    }
+
+    private static AuthenticationData createAuthenticationData() {
+
+        AuthenticationData authenticationData = new AuthenticationData();
+        authenticationData.setContextId("context-id");
+        authenticationData.setEventId("event-id");
+        authenticationData.setEventType("step");
+        authenticationData.setAuthnSuccess(true);
+        authenticationData.setUsername("alice");
+        // A federated user without a local user, whose roles are not looked up.
+        authenticationData.setLocalUsername("");
+        authenticationData.setUserStoreDomain("PRIMARY");
+        authenticationData.setTenantDomain("wso2.com");
+        authenticationData.setRemoteIp("10.0.0.1");
+        authenticationData.setInboundProtocol("oidc");
+        authenticationData.setServiceProvider("travelocity");
+        authenticationData.setRememberMe(true);
+        authenticationData.setForcedAuthn(false);
+        authenticationData.setPassive(true);
+        authenticationData.setStepNo(2);
+        authenticationData.setIdentityProvider("Google");
+        authenticationData.setSuccess(false);
+        authenticationData.setAuthenticator("GoogleOIDCAuthenticator");
+        authenticationData.setInitialLogin(true);
+        authenticationData.setIdentityProviderType("FEDERATED");
+        authenticationData.setUsernameUserInput(null);
+        authenticationData.setDuration(1500L);
+        authenticationData.setErrorCode("17001");
+        authenticationData.setCustomParams(Arrays.asList("param1", "param2"));
+        return authenticationData;
+    }
+
+    private static void assertAuthenticationFields(Object[] payload) {
+
+        assertEquals(payload[0], "context-id");
+        assertEquals(payload[1], "event-id");
+        assertEquals(payload[2], "step");
+        assertEquals(payload[3], Boolean.TRUE);
+        assertEquals(payload[4], "alice");
+        assertEquals(payload[5], DEFAULT_VALUE_PREFIX + AuthPublisherConstants.CONFIG_PREFIX +
+                AuthPublisherConstants.USERNAME);
+        assertEquals(payload[6], "PRIMARY");
+        assertEquals(payload[7], "wso2.com");
+        assertEquals(payload[8], "10.0.0.1");
+        assertEquals(payload[9], AuthPublisherConstants.NOT_AVAILABLE);
+        assertEquals(payload[10], "oidc");
+        assertEquals(payload[11], "travelocity");
+        assertEquals(payload[12], Boolean.TRUE);
+        assertEquals(payload[13], Boolean.FALSE);
+        assertEquals(payload[14], Boolean.TRUE);
+        assertEquals(payload[15], DEFAULT_VALUE_PREFIX + AuthPublisherConstants.CONFIG_PREFIX +
+                AuthPublisherConstants.ROLES);
+        assertEquals(payload[16], "2");
+        assertEquals(payload[17], "Google");
+        assertEquals(payload[18], Boolean.FALSE);
+        assertEquals(payload[19], "GoogleOIDCAuthenticator");
+        assertEquals(payload[20], Boolean.TRUE);
+        assertEquals(payload[21], "FEDERATED");
+        assertEquals(payload[22], DEFAULT_VALUE_PREFIX + AuthPublisherConstants.CONFIG_PREFIX +
+                AuthPublisherConstants.USERNAME_USER_INPUT);
+    }
+
+    private static void assertTimestamp(Object timestamp, long startTime, long endTime) {
+
+        assertTrue(timestamp instanceof Long, "Timestamp: " + timestamp);
+        assertTrue((Long) timestamp >= startTime && (Long) timestamp <= endTime, "Timestamp: " + timestamp);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable view of the configuration of the analytics session data publish handler, parsed once when the handler
+ * is initialized.
+ */
+public final class AnalyticsSessionDataPublishConfig {
+
+    /**
+     * Configuration of a handler which is not initialized yet.
+     */
+    public static final AnalyticsSessionDataPublishConfig DISABLED = new AnalyticsSessionDataPublishConfig(false,
+            false, false, 0, Collections.<String, Long>emptyMap(),
+            SessionDataPublisherConstants.DEFAULT_UPDATE_COALESCING_MAX_PENDING_UPDATES);
+
+    private static final Log LOG = LogFactory.getLog(AnalyticsSessionDataPublishConfig.class);
+
+    private final boolean enabled;
+    private final boolean publishingSessionCountEnabled;
+    private final boolean localActiveSessionCountUsed;
+    private final long updateCoalescingWindowMillis;
+    private final Map<String, Long> tenantUpdateCoalescingWindowMillis;
+    private final int maxPendingUpdates;
+
+    private AnalyticsSessionDataPublishConfig(boolean enabled, boolean publishingSessionCountEnabled,
+                                              boolean localActiveSessionCountUsed,
+                                              long updateCoalescingWindowMillis,
+                                              Map<String, Long> tenantUpdateCoalescingWindowMillis,
+                                              int maxPendingUpdates) {
+
+        this.enabled = enabled;
+        this.publishingSessionCountEnabled = publishingSessionCountEnabled;
+        this.localActiveSessionCountUsed = localActiveSessionCountUsed;
+        this.updateCoalescingWindowMillis = updateCoalescingWindowMillis;
+        this.tenantUpdateCoalescingWindowMillis = tenantUpdateCoalescingWindowMillis;
+        this.maxPendingUpdates = maxPendingUpdates;
+    }
+
+    /**
+     * Parse the module properties of the handler, along with the session count publishing flag of identity.xml.
+     *
+     * @param moduleProperties Module properties of the handler, may be null.
+     * @return Handler configuration.
+     */
+    public static AnalyticsSessionDataPublishConfig build(Properties moduleProperties) {
+
+        if (moduleProperties == null) {
+            return DISABLED;
+        }
+        boolean enabled = Boolean.parseBoolean(moduleProperties.getProperty(SessionDataPublisherConstants
+                .ANALYTICS_SESSION_DATA_PUBLISHER_ENABLED));
+        boolean publishingSessionCountEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(FrameworkConstants
+                .Config.PUBLISH_ACTIVE_SESSION_COUNT));
+        boolean localActiveSessionCountUsed = Boolean.parseBoolean(moduleProperties.getProperty(
+                SessionDataPublisherConstants.USE_LOCAL_ACTIVE_SESSION_COUNT));
+        long updateCoalescingWindowMillis = parseWindow(SessionDataPublisherConstants.UPDATE_COALESCING_WINDOW,
+                moduleProperties.getProperty(SessionDataPublisherConstants.UPDATE_COALESCING_WINDOW), 0);
+        Map<String, Long> tenantUpdateCoalescingWindowMillis = new HashMap<>();
+        String tenantWindowPrefix = SessionDataPublisherConstants.UPDATE_COALESCING_WINDOW + ".";
+        for (String propertyName : moduleProperties.stringPropertyNames()) {
+            if (propertyName.startsWith(tenantWindowPrefix) && propertyName.length() > tenantWindowPrefix.length()) {
+                tenantUpdateCoalescingWindowMillis.put(propertyName.substring(tenantWindowPrefix.length()),
+                        parseWindow(propertyName, moduleProperties.getProperty(propertyName),
+                                updateCoalescingWindowMillis));
+            }
+        }
+        int maxPendingUpdates = AuthnDataPublisherUtils.getPositiveIntProperty(moduleProperties,
+                SessionDataPublisherConstants.UPDATE_COALESCING_MAX_PENDING_UPDATES,
+                SessionDataPublisherConstants.DEFAULT_UPDATE_COALESCING_MAX_PENDING_UPDATES);
+        return new AnalyticsSessionDataPublishConfig(enabled, publishingSessionCountEnabled,
+                localActiveSessionCountUsed, updateCoalescingWindowMillis,
+                Collections.unmodifiableMap(tenantUpdateCoalescingWindowMillis), maxPendingUpdates);
+    }
+
+    private static long parseWindow(String name, String value, long defaultValue) {
+
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            long window = Long.parseLong(value.trim());
+            if (window >= 0) {
+                return window;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below.
+        }
+        LOG.warn("Invalid value: " + value + " configured for the property: " + name + ". Using the default " +
+                "value: " + defaultValue);
+        return defaultValue;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public boolean isPublishingSessionCountEnabled() {
+
+        return publishingSessionCountEnabled;
+    }
+
+    /**
+     * @return Whether the published active session count is taken from the counter kept by the publisher, rather than
+     * the count computed by the framework.
+     */
+    public boolean isLocalActiveSessionCountUsed() {
+
+        return localActiveSessionCountUsed;
+    }
+
+    /**
+     * @return Whether session updates are coalesced for the tenants which do not override the window.
+     */
+    public boolean isUpdateCoalescingEnabled() {
+
+        if (updateCoalescingWindowMillis > 0) {
+            return true;
+        }
+        for (Long window : tenantUpdateCoalescingWindowMillis.values()) {
+            if (window > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param tenantDomain Tenant domain of the session.
+     * @return Window the updates of a session of the tenant are coalesced in, in milliseconds, or 0 if the updates
+     * are published as they happen.
+     */
+    public long getUpdateCoalescingWindowMillis(String tenantDomain) {
+
+        if (tenantDomain != null) {
+            Long window = tenantUpdateCoalescingWindowMillis.get(tenantDomain);
+            if (window != null) {
+                return window;
+            }
+        }
+        return updateCoalescingWindowMillis;
+    }
+
+    public int getMaxPendingUpdates() {
+
+        return maxPendingUpdates;
+    }
+
+    @Override
+    public String toString() {
+
+        return "enabled: " + enabled + ", publishingSessionCountEnabled: " + publishingSessionCountEnabled +
+                ", localActiveSessionCountUsed: " + localActiveSessionCountUsed +
+                ", updateCoalescingWindowMillis: " + updateCoalescingWindowMillis +
+                ", tenantUpdateCoalescingWindowMillis: " + tenantUpdateCoalescingWindowMillis +
+                ", maxPendingUpdates: " + maxPendingUpdates;
+    }
+}
@@ -21,24 +21,28 @@ package org.wso2.carbon.identity.data.publisher.authentication.analytics.session
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.bean.context.MessageContext;
-import org.wso2.carbon.identity.core.handler.AbstractIdentityMessageHandler;
-import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.core.handler.InitConfig;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.EventListenerConfigCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.ActiveSessionCounter;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFanOut;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadSchema;
+import org.wso2.carbon.identity.data.publisher.application.authentication.trace.PublisherTracer;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.internal.SessionDataPublishServiceHolder;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
-import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
 
 /**
  * Handle data publishing for analytics.
@@ -46,6 +50,13 @@ import java.util.Arrays;
 public class AnalyticsSessionDataPublishHandler extends AbstractEventHandler {
 
     private static final Log LOG = LogFactory.getLog(AnalyticsSessionDataPublishHandler.class);
+    private static final PayloadFanOut SESSION_FAN_OUT = PayloadFanOut.forSchema(
+            SessionPayloadSchemas.SESSION_1_0_0, SessionPayloadSchemas.TENANT_DOMAIN, null);
+    private static final PayloadFanOut SESSION_WITH_COUNT_FAN_OUT = PayloadFanOut.forSchema(
+            SessionPayloadSchemas.SESSION_1_0_1, SessionPayloadSchemas.TENANT_DOMAIN, null);
+
+    private volatile AnalyticsSessionDataPublishConfig handlerConfig = AnalyticsSessionDataPublishConfig.DISABLED;
+    private volatile SessionUpdateCoalescer updateCoalescer;
 
     @Override
     public String getName() {
@@ -53,25 +64,111 @@ public class AnalyticsSessionDataPublishHandler extends AbstractEventHandler {
         return SessionDataPublisherConstants.ANALYTICS_SESSION_PUBLISHER_NAME;
     }
 
+    @Override
+    public void init(InitConfig configuration) throws IdentityRuntimeException {
+
+        super.init(configuration);
+        reloadConfiguration();
+    }
+
+    /**
+     * Parse the configuration of the handler again, after it has changed.
+     */
+    public void reloadConfiguration() {
+
+        Properties moduleProperties = this.configs != null ? this.configs.getModuleProperties() : null;
+        AnalyticsSessionDataPublishConfig config = AnalyticsSessionDataPublishConfig.build(moduleProperties);
+        SessionUpdateCoalescer previousCoalescer = updateCoalescer;
+        if (config.isEnabled() && config.isUpdateCoalescingEnabled()) {
+            updateCoalescer = new SessionUpdateCoalescer(new SessionUpdateCoalescer.Publisher() {
+                @Override
+                public void publish(SessionData sessionData) {
+
+                    publishPayload(sessionData);
+                }
+            }, config.getMaxPendingUpdates());
+        } else {
+            updateCoalescer = null;
+        }
+        handlerConfig = config;
+        if (previousCoalescer != null) {
+            previousCoalescer.shutdown();
+        }
+        PublisherManagement.getInstance().setHandlerConfiguration(getName(), handlerConfig);
+    }
+
+    /**
+     * Stop coalescing the session updates and publish the pending ones.
+     */
+    public void stopUpdateCoalescing() {
+
+        SessionUpdateCoalescer coalescer = updateCoalescer;
+        updateCoalescer = null;
+        if (coalescer != null) {
+            coalescer.shutdown();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Stopped coalescing session updates. " + coalescer.getStatistics());
+            }
+        }
+    }
+
+    /**
+     * @return Coalescer of the session updates, or null if the updates are published as they happen.
+     */
+    public SessionUpdateCoalescer getUpdateCoalescer() {
+
+        return updateCoalescer;
+    }
+
+    public AnalyticsSessionDataPublishConfig getHandlerConfig() {
+
+        return handlerConfig;
+    }
+
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
-        boolean isEnabled = isAnalyticsSessionDataPublishingEnabled(event);
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        if (!handlerConfig.isEnabled()) {
+            metrics.recordSkip(getName(), event.getEventName());
+            return;
+        }
 
-        if (!isEnabled) {
+        String eventName = event.getEventName();
+        if (!IdentityEventConstants.EventName.SESSION_CREATE.name().equals(eventName) &&
+                !IdentityEventConstants.EventName.SESSION_TERMINATE.name().equals(eventName) &&
+                !IdentityEventConstants.EventName.SESSION_UPDATE.name().equals(eventName)) {
+            metrics.recordSkip(getName(), eventName);
+            LOG.error("Event " + eventName + " cannot be handled");
             return;
         }
+        final Event capturedEvent = AuthenticationEventSnapshot.detach(event);
+        AuthnDataPublisherUtils.dispatch(getName(), eventName, new Runnable() {
+            @Override
+            public void run() {
+
+                publishSessionEvent(capturedEvent);
+            }
+        });
+    }
 
+    /**
+     * Build and publish the session data of a captured session event, recording the metrics of the event.
+     */
+    private void publishSessionEvent(Event event) {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        long startTime = metrics.startTimer();
         SessionData sessionData = SessionDataPublisherUtil.buildSessionData(event);
+        long publishStartTime = metrics.recordBuild(getName(), event.getEventName(), startTime);
         if (IdentityEventConstants.EventName.SESSION_CREATE.name().equals(event.getEventName())) {
             doPublishSessionCreation(sessionData);
         } else if (IdentityEventConstants.EventName.SESSION_TERMINATE.name().equals(event.getEventName())) {
             doPublishSessionTermination(sessionData);
-        } else if (IdentityEventConstants.EventName.SESSION_UPDATE.name().equals(event.getEventName())) {
-            doPublishSessionUpdate(sessionData);
         } else {
-            LOG.error("Event " + event.getEventName() + " cannot be handled");
+            doPublishSessionUpdate(sessionData);
         }
+        metrics.recordPublish(getName(), event.getEventName(), publishStartTime);
     }
 
     protected void doPublishSessionCreation(SessionData sessionData) {
@@ -93,132 +190,100 @@ public class AnalyticsSessionDataPublishHandler extends AbstractEventHandler {
     protected void publishSessionData(SessionData sessionData, int actionId) {
 
         SessionDataPublisherUtil.updateTimeStamps(sessionData, actionId);
-        try {
-            Object[] payloadData;
-            if (isPublishingSessionCountEnabled()) {
-                payloadData = createPayloadWithSessionCount(sessionData, actionId);
-                publishToAnalytics(sessionData, payloadData, AuthPublisherConstants
-                        .SESSION_DATA_STREAM_WITH_SESSION_COUNT_NAME);
+        sessionData.setActionId(actionId);
+        countActiveSession(sessionData, actionId);
+        SessionUpdateCoalescer coalescer = updateCoalescer;
+        if (coalescer != null) {
+            if (actionId == SessionDataPublisherConstants.SESSION_UPDATE_STATUS) {
+                coalescer.add(sessionData, handlerConfig.getUpdateCoalescingWindowMillis(
+                        sessionData.getTenantDomain()));
+                return;
+            }
+            // Publish the pending update first so that the creation and termination are not overtaken by it.
+            coalescer.flush(sessionData.getSessionId());
+        }
+        publishPayload(sessionData);
+    }
+
+    /**
+     * Keep the local active session count of the tenant up to date with the session event, and publish it instead of
+     * the count computed by the framework if configured so.
+     */
+    private void countActiveSession(SessionData sessionData, int actionId) {
+
+        ActiveSessionCounter activeSessionCounter = AuthnDataPublisherUtils.getActiveSessionCounter();
+        if (activeSessionCounter == null) {
+            return;
+        }
+        if (actionId == SessionDataPublisherConstants.SESSION_TERMINATION_STATUS) {
+            activeSessionCounter.sessionTerminated(sessionData.getSessionId());
+        } else if (sessionData.getCreatedTimestamp() > 0) {
+            long expiryTime = AuthnDataPublisherUtils.getSessionExpirationTime(sessionData.getCreatedTimestamp(),
+                    sessionData.getUpdatedTimestamp(), sessionData.getTenantDomain(), sessionData.isRememberMe());
+            if (actionId == SessionDataPublisherConstants.SESSION_CREATION_STATUS) {
+                activeSessionCounter.sessionCreated(sessionData.getTenantDomain(), sessionData.getSessionId(),
+                        expiryTime);
             } else {
-                payloadData = createPayload(sessionData, actionId);
-                publishToAnalytics(sessionData, payloadData, AuthPublisherConstants.SESSION_DATA_STREAM_NAME);
+                activeSessionCounter.sessionUpdated(sessionData.getTenantDomain(), sessionData.getSessionId(),
+                        expiryTime);
             }
+        }
+        if (handlerConfig.isLocalActiveSessionCountUsed()) {
+            sessionData.setActiveSessionCount((int) Math.min(Integer.MAX_VALUE,
+                    activeSessionCounter.getActiveSessionCount(sessionData.getTenantDomain())));
+        }
+    }
 
+    private void publishPayload(SessionData sessionData) {
+
+        try {
+            PayloadSchema<SessionData> payloadSchema;
+            PayloadFanOut fanOut;
+            if (handlerConfig.isPublishingSessionCountEnabled()) {
+                payloadSchema = SessionPayloadSchemas.SESSION_1_0_1;
+                fanOut = SESSION_WITH_COUNT_FAN_OUT;
+            } else {
+                payloadSchema = SessionPayloadSchemas.SESSION_1_0_0;
+                fanOut = SESSION_FAN_OUT;
+            }
+            Object[] payloadData = payloadSchema.createPayload(sessionData);
+            publishToAnalytics(sessionData, payloadData, payloadSchema, fanOut);
         } catch (IdentityRuntimeException e) {
+            PublisherMetrics.getInstance().recordError(getName(), getEventName(sessionData.getActionId()));
             if (LOG.isDebugEnabled()) {
                 LOG.error("Error while publishing session information", e);
             }
         }
-
     }
 
-    private void publishToAnalytics(SessionData sessionData, Object[] payloadData, String eventStreamName) {
+    private void publishToAnalytics(SessionData sessionData, Object[] payloadData, PayloadSchema<SessionData> schema,
+                                    PayloadFanOut fanOut) {
 
         String[] publishingDomains = (String[]) sessionData.getParameter(AuthPublisherConstants.TENANT_ID);
         if (publishingDomains != null && publishingDomains.length > 0) {
-            try {
-                FrameworkUtils.startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-                for (String publishingDomain : publishingDomains) {
-                    Object[] metadataArray = AuthnDataPublisherUtils.getMetaDataArray(publishingDomain);
-                    payloadData[9] = publishingDomain;
-                    org.wso2.carbon.databridge.commons.Event event =
-                            new org.wso2.carbon.databridge.commons.Event(eventStreamName, System.currentTimeMillis(),
-                                    metadataArray, null, payloadData);
-                    SessionDataPublishServiceHolder.getInstance().getPublisherService().publish(event);
-                    if (LOG.isDebugEnabled() && event != null) {
-                        LOG.debug("Sending out to publishing domain:" + publishingDomain + " \n event : "
-                                + event.toString());
-                    }
-                }
-            } finally {
-                FrameworkUtils.endTenantFlow();
-            }
+            List<org.wso2.carbon.databridge.commons.Event> events = fanOut.createEvents(payloadData,
+                    publishingDomains);
+            PublisherTracer.getInstance().trace(LOG, getName(), sessionData.getServiceProvider(), publishingDomains,
+                    events, schema);
+            AuthnDataPublisherUtils.publishEvents(SessionDataPublishServiceHolder.getInstance().getPublisherService(),
+                    events);
         }
     }
 
-    private Object[] createPayload(SessionData sessionData, int actionId) {
-
-        Object[] payloadData = new Object[15];
-        payloadData[0] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.SESSION_ID, sessionData.getSessionId());
-        payloadData[1] = sessionData.getCreatedTimestamp();
-        payloadData[2] = sessionData.getUpdatedTimestamp();
-        payloadData[3] = sessionData.getTerminationTimestamp();
-        payloadData[4] = actionId;
-        payloadData[5] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.USERNAME, sessionData.getUser());
-        payloadData[6] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.USER_STORE_DOMAIN, sessionData.getUserStoreDomain());
-        payloadData[7] = sessionData.getRemoteIP();
-        payloadData[8] = AuthPublisherConstants.NOT_AVAILABLE;
-        payloadData[9] = sessionData.getTenantDomain();
-        payloadData[10] = sessionData.getServiceProvider();
-        payloadData[11] = sessionData.getIdentityProviders();
-        payloadData[12] = sessionData.isRememberMe();
-        payloadData[13] = sessionData.getUserAgent();
-        payloadData[14] = System.currentTimeMillis();
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("The created payload :" + Arrays.asList(payloadData));
-        }
-        return payloadData;
-    }
-
-    private Object[] createPayloadWithSessionCount(SessionData sessionData, int actionId) {
-
-        Object[] payloadData = new Object[16];
-        payloadData[0] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.SESSION_ID, sessionData.getSessionId());
-        payloadData[1] = sessionData.getCreatedTimestamp();
-        payloadData[2] = sessionData.getUpdatedTimestamp();
-        payloadData[3] = sessionData.getTerminationTimestamp();
-        payloadData[4] = actionId;
-        payloadData[5] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.USERNAME, sessionData.getUser());
-        payloadData[6] = AuthnDataPublisherUtils.replaceIfNotAvailable(AuthPublisherConstants.CONFIG_PREFIX +
-                AuthPublisherConstants.USER_STORE_DOMAIN, sessionData.getUserStoreDomain());
-        payloadData[7] = sessionData.getRemoteIP();
-        payloadData[8] = AuthPublisherConstants.NOT_AVAILABLE;
-        payloadData[9] = sessionData.getTenantDomain();
-        payloadData[10] = sessionData.getServiceProvider();
-        payloadData[11] = sessionData.getIdentityProviders();
-        payloadData[12] = sessionData.isRememberMe();
-        payloadData[13] = sessionData.getUserAgent();
-        payloadData[14] = sessionData.getActiveSessionCount();
-        payloadData[15] = System.currentTimeMillis();
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("The created payload :" + Arrays.asList(payloadData));
+    private static String getEventName(int actionId) {
+
+        switch (actionId) {
+            case SessionDataPublisherConstants.SESSION_CREATION_STATUS:
+                return IdentityEventConstants.EventName.SESSION_CREATE.name();
+            case SessionDataPublisherConstants.SESSION_TERMINATION_STATUS:
+                return IdentityEventConstants.EventName.SESSION_TERMINATE.name();
+            default:
+                return IdentityEventConstants.EventName.SESSION_UPDATE.name();
         }
-        return payloadData;
     }
 
     @Override
     public boolean isEnabled(MessageContext messageContext) {
-        IdentityEventListenerConfig identityEventListenerConfig = IdentityUtil.readEventListenerProperty
-                (AbstractIdentityMessageHandler.class.getName(), this.getClass().getName());
-
-        if (identityEventListenerConfig == null) {
-            return false;
-        }
-
-        return Boolean.parseBoolean(identityEventListenerConfig.getEnable());
-    }
-
-    private boolean isAnalyticsSessionDataPublishingEnabled(Event event) throws IdentityEventException {
-
-        if (this.configs.getModuleProperties() != null) {
-            String handlerEnabled = this.configs.getModuleProperties().getProperty(SessionDataPublisherConstants.
-                    ANALYTICS_SESSION_DATA_PUBLISHER_ENABLED);
-            return Boolean.parseBoolean(handlerEnabled);
-        }
-
-        return false;
-    }
-
-    private boolean isPublishingSessionCountEnabled() {
-
-        String isPublishingSessionCountEnabledValue = IdentityUtil.getProperty(FrameworkConstants.Config
-                .PUBLISH_ACTIVE_SESSION_COUNT);
-        return Boolean.parseBoolean(isPublishingSessionCountEnabledValue);
+        return EventListenerConfigCache.getInstance().isMessageHandlerEnabled(this.getClass());
     }
 }
@@ -36,6 +36,17 @@ public class SessionDataPublisherConstants {
 
     public static final String ANALYTICS_SESSION_DATA_PUBLISHER_ENABLED = "analyticsSessionDataPublisher.enable";
 
+    // Session update coalescing configurations, the window can be overridden for a tenant by suffixing the tenant
+    // domain to the window property name.
+    public static final String UPDATE_COALESCING_WINDOW = "analyticsSessionDataPublisher.updateCoalescing.window";
+    public static final String UPDATE_COALESCING_MAX_PENDING_UPDATES =
+            "analyticsSessionDataPublisher.updateCoalescing.maxPendingUpdates";
+    public static final int DEFAULT_UPDATE_COALESCING_MAX_PENDING_UPDATES = 10000;
+
+    // Publish the active session count kept by the publisher instead of the one computed by the framework.
+    public static final String USE_LOCAL_ACTIVE_SESSION_COUNT =
+            "analyticsSessionDataPublisher.useLocalActiveSessionCount";
+
     private SessionDataPublisherConstants(){
 
     }
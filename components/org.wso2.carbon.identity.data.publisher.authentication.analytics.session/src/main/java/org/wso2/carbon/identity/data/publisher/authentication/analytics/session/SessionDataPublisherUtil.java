@@ -18,27 +18,20 @@
 
 package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
-import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
 import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
-import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
-import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import javax.servlet.http.HttpServletRequest;
 
 /**
  * Utils for Analytics session data publish handler.
@@ -55,38 +48,27 @@ public class SessionDataPublisherUtil {
      */
     public static SessionData buildSessionData(Event event) {
 
-        Map<String, Object> properties = event.getEventProperties();
-        HttpServletRequest request = (HttpServletRequest) properties.get(IdentityEventConstants.EventProperty.REQUEST);
-        Map<String, Object> params = (Map<String, Object>) properties.get(IdentityEventConstants.EventProperty.PARAMS);
-        SessionContext sessionContext = (SessionContext) properties.get(IdentityEventConstants.EventProperty.
-                SESSION_CONTEXT);
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
 
         SessionData sessionData = new SessionData();
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        setUserDataToSessionObject(sessionData, userObj);
+        setUserDataToSessionObject(sessionData, snapshot);
 
-        String sessionId = (String) params.get(FrameworkConstants.AnalyticsAttributes.SESSION_ID);
-        sessionData.setSessionId(sessionId);
-        sessionData.setSessionContext(sessionContext);
-        sessionData.setIdentityProviders(getCommaSeparatedIDPs(sessionContext));
+        sessionData.setSessionId(snapshot.getSessionId());
+        sessionData.setSessionCreatedTime(snapshot.getSessionCreatedTime());
+        sessionData.setIdentityProviders(snapshot.getSessionIdentityProviders());
 
-        if (sessionContext != null) {
-            sessionData.setIsRememberMe(sessionContext.isRememberMe());
-        }
-        if (context != null) {
-            setTenantDataToSessionObject(context, sessionData);
-            sessionData.setServiceProvider(context.getServiceProviderName());
+        if (snapshot.isSessionContextAvailable()) {
+            sessionData.setIsRememberMe(snapshot.isSessionRememberMe());
         }
-        if (request != null) {
-            sessionData.setUserAgent(request.getHeader(AuthPublisherConstants.USER_AGENT));
-            sessionData.setRemoteIP(IdentityUtil.getClientIpAddress(request));
+        if (snapshot.isContextAvailable()) {
+            setTenantDataToSessionObject(snapshot, sessionData);
+            sessionData.setServiceProvider(AuthnDataPublisherUtils.intern(snapshot.getServiceProvider()));
         }
+        sessionData.setUserAgent(snapshot.getUserAgent());
+        sessionData.setRemoteIP(snapshot.getRemoteIp());
 
-        if (params.containsKey(FrameworkConstants.AnalyticsAttributes.ACTIVE_SESSION_COUNT)){
-            int activeSessionCount = (int) params.get(FrameworkConstants.AnalyticsAttributes.ACTIVE_SESSION_COUNT);
-            sessionData.setActiveSessionCount(activeSessionCount);
+        if (snapshot.getActiveSessionCount() != null) {
+            sessionData.setActiveSessionCount(snapshot.getActiveSessionCount());
         }
 
         if (LOG.isDebugEnabled()) {
@@ -97,17 +79,17 @@ public class SessionDataPublisherUtil {
     }
 
     /**
-     * Populate the tenant details from authentication context.
+     * Populate the tenant details from the event snapshot.
      *
-     * @param context
+     * @param snapshot
      * @param sessionData
      */
-    private static void setTenantDataToSessionObject(AuthenticationContext context, SessionData sessionData) {
+    private static void setTenantDataToSessionObject(AuthenticationEventSnapshot snapshot, SessionData sessionData) {
 
-        if (context.getSequenceConfig() != null) {
-            if (context.getSequenceConfig().getApplicationConfig().isSaaSApp()) {
+        if (snapshot.isSequenceConfigAvailable()) {
+            if (snapshot.isSaasApp()) {
                 sessionData.addParameter(AuthPublisherConstants.TENANT_ID, AuthnDataPublisherUtils
-                        .getTenantDomains(context.getTenantDomain(), sessionData.getTenantDomain()));
+                        .getTenantDomains(snapshot.getTenantDomain(), sessionData.getTenantDomain()));
             } else {
                 sessionData.addParameter(AuthPublisherConstants.TENANT_ID, new String[]{sessionData.
                         getTenantDomain()});
@@ -116,21 +98,20 @@ public class SessionDataPublisherUtil {
     }
 
     /**
-     * Populate user data from user object from paramerters.
+     * Populate user data from the user captured in the event snapshot.
      *
      * @param sessionData
-     * @param userObj
+     * @param snapshot
      */
-    private static void setUserDataToSessionObject(SessionData sessionData, Object userObj) {
+    private static void setUserDataToSessionObject(SessionData sessionData, AuthenticationEventSnapshot snapshot) {
 
         String userName = null;
         String userStoreDomain = null;
         String tenantDomain = null;
-        if (userObj != null && userObj instanceof AuthenticatedUser) {
-            AuthenticatedUser user = (AuthenticatedUser) userObj;
-            userName = user.getUserName();
-            userStoreDomain = user.getUserStoreDomain();
-            tenantDomain = user.getTenantDomain();
+        if (snapshot.isAuthenticatedUser()) {
+            userName = snapshot.getUserName();
+            userStoreDomain = AuthnDataPublisherUtils.intern(snapshot.getUserStoreDomain());
+            tenantDomain = AuthnDataPublisherUtils.intern(snapshot.getUserTenantDomain());
         }
         sessionData.setUser(userName);
         sessionData.setUserStoreDomain(userStoreDomain);
@@ -145,64 +126,40 @@ public class SessionDataPublisherUtil {
      */
     public static void updateTimeStamps(SessionData sessionData, int actionId) {
 
-        SessionContext sessionContext = null;
-        if (sessionData != null) {
-            sessionContext = sessionData.getSessionContext();
+        if (sessionData == null) {
+            return;
         }
-        Long createdTime = null;
-        Long terminationTime = null;
-        Long updatedTime = null;
+        Long createdTime = sessionData.getSessionCreatedTime();
+        boolean isRememberMe = sessionData.isRememberMe();
+        SessionContext sessionContext = sessionData.getSessionContext();
         if (sessionContext != null) {
-            Object createdTimeObj = sessionContext.getProperty(FrameworkConstants.CREATED_TIMESTAMP);
-            createdTime = (Long) createdTimeObj;
-            if (actionId == SessionDataPublisherConstants.SESSION_CREATION_STATUS) {
-                terminationTime = AuthnDataPublisherUtils.getSessionExpirationTime(createdTime, createdTime,
-                        sessionData.getTenantDomain(), sessionContext.isRememberMe());
-                updatedTime = createdTime;
-
-            } else if (actionId == SessionDataPublisherConstants.SESSION_UPDATE_STATUS) {
-                Long currentTime = System.currentTimeMillis();
-                terminationTime = AuthnDataPublisherUtils.getSessionExpirationTime(createdTime, createdTime,
-                        sessionData.getTenantDomain(), sessionContext.isRememberMe());
-                updatedTime = currentTime;
-
-            } else if (actionId == SessionDataPublisherConstants.SESSION_TERMINATION_STATUS) {
-                Long currentTime = System.currentTimeMillis();
-                terminationTime = currentTime;
-                updatedTime = currentTime;
-            }
-
-        }
-        if (sessionData != null) {
-            sessionData.setCreatedTimestamp(createdTime);
-            sessionData.setUpdatedTimestamp(updatedTime);
-            sessionData.setTerminationTimestamp(terminationTime);
-        }
-
-    }
-
-    private static String getCommaSeparatedIDPs(SessionContext sessionContext) {
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Retrieving current IDPw for user ");
+            // Kept for the extensions which still populate the session context.
+            createdTime = (Long) sessionContext.getProperty(FrameworkConstants.CREATED_TIMESTAMP);
+            isRememberMe = sessionContext.isRememberMe();
         }
-        if (sessionContext == null || sessionContext.getAuthenticatedIdPs() == null || sessionContext
-                .getAuthenticatedIdPs().isEmpty()) {
-            return StringUtils.EMPTY;
+        if (createdTime == null) {
+            return;
         }
-
-        Iterator iterator = sessionContext.getAuthenticatedIdPs().entrySet().iterator();
-        StringBuilder sb = new StringBuilder();
-        while (iterator.hasNext()) {
-            Map.Entry pair = (Map.Entry) iterator.next();
-            sb.append(",").append(pair.getKey());
-        }
-        if (sb.length() > 0) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Returning roles, " + sb.substring(1));
-            }
-            return sb.substring(1); //remove the first comma
+        long terminationTime = 0;
+        long updatedTime = 0;
+        if (actionId == SessionDataPublisherConstants.SESSION_CREATION_STATUS) {
+            terminationTime = AuthnDataPublisherUtils.getSessionExpirationTime(createdTime, createdTime,
+                    sessionData.getTenantDomain(), isRememberMe);
+            updatedTime = createdTime;
+
+        } else if (actionId == SessionDataPublisherConstants.SESSION_UPDATE_STATUS) {
+            long currentTime = System.currentTimeMillis();
+            terminationTime = AuthnDataPublisherUtils.getSessionExpirationTime(createdTime, createdTime,
+                    sessionData.getTenantDomain(), isRememberMe);
+            updatedTime = currentTime;
+
+        } else if (actionId == SessionDataPublisherConstants.SESSION_TERMINATION_STATUS) {
+            long currentTime = System.currentTimeMillis();
+            terminationTime = currentTime;
+            updatedTime = currentTime;
         }
-        return StringUtils.EMPTY;
+        sessionData.setCreatedTimestamp(createdTime);
+        sessionData.setUpdatedTimestamp(updatedTime);
+        sessionData.setTerminationTimestamp(terminationTime);
     }
 }
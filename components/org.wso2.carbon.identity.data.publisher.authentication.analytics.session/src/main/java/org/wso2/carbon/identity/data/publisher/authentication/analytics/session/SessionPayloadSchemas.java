@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
+
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFields;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadSchema;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
+
+/**
+ * Payload schemas of the versions of the overall session stream.
+ */
+public final class SessionPayloadSchemas {
+
+    public static final String TENANT_DOMAIN = "tenantDomain";
+
+    /**
+     * Schema of the org.wso2.is.analytics.stream.OverallSession:1.0.0 stream.
+     */
+    public static final PayloadSchema<SessionData> SESSION_1_0_0 =
+            addSessionFields(PayloadSchema.<SessionData>builder(AuthPublisherConstants.SESSION_DATA_STREAM_NAME))
+                    .add("_timestamp", PayloadFields.currentTime())
+                    .build();
+
+    /**
+     * Schema of the org.wso2.is.analytics.stream.OverallSession:1.0.1 stream, which adds the active session count of
+     * the tenant.
+     */
+    public static final PayloadSchema<SessionData> SESSION_1_0_1 =
+            addSessionFields(PayloadSchema.<SessionData>builder(AuthPublisherConstants
+                    .SESSION_DATA_STREAM_WITH_SESSION_COUNT_NAME))
+                    .add("activeSessionCount", new PayloadFields.IntField<SessionData>() {
+                        @Override
+                        protected int getInt(SessionData data) {
+
+                            return data.getActiveSessionCount();
+                        }
+                    })
+                    .add("_timestamp", PayloadFields.currentTime())
+                    .build();
+
+    private SessionPayloadSchemas() {
+
+    }
+
+    private static PayloadSchema.Builder<SessionData> addSessionFields(PayloadSchema.Builder<SessionData> builder) {
+
+        return builder
+                .add("sessionId", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.SESSION_ID, new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getSessionId();
+                    }
+                }))
+                .add("startTimestamp", new PayloadFields.LongField<SessionData>() {
+                    @Override
+                    protected long getLong(SessionData data) {
+
+                        return data.getCreatedTimestamp();
+                    }
+                })
+                .add("renewTimestamp", new PayloadFields.LongField<SessionData>() {
+                    @Override
+                    protected long getLong(SessionData data) {
+
+                        return data.getUpdatedTimestamp();
+                    }
+                })
+                .add("terminationTimestamp", new PayloadFields.LongField<SessionData>() {
+                    @Override
+                    protected long getLong(SessionData data) {
+
+                        return data.getTerminationTimestamp();
+                    }
+                })
+                .add("action", new PayloadFields.IntField<SessionData>() {
+                    @Override
+                    protected int getInt(SessionData data) {
+
+                        return data.getActionId();
+                    }
+                })
+                .add("username", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.USERNAME, new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getUser();
+                    }
+                }))
+                .add("userstoreDomain", PayloadFields.withDefault(AuthPublisherConstants.CONFIG_PREFIX +
+                        AuthPublisherConstants.USER_STORE_DOMAIN, new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getUserStoreDomain();
+                    }
+                }))
+                .add("remoteIp", new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getRemoteIP();
+                    }
+                })
+                .add("region", PayloadFields.constant(AuthPublisherConstants.NOT_AVAILABLE))
+                .add(TENANT_DOMAIN, new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getTenantDomain();
+                    }
+                })
+                .add("serviceProvider", new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getServiceProvider();
+                    }
+                })
+                .add("identityProviders", new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getIdentityProviders();
+                    }
+                })
+                .add("rememberMeFlag", new PayloadFields.BooleanField<SessionData>() {
+                    @Override
+                    protected boolean getBoolean(SessionData data) {
+
+                        return data.isRememberMe();
+                    }
+                })
+                .add("userAgent", new PayloadFields.StringField<SessionData>() {
+                    @Override
+                    protected String getString(SessionData data) {
+
+                        return data.getUserAgent();
+                    }
+                });
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps only the latest update of a session within a coalescing window. The first update of a session opens the
+ * window, the updates received within it replace the pending one and the latest update is published when the window
+ * closes. The pending updates are bounded, when the bound is reached the update whose window closes first, which is
+ * the oldest one when the sessions share the same window, is published right away to make room for the new one.
+ * <p>
+ * An update which is published before its window closes is left in the expiry queue and skipped once it expires,
+ * rather than being searched for and removed from the queue.
+ */
+public class SessionUpdateCoalescer {
+
+    private static final Log LOG = LogFactory.getLog(SessionUpdateCoalescer.class);
+    private static final String FLUSHER_THREAD_NAME = "SessionUpdateCoalescer";
+
+    private final ConcurrentMap<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    private final DelayQueue<PendingUpdate> expiryQueue = new DelayQueue<>();
+    private final Publisher publisher;
+    private final int maxPendingUpdates;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * Callback which publishes the session updates left after coalescing.
+     */
+    public interface Publisher {
+
+        /**
+         * Publish a session update.
+         *
+         * @param sessionData Latest update of the session.
+         */
+        void publish(SessionData sessionData);
+    }
+
+    /**
+     * @param publisher         Publisher of the coalesced updates.
+     * @param maxPendingUpdates Maximum number of sessions with a pending update.
+     */
+    public SessionUpdateCoalescer(Publisher publisher, int maxPendingUpdates) {
+
+        if (maxPendingUpdates <= 0) {
+            throw new IllegalArgumentException("Maximum pending updates should be positive: " + maxPendingUpdates);
+        }
+        this.publisher = publisher;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.flusher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                flushExpiredUpdates();
+            }
+        }, FLUSHER_THREAD_NAME);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Add an update of a session. The update is published right away if the window is not positive or the session
+     * is not known.
+     *
+     * @param sessionData  Session update, with its time stamps already calculated.
+     * @param windowMillis Coalescing window of the update in milliseconds.
+     */
+    public void add(SessionData sessionData, long windowMillis) {
+
+        receivedCount.incrementAndGet();
+        String sessionId = sessionData.getSessionId();
+        if (windowMillis <= 0 || sessionId == null || !running) {
+            publish(sessionData);
+            return;
+        }
+        while (true) {
+            PendingUpdate pendingUpdate = pendingUpdates.get(sessionId);
+            if (pendingUpdate != null) {
+                if (pendingUpdate.replace(sessionData)) {
+                    coalescedCount.incrementAndGet();
+                    return;
+                }
+                // The pending update was taken for publishing concurrently, it is no longer in the map.
+                pendingUpdates.remove(sessionId, pendingUpdate);
+                continue;
+            }
+            if (pendingUpdates.size() >= maxPendingUpdates) {
+                evictOne();
+            }
+            PendingUpdate newUpdate = new PendingUpdate(sessionId, sessionData,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis));
+            if (pendingUpdates.putIfAbsent(sessionId, newUpdate) == null) {
+                expiryQueue.add(newUpdate);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publish the pending update of a session right away, if there is one. This is called before the creation or the
+     * termination of the session is published so that the events of the session stay in order.
+     *
+     * @param sessionId Session id.
+     */
+    public void flush(String sessionId) {
+
+        if (sessionId == null) {
+            return;
+        }
+        PendingUpdate pendingUpdate = pendingUpdates.remove(sessionId);
+        if (pendingUpdate != null) {
+            publishPending(pendingUpdate);
+        }
+    }
+
+    /**
+     * Publish all the pending updates.
+     */
+    public void flushAll() {
+
+        Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+        while (iterator.hasNext()) {
+            PendingUpdate pendingUpdate = iterator.next();
+            iterator.remove();
+            publishPending(pendingUpdate);
+        }
+    }
+
+    /**
+     * Stop the flusher thread and publish all the pending updates. Updates added afterwards are published right away.
+     */
+    public void shutdown() {
+
+        running = false;
+        flusher.interrupt();
+        flushAll();
+        expiryQueue.clear();
+    }
+
+    public int getPendingUpdateCount() {
+
+        return pendingUpdates.size();
+    }
+
+    public long getReceivedCount() {
+
+        return receivedCount.get();
+    }
+
+    public long getCoalescedCount() {
+
+        return coalescedCount.get();
+    }
+
+    public long getFlushedCount() {
+
+        return flushedCount.get();
+    }
+
+    public long getEvictedCount() {
+
+        return evictedCount.get();
+    }
+
+    public String getStatistics() {
+
+        return "received: " + receivedCount.get() + ", coalesced: " + coalescedCount.get() + ", flushed: " +
+                flushedCount.get() + ", evicted: " + evictedCount.get() + ", pending: " + pendingUpdates.size();
+    }
+
+    private void flushExpiredUpdates() {
+
+        while (running) {
+            try {
+                PendingUpdate pendingUpdate = expiryQueue.take();
+                // Updates which were already flushed or evicted are no longer mapped and are skipped.
+                if (pendingUpdates.remove(pendingUpdate.sessionId, pendingUpdate)) {
+                    publishPending(pendingUpdate);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Error while publishing a coalesced session update", e);
+            }
+        }
+    }
+
+    private void evictOne() {
+
+        while (true) {
+            PendingUpdate pendingUpdate = expiryQueue.peek();
+            if (pendingUpdate == null) {
+                return;
+            }
+            // The head is found at the front of the queue, hence removing it does not scan the queue.
+            expiryQueue.remove(pendingUpdate);
+            if (pendingUpdates.remove(pendingUpdate.sessionId, pendingUpdate)) {
+                evictedCount.incrementAndGet();
+                publishPending(pendingUpdate);
+                return;
+            }
+        }
+    }
+
+    private void publishPending(PendingUpdate pendingUpdate) {
+
+        SessionData sessionData = pendingUpdate.take();
+        if (sessionData != null) {
+            publish(sessionData);
+        }
+    }
+
+    private void publish(SessionData sessionData) {
+
+        flushedCount.incrementAndGet();
+        publisher.publish(sessionData);
+    }
+
+    /**
+     * Latest update of a session waiting for its window to close.
+     */
+    private static final class PendingUpdate implements Delayed {
+
+        private final String sessionId;
+        private final long dueTime;
+        private SessionData sessionData;
+
+        private PendingUpdate(String sessionId, SessionData sessionData, long dueTime) {
+
+            this.sessionId = sessionId;
+            this.sessionData = sessionData;
+            this.dueTime = dueTime;
+        }
+
+        /**
+         * @return False if the update was already taken for publishing.
+         */
+        private synchronized boolean replace(SessionData sessionData) {
+
+            if (this.sessionData == null) {
+                return false;
+            }
+            this.sessionData = sessionData;
+            return true;
+        }
+
+        /**
+         * @return Latest update, or null if it was already taken for publishing.
+         */
+        private synchronized SessionData take() {
+
+            SessionData latest = sessionData;
+            sessionData = null;
+            return latest;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+
+            return unit.convert(dueTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+
+            if (other == this) {
+                return 0;
+            }
+            long difference = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+        }
+    }
+}
@@ -29,7 +29,9 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.event.stream.core.EventStreamService;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
 import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.AnalyticsSessionDataPublishHandler;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.SessionDataPublisherConstants;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 
 /**
@@ -42,14 +44,15 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 public class SessionDataPublishServiceComponent {
 
     private static final Log log = LogFactory.getLog(SessionDataPublishServiceComponent.class);
+    private AnalyticsSessionDataPublishHandler sessionDataPublishHandler;
 
     @Activate
     protected void activate(ComponentContext context) {
 
         try {
             BundleContext bundleContext = context.getBundleContext();
-            bundleContext.registerService(AbstractEventHandler.class,
-                    new AnalyticsSessionDataPublishHandler(), null);
+            sessionDataPublishHandler = new AnalyticsSessionDataPublishHandler();
+            bundleContext.registerService(AbstractEventHandler.class, sessionDataPublishHandler, null);
 
             if (log.isDebugEnabled()) {
                 log.debug("org.wso2.carbon.identity.data.publisher.authentication.analytics.session" +
@@ -64,6 +67,12 @@ public class SessionDataPublishServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (sessionDataPublishHandler != null) {
+            sessionDataPublishHandler.stopUpdateCoalescing();
+            sessionDataPublishHandler = null;
+        }
+        PublisherManagement.getInstance().removeHandlerConfiguration(SessionDataPublisherConstants
+                .ANALYTICS_SESSION_PUBLISHER_NAME);
         if (log.isDebugEnabled()) {
             log.debug("org.wso2.carbon.identity.data.publisher.authentication.analytics.session bundle is deactivated");
         }
@@ -43,18 +43,40 @@ public class SessionData<T1 extends Object, T2 extends Object> {
     private String remoteIP;
     private String userAgent;
     private SessionContext sessionContext;
+    private Long sessionCreatedTime;
     private int activeSessionCount;
+    private int actionId;
 
+    /**
+     * @deprecated The session values are captured into this object at build time. Use
+     * {@link #getSessionCreatedTime()} and {@link #isRememberMe()} instead.
+     */
+    @Deprecated
     public SessionContext getSessionContext() {
 
         return sessionContext;
     }
 
+    /**
+     * @deprecated The session values are captured into this object at build time. Use
+     * {@link #setSessionCreatedTime(Long)} and {@link #setIsRememberMe(boolean)} instead.
+     */
+    @Deprecated
     public void setSessionContext(SessionContext sessionContext) {
 
         this.sessionContext = sessionContext;
     }
 
+    public Long getSessionCreatedTime() {
+
+        return sessionCreatedTime;
+    }
+
+    public void setSessionCreatedTime(Long sessionCreatedTime) {
+
+        this.sessionCreatedTime = sessionCreatedTime;
+    }
+
     public String getServiceProvider() {
 
         return serviceProvider;
@@ -183,6 +205,19 @@ public class SessionData<T1 extends Object, T2 extends Object> {
         this.activeSessionCount = activeSessionCount;
     }
 
+    /**
+     * @return Session status code of the event being published, one of the SESSION_*_STATUS constants.
+     */
+    public int getActionId() {
+
+        return actionId;
+    }
+
+    public void setActionId(int actionId) {
+
+        this.actionId = actionId;
+    }
+
     public void addParameter(T1 key, T2 value) {
 
         if (this.parameters.containsKey(key)) {
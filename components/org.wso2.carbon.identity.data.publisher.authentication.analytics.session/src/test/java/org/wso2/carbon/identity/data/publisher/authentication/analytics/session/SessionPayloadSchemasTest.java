@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link SessionPayloadSchemas}. Each payload is compared index by index with the payload the handler
+ * filled field by field before the schemas were introduced.
+ */
+public class SessionPayloadSchemasTest {
+
+    private static final String DEFAULT_VALUE_PREFIX = "default:";
+
+    @BeforeMethod
+    public void setUp() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(new PayloadDefaultValues() {
+            @Override
+            public String get(String name) {
+
+                return DEFAULT_VALUE_PREFIX + name;
+            }
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(null);
+    }
+
+    @Test
+    public void testSession100Payload() {
+
+        long startTime = System.currentTimeMillis();
+        Object[] payload = SessionPayloadSchemas.SESSION_1_0_0.createPayload(createSessionData());
+        long endTime = System.currentTimeMillis();
+
+        assertEquals(SessionPayloadSchemas.SESSION_1_0_0.size(), 15);
+        assertEquals(payload.length, 15);
+        assertSessionFields(payload);
+        assertTimestamp(payload[14], startTime, endTime);
+    }
+
+    @Test
+    public void testSession101Payload() {
+
+        long startTime = System.currentTimeMillis();
+        Object[] payload = SessionPayloadSchemas.SESSION_1_0_1.createPayload(createSessionData());
+        long endTime = System.currentTimeMillis();
+
+        assertEquals(SessionPayloadSchemas.SESSION_1_0_1.size(), 16);
+        assertEquals(payload.length, 16);
+        assertSessionFields(payload);
+        assertEquals(payload[14], 42);
+        assertTimestamp(payload[15], startTime, endTime);
+    }
+
+    @Test
+    public void testTenantDomainPosition() {
+
+        assertEquals(SessionPayloadSchemas.SESSION_1_0_0.indexOf(SessionPayloadSchemas.TENANT_DOMAIN), 9);
+        assertEquals(SessionPayloadSchemas.SESSION_1_0_1.indexOf(SessionPayloadSchemas.TENANT_DOMAIN), 9);
+    }
+
+    private static SessionData createSessionData() {
+
+        SessionData sessionData = new SessionData();
+        sessionData.setSessionId("session-id");
+        sessionData.setCreatedTimestamp(1000L);
+        sessionData.setUpdatedTimestamp(2000L);
+        sessionData.setTerminationTimestamp(3000L);
+        sessionData.setActionId(SessionDataPublisherConstants.SESSION_UPDATE_STATUS);
+        sessionData.setUser("alice");
+        sessionData.setUserStoreDomain(null);
+        sessionData.setRemoteIP("10.0.0.1");
+        sessionData.setTenantDomain("wso2.com");
+        sessionData.setServiceProvider("travelocity");
+        sessionData.setIdentityProviders("LOCAL,Google");
+        sessionData.setIsRememberMe(true);
+        sessionData.setUserAgent("Mozilla/5.0");
+        sessionData.setActiveSessionCount(42);
+        return sessionData;
+    }
+
+    private static void assertSessionFields(Object[] payload) {
+
+        assertEquals(payload[0], "session-id");
+        assertEquals(payload[1], 1000L);
+        assertEquals(payload[2], 2000L);
+        assertEquals(payload[3], 3000L);
+        assertEquals(payload[4], SessionDataPublisherConstants.SESSION_UPDATE_STATUS);
+        assertEquals(payload[5], "alice");
+        assertEquals(payload[6], DEFAULT_VALUE_PREFIX + AuthPublisherConstants.CONFIG_PREFIX +
+                AuthPublisherConstants.USER_STORE_DOMAIN);
+        assertEquals(payload[7], "10.0.0.1");
+        assertEquals(payload[8], AuthPublisherConstants.NOT_AVAILABLE);
+        assertEquals(payload[9], "wso2.com");
+        assertEquals(payload[10], "travelocity");
+        assertEquals(payload[11], "LOCAL,Google");
+        assertEquals(payload[12], Boolean.TRUE);
+        assertEquals(payload[13], "Mozilla/5.0");
+    }
+
+    private static void assertTimestamp(Object timestamp, long startTime, long endTime) {
+
+        assertTrue(timestamp instanceof Long, "Timestamp: " + timestamp);
+        assertTrue((Long) timestamp >= startTime && (Long) timestamp <= endTime, "Timestamp: " + timestamp);
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.analytics.session;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of the merge semantics of {@link SessionUpdateCoalescer}.
+ */
+public class SessionUpdateCoalescerTest {
+
+    private static final long LONG_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private RecordingPublisher publisher;
+    private SessionUpdateCoalescer coalescer;
+
+    @BeforeMethod
+    public void setUp() {
+
+        publisher = new RecordingPublisher();
+        coalescer = new SessionUpdateCoalescer(publisher, 10);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void testUpdatesWithinWindowAreCoalesced() {
+
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s1", 2), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s1", 3), LONG_WINDOW_MILLIS);
+
+        assertTrue(publisher.published.isEmpty());
+        assertEquals(coalescer.getPendingUpdateCount(), 1);
+        assertEquals(coalescer.getCoalescedCount(), 2);
+
+        coalescer.flush("s1");
+
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(3L));
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+        assertEquals(coalescer.getFlushedCount(), 1);
+    }
+
+    @Test
+    public void testSessionsAreCoalescedSeparately() {
+
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s2", 2), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s1", 3), LONG_WINDOW_MILLIS);
+
+        coalescer.flush("s2");
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L));
+
+        coalescer.flushAll();
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L, 3L));
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+    }
+
+    @Test
+    public void testWindowExpiryPublishesLatestUpdate() throws Exception {
+
+        publisher.expect(1);
+        coalescer.add(createUpdate("s1", 1), 50);
+        coalescer.add(createUpdate("s1", 2), 50);
+
+        assertTrue(publisher.await(5, TimeUnit.SECONDS), "Pending update was not published after its window.");
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L));
+
+        // An update after the window closed opens a new window.
+        publisher.expect(1);
+        coalescer.add(createUpdate("s1", 3), 50);
+        assertTrue(publisher.await(5, TimeUnit.SECONDS), "Pending update was not published after its window.");
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L, 3L));
+    }
+
+    @Test
+    public void testUpdateIsPublishedRightAwayWithoutWindow() {
+
+        coalescer.add(createUpdate("s1", 1), 0);
+        coalescer.add(createUpdate(null, 2), LONG_WINDOW_MILLIS);
+
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(1L, 2L));
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+        assertEquals(coalescer.getCoalescedCount(), 0);
+    }
+
+    @Test
+    public void testFlushOfUnknownSession() {
+
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+
+        coalescer.flush("s2");
+        coalescer.flush(null);
+
+        assertTrue(publisher.published.isEmpty());
+        assertEquals(coalescer.getPendingUpdateCount(), 1);
+    }
+
+    @Test
+    public void testOldestUpdateIsEvictedWhenFull() {
+
+        coalescer.shutdown();
+        coalescer = new SessionUpdateCoalescer(publisher, 2);
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s2", 2), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s3", 3), LONG_WINDOW_MILLIS);
+
+        assertEquals(coalescer.getEvictedCount(), 1);
+        assertEquals(coalescer.getPendingUpdateCount(), 2);
+        assertEquals(publisher.published.size(), 1);
+        assertEquals(publisher.published.peek().getSessionId(), "s1");
+
+        // Updates of a pending session do not evict.
+        coalescer.add(createUpdate("s3", 4), LONG_WINDOW_MILLIS);
+        assertEquals(coalescer.getEvictedCount(), 1);
+    }
+
+    @Test
+    public void testUpdateClosingFirstIsEvictedWhenFull() {
+
+        coalescer.shutdown();
+        coalescer = new SessionUpdateCoalescer(publisher, 2);
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s2", 2), LONG_WINDOW_MILLIS / 2);
+        coalescer.add(createUpdate("s3", 3), LONG_WINDOW_MILLIS);
+
+        assertEquals(coalescer.getEvictedCount(), 1);
+        assertEquals(publisher.published.peek().getSessionId(), "s2");
+    }
+
+    @Test
+    public void testEvictionSkipsFlushedUpdates() {
+
+        coalescer.shutdown();
+        coalescer = new SessionUpdateCoalescer(publisher, 2);
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.flush("s1");
+        coalescer.add(createUpdate("s2", 2), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s3", 3), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s4", 4), LONG_WINDOW_MILLIS);
+
+        // The flushed update of s1 is still queued for expiry, but it is not evicted and published again.
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(1L, 2L));
+        assertEquals(coalescer.getEvictedCount(), 1);
+        assertEquals(coalescer.getPendingUpdateCount(), 2);
+    }
+
+    @Test
+    public void testFlushedUpdateIsSkippedOnExpiry() throws Exception {
+
+        coalescer.add(createUpdate("s1", 1), 50);
+        coalescer.flush("s1");
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(1L));
+
+        publisher.expect(1);
+        coalescer.add(createUpdate("s1", 2), 100);
+        assertTrue(publisher.await(5, TimeUnit.SECONDS), "Pending update was not published after its window.");
+        Thread.sleep(100);
+
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(1L, 2L));
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+    }
+
+    @Test
+    public void testShutdownPublishesPendingUpdates() {
+
+        coalescer.add(createUpdate("s1", 1), LONG_WINDOW_MILLIS);
+        coalescer.add(createUpdate("s1", 2), LONG_WINDOW_MILLIS);
+
+        coalescer.shutdown();
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L));
+
+        coalescer.add(createUpdate("s1", 3), LONG_WINDOW_MILLIS);
+        assertEquals(getUpdatedTimestamps(), Arrays.asList(2L, 3L));
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+    }
+
+    @Test
+    public void testConcurrentUpdatesArePublishedOnce() throws Exception {
+
+        final int threadCount = 4;
+        final int updatesPerThread = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final int thread = i;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < updatesPerThread; j++) {
+                        coalescer.add(createUpdate("s" + (j % 8), thread * updatesPerThread + j), 1);
+                        if (j % 100 == 0) {
+                            coalescer.flush("s" + (j % 8));
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        coalescer.shutdown();
+
+        // Every update is either published or replaced by a later update of its session, never both.
+        assertEquals(coalescer.getReceivedCount(), threadCount * updatesPerThread);
+        assertEquals(coalescer.getFlushedCount() + coalescer.getCoalescedCount(), coalescer.getReceivedCount());
+        assertEquals(publisher.published.size(), coalescer.getFlushedCount());
+        assertEquals(coalescer.getPendingUpdateCount(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidMaxPendingUpdates() {
+
+        new SessionUpdateCoalescer(publisher, 0);
+    }
+
+    private List<Long> getUpdatedTimestamps() {
+
+        List<Long> timestamps = new ArrayList<>();
+        for (SessionData sessionData : publisher.published) {
+            timestamps.add(sessionData.getUpdatedTimestamp());
+        }
+        return timestamps;
+    }
+
+    private static SessionData createUpdate(String sessionId, long updatedTimestamp) {
+
+        SessionData sessionData = new SessionData();
+        sessionData.setSessionId(sessionId);
+        sessionData.setUpdatedTimestamp(updatedTimestamp);
+        return sessionData;
+    }
+
+    private static class RecordingPublisher implements SessionUpdateCoalescer.Publisher {
+
+        private final Queue<SessionData> published = new ConcurrentLinkedQueue<>();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        @Override
+        public void publish(SessionData sessionData) {
+
+            published.add(sessionData);
+            latch.countDown();
+        }
+
+        private void expect(int count) {
+
+            latch = new CountDownLatch(count);
+        }
+
+        private boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+
+            return latch.await(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.audit;
+
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes audit log lines in the {@link FrameworkConstants#AUDIT_MESSAGE} format using buffers which are reused by
+ * the thread, so that building an audit line allocates only the resulting string.
+ * <p>
+ * By default the data fields are written as they are, which gives the same output as formatting the message with
+ * concatenated data. In strict JSON mode the field values are escaped, and null values are written as JSON nulls,
+ * so that the data section of the line is a valid JSON object.
+ * <p>
+ * An encoder is obtained with {@link #get(boolean)}, populated with the data fields and completed with
+ * {@link #encode(String, String, String, String)} before the encoder of the thread is obtained again.
+ */
+public final class AuditRecordEncoder {
+
+    private static final String FORMAT_SPECIFIER = "%s";
+    private static final int MESSAGE_ARGUMENT_COUNT = 5;
+    private static final int INITIAL_CAPACITY = 512;
+    // Buffers grown beyond this by an unusually large record are not retained by the thread.
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Literal parts of the audit message around its arguments, or null if the message uses other format specifiers
+     * than {@code %s} and has to be formatted with {@link String#format(String, Object...)}.
+     */
+    private static final String[] MESSAGE_SEGMENTS = splitMessage(FrameworkConstants.AUDIT_MESSAGE);
+
+    private static final ThreadLocal<AuditRecordEncoder> ENCODERS = new ThreadLocal<AuditRecordEncoder>() {
+        @Override
+        protected AuditRecordEncoder initialValue() {
+
+            return new AuditRecordEncoder();
+        }
+    };
+
+    private StringBuilder data = new StringBuilder(INITIAL_CAPACITY);
+    private StringBuilder line = new StringBuilder(INITIAL_CAPACITY);
+    private boolean strictJson;
+
+    private AuditRecordEncoder() {
+
+    }
+
+    /**
+     * Get the encoder of the current thread, cleared for a new record.
+     *
+     * @param strictJson Whether the data fields should be written as strict JSON.
+     * @return Encoder of the current thread.
+     */
+    public static AuditRecordEncoder get(boolean strictJson) {
+
+        AuditRecordEncoder encoder = ENCODERS.get();
+        encoder.data.setLength(0);
+        encoder.strictJson = strictJson;
+        return encoder;
+    }
+
+    /**
+     * Append a data field.
+     *
+     * @param key   Name of the field.
+     * @param value Value of the field.
+     * @return This encoder.
+     */
+    public AuditRecordEncoder field(String key, Object value) {
+
+        if (data.length() > 0) {
+            data.append(',');
+        }
+        data.append('"').append(key).append("\" : ");
+        if (value == null && strictJson) {
+            data.append("null");
+            return this;
+        }
+        data.append('"');
+        String stringValue = String.valueOf(value);
+        if (strictJson) {
+            appendEscaped(stringValue);
+        } else {
+            data.append(stringValue);
+        }
+        data.append('"');
+        return this;
+    }
+
+    /**
+     * Build the audit line with the data fields appended so far.
+     *
+     * @param initiator Initiator of the action.
+     * @param action    Audited action.
+     * @param target    Target of the action.
+     * @param result    Result of the action.
+     * @return Audit line.
+     */
+    public String encode(String initiator, String action, String target, String result) {
+
+        if (MESSAGE_SEGMENTS == null) {
+            return String.format(FrameworkConstants.AUDIT_MESSAGE, initiator, action, target, data, result);
+        }
+        line.setLength(0);
+        line.append(MESSAGE_SEGMENTS[0]).append(initiator)
+                .append(MESSAGE_SEGMENTS[1]).append(action)
+                .append(MESSAGE_SEGMENTS[2]).append(target)
+                .append(MESSAGE_SEGMENTS[3]).append(data)
+                .append(MESSAGE_SEGMENTS[4]).append(result)
+                .append(MESSAGE_SEGMENTS[5]);
+        String encoded = line.toString();
+        releaseLargeBuffers();
+        return encoded;
+    }
+
+    private void appendEscaped(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    data.append("\\\"");
+                    break;
+                case '\\':
+                    data.append("\\\\");
+                    break;
+                case '\n':
+                    data.append("\\n");
+                    break;
+                case '\r':
+                    data.append("\\r");
+                    break;
+                case '\t':
+                    data.append("\\t");
+                    break;
+                case '\b':
+                    data.append("\\b");
+                    break;
+                case '\f':
+                    data.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        data.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        data.append(c);
+                    }
+            }
+        }
+    }
+
+    private void releaseLargeBuffers() {
+
+        if (data.capacity() > MAX_RETAINED_CAPACITY) {
+            data = new StringBuilder(INITIAL_CAPACITY);
+        }
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            line = new StringBuilder(INITIAL_CAPACITY);
+        }
+    }
+
+    private static String[] splitMessage(String message) {
+
+        List<String> segments = new ArrayList<>(MESSAGE_ARGUMENT_COUNT + 1);
+        int start = 0;
+        int index = message.indexOf(FORMAT_SPECIFIER);
+        while (index >= 0) {
+            segments.add(message.substring(start, index));
+            start = index + FORMAT_SPECIFIER.length();
+            index = message.indexOf(FORMAT_SPECIFIER, start);
+        }
+        segments.add(message.substring(start));
+        for (String segment : segments) {
+            if (segment.indexOf('%') >= 0) {
+                return null;
+            }
+        }
+        if (segments.size() != MESSAGE_ARGUMENT_COUNT + 1) {
+            return null;
+        }
+        return segments.toArray(new String[0]);
+    }
+}
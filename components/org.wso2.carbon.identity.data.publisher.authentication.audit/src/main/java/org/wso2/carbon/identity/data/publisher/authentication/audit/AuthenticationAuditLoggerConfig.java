@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.audit;
+
+import java.util.Properties;
+
+/**
+ * Immutable view of the module properties of the authentication audit logging handler, parsed once when the handler
+ * is initialized.
+ */
+public final class AuthenticationAuditLoggerConfig {
+
+    /**
+     * Configuration of a handler which is not initialized yet.
+     */
+    public static final AuthenticationAuditLoggerConfig DISABLED = new AuthenticationAuditLoggerConfig(false, false,
+            false);
+
+    private static final String USERNAME_ATTRIBUTE = "username";
+
+    private final boolean enabled;
+    private final boolean userNameEnabled;
+    private final boolean strictJsonEnabled;
+
+    private AuthenticationAuditLoggerConfig(boolean enabled, boolean userNameEnabled, boolean strictJsonEnabled) {
+
+        this.enabled = enabled;
+        this.userNameEnabled = userNameEnabled;
+        this.strictJsonEnabled = strictJsonEnabled;
+    }
+
+    /**
+     * Parse the module properties of the handler.
+     *
+     * @param moduleProperties Module properties of the handler, may be null.
+     * @return Handler configuration.
+     */
+    public static AuthenticationAuditLoggerConfig build(Properties moduleProperties) {
+
+        if (moduleProperties == null) {
+            return DISABLED;
+        }
+        boolean enabled = Boolean.parseBoolean(moduleProperties.getProperty(AuthenticationAuditLoggerConstants
+                .AUTHENTICATION_AUDIT_LOGGER_ENABLED));
+        boolean userNameEnabled = USERNAME_ATTRIBUTE.equals(moduleProperties.getProperty(
+                AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_USERNAME_ENABLED));
+        boolean strictJsonEnabled = Boolean.parseBoolean(moduleProperties.getProperty(
+                AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_STRICT_JSON_ENABLED));
+        return new AuthenticationAuditLoggerConfig(enabled, userNameEnabled, strictJsonEnabled);
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * @return True if the username should be logged as the initiator instead of the user id.
+     */
+    public boolean isUserNameEnabled() {
+
+        return userNameEnabled;
+    }
+
+    /**
+     * Strict JSON formatting escapes the values of the audit data, which changes the output for values with quotes
+     * or control characters. Hence it is disabled unless configured.
+     *
+     * @return True if the audit data should be written as strict JSON.
+     */
+    public boolean isStrictJsonEnabled() {
+
+        return strictJsonEnabled;
+    }
+
+    @Override
+    public String toString() {
+
+        return "enabled: " + enabled + ", userNameEnabled: " + userNameEnabled + ", strictJsonEnabled: " +
+                strictJsonEnabled;
+    }
+}
@@ -28,8 +28,10 @@ public class AuthenticationAuditLoggerConstants {
     public static final String AUDIT_AUTHENTICATION_STEP = "audtStep";
     public static final String AUDIT_AUTHENTICATION = "auditAuth";
 
+    public static final String AUTHENTICATION_AUDIT_LOGGER_PROPERTY_PREFIX = "authenticationAuditLogger.";
     public static final String AUTHENTICATION_AUDIT_LOGGER_ENABLED = "authenticationAuditLogger.enable";
     public static final String AUTHENTICATION_AUDIT_LOGGER_USERNAME_ENABLED = "authenticationAuditLogger.userName.attribute";
+    public static final String AUTHENTICATION_AUDIT_LOGGER_STRICT_JSON_ENABLED = "authenticationAuditLogger.strictJson.enable";
 
     private AuthenticationAuditLoggerConstants(){
 
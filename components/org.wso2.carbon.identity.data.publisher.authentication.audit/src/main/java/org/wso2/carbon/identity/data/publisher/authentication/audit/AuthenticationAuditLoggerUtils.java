@@ -20,23 +20,15 @@ package org.wso2.carbon.identity.data.publisher.authentication.audit;
 
 import org.apache.commons.lang.StringUtils;
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
-import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
-import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
-import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
-import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
 import org.wso2.carbon.identity.data.publisher.authentication.audit.model.AuthenticationAuditData;
-import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
-import java.util.Map;
-
 /**
  * Utilities for authentication audit logger.
  */
@@ -53,39 +45,38 @@ public class AuthenticationAuditLoggerUtils {
     public static AuthenticationAuditData createAuthenticationAudiDataObject(Event event, String authType,
                                                                              boolean isUsernameEnabled) {
 
-        Map<String, Object> properties = event.getEventProperties();
-        AuthenticationContext context = getAuthenticationContextFromProperties(properties);
-        Map<String, Object> params = getParamsFromProperties(properties);
-        AuthenticatorStatus status = getAuthenticatorStatusFromProperties(properties);
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
 
         AuthenticationAuditData authenticationAuditData = new AuthenticationAuditData();
 
-        authenticationAuditData.setContextIdentifier(getContextIdentifier(context));
-        authenticationAuditData.setServiceProvider(getServiceProvider(context));
-        authenticationAuditData.setInboundProtocol(getInboundProtocol(context));
-        authenticationAuditData.setRelyingParty(getRelyingParty(context));
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        setUserStoreDomain(authenticationAuditData, userObj);
+        authenticationAuditData.setContextIdentifier(snapshot.getContextIdentifier());
+        authenticationAuditData.setServiceProvider(snapshot.getServiceProvider());
+        authenticationAuditData.setInboundProtocol(snapshot.getInboundProtocol());
+        authenticationAuditData.setRelyingParty(snapshot.getRelyingParty());
+        if (snapshot.isUser()) {
+            authenticationAuditData.setUserStoreDomain(snapshot.getUserStoreDomain());
+        }
 
         String authenticatedUser = null;
         String username = null;
         String tenantDomain = null;
 
         if (AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION_STEP.equals(authType)) {
-            authenticatedUser = getUserNameForAuthenticationStep(params);
+            authenticatedUser = getUserNameForAuthenticationStep(snapshot);
             username = authenticatedUser;
-            tenantDomain = getTenantDomainForAuthenticationStep(params);
+            tenantDomain = snapshot.isUser() ? snapshot.getUserTenantDomain() : null;
             authenticationAuditData.setAuthenticatedUser(authenticatedUser);
             authenticationAuditData.setTenantDomain(tenantDomain);
-            authenticationAuditData.setAuthenticatedIdps(getIdentityProviderForAuthenticationStep(context));
-            authenticationAuditData.setStepNo(getStepNoForAuthenticationStep(context));
+            authenticationAuditData.setAuthenticatedIdps(getIdentityProviderForAuthenticationStep(snapshot));
+            authenticationAuditData.setStepNo(snapshot.getCurrentStep());
         } else if (AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION.equals(authType)) {
+            boolean passed = snapshot.getStatus() == AuthenticatorStatus.PASS;
             if (isUsernameEnabled) {
-                authenticatedUser = getAuthenticatedUserName(context, status);
+                authenticatedUser = passed ? snapshot.getSequenceUserName() : null;
                 username = authenticatedUser;
                 authenticationAuditData.setAuthenticatedUser(authenticatedUser);
             } else {
-                authenticatedUser = getSubjectIdentifier(context, status);
+                authenticatedUser = passed ? snapshot.getSequenceSubjectIdentifier() : null;
                 /*
                 Tenant aware username is required only if masking logs has been enabled. Added this condition to avoid
                 unnecessary method call in the case of masking logs is disabled.
@@ -95,10 +86,10 @@ public class AuthenticationAuditLoggerUtils {
                 }
                 authenticationAuditData.setAuthenticatedUser(authenticatedUser);
             }
-            tenantDomain = getTenantDomainForAuthentication(context, params, status);
+            tenantDomain = getTenantDomainForAuthentication(snapshot);
             authenticationAuditData.setTenantDomain(tenantDomain);
-            authenticationAuditData.setStepNo(getStepNoForAuthentication(context, status));
-            authenticationAuditData.setAuthenticatedIdps(getIdentityProviderList(context, status));
+            authenticationAuditData.setStepNo(getStepNoForAuthentication(snapshot));
+            authenticationAuditData.setAuthenticatedIdps(passed ? snapshot.getSequenceAuthenticatedIdPs() : null);
         }
         if (LoggerUtils.isLogMaskingEnable && StringUtils.isNotBlank(tenantDomain) && StringUtils.isNotBlank(username)) {
             /* When username is disabled for audit authentication step, skip user ID resolving as the username is set
@@ -111,201 +102,56 @@ public class AuthenticationAuditLoggerUtils {
         return authenticationAuditData;
     }
 
-    private static String getAuthenticatedUserName(AuthenticationContext context, AuthenticatorStatus status) {
-
-        String userName = null;
-        if (status == AuthenticatorStatus.PASS) {
-            userName = context.getSequenceConfig().getAuthenticatedUser().getUserName();
-        }
-        return userName;
-    }
-
-    private static void setUserStoreDomain(AuthenticationAuditData authenticationAuditData, Object userObj) {
-
-        if (userObj instanceof User) {
-            User user = (User) userObj;
-            authenticationAuditData.setUserStoreDomain(user.getUserStoreDomain());
-        }
-    }
-
-    private static String getContextIdentifier(AuthenticationContext context) {
-
-        return context.getContextIdentifier();
-    }
-
-    private static String getUserNameForAuthenticationStep(Map<String, Object> params) {
+    private static String getUserNameForAuthenticationStep(AuthenticationEventSnapshot snapshot) {
 
         String userName = null;
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        if (userObj instanceof User) {
-            User user = (User) userObj;
-            userName = UserCoreUtil.addDomainToName(user.getUserName(), user.getUserStoreDomain());
+        if (snapshot.isUser()) {
+            userName = UserCoreUtil.addDomainToName(snapshot.getUserName(), snapshot.getUserStoreDomain());
         }
-        if (userObj instanceof AuthenticatedUser) {
-            AuthenticatedUser user = (AuthenticatedUser) userObj;
-            if (StringUtils.isEmpty(user.getUserName())) {
-                userName = user.getAuthenticatedSubjectIdentifier();
+        if (snapshot.isAuthenticatedUser()) {
+            if (StringUtils.isEmpty(snapshot.getUserName())) {
+                userName = snapshot.getUserSubjectIdentifier();
             }
         }
         return userName;
     }
 
-    private static String getTenantDomainForAuthenticationStep(Map<String, Object> params) {
-
-        String tenantDomain = null;
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        if (userObj instanceof User) {
-            User user = (User) userObj;
-            tenantDomain = user.getTenantDomain();
-        }
-        return tenantDomain;
-    }
-
-    private static String getTenantDomainForAuthentication(AuthenticationContext context, Map<String, Object> params,
-                                                           AuthenticatorStatus status) {
+    private static String getTenantDomainForAuthentication(AuthenticationEventSnapshot snapshot) {
 
         String tenantDomain = null;
-        Object userObj = params.get(FrameworkConstants.AnalyticsAttributes.USER);
-        if (userObj instanceof AuthenticatedUser) {
-            AuthenticatedUser user = (AuthenticatedUser) userObj;
-            if (status == AuthenticatorStatus.FAIL) {
-                tenantDomain = user.getTenantDomain();
-            }
+        if (snapshot.isAuthenticatedUser() && snapshot.getStatus() == AuthenticatorStatus.FAIL) {
+            tenantDomain = snapshot.getUserTenantDomain();
         }
-        if (status == AuthenticatorStatus.PASS) {
-            AuthenticatedIdPData localIDPData = null;
-            Map<String, AuthenticatedIdPData> previousAuthenticatedIDPs = context.getPreviousAuthenticatedIdPs();
-            Map<String, AuthenticatedIdPData> currentAuthenticatedIDPs = context.getCurrentAuthenticatedIdPs();
-            if (currentAuthenticatedIDPs != null && currentAuthenticatedIDPs.size() > 0) {
-                localIDPData = currentAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
-            }
-            if (localIDPData == null && previousAuthenticatedIDPs != null && previousAuthenticatedIDPs.size() > 0) {
-                localIDPData = previousAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME);
-            }
-
-            if (localIDPData != null) {
-                tenantDomain = localIDPData.getUser().getTenantDomain();
+        if (snapshot.getStatus() == AuthenticatorStatus.PASS) {
+            if (snapshot.isLocalIdPAvailable()) {
+                tenantDomain = snapshot.getLocalIdPTenantDomain();
             }
             if (StringUtils.isBlank(tenantDomain)) {
-                tenantDomain = context.getTenantDomain();
+                tenantDomain = snapshot.getTenantDomain();
             }
         }
         return tenantDomain;
     }
 
-    private static String getServiceProvider(AuthenticationContext context) {
-
-        return context.getServiceProviderName();
-    }
-
-    private static String getInboundProtocol(AuthenticationContext context) {
-
-        return context.getRequestType();
-    }
-
-    private static String getRelyingParty(AuthenticationContext context) {
-
-        return context.getRelyingParty();
-    }
-
-    private static String getIdentityProviderForAuthenticationStep(AuthenticationContext context) {
+    private static String getIdentityProviderForAuthenticationStep(AuthenticationEventSnapshot snapshot) {
 
         String idpProvider = null;
-        if (context.getExternalIdP() == null) {
+        if (snapshot.getExternalIdPName() == null) {
             idpProvider = FrameworkConstants.LOCAL_IDP_NAME;
         } else {
-            idpProvider = context.getExternalIdP().getIdPName();
+            idpProvider = snapshot.getExternalIdPName();
         }
         return idpProvider;
     }
 
-    private static int getStepNoForAuthenticationStep(AuthenticationContext context) {
-
-        return context.getCurrentStep();
-    }
-
-    private static int getStepNoForAuthentication(AuthenticationContext context, AuthenticatorStatus status) {
+    private static int getStepNoForAuthentication(AuthenticationEventSnapshot snapshot) {
 
         int step = 0;
-        if (status == AuthenticatorStatus.PASS) {
-            Object hasLocalStepObj = context.getProperty(FrameworkConstants.AnalyticsAttributes.HAS_LOCAL_STEP);
-            boolean hasPreviousLocalStep = hasPreviousLocalEvent(context);
-            boolean hasLocal = convertToBoolean(hasLocalStepObj);
-
-            if (!hasPreviousLocalStep && hasLocal) {
-                step = getLocalStepNo(context);
+        if (snapshot.getStatus() == AuthenticatorStatus.PASS) {
+            if (!snapshot.hasPreviousLocalStep() && snapshot.hasLocalStep()) {
+                step = snapshot.getLocalStepNo();
             }
         }
         return step;
     }
-
-    private static String getSubjectIdentifier(AuthenticationContext context, AuthenticatorStatus status) {
-
-        String subjectIdentifier = null;
-        if (status == AuthenticatorStatus.PASS) {
-            subjectIdentifier = context.getSequenceConfig().getAuthenticatedUser().getAuthenticatedSubjectIdentifier();
-        }
-        return subjectIdentifier;
-    }
-
-    private static String getIdentityProviderList(AuthenticationContext context, AuthenticatorStatus status) {
-
-        String authenticatedIdps = null;
-        if (status == AuthenticatorStatus.PASS) {
-            authenticatedIdps = context.getSequenceConfig().getAuthenticatedIdPs();
-        }
-        return authenticatedIdps;
-    }
-
-    private static AuthenticationContext getAuthenticationContextFromProperties(Map<String, Object> properties) {
-
-        return (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.CONTEXT);
-    }
-
-    private static AuthenticatorStatus getAuthenticatorStatusFromProperties(Map<String, Object> properties) {
-
-        return (AuthenticatorStatus) properties.get(IdentityEventConstants.EventProperty.AUTHENTICATION_STATUS);
-    }
-
-    private static SessionContext getSessionContextFromProperties(Map<String, Object> properties) {
-
-        return (SessionContext) properties.get(IdentityEventConstants.EventProperty.SESSION_CONTEXT);
-    }
-
-    private static Map<String, Object> getParamsFromProperties(Map<String, Object> properties) {
-
-        return (Map<String, Object>) properties.get(IdentityEventConstants.EventProperty.PARAMS);
-    }
-
-    private static boolean hasPreviousLocalEvent(AuthenticationContext context) {
-
-        Map<String, AuthenticatedIdPData> previousAuthenticatedIDPs = context.getPreviousAuthenticatedIdPs();
-        if (previousAuthenticatedIDPs.get(FrameworkConstants.LOCAL_IDP_NAME) != null) {
-            return true;
-        }
-        return false;
-    }
-
-    private static boolean convertToBoolean(Object object) {
-
-        if (object != null) {
-            return (Boolean) object;
-        }
-        return false;
-    }
-
-    private static int getLocalStepNo(AuthenticationContext context) {
-
-        int stepNo = 0;
-        Map<Integer, StepConfig> map = context.getSequenceConfig().getStepMap();
-        for (Map.Entry<Integer, StepConfig> entry : map.entrySet()) {
-            StepConfig stepConfig = entry.getValue();
-            if (stepConfig != null && FrameworkConstants.LOCAL_IDP_NAME.equalsIgnoreCase(stepConfig
-                    .getAuthenticatedIdP())) {
-                stepNo = entry.getKey();
-                return stepNo;
-            }
-        }
-        return stepNo;
-    }
 }
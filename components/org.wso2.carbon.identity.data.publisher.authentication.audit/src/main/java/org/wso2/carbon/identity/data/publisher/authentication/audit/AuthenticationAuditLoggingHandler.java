@@ -23,15 +23,18 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.slf4j.MDC;
 import org.wso2.carbon.CarbonConstants;
-import org.wso2.carbon.identity.application.authentication.framework.config.model.ExternalIdPConfig;
-import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
-import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
-import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticationResult;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.core.handler.InitConfig;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.dispatch.AsyncAuditAppender;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.application.authentication.model.AuthenticationEventSnapshot;
 import org.wso2.carbon.identity.data.publisher.authentication.audit.model.AuthenticationAuditData;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
@@ -39,7 +42,8 @@ import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
-import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Log the authentication login data.
@@ -55,6 +59,11 @@ public class AuthenticationAuditLoggingHandler extends AbstractEventHandler {
     public static final String REMOTE_ADDRESS_KEY = "RemoteAddress";
     public static final String USER_STORE_DOMAIN_KEY = "UserStoreDomain";
 
+    private volatile AuthenticationAuditLoggerConfig handlerConfig = AuthenticationAuditLoggerConfig.DISABLED;
+    private volatile AsyncAuditAppender asyncAuditAppender;
+    private volatile boolean asyncAuditAppenderResolved;
+    private final boolean contextTerminationOverridden = overridesContextTermination(getClass());
+
     @Override
     public String getName() {
 
@@ -62,137 +71,143 @@ public class AuthenticationAuditLoggingHandler extends AbstractEventHandler {
     }
 
     @Override
-    public void handleEvent(Event event) throws IdentityEventException {
+    public void init(InitConfig configuration) throws IdentityRuntimeException {
+
+        super.init(configuration);
+        reloadConfiguration();
+    }
+
+    /**
+     * Parse the module properties of the handler again, after they have changed.
+     */
+    public void reloadConfiguration() {
+
+        Properties moduleProperties = this.configs != null ? this.configs.getModuleProperties() : null;
+        handlerConfig = AuthenticationAuditLoggerConfig.build(moduleProperties);
+        PublisherManagement.getInstance().setHandlerConfiguration(getName(), handlerConfig);
+    }
 
-        boolean isEnabled = isAuthenticationAuditLoggingEnabled(event);
-        boolean isUserNameEnabled = isAuditLoggerUserNameEnabled(event);
+    public AuthenticationAuditLoggerConfig getHandlerConfig() {
 
-        if (!isEnabled) {
+        return handlerConfig;
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        AuthenticationAuditLoggerConfig config = handlerConfig;
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        if (!config.isEnabled()) {
+            metrics.recordSkip(getName(), event.getEventName());
             return;
         }
+        boolean isUserNameEnabled = config.isUserNameEnabled();
+        long startTime = metrics.startTimer();
+        long publishStartTime;
 
         AuthenticationAuditData authenticationAuditData = null;
         if (IdentityEventConstants.EventName.AUTHENTICATION_STEP_SUCCESS.name().equals(event.getEventName())) {
             authenticationAuditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(event,
                     AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION_STEP, isUserNameEnabled);
+            publishStartTime = metrics.recordBuild(getName(), event.getEventName(), startTime);
             doPublishAuthenticationStepSuccess(authenticationAuditData);
 
         } else if (IdentityEventConstants.EventName.AUTHENTICATION_STEP_FAILURE.name().equals(event.getEventName())) {
             authenticationAuditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(event,
                     AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION_STEP, isUserNameEnabled);
+            publishStartTime = metrics.recordBuild(getName(), event.getEventName(), startTime);
             doPublishAuthenticationStepFailure(authenticationAuditData);
 
         } else if (IdentityEventConstants.EventName.AUTHENTICATION_SUCCESS.name().equals(event.getEventName())) {
             authenticationAuditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(event,
                     AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION, isUserNameEnabled);
+            publishStartTime = metrics.recordBuild(getName(), event.getEventName(), startTime);
             doPublishAuthenticationSuccess(authenticationAuditData);
 
         } else if (IdentityEventConstants.EventName.AUTHENTICATION_FAILURE.name().equals(event.getEventName())) {
             authenticationAuditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(event,
                     AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION, isUserNameEnabled);
+            publishStartTime = metrics.recordBuild(getName(), event.getEventName(), startTime);
             doPublishAuthenticationFailure(authenticationAuditData);
 
         } else if (IdentityEventConstants.EventName.SESSION_TERMINATE.name().equals(event.getEventName())) {
+            // The termination record is built and written in one go, hence it is timed as a whole.
+            publishStartTime = startTime;
             publishSessionTermination(event, isUserNameEnabled);
         } else {
+            metrics.recordSkip(getName(), event.getEventName());
             LOG.error("Event " + event.getEventName() + " cannot be handled");
+            return;
         }
-    }
-
-    private boolean isAuditLoggerUserNameEnabled(Event event) throws IdentityEventException {
-
-        boolean isEnabled = false;
-        if (this.configs.getModuleProperties() != null) {
-            String handlerEnabled = this.configs.getModuleProperties().getProperty(AuthenticationAuditLoggerConstants.
-                    AUTHENTICATION_AUDIT_LOGGER_USERNAME_ENABLED);
-            if (StringUtils.isNotBlank(handlerEnabled) && handlerEnabled.equals("username")) {
-                isEnabled = true;
-            }
-        }
-        return isEnabled;
+        metrics.recordPublish(getName(), event.getEventName(), publishStartTime);
     }
 
     protected void doPublishAuthenticationStepSuccess(AuthenticationAuditData authenticationData) {
 
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
+        }
         String username = getUsernameForAuditLog(authenticationData.getAuthenticatedUser());
-        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
-                + "\",\"" + "AuthenticatedUser" + "\" : \"" + username
-                + "\",\"" + "AuthenticatedUserTenantDomain" + "\" : \"" + authenticationData.getTenantDomain()
-                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
-                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
-                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
-                + "\",\"" + "AuthenticatedIdP" + "\" : \"" + authenticationData.getAuthenticatedIdps()
-                + "\"";
-        auditData = addContextualInfo(auditData, authenticationData);
+        AuditRecordEncoder encoder = AuditRecordEncoder.get(handlerConfig.isStrictJsonEnabled())
+                .field("ContextIdentifier", authenticationData.getContextIdentifier())
+                .field("AuthenticatedUser", username)
+                .field("AuthenticatedUserTenantDomain", authenticationData.getTenantDomain())
+                .field("ServiceProviderName", authenticationData.getServiceProvider())
+                .field("RequestType", authenticationData.getInboundProtocol())
+                .field("RelyingParty", authenticationData.getRelyingParty())
+                .field("AuthenticatedIdP", authenticationData.getAuthenticatedIdps());
+        addContextualInfo(encoder, authenticationData);
         /*
         Here the userId cannot be resolved as the user is not authenticated yet. Hence, the username is used for the
         initiator even when the log masking is enabled.
         */
-        AUDIT_LOG.info(String.format(
-                FrameworkConstants.AUDIT_MESSAGE,
-                username,
-                "LoginStepSuccess",
-                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_SUCCESS));
+        writeAuditLog(encoder.encode(username, "LoginStepSuccess", "ApplicationAuthenticationFramework",
+                FrameworkConstants.AUDIT_SUCCESS));
     }
 
     protected void doPublishAuthenticationStepFailure(AuthenticationAuditData authenticationData) {
 
-        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
-                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
-                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
-                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
-                + "\",\"" + "StepNo" + "\" : \"" + authenticationData.getStepNo()
-                + "\"";
-        auditData = addContextualInfo(auditData, authenticationData);
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
+        }
+        AuditRecordEncoder encoder = createFailureRecord(authenticationData);
 
         /*
         Here the userId cannot be resolved as the user authentication has failed. Hence, the username is used for the
         initiator even when the log masking is enabled.
         */
-        AUDIT_LOG.info(String.format(
-                FrameworkConstants.AUDIT_MESSAGE,
-                getUsernameForAuditLog(authenticationData.getAuthenticatedUser()),
-                "Login",
-                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_FAILED));
+        writeAuditLog(encoder.encode(getUsernameForAuditLog(authenticationData.getAuthenticatedUser()), "Login",
+                "ApplicationAuthenticationFramework", FrameworkConstants.AUDIT_FAILED));
     }
 
     protected void doPublishAuthenticationSuccess(AuthenticationAuditData authenticationData) {
 
-        AuthenticationResult authenticationResult = new AuthenticationResult();
-        authenticationResult.setAuthenticated(true);
-        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
-                + "\",\"" + "AuthenticatedUser" + "\" : \"" + getUsernameForAuditLog(authenticationData.
-                getAuthenticatedUser())
-                + "\",\"" + "AuthenticatedUserTenantDomain" + "\" : \"" + authenticationData.getTenantDomain()
-                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
-                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
-                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
-                + "\",\"" + "AuthenticatedIdPs" + "\" : \"" + authenticationData.getAuthenticatedIdps()
-                + "\"";
-        auditData = addContextualInfo(auditData, authenticationData);
-
-        AUDIT_LOG.info(String.format(
-                FrameworkConstants.AUDIT_MESSAGE,
-                getInitiator(authenticationData),
-                "Login",
-                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_SUCCESS));
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
+        }
+        AuditRecordEncoder encoder = AuditRecordEncoder.get(handlerConfig.isStrictJsonEnabled())
+                .field("ContextIdentifier", authenticationData.getContextIdentifier())
+                .field("AuthenticatedUser", getUsernameForAuditLog(authenticationData.getAuthenticatedUser()))
+                .field("AuthenticatedUserTenantDomain", authenticationData.getTenantDomain())
+                .field("ServiceProviderName", authenticationData.getServiceProvider())
+                .field("RequestType", authenticationData.getInboundProtocol())
+                .field("RelyingParty", authenticationData.getRelyingParty())
+                .field("AuthenticatedIdPs", authenticationData.getAuthenticatedIdps());
+        addContextualInfo(encoder, authenticationData);
+
+        writeAuditLog(encoder.encode(getInitiator(authenticationData), "Login",
+                "ApplicationAuthenticationFramework", FrameworkConstants.AUDIT_SUCCESS));
     }
 
     protected void doPublishAuthenticationFailure(AuthenticationAuditData authenticationData) {
 
-        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
-                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
-                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
-                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
-                + "\",\"" + "StepNo" + "\" : \"" + authenticationData.getStepNo()
-                + "\"";
-        auditData = addContextualInfo(auditData, authenticationData);
-
-        AUDIT_LOG.info(String.format(
-                FrameworkConstants.AUDIT_MESSAGE,
-                getUsernameForAuditLog(authenticationData.getAuthenticatedUser()),
-                "Login",
-                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_FAILED));
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
+        }
+        AuditRecordEncoder encoder = createFailureRecord(authenticationData);
+
+        writeAuditLog(encoder.encode(getUsernameForAuditLog(authenticationData.getAuthenticatedUser()), "Login",
+                "ApplicationAuthenticationFramework", FrameworkConstants.AUDIT_FAILED));
     }
 
     /**
@@ -219,29 +234,46 @@ public class AuthenticationAuditLoggingHandler extends AbstractEventHandler {
      * @param tenantDomain Tenant domain.
      * @param authenticatedIDPs Authenticated IDPs.
      * @param isUserNameEnabled Is username enabled.
+     * @deprecated Use {@link #doPublishSessionTermination(AuthenticationEventSnapshot, String, String, String,
+     * boolean)} instead.
      */
+    @Deprecated
     protected void doPublishSessionTermination(AuthenticationContext context, String username, String tenantDomain,
                                                String authenticatedIDPs, boolean isUserNameEnabled) {
 
-        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + context.getContextIdentifier()
-                + "\",\"" + "LoggedOutUser" + "\" : \"" + getUsernameForAuditLog(username)
-                + "\",\"" + "LoggedOutUserTenantDomain" + "\" : \"" + tenantDomain
-                + "\",\"" + "ServiceProviderName" + "\" : \"" + context.getServiceProviderName()
-                + "\",\"" + "RequestType" + "\" : \"" + context.getRequestType()
-                + "\",\"" + "RelyingParty" + "\" : \"" + context.getRelyingParty()
-                + "\",\"" + "AuthenticatedIdPs" + "\" : \"" + authenticatedIDPs
-                + "\"";
-        auditData = addRemoteAddressAndAgent(auditData);
-
-        String idpName = null;
-        ExternalIdPConfig externalIdPConfig = context.getExternalIdP();
-        if (externalIdPConfig != null) {
-            idpName = externalIdPConfig.getName();
+        doPublishSessionTermination(AuthenticationEventSnapshot.create(IdentityEventConstants.EventName
+                        .SESSION_TERMINATE.name(), null, null, context, null, null), username, tenantDomain,
+                authenticatedIDPs, isUserNameEnabled);
+    }
+
+    /**
+     * Publish session termination.
+     *
+     * @param snapshot Snapshot of the session termination event.
+     * @param username Username.
+     * @param tenantDomain Tenant domain.
+     * @param authenticatedIDPs Authenticated IDPs.
+     * @param isUserNameEnabled Is username enabled.
+     */
+    protected void doPublishSessionTermination(AuthenticationEventSnapshot snapshot, String username,
+                                               String tenantDomain, String authenticatedIDPs,
+                                               boolean isUserNameEnabled) {
+
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
         }
-        AUDIT_LOG.info(String.format(
-                FrameworkConstants.AUDIT_MESSAGE,
-                getInitiator(username, tenantDomain, isUserNameEnabled),
-                "Logout", idpName, auditData, FrameworkConstants.AUDIT_SUCCESS));
+        AuditRecordEncoder encoder = AuditRecordEncoder.get(handlerConfig.isStrictJsonEnabled())
+                .field("ContextIdentifier", snapshot.getContextIdentifier())
+                .field("LoggedOutUser", getUsernameForAuditLog(username))
+                .field("LoggedOutUserTenantDomain", tenantDomain)
+                .field("ServiceProviderName", snapshot.getServiceProvider())
+                .field("RequestType", snapshot.getInboundProtocol())
+                .field("RelyingParty", snapshot.getRelyingParty())
+                .field("AuthenticatedIdPs", authenticatedIDPs);
+        addRemoteAddressAndAgent(encoder);
+
+        writeAuditLog(encoder.encode(getInitiator(username, tenantDomain, isUserNameEnabled), "Logout",
+                snapshot.getExternalIdPName(), FrameworkConstants.AUDIT_SUCCESS));
     }
 
     /**
@@ -263,65 +295,135 @@ public class AuthenticationAuditLoggingHandler extends AbstractEventHandler {
      */
     protected void publishSessionTermination(Event event, boolean isUserNameEnabled) {
 
-        Map<String, Object> properties = event.getEventProperties();
-        SessionContext sessionContext = (SessionContext) properties.get(IdentityEventConstants.EventProperty.
-                SESSION_CONTEXT);
-        AuthenticationContext context = (AuthenticationContext) properties.get(IdentityEventConstants.EventProperty.
-                CONTEXT);
-
-        if (context == null) {
+        AuthenticationEventSnapshot snapshot = AuthenticationEventSnapshot.getSnapshot(event);
+        if (!snapshot.isContextAvailable()) {
             return;
         }
-        SequenceConfig sequenceConfig = context.getSequenceConfig();
-        AuthenticatedUser authenticatedUser = null;
         String username = "";
         String tenantDomain = "";
         String authenticatedIDPs = "";
 
-        if (sequenceConfig != null && sequenceConfig.getAuthenticatedUser() != null) {
-            authenticatedUser = sequenceConfig.getAuthenticatedUser();
-            authenticatedIDPs = sequenceConfig.getAuthenticatedIdPs();
-        } else {
-            Object authenticatedUserObj = sessionContext.getProperty(FrameworkConstants.AUTHENTICATED_USER);
-            if (authenticatedUserObj != null) {
-                authenticatedUser = (AuthenticatedUser) authenticatedUserObj;
+        if (snapshot.isSequenceUserAvailable()) {
+            username = snapshot.getSequenceSubjectIdentifier();
+            tenantDomain = snapshot.getSequenceUserTenantDomain();
+            authenticatedIDPs = snapshot.getSequenceAuthenticatedIdPs();
+        } else if (snapshot.getSessionUserSubjectIdentifier() != null ||
+                snapshot.getSessionUserTenantDomain() != null) {
+            username = snapshot.getSessionUserSubjectIdentifier();
+            tenantDomain = snapshot.getSessionUserTenantDomain();
+        }
+
+        if (contextTerminationOverridden) {
+            // Keep the subclasses which still override the context based overload working.
+            Object context = event.getEventProperties().get(IdentityEventConstants.EventProperty.CONTEXT);
+            if (context instanceof AuthenticationContext) {
+                doPublishSessionTermination((AuthenticationContext) context, username, tenantDomain,
+                        authenticatedIDPs, isUserNameEnabled);
+                return;
             }
         }
+        doPublishSessionTermination(snapshot, username, tenantDomain, authenticatedIDPs, isUserNameEnabled);
+    }
 
-        if (authenticatedUser != null) {
-            username = authenticatedUser.getAuthenticatedSubjectIdentifier();
-            tenantDomain = authenticatedUser.getTenantDomain();
+    /**
+     * Check whether a subclass of the handler overrides the deprecated, context based session termination overload.
+     *
+     * @param handlerClass Class of the handler.
+     * @return True if the overload is declared by a class below this handler.
+     */
+    private static boolean overridesContextTermination(Class<?> handlerClass) {
+
+        for (Class<?> clazz = handlerClass; clazz != null && clazz != AuthenticationAuditLoggingHandler.class;
+             clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("doPublishSessionTermination", AuthenticationContext.class, String.class,
+                        String.class, String.class, boolean.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared by this class, hence check its superclass.
+            }
         }
+        return false;
+    }
+
+    private AuditRecordEncoder createFailureRecord(AuthenticationAuditData authenticationData) {
 
-        doPublishSessionTermination(context, username, tenantDomain, authenticatedIDPs, isUserNameEnabled);
+        AuditRecordEncoder encoder = AuditRecordEncoder.get(handlerConfig.isStrictJsonEnabled())
+                .field("ContextIdentifier", authenticationData.getContextIdentifier())
+                .field("ServiceProviderName", authenticationData.getServiceProvider())
+                .field("RequestType", authenticationData.getInboundProtocol())
+                .field("RelyingParty", authenticationData.getRelyingParty())
+                .field("StepNo", authenticationData.getStepNo());
+        addContextualInfo(encoder, authenticationData);
+        return encoder;
     }
 
-    private boolean isAuthenticationAuditLoggingEnabled(Event event) throws IdentityEventException {
+    private void addContextualInfo(AuditRecordEncoder encoder, AuthenticationAuditData authenticationData) {
 
-        if (this.configs.getModuleProperties() != null) {
-            String handlerEnabled = this.configs.getModuleProperties().getProperty(AuthenticationAuditLoggerConstants.
-                    AUTHENTICATION_AUDIT_LOGGER_ENABLED);
-            return Boolean.parseBoolean(handlerEnabled);
-        }
+        addRemoteAddressAndAgent(encoder);
+        encoder.field(USER_STORE_DOMAIN_KEY, authenticationData.getUserStoreDomain());
+    }
 
-        return false;
+    private void addRemoteAddressAndAgent(AuditRecordEncoder encoder) {
+
+        encoder.field(USER_AGENT_KEY, MDC.get(USER_AGENT_QUERY_KEY))
+                .field(REMOTE_ADDRESS_KEY, MDC.get(REMOTE_ADDRESS_QUERY_KEY));
     }
 
-    private String addContextualInfo(String data, AuthenticationAuditData authenticationData) {
+    /**
+     * Write an audit record to the asynchronous appender if it is enabled, otherwise to the audit log. Package private
+     * so that the tests can capture the records.
+     */
+    void writeAuditLog(String record) {
 
-        data += ",\"" + USER_AGENT_KEY + "\" : \"" + MDC.get(USER_AGENT_QUERY_KEY)
-                + "\",\"" + REMOTE_ADDRESS_KEY + "\" : \"" + MDC.get(REMOTE_ADDRESS_QUERY_KEY)
-                + "\",\"" + USER_STORE_DOMAIN_KEY + "\" : \"" + authenticationData.getUserStoreDomain()
-                + "\"";
-        return data;
+        AsyncAuditAppender appender = getAsyncAuditAppender();
+        if (appender != null) {
+            appender.append(record);
+        } else {
+            AUDIT_LOG.info(record);
+        }
     }
 
-    private String addRemoteAddressAndAgent(String data) {
+    /**
+     * The appender is created on first use since the module properties of the handler are not available when the
+     * handler is instantiated.
+     *
+     * @return Appender writing the audit log asynchronously, or null if the audit log is written synchronously.
+     */
+    public AsyncAuditAppender getAsyncAuditAppender() {
+
+        if (!asyncAuditAppenderResolved) {
+            synchronized (this) {
+                if (!asyncAuditAppenderResolved) {
+                    if (this.configs != null) {
+                        asyncAuditAppender = AsyncAuditAppender.create(getName(), AUDIT_LOG,
+                                this.configs.getModuleProperties(),
+                                AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_PROPERTY_PREFIX);
+                        PublisherManagement.getInstance().setAuditAppender(getName(), asyncAuditAppender);
+                    }
+                    asyncAuditAppenderResolved = true;
+                }
+            }
+        }
+        return asyncAuditAppender;
+    }
 
-        data += ",\"" + USER_AGENT_KEY + "\" : \"" + MDC.get(USER_AGENT_QUERY_KEY)
-                + "\",\"" + REMOTE_ADDRESS_KEY + "\" : \"" + MDC.get(REMOTE_ADDRESS_QUERY_KEY)
-                + "\"";
-        return data;
+    /**
+     * Write the pending audit records and continue writing the audit log synchronously.
+     */
+    public synchronized void stopAsyncAuditAppender() {
+
+        AsyncAuditAppender appender = asyncAuditAppender;
+        asyncAuditAppender = null;
+        asyncAuditAppenderResolved = true;
+        if (appender != null) {
+            PublisherManagement.getInstance().setAuditAppender(getName(), null);
+            long timeout = AuthnDataPublisherUtils.getPositiveLongProperty(this.configs.getModuleProperties(),
+                    AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_PROPERTY_PREFIX +
+                            AuthPublisherConstants.ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT,
+                    AuthPublisherConstants.DEFAULT_ASYNC_AUDIT_APPENDER_SHUTDOWN_TIMEOUT_MILLIS);
+            appender.shutdown(timeout, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
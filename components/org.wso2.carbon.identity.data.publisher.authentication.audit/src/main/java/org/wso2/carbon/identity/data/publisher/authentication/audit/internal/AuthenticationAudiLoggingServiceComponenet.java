@@ -25,6 +25,8 @@ import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.wso2.carbon.identity.data.publisher.application.authentication.management.PublisherManagement;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.AuthenticationAuditLoggerConstants;
 import org.wso2.carbon.identity.data.publisher.authentication.audit.AuthenticationAuditLoggingHandler;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 
@@ -39,14 +41,15 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 public class AuthenticationAudiLoggingServiceComponenet {
 
     private static final Log log = LogFactory.getLog(AuthenticationAudiLoggingServiceComponenet.class);
+    private AuthenticationAuditLoggingHandler auditLoggingHandler;
 
     @Activate
     protected void activate(ComponentContext context) {
 
         try {
             BundleContext bundleContext = context.getBundleContext();
-            bundleContext.registerService(AbstractEventHandler.class,
-                    new AuthenticationAuditLoggingHandler(), null);
+            auditLoggingHandler = new AuthenticationAuditLoggingHandler();
+            bundleContext.registerService(AbstractEventHandler.class, auditLoggingHandler, null);
 
             if (log.isDebugEnabled()) {
                 log.debug("org.wso2.carbon.identity.data.publisher.authentication.audit" +
@@ -61,6 +64,13 @@ public class AuthenticationAudiLoggingServiceComponenet {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (auditLoggingHandler != null) {
+            // Audit records queued by the handler should be written before the bundle goes away.
+            auditLoggingHandler.stopAsyncAuditAppender();
+            auditLoggingHandler = null;
+        }
+        PublisherManagement.getInstance().removeHandlerConfiguration(AuthenticationAuditLoggerConstants
+                .AUTHENTICATION_AUDIT_LOGGER);
         if (log.isDebugEnabled()) {
             log.debug("org.wso2.carbon.identity.data.publisher.authentication.audit bundle is deactivated");
         }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.audit;
+
+import org.slf4j.MDC;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ExternalIdPConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.model.AuthenticationAuditData;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
+import org.wso2.carbon.identity.event.bean.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests which compare the audit records written by {@link AuthenticationAuditLoggingHandler} through
+ * {@link AuditRecordEncoder} with the records the handler wrote by formatting concatenated data, character for
+ * character.
+ */
+public class AuthenticationAuditLoggingHandlerTest {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64)";
+    private static final String REMOTE_ADDRESS = "192.168.1.10";
+
+    private RecordingHandler handler;
+
+    @BeforeMethod
+    public void setUp() {
+
+        handler = new RecordingHandler();
+        handler.init(createConfiguration(false));
+        MDC.put(AuthenticationAuditLoggingHandler.USER_AGENT_QUERY_KEY, USER_AGENT);
+        MDC.put(AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_QUERY_KEY, REMOTE_ADDRESS);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        MDC.remove(AuthenticationAuditLoggingHandler.USER_AGENT_QUERY_KEY);
+        MDC.remove(AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_QUERY_KEY);
+    }
+
+    @Test
+    public void testStepSuccessMatchesBaseline() {
+
+        AuthenticationAuditData data = createAuditData();
+
+        handler.doPublishAuthenticationStepSuccess(data);
+
+        assertEquals(handler.getLastRecord(), baselineStepSuccess(data));
+        assertTrue(handler.getLastRecord().contains("\"AuthenticatedIdP\" : \"LOCAL\""));
+    }
+
+    @Test
+    public void testStepFailureMatchesBaseline() {
+
+        AuthenticationAuditData data = createAuditData();
+
+        handler.doPublishAuthenticationStepFailure(data);
+
+        assertEquals(handler.getLastRecord(), baselineFailure(data));
+    }
+
+    @Test
+    public void testAuthenticationSuccessMatchesBaseline() {
+
+        AuthenticationAuditData data = createAuditData();
+
+        handler.doPublishAuthenticationSuccess(data);
+
+        assertEquals(handler.getLastRecord(), baselineSuccess(data));
+        assertTrue(handler.getLastRecord().contains("\"AuthenticatedIdPs\" : \"LOCAL\""));
+    }
+
+    @Test
+    public void testAuthenticationFailureMatchesBaseline() {
+
+        AuthenticationAuditData data = createAuditData();
+
+        handler.doPublishAuthenticationFailure(data);
+
+        assertEquals(handler.getLastRecord(), baselineFailure(data));
+    }
+
+    @Test
+    public void testSessionTerminationMatchesBaseline() {
+
+        AuthenticationContext context = createContext("google");
+
+        handler.doPublishSessionTermination(context, "admin@carbon.super", "carbon.super", "LOCAL:google", false);
+
+        assertEquals(handler.getLastRecord(), baselineSessionTermination(context, "admin@carbon.super",
+                "carbon.super", "LOCAL:google"));
+    }
+
+    @Test
+    public void testNullValuesMatchBaseline() {
+
+        MDC.remove(AuthenticationAuditLoggingHandler.USER_AGENT_QUERY_KEY);
+        MDC.remove(AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_QUERY_KEY);
+        AuthenticationAuditData data = new AuthenticationAuditData();
+
+        handler.doPublishAuthenticationStepSuccess(data);
+        assertEquals(handler.getLastRecord(), baselineStepSuccess(data));
+        handler.doPublishAuthenticationStepFailure(data);
+        assertEquals(handler.getLastRecord(), baselineFailure(data));
+        handler.doPublishAuthenticationSuccess(data);
+        assertEquals(handler.getLastRecord(), baselineSuccess(data));
+        handler.doPublishAuthenticationFailure(data);
+        assertEquals(handler.getLastRecord(), baselineFailure(data));
+
+        AuthenticationContext context = createContext(null);
+        handler.doPublishSessionTermination(context, null, null, null, false);
+        assertEquals(handler.getLastRecord(), baselineSessionTermination(context, null, null, null));
+    }
+
+    @Test
+    public void testSpecialCharactersAreNotEscapedByDefault() {
+
+        AuthenticationAuditData data = createAuditData();
+        data.setServiceProvider("My \"App\"\\\n\t");
+
+        handler.doPublishAuthenticationSuccess(data);
+
+        assertEquals(handler.getLastRecord(), baselineSuccess(data));
+    }
+
+    @Test
+    public void testStrictJsonEscapesValues() {
+
+        handler.init(createConfiguration(true));
+        AuthenticationAuditData data = new AuthenticationAuditData();
+        data.setContextIdentifier("ctx-1");
+        data.setServiceProvider("My \"App\"\\\n\r\t\b\f\u0001");
+        data.setStepNo(2);
+        MDC.remove(AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_QUERY_KEY);
+
+        handler.doPublishAuthenticationFailure(data);
+
+        String expectedData = "\"ContextIdentifier\" : \"ctx-1\","
+                + "\"ServiceProviderName\" : \"My \\\"App\\\"\\\\\\n\\r\\t\\b\\f\\u0001\","
+                + "\"RequestType\" : null,"
+                + "\"RelyingParty\" : null,"
+                + "\"StepNo\" : \"2\","
+                + "\"User Agent\" : \"" + USER_AGENT + "\","
+                + "\"RemoteAddress\" : null,"
+                + "\"UserStoreDomain\" : null";
+        assertEquals(handler.getLastRecord(), String.format(FrameworkConstants.AUDIT_MESSAGE, null, "Login",
+                "ApplicationAuthenticationFramework", expectedData, FrameworkConstants.AUDIT_FAILED));
+    }
+
+    private static ModuleConfiguration createConfiguration(boolean strictJsonEnabled) {
+
+        Properties properties = new Properties();
+        properties.setProperty(AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_ENABLED, "true");
+        properties.setProperty(AuthenticationAuditLoggerConstants.AUTHENTICATION_AUDIT_LOGGER_STRICT_JSON_ENABLED,
+                String.valueOf(strictJsonEnabled));
+        return new ModuleConfiguration(properties, new ArrayList<Subscription>());
+    }
+
+    private static AuthenticationAuditData createAuditData() {
+
+        AuthenticationAuditData data = new AuthenticationAuditData();
+        data.setContextIdentifier("2f1c4b0e-6a4d-4a44-9c1d-3c8e0f6b7a21");
+        data.setAuthenticatedUser("admin@carbon.super");
+        data.setTenantDomain("carbon.super");
+        data.setServiceProvider("travelocity.com");
+        data.setInboundProtocol("samlsso");
+        data.setRelyingParty("travelocity.com");
+        data.setAuthenticatedIdps("LOCAL");
+        data.setStepNo(1);
+        data.setUserStoreDomain("PRIMARY");
+        data.setUserId("8d5ea6d4-0c5f-4f2a-9b1e-2a7b6c3d4e5f");
+        return data;
+    }
+
+    private static AuthenticationContext createContext(String idpName) {
+
+        AuthenticationContext context = mock(AuthenticationContext.class);
+        when(context.getContextIdentifier()).thenReturn("2f1c4b0e-6a4d-4a44-9c1d-3c8e0f6b7a21");
+        when(context.getServiceProviderName()).thenReturn("travelocity.com");
+        when(context.getRequestType()).thenReturn("samlsso");
+        when(context.getRelyingParty()).thenReturn("travelocity.com");
+        if (idpName != null) {
+            ExternalIdPConfig externalIdPConfig = mock(ExternalIdPConfig.class);
+            when(externalIdPConfig.getName()).thenReturn(idpName);
+            when(externalIdPConfig.getIdPName()).thenReturn(idpName);
+            when(context.getExternalIdP()).thenReturn(externalIdPConfig);
+        }
+        return context;
+    }
+
+    // The baseline methods below build the records the way the handler built them before AuditRecordEncoder.
+
+    private static String baselineStepSuccess(AuthenticationAuditData authenticationData) {
+
+        String username = authenticationData.getAuthenticatedUser();
+        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
+                + "\",\"" + "AuthenticatedUser" + "\" : \"" + username
+                + "\",\"" + "AuthenticatedUserTenantDomain" + "\" : \"" + authenticationData.getTenantDomain()
+                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
+                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
+                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
+                + "\",\"" + "AuthenticatedIdP" + "\" : \"" + authenticationData.getAuthenticatedIdps()
+                + "\"";
+        auditData = baselineContextualInfo(auditData, authenticationData);
+        return String.format(FrameworkConstants.AUDIT_MESSAGE, username, "LoginStepSuccess",
+                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_SUCCESS);
+    }
+
+    private static String baselineSuccess(AuthenticationAuditData authenticationData) {
+
+        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
+                + "\",\"" + "AuthenticatedUser" + "\" : \"" + authenticationData.getAuthenticatedUser()
+                + "\",\"" + "AuthenticatedUserTenantDomain" + "\" : \"" + authenticationData.getTenantDomain()
+                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
+                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
+                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
+                + "\",\"" + "AuthenticatedIdPs" + "\" : \"" + authenticationData.getAuthenticatedIdps()
+                + "\"";
+        auditData = baselineContextualInfo(auditData, authenticationData);
+        return String.format(FrameworkConstants.AUDIT_MESSAGE, authenticationData.getAuthenticatedUser(), "Login",
+                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_SUCCESS);
+    }
+
+    private static String baselineFailure(AuthenticationAuditData authenticationData) {
+
+        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + authenticationData.getContextIdentifier()
+                + "\",\"" + "ServiceProviderName" + "\" : \"" + authenticationData.getServiceProvider()
+                + "\",\"" + "RequestType" + "\" : \"" + authenticationData.getInboundProtocol()
+                + "\",\"" + "RelyingParty" + "\" : \"" + authenticationData.getRelyingParty()
+                + "\",\"" + "StepNo" + "\" : \"" + authenticationData.getStepNo()
+                + "\"";
+        auditData = baselineContextualInfo(auditData, authenticationData);
+        return String.format(FrameworkConstants.AUDIT_MESSAGE, authenticationData.getAuthenticatedUser(), "Login",
+                "ApplicationAuthenticationFramework", auditData, FrameworkConstants.AUDIT_FAILED);
+    }
+
+    private static String baselineSessionTermination(AuthenticationContext context, String username,
+                                                     String tenantDomain, String authenticatedIDPs) {
+
+        String auditData = "\"" + "ContextIdentifier" + "\" : \"" + context.getContextIdentifier()
+                + "\",\"" + "LoggedOutUser" + "\" : \"" + username
+                + "\",\"" + "LoggedOutUserTenantDomain" + "\" : \"" + tenantDomain
+                + "\",\"" + "ServiceProviderName" + "\" : \"" + context.getServiceProviderName()
+                + "\",\"" + "RequestType" + "\" : \"" + context.getRequestType()
+                + "\",\"" + "RelyingParty" + "\" : \"" + context.getRelyingParty()
+                + "\",\"" + "AuthenticatedIdPs" + "\" : \"" + authenticatedIDPs
+                + "\"";
+        auditData = baselineRemoteAddressAndAgent(auditData);
+        String idpName = context.getExternalIdP() != null ? context.getExternalIdP().getName() : null;
+        return String.format(FrameworkConstants.AUDIT_MESSAGE, username, "Logout", idpName, auditData,
+                FrameworkConstants.AUDIT_SUCCESS);
+    }
+
+    private static String baselineContextualInfo(String data, AuthenticationAuditData authenticationData) {
+
+        return baselineRemoteAddressAndAgent(data)
+                + ",\"" + AuthenticationAuditLoggingHandler.USER_STORE_DOMAIN_KEY + "\" : \""
+                + authenticationData.getUserStoreDomain() + "\"";
+    }
+
+    private static String baselineRemoteAddressAndAgent(String data) {
+
+        return data + ",\"" + AuthenticationAuditLoggingHandler.USER_AGENT_KEY + "\" : \""
+                + MDC.get(AuthenticationAuditLoggingHandler.USER_AGENT_QUERY_KEY)
+                + "\",\"" + AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_KEY + "\" : \""
+                + MDC.get(AuthenticationAuditLoggingHandler.REMOTE_ADDRESS_QUERY_KEY) + "\"";
+    }
+
+    /**
+     * Handler which captures the audit records instead of writing them to the audit log.
+     */
+    private static class RecordingHandler extends AuthenticationAuditLoggingHandler {
+
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        void writeAuditLog(String record) {
+
+            records.add(record);
+        }
+
+        private String getLastRecord() {
+
+            return records.get(records.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandler;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandlerV110;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the authentication data of the login events and populating the analytics payloads from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class AnalyticsLoginDataBenchmark {
+
+    private AuthenticationContext context;
+    private Map<String, Object> params;
+    private AuthenticationData authenticationData;
+    private AuthenticationData authenticationDataV110;
+    private PayloadBuilder payloadBuilder;
+    private PayloadBuilderV110 payloadBuilderV110;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticatedUser user = EventFixtures.createUser();
+        context = EventFixtures.createContext(user);
+        params = EventFixtures.createParams(user);
+        authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthentication(
+                EventFixtures.createEvent(EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS, context, null,
+                        params));
+        authenticationDataV110 = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthenticationV110(
+                EventFixtures.createEvent(EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS, context, null,
+                        params));
+        payloadBuilder = new PayloadBuilder();
+        payloadBuilderV110 = new PayloadBuilderV110();
+    }
+
+    @Benchmark
+    public AuthenticationData buildAuthnDataForAuthnStep() {
+
+        return AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStep(EventFixtures.createEvent(
+                EventName.AUTHENTICATION_STEP_SUCCESS, AuthenticatorStatus.PASS, context, null, params));
+    }
+
+    @Benchmark
+    public AuthenticationData buildAuthnDataForAuthenticationV110() {
+
+        return AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthenticationV110(EventFixtures.createEvent(
+                EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS, context, null, params));
+    }
+
+    @Benchmark
+    public Object[] populatePayloadData() {
+
+        return payloadBuilder.build(authenticationData);
+    }
+
+    @Benchmark
+    public Object[] populatePayloadDataV110() {
+
+        return payloadBuilderV110.build(authenticationDataV110);
+    }
+
+    /**
+     * Exposes the payload population of the login data handler.
+     */
+    static class PayloadBuilder extends AnalyticsLoginDataPublishHandler {
+
+        Object[] build(AuthenticationData authenticationData) {
+
+            return populatePayloadData(authenticationData);
+        }
+    }
+
+    /**
+     * Exposes the payload population of the login data handler of the 1.1.0 stream.
+     */
+    static class PayloadBuilderV110 extends AnalyticsLoginDataPublishHandlerV110 {
+
+        Object[] build(AuthenticationData authenticationData) {
+
+            return populatePayloadData(authenticationData);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.AuthenticationAuditLoggerConstants;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.AuthenticationAuditLoggerUtils;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.AuthenticationAuditLoggingHandler;
+import org.wso2.carbon.identity.data.publisher.authentication.audit.model.AuthenticationAuditData;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the audit data of the login events and formatting the audit log lines. The audit log itself is
+ * a no-op logger, so writing the log lines is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class AuthenticationAuditLoggingBenchmark {
+
+    private AuthenticationContext context;
+    private SessionContext sessionContext;
+    private Map<String, Object> params;
+    private AuditLogger auditLogger;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticatedUser user = EventFixtures.createUser();
+        context = EventFixtures.createContext(user);
+        sessionContext = EventFixtures.createSessionContext(user);
+        params = EventFixtures.createParams(user);
+        auditLogger = new AuditLogger();
+    }
+
+    @Benchmark
+    public void authenticationStepSuccess() {
+
+        AuthenticationAuditData auditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(
+                EventFixtures.createEvent(EventName.AUTHENTICATION_STEP_SUCCESS, AuthenticatorStatus.PASS, context,
+                        null, params), AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION_STEP, false);
+        auditLogger.authenticationStepSuccess(auditData);
+    }
+
+    @Benchmark
+    public void authenticationSuccess() {
+
+        AuthenticationAuditData auditData = AuthenticationAuditLoggerUtils.createAuthenticationAudiDataObject(
+                EventFixtures.createEvent(EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS, context, null,
+                        params), AuthenticationAuditLoggerConstants.AUDIT_AUTHENTICATION, false);
+        auditLogger.authenticationSuccess(auditData);
+    }
+
+    @Benchmark
+    public void sessionTermination() {
+
+        auditLogger.sessionTermination(EventFixtures.createEvent(EventName.SESSION_TERMINATE, null, context,
+                sessionContext, params));
+    }
+
+    /**
+     * Exposes the audit log builders of the audit logging handler.
+     */
+    static class AuditLogger extends AuthenticationAuditLoggingHandler {
+
+        void authenticationStepSuccess(AuthenticationAuditData auditData) {
+
+            doPublishAuthenticationStepSuccess(auditData);
+        }
+
+        void authenticationSuccess(AuthenticationAuditData auditData) {
+
+            doPublishAuthenticationSuccess(auditData);
+        }
+
+        void sessionTermination(Event event) {
+
+            publishSessionTermination(event, false);
+        }
+    }
+}
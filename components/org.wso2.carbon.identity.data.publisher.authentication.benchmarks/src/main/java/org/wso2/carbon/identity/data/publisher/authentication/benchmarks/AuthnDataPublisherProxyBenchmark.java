@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherProxy;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fan-out of an authentication success event by the publisher proxy to the identity event service and
+ * the registered legacy data publishers, all of which are invoked on the calling thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class AuthnDataPublisherProxyBenchmark {
+
+    @Param({"1", "4"})
+    private int publisherCount;
+
+    private AuthnDataPublisherProxy proxy;
+    private AuthenticationContext context;
+    private Map<String, Object> params;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticationDataPublisherDataHolder dataHolder = AuthenticationDataPublisherDataHolder.getInstance();
+        dataHolder.setIdentityEventService(BenchmarkEnvironment.stub(IdentityEventService.class,
+                new BenchmarkEnvironment.StubHandler() {
+                    @Override
+                    public Object handle(String methodName, Object[] args) {
+
+                        return BenchmarkEnvironment.UNHANDLED;
+                    }
+                }));
+        dataHolder.getPublisherRegistry().clear();
+        for (int i = 0; i < publisherCount; i++) {
+            final String name = "StubPublisher" + i;
+            dataHolder.getPublisherRegistry().register(BenchmarkEnvironment.stub(AuthenticationDataPublisher.class,
+                    new BenchmarkEnvironment.StubHandler() {
+                        @Override
+                        public Object handle(String methodName, Object[] args) {
+
+                            if ("isEnabled".equals(methodName) || "canHandle".equals(methodName)) {
+                                return Boolean.TRUE;
+                            } else if ("getName".equals(methodName)) {
+                                return name;
+                            }
+                            return BenchmarkEnvironment.UNHANDLED;
+                        }
+                    }));
+        }
+        proxy = new AuthnDataPublisherProxy();
+        AuthenticatedUser user = EventFixtures.createUser();
+        context = EventFixtures.createContext(user);
+        params = EventFixtures.createParams(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().getPublisherRegistry().clear();
+    }
+
+    @Benchmark
+    public void publishAuthenticationSuccess() {
+
+        proxy.publishAuthenticationSuccess(null, context, params);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.UserRoleCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares the Carbon environment the benchmarked code expects, without starting an OSGi container. The identity
+ * configuration is served from a temporary Carbon home and the OSGi services are replaced with stubs.
+ */
+public final class BenchmarkEnvironment {
+
+    /**
+     * Marker returned by a {@link StubHandler} for the methods it does not handle.
+     */
+    public static final Object UNHANDLED = new Object();
+
+    private static final String IDENTITY_CONFIG = "repository/conf/identity/identity.xml";
+
+    private static boolean initialized;
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Initialize the environment once per benchmark JVM.
+     */
+    public static synchronized void init() {
+
+        if (initialized) {
+            return;
+        }
+        try {
+            Path carbonHome = Files.createTempDirectory("authn-data-publisher-benchmarks");
+            Path identityConfig = carbonHome.resolve(IDENTITY_CONFIG);
+            Files.createDirectories(identityConfig.getParent());
+            try (InputStream inputStream = BenchmarkEnvironment.class.getClassLoader()
+                    .getResourceAsStream(IDENTITY_CONFIG)) {
+                Files.copy(inputStream, identityConfig);
+            }
+            System.setProperty("carbon.home", carbonHome.toString());
+            System.setProperty("carbon.config.dir.path", carbonHome.resolve("repository/conf").toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while preparing the Carbon home of the benchmarks.", e);
+        }
+
+        AuthenticationDataPublisherDataHolder dataHolder = AuthenticationDataPublisherDataHolder.getInstance();
+        PayloadDefaultValues payloadDefaultValues = new PayloadDefaultValues();
+        payloadDefaultValues.reload();
+        dataHolder.setPayloadDefaultValues(payloadDefaultValues);
+        // Roles are served from the cache as they are in a warmed up server, since there is no user store.
+        UserRoleCache userRoleCache = new UserRoleCache(1, TimeUnit.DAYS, 1000);
+        userRoleCache.put(EventFixtures.TENANT_DOMAIN, EventFixtures.USER_STORE_DOMAIN + "/" +
+                EventFixtures.USERNAME, EventFixtures.ROLES);
+        dataHolder.setUserRoleCache(userRoleCache);
+        initialized = true;
+    }
+
+    /**
+     * Create a stub of a service interface. Methods which are not handled by the given handler return the default
+     * value of their return type.
+     *
+     * @param type    Service interface.
+     * @param handler Handler of the interesting methods, which returns {@link #UNHANDLED} for the others.
+     * @return Stub instance.
+     */
+    public static <T> T stub(Class<T> type, final StubHandler handler) {
+
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+                Object result = handler.handle(method.getName(), args);
+                if (result != UNHANDLED) {
+                    return result;
+                }
+                return defaultValue(method.getReturnType());
+            }
+        });
+        return type.cast(stub);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type == float.class) {
+            return 0F;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+
+    /**
+     * Handles the invocations of a stub.
+     */
+    public interface StubHandler {
+
+        Object handle(String methodName, Object[] args);
+    }
+}
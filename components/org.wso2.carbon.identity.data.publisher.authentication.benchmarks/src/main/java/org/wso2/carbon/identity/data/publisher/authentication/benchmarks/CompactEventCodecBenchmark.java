@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.codec.CompactEventCodec;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandlerV110;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginPayloadSchemas;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.SessionDataPublisherUtil;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.SessionPayloadSchemas;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.session.model.SessionData;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding the login and session events with the compact event codec. The size of the encoded
+ * record, and of the same attributes with java serialization for comparison, is reported with the encoding results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class CompactEventCodecBenchmark {
+
+    @Param({"authentication", "session"})
+    public String recordType;
+
+    private Event event;
+    private byte[] record;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticatedUser user = EventFixtures.createUser();
+        Object[] payloadData;
+        String streamId;
+        String tenantDomain;
+        if ("session".equals(recordType)) {
+            SessionData sessionData = SessionDataPublisherUtil.buildSessionData(EventFixtures.createEvent(
+                    EventName.SESSION_CREATE, null, EventFixtures.createContext(user),
+                    EventFixtures.createSessionContext(user), EventFixtures.createParams(user)));
+            payloadData = SessionPayloadSchemas.SESSION_1_0_1.createPayload(sessionData);
+            streamId = SessionPayloadSchemas.SESSION_1_0_1.getStreamId();
+            tenantDomain = sessionData.getTenantDomain();
+        } else {
+            AuthenticationData authenticationData = AnalyticsLoginDataPublisherUtils
+                    .buildAuthnDataForAuthenticationV110(EventFixtures.createEvent(EventName.AUTHENTICATION_SUCCESS,
+                            AuthenticatorStatus.PASS, EventFixtures.createContext(user), null,
+                            EventFixtures.createParams(user)));
+            payloadData = new PayloadBuilder().build(authenticationData);
+            streamId = AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.getStreamId();
+            tenantDomain = authenticationData.getTenantDomain();
+        }
+        event = new Event(streamId, System.currentTimeMillis(), AuthnDataPublisherUtils.getMetaDataArray(
+                tenantDomain), null, payloadData);
+        record = CompactEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encode(RecordSize recordSize) {
+
+        return CompactEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public Event decode() throws IOException {
+
+        return CompactEventCodec.decode(record);
+    }
+
+    /**
+     * Reports the size of the benchmarked record as secondary results of the benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RecordSize {
+
+        private int encodedBytes;
+        private int serializedBytes;
+
+        @Setup
+        public void setUp(CompactEventCodecBenchmark benchmark) throws IOException {
+
+            encodedBytes = benchmark.record.length;
+            serializedBytes = serializedSize(benchmark.event);
+        }
+
+        public int encodedBytes() {
+
+            return encodedBytes;
+        }
+
+        public int serializedBytes() {
+
+            return serializedBytes;
+        }
+
+        private static int serializedSize(Event event) throws IOException {
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(event.getStreamId());
+                out.writeLong(event.getTimeStamp());
+                out.writeObject(event.getMetaData());
+                out.writeObject(event.getPayloadData());
+            }
+            return bytes.size();
+        }
+    }
+
+    /**
+     * Exposes the payload population of the login data handler of the 1.1.0 stream.
+     */
+    static class PayloadBuilder extends AnalyticsLoginDataPublishHandlerV110 {
+
+        Object[] build(AuthenticationData authenticationData) {
+
+            return populatePayloadData(authenticationData);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthPublisherConstants;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventProperty;
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the framework objects of a typical single step local login, populated the way the authentication framework
+ * populates them.
+ */
+public final class EventFixtures {
+
+    public static final String TENANT_DOMAIN = "carbon.super";
+    public static final String USER_STORE_DOMAIN = "PRIMARY";
+    public static final String USERNAME = "alice";
+    public static final String ROLES = "admin,manager,employee";
+    public static final String SERVICE_PROVIDER = "travelocity.com";
+    public static final String AUTHENTICATOR = "BasicAuthenticator";
+
+    private EventFixtures() {
+
+    }
+
+    public static AuthenticatedUser createUser() {
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName(USERNAME);
+        user.setUserStoreDomain(USER_STORE_DOMAIN);
+        user.setTenantDomain(TENANT_DOMAIN);
+        user.setAuthenticatedSubjectIdentifier(USERNAME + "@" + TENANT_DOMAIN);
+        // Set explicitly so that the user id is not resolved from the user store.
+        user.setUserId("4b4414e1-916b-4475-aaee-6b0751c29ff6");
+        return user;
+    }
+
+    public static AuthenticationContext createContext(AuthenticatedUser user) {
+
+        StepConfig stepConfig = new StepConfig();
+        stepConfig.setOrder(1);
+        stepConfig.setSubjectIdentifierStep(true);
+        stepConfig.setAuthenticatedIdP(FrameworkConstants.LOCAL_IDP_NAME);
+        Map<Integer, StepConfig> stepMap = new HashMap<>();
+        stepMap.put(1, stepConfig);
+
+        SequenceConfig sequenceConfig = new SequenceConfig();
+        sequenceConfig.setStepMap(stepMap);
+        sequenceConfig.setAuthenticatedUser(user);
+        sequenceConfig.setAuthenticatedIdPs(FrameworkConstants.LOCAL_IDP_NAME);
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier("0a6ab1c4-9fbd-4b5c-a7d3-7f2a3c0b8d21");
+        context.setServiceProviderName(SERVICE_PROVIDER);
+        context.setRequestType("samlsso");
+        context.setRelyingParty(SERVICE_PROVIDER);
+        context.setTenantDomain(TENANT_DOMAIN);
+        context.setCurrentStep(1);
+        context.setCurrentAuthenticator(AUTHENTICATOR);
+        context.setSequenceConfig(sequenceConfig);
+        context.setCurrentAuthenticatedIdPs(Collections.singletonMap(FrameworkConstants.LOCAL_IDP_NAME,
+                createLocalIdPData(user)));
+        context.setProperty(FrameworkConstants.AnalyticsAttributes.HAS_LOCAL_STEP, true);
+        context.setProperty(FrameworkConstants.AnalyticsAttributes.IS_INITIAL_LOGIN, true);
+        context.setProperty(AuthPublisherConstants.USERNAME_USER_INPUT, USERNAME);
+        context.setAnalyticsData(FrameworkConstants.AnalyticsData.CURRENT_AUTHENTICATOR_DURATION, 85L);
+        context.setAnalyticsData(FrameworkConstants.AnalyticsData.AUTHENTICATION_DURATION, 120L);
+        return context;
+    }
+
+    public static SessionContext createSessionContext(AuthenticatedUser user) {
+
+        SessionContext sessionContext = new SessionContext();
+        sessionContext.addProperty(FrameworkConstants.CREATED_TIMESTAMP, System.currentTimeMillis());
+        sessionContext.addProperty(FrameworkConstants.AUTHENTICATED_USER, user);
+        Map<String, AuthenticatedIdPData> authenticatedIdPs = new LinkedHashMap<>();
+        authenticatedIdPs.put(FrameworkConstants.LOCAL_IDP_NAME, createLocalIdPData(user));
+        sessionContext.setAuthenticatedIdPs(authenticatedIdPs);
+        return sessionContext;
+    }
+
+    /**
+     * @return Parameters the framework passes with the events, including the request scoped values the publisher
+     * proxy captures when the servlet request is not available.
+     */
+    public static Map<String, Object> createParams(AuthenticatedUser user) {
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(FrameworkConstants.AnalyticsAttributes.USER, user);
+        params.put(FrameworkConstants.AnalyticsAttributes.IS_FEDERATED, false);
+        params.put(FrameworkConstants.AnalyticsAttributes.SESSION_ID, "7c1e9d4f0b2a48e6a5d3c8f1e2b4a6d8");
+        params.put(AuthPublisherConstants.REMOTE_IP_ADDRESS, "10.100.5.21");
+        params.put(AuthPublisherConstants.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64; rv:128.0) Gecko/20100101 " +
+                "Firefox/128.0");
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Create a new event, which does not carry a snapshot yet, as the publisher proxy does for every event.
+     */
+    public static Event createEvent(EventName eventName, AuthenticatorStatus status, AuthenticationContext context,
+                                    SessionContext sessionContext, Map<String, Object> params) {
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(EventProperty.CONTEXT, context);
+        if (sessionContext != null) {
+            eventProperties.put(EventProperty.SESSION_CONTEXT, sessionContext);
+        }
+        eventProperties.put(EventProperty.PARAMS, params);
+        if (status != null) {
+            eventProperties.put(EventProperty.AUTHENTICATION_STATUS, status);
+        }
+        return new Event(eventName.name(), eventProperties);
+    }
+
+    private static AuthenticatedIdPData createLocalIdPData(AuthenticatedUser user) {
+
+        AuthenticatorConfig authenticatorConfig = new AuthenticatorConfig();
+        authenticatorConfig.setName(AUTHENTICATOR);
+        AuthenticatedIdPData idPData = new AuthenticatedIdPData();
+        idPData.setIdpName(FrameworkConstants.LOCAL_IDP_NAME);
+        idPData.setUser(user);
+        idPData.setAuthenticator(authenticatorConfig);
+        return idPData;
+    }
+}
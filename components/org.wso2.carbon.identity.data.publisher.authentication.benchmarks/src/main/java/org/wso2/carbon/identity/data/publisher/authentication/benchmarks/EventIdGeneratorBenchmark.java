@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.EventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.RandomEventIdGenerator;
+import org.wso2.carbon.identity.data.publisher.application.authentication.id.TimeOrderedEventIdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the event id generators when the ids are generated by several publishing threads at
+ * once, as they are for the events of concurrent logins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class EventIdGeneratorBenchmark {
+
+    @Param({RandomEventIdGenerator.NAME, TimeOrderedEventIdGenerator.NAME})
+    private String generatorName;
+
+    private EventIdGenerator eventIdGenerator;
+
+    @Setup
+    public void setUp() {
+
+        if (RandomEventIdGenerator.NAME.equals(generatorName)) {
+            eventIdGenerator = new RandomEventIdGenerator();
+        } else {
+            eventIdGenerator = new TimeOrderedEventIdGenerator();
+        }
+    }
+
+    @Benchmark
+    public String nextId() {
+
+        return eventIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.data.publisher.application.authentication.PayloadDefaultValues;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares populating a login payload whose fields mostly fall back to their default values, with the default values
+ * resolved from the precomputed table and with the default values read from identity.xml for each field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class PayloadDefaultValuesBenchmark {
+
+    @Param({"true", "false"})
+    private boolean defaultValueTable;
+
+    private AuthenticationData authenticationData;
+    private AnalyticsLoginDataBenchmark.PayloadBuilder payloadBuilder;
+    private PayloadDefaultValues payloadDefaultValues;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticationDataPublisherDataHolder dataHolder = AuthenticationDataPublisherDataHolder.getInstance();
+        payloadDefaultValues = dataHolder.getPayloadDefaultValues();
+        if (!defaultValueTable) {
+            dataHolder.setPayloadDefaultValues(null);
+        }
+        // A failed step of an unknown user, for which the user, role and IdP fields are not available.
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier("0a6ab1c4-9fbd-4b5c-a7d3-7f2a3c0b8d21");
+        context.setRequestType("samlsso");
+        context.setTenantDomain(EventFixtures.TENANT_DOMAIN);
+        context.setCurrentStep(1);
+        authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthnStep(EventFixtures.createEvent(
+                EventName.AUTHENTICATION_STEP_FAILURE, AuthenticatorStatus.FAIL, context, null,
+                Collections.<String, Object>emptyMap()));
+        payloadBuilder = new AnalyticsLoginDataBenchmark.PayloadBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setPayloadDefaultValues(payloadDefaultValues);
+    }
+
+    @Benchmark
+    public Object[] populatePayloadData() {
+
+        return payloadBuilder.build(authenticationData);
+    }
+}
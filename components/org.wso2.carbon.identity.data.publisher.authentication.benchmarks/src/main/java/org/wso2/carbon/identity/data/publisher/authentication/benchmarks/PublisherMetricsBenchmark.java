@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorStatus;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.data.publisher.application.authentication.metrics.PublisherMetrics;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublishHandlerV110;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.model.AuthenticationData;
+import org.wso2.carbon.identity.event.IdentityEventConstants.EventName;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of recording the publisher metrics around populating a login payload, with the metrics
+ * disabled and enabled. With the metrics disabled the instrumented payload population should match the plain one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class PublisherMetricsBenchmark {
+
+    private static final String HANDLER_NAME = "benchmark";
+    private static final String EVENT_NAME = EventName.AUTHENTICATION_SUCCESS.name();
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private AuthenticationData authenticationData;
+    private PayloadBuilder payloadBuilder;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        AuthenticatedUser user = EventFixtures.createUser();
+        authenticationData = AnalyticsLoginDataPublisherUtils.buildAuthnDataForAuthenticationV110(
+                EventFixtures.createEvent(EventName.AUTHENTICATION_SUCCESS, AuthenticatorStatus.PASS,
+                        EventFixtures.createContext(user), null, EventFixtures.createParams(user)));
+        payloadBuilder = new PayloadBuilder();
+        PublisherMetrics.getInstance().setEnabled(metricsEnabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        PublisherMetrics.getInstance().setEnabled(false);
+        PublisherMetrics.getInstance().reset();
+    }
+
+    @Benchmark
+    public Object[] populatePayloadData() {
+
+        return payloadBuilder.build(authenticationData);
+    }
+
+    @Benchmark
+    public Object[] populatePayloadDataWithMetrics() {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        long startTime = metrics.startTimer();
+        Object[] payloadData = payloadBuilder.build(authenticationData);
+        long publishStartTime = metrics.recordBuild(HANDLER_NAME, EVENT_NAME, startTime);
+        metrics.recordPublish(HANDLER_NAME, EVENT_NAME, publishStartTime);
+        return payloadData;
+    }
+
+    @Benchmark
+    public long recordEvent() {
+
+        return record();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long recordEventContended() {
+
+        return record();
+    }
+
+    private static long record() {
+
+        PublisherMetrics metrics = PublisherMetrics.getInstance();
+        long startTime = metrics.startTimer();
+        long publishStartTime = metrics.recordBuild(HANDLER_NAME, EVENT_NAME, startTime);
+        metrics.recordPublish(HANDLER_NAME, EVENT_NAME, publishStartTime);
+        return publishStartTime;
+    }
+
+    /**
+     * Exposes the payload population of the login data handler of the 1.1.0 stream.
+     */
+    static class PayloadBuilder extends AnalyticsLoginDataPublishHandlerV110 {
+
+        Object[] build(AuthenticationData authenticationData) {
+
+            return populatePayloadData(authenticationData);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.data.publisher.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.data.publisher.application.authentication.AuthnDataPublisherUtils;
+import org.wso2.carbon.identity.data.publisher.application.authentication.cache.TenantIdCache;
+import org.wso2.carbon.identity.data.publisher.application.authentication.internal.AuthenticationDataPublisherDataHolder;
+import org.wso2.carbon.identity.data.publisher.application.authentication.payload.PayloadFanOut;
+import org.wso2.carbon.identity.data.publisher.authentication.analytics.login.AnalyticsLoginPayloadSchemas;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the events of a login to a SaaS application used by a growing number of tenants, with the
+ * payload fanned out over a shared base payload and with a full copy of the payload modified for each tenant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class SaasFanOutBenchmark {
+
+    @Param({"1", "2", "10", "100", "500"})
+    private int domainCount;
+
+    private PayloadFanOut fanOut;
+    private Object[] basePayload;
+    private String[] publishingDomains;
+    private int tenantDomainIndex;
+    private int eventIdIndex;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.init();
+        // Tenant ids are resolved once and served from the tenant id cache afterwards, as in a warmed up server.
+        final TenantManager tenantManager = BenchmarkEnvironment.stub(TenantManager.class,
+                new BenchmarkEnvironment.StubHandler() {
+                    @Override
+                    public Object handle(String methodName, Object[] args) {
+
+                        if ("getTenantId".equals(methodName)) {
+                            return ((String) args[0]).hashCode() & Integer.MAX_VALUE;
+                        }
+                        return BenchmarkEnvironment.UNHANDLED;
+                    }
+                });
+        IdentityTenantUtil.setRealmService(BenchmarkEnvironment.stub(RealmService.class,
+                new BenchmarkEnvironment.StubHandler() {
+                    @Override
+                    public Object handle(String methodName, Object[] args) {
+
+                        if ("getTenantManager".equals(methodName)) {
+                            return tenantManager;
+                        }
+                        return BenchmarkEnvironment.UNHANDLED;
+                    }
+                }));
+        AuthenticationDataPublisherDataHolder.getInstance().setTenantIdCache(new TenantIdCache());
+
+        publishingDomains = new String[domainCount];
+        for (int i = 0; i < domainCount; i++) {
+            publishingDomains[i] = "tenant" + i + ".com";
+            AuthnDataPublisherUtils.getMetaDataArray(publishingDomains[i]);
+        }
+        fanOut = PayloadFanOut.forSchema(AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0,
+                AnalyticsLoginPayloadSchemas.TENANT_DOMAIN, AnalyticsLoginPayloadSchemas.EVENT_ID);
+        tenantDomainIndex = AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.indexOf(
+                AnalyticsLoginPayloadSchemas.TENANT_DOMAIN);
+        eventIdIndex = AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.indexOf(AnalyticsLoginPayloadSchemas.EVENT_ID);
+        basePayload = new Object[AnalyticsLoginPayloadSchemas.AUTHENTICATION_1_1_0.size()];
+        for (int i = 0; i < basePayload.length; i++) {
+            basePayload[i] = "value" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        AuthenticationDataPublisherDataHolder.getInstance().setTenantIdCache(null);
+        IdentityTenantUtil.setRealmService(null);
+    }
+
+    @Benchmark
+    public List<Event> fanOut() {
+
+        // The payload created for each login is handed over to the fan-out.
+        return fanOut.createEvents(basePayload.clone(), publishingDomains);
+    }
+
+    @Benchmark
+    public List<Event> copyPerDomain() {
+
+        Object[] payload = basePayload.clone();
+        List<Event> events = new ArrayList<>(publishingDomains.length);
+        for (String publishingDomain : publishingDomains) {
+            Object[] eventPayload = payload.clone();
+            eventPayload[tenantDomainIndex] = publishingDomain;
+            eventPayload[eventIdIndex] = AuthnDataPublisherUtils.generateEventId();
+            events.add(new Event(fanOut.getStreamId(), System.currentTimeMillis(),
+                    AuthnDataPublisherUtils.getMetaDataArray(publishingDomain), null, eventPayload));
+        }
+        return events;
+    }
+}